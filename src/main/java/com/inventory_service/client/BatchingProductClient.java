@@ -0,0 +1,182 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.InternalServerErrorException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrupa en micro-lotes las consultas individuales de productos que llegan casi al mismo tiempo.
+ * Un hilo colector toma la primera consulta pendiente y espera como máximo
+ * {@code products.batching.max-wait} a que lleguen más, hasta {@code products.batching.max-batch-size};
+ * luego resuelve el lote con una única llamada a {@link ProductClient#getProductsByIds} y entrega
+ * a cada llamador su producto. Los IDs ausentes de la respuesta se resuelven con
+ * {@link com.inventory_service.exception.NotFoundException}, igual que un 404 individual.
+ *
+ * <p>Cada llamador espera como máximo {@code products.batching.lookup-timeout}. Al cerrarse, las
+ * consultas en cola y las del lote que se estaba armando fallan en el acto, y las que llegan después
+ * se delegan directamente sin pasar por la cola.</p>
+ *
+ * <p>Métrica: {@code products.batching.batch.size} (IDs distintos por llamada remota).</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+public class BatchingProductClient implements ProductClient, AutoCloseable {
+
+    static final String BATCH_SIZE_METRIC = "products.batching.batch.size";
+
+    private final ProductClient delegate;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Duration lookupTimeout;
+    private final BlockingQueue<PendingLookup> pending = new LinkedBlockingQueue<>();
+    private final ExecutorService dispatchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DistributionSummary batchSizes;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    public BatchingProductClient(ProductClient delegate, MeterRegistry meterRegistry,
+                                 int maxBatchSize, Duration maxWait, Duration lookupTimeout) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("products.batching.max-batch-size debe ser mayor a cero");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.lookupTimeout = lookupTimeout;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC).register(meterRegistry);
+        this.collector = Thread.ofPlatform().daemon().name("product-batch-collector").start(this::collect);
+    }
+
+    @Override
+    public ProductResponse getProductById(Long id) {
+        if (id == null || !running) {
+            return delegate.getProductById(id);
+        }
+        PendingLookup lookup = new PendingLookup(id, new CompletableFuture<>());
+        pending.add(lookup);
+        // Si el cierre vació la cola antes de este alta, nadie la despachará: se retira y se delega
+        if (!running && pending.remove(lookup)) {
+            return delegate.getProductById(id);
+        }
+        try {
+            return lookup.result().get(lookupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new InternalServerErrorException("Error consultando product-service: " + e.getCause());
+        } catch (TimeoutException e) {
+            pending.remove(lookup);
+            throw new InternalServerErrorException(String.format(
+                    "Tiempo de espera agotado consultando el producto %d en product-service", id));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException("Consulta de producto interrumpida");
+        }
+    }
+
+    @Override
+    public List<ProductResponse> getProductsByIds(Collection<Long> ids) {
+        return delegate.getProductsByIds(ids);
+    }
+
+    /**
+     * Detiene el colector y rechaza las consultas que no alcanzaron a despacharse; los lotes ya
+     * despachados terminan su llamada remota.
+     */
+    @Override
+    public void close() {
+        running = false;
+        collector.interrupt();
+        try {
+            collector.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingLookup lookup;
+        while ((lookup = pending.poll()) != null) {
+            reject(lookup);
+        }
+        dispatchExecutor.shutdown();
+    }
+
+    private void collect() {
+        List<PendingLookup> batch = new ArrayList<>();
+        try {
+            while (running) {
+                batch.add(pending.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingLookup next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                List<PendingLookup> ready = List.copyOf(batch);
+                batch.clear();
+                try {
+                    dispatchExecutor.execute(() -> dispatch(ready));
+                } catch (RejectedExecutionException e) {
+                    ready.forEach(BatchingProductClient::reject);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // El lote que se estaba armando al cerrar no se despacha
+            batch.forEach(BatchingProductClient::reject);
+        }
+    }
+
+    private static void reject(PendingLookup lookup) {
+        lookup.result().completeExceptionally(
+                new InternalServerErrorException("Cliente de productos detenido"));
+    }
+
+    private void dispatch(List<PendingLookup> batch) {
+        Map<Long, List<CompletableFuture<ProductResponse>>> waitersById = new LinkedHashMap<>();
+        batch.forEach(lookup -> waitersById.computeIfAbsent(lookup.id(), id -> new ArrayList<>()).add(lookup.result()));
+        batchSizes.record(waitersById.size());
+        try {
+            Map<Long, ProductResponse> found = ProductLookups.indexById(
+                    delegate.getProductsByIds(List.copyOf(waitersById.keySet())));
+            waitersById.forEach((id, waiters) -> {
+                ProductResponse product = found.get(id);
+                waiters.forEach(waiter -> {
+                    if (product != null) {
+                        waiter.complete(product);
+                    } else {
+                        waiter.completeExceptionally(ProductLookups.notFound(id));
+                    }
+                });
+            });
+        } catch (RuntimeException e) {
+            log.warn("Falló la consulta por lote de {} productos: {}", waitersById.size(), e.getMessage());
+            waitersById.values().forEach(waiters -> waiters.forEach(waiter -> waiter.completeExceptionally(e)));
+        }
+    }
+
+    private record PendingLookup(Long id, CompletableFuture<ProductResponse> result) {
+    }
+}
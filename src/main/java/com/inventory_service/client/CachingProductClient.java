@@ -0,0 +1,124 @@
+package com.inventory_service.client;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inventory_service.client.dto.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Caché en proceso de los productos consultados a product-service.
+ * Se compone en {@link com.inventory_service.config.ProductClientConfig}.
+ *
+ * <ul>
+ *   <li>Tamaño acotado por {@code products.cache.maximum-size} (desalojo por frecuencia/recencia).</li>
+ *   <li>Cada entrada expira a los {@code products.cache.ttl} de haberse cargado.</li>
+ *   <li>Pasado {@code products.cache.refresh-after} se sigue sirviendo el valor vigente mientras
+ *       se revalida en segundo plano; si la revalidación falla se conserva el valor anterior.</li>
+ * </ul>
+ *
+ * Las estadísticas (aciertos, fallos, desalojos, cargas) se publican en Micrometer
+ * bajo los medidores {@code cache.*} con la etiqueta {@code cache=products}.
+ * Las instancias de {@link ProductResponse} se comparten entre peticiones y no deben modificarse.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public class CachingProductClient implements ProductClient {
+
+    static final String CACHE_NAME = "products";
+
+    private final LoadingCache<Long, ProductResponse> cache;
+
+    public CachingProductClient(ProductClient delegate, MeterRegistry meterRegistry, long maximumSize,
+                                Duration ttl, Duration refreshAfter) {
+        this(delegate, meterRegistry, maximumSize, ttl, refreshAfter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param refreshExecutor ejecutor de las revalidaciones en segundo plano; como realizan llamadas
+     *                        remotas bloqueantes, no debería ser el {@code ForkJoinPool} común en producción
+     */
+    public CachingProductClient(ProductClient delegate, MeterRegistry meterRegistry, long maximumSize,
+                                Duration ttl, Duration refreshAfter, Executor refreshExecutor) {
+        this(delegate, meterRegistry, maximumSize, ttl, refreshAfter, Ticker.systemTicker(), refreshExecutor);
+    }
+
+    CachingProductClient(ProductClient delegate, MeterRegistry meterRegistry, long maximumSize,
+                         Duration ttl, Duration refreshAfter, Ticker ticker, Executor refreshExecutor) {
+        if (refreshAfter.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("products.cache.refresh-after debe ser menor que products.cache.ttl");
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(new ProductLoader(delegate));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public ProductResponse getProductById(Long id) {
+        return cache.get(id);
+    }
+
+    /**
+     * Resuelve desde la caché los productos presentes y carga los faltantes con una sola
+     * consulta por lote. Los IDs inexistentes se omiten, en el orden recibido.
+     */
+    @Override
+    public List<ProductResponse> getProductsByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ProductLookups.distinctIds(ids);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductResponse> products = cache.getAll(distinctIds);
+        return distinctIds.stream().map(products::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Descarta la entrada de un producto para forzar su recarga en la siguiente consulta.
+     * @param id ID del producto
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Instantánea de las estadísticas acumuladas de la caché.
+     * @return estadísticas de aciertos, fallos y desalojos
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Cargador que usa la consulta individual o la consulta por lote según el caso.
+     */
+    private record ProductLoader(ProductClient delegate) implements CacheLoader<Long, ProductResponse> {
+
+        @Override
+        public ProductResponse load(Long id) {
+            return delegate.getProductById(id);
+        }
+
+        @Override
+        public Map<Long, ProductResponse> loadAll(Set<? extends Long> ids) {
+            return ProductLookups.indexById(delegate.getProductsByIds(List.copyOf(ids)));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.inventory_service.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caché negativa de productos inexistentes o eliminados en product-service.
+ * Recuerda durante un tiempo corto ({@code products.negative-cache.ttl}) que un ID respondió
+ * 404 o que el producto está eliminado, y reproduce ese mismo resultado sin llamada remota.
+ * Es independiente de la caché positiva: tiene su propio límite de tamaño y sus propias
+ * métricas ({@code cache.*} con la etiqueta {@code cache=products-negative}).
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public class NegativeCachingProductClient implements ProductClient {
+
+    static final String CACHE_NAME = "products-negative";
+
+    private final ProductClient delegate;
+    private final Cache<Long, MissingProduct> cache;
+
+    public NegativeCachingProductClient(ProductClient delegate, MeterRegistry meterRegistry,
+                                        long maximumSize, Duration ttl) {
+        this(delegate, meterRegistry, maximumSize, ttl, Ticker.systemTicker());
+    }
+
+    NegativeCachingProductClient(ProductClient delegate, MeterRegistry meterRegistry,
+                                 long maximumSize, Duration ttl, Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public ProductResponse getProductById(Long id) {
+        if (id == null) {
+            return delegate.getProductById(null);
+        }
+        MissingProduct missing = cache.getIfPresent(id);
+        if (missing != null) {
+            return missing.replay();
+        }
+
+        ProductResponse product;
+        try {
+            product = delegate.getProductById(id);
+        } catch (NotFoundException e) {
+            cache.put(id, new MissingProduct(null, e.getMessage()));
+            throw e;
+        }
+        if (ProductLookups.isMissing(product)) {
+            cache.put(id, new MissingProduct(product, null));
+        }
+        return product;
+    }
+
+    /**
+     * Consulta por lote solo los IDs sin resultado negativo vigente. Los productos eliminados
+     * conocidos se devuelven desde la caché; los IDs ausentes de la respuesta quedan
+     * registrados como no encontrados.
+     */
+    @Override
+    public List<ProductResponse> getProductsByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ProductLookups.distinctIds(ids);
+        Map<Long, MissingProduct> known = cache.getAllPresent(distinctIds);
+        List<Long> toQuery = distinctIds.stream().filter(id -> !known.containsKey(id)).toList();
+        Map<Long, ProductResponse> found = toQuery.isEmpty()
+                ? Map.of()
+                : ProductLookups.indexById(delegate.getProductsByIds(toQuery));
+
+        List<ProductResponse> result = new ArrayList<>();
+        for (Long id : distinctIds) {
+            MissingProduct missing = known.get(id);
+            if (missing != null) {
+                if (missing.response() != null) {
+                    result.add(missing.response());
+                }
+                continue;
+            }
+            ProductResponse product = found.get(id);
+            if (product == null) {
+                cache.put(id, new MissingProduct(null, ProductLookups.notFound(id).getMessage()));
+            } else {
+                if (ProductLookups.isMissing(product)) {
+                    cache.put(id, new MissingProduct(product, null));
+                }
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Descarta el resultado negativo de un producto (por ejemplo, al restaurarlo).
+     * @param id ID del producto
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Instantánea de las estadísticas acumuladas de la caché negativa.
+     * @return estadísticas de aciertos, fallos y desalojos
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Resultado negativo almacenado: la respuesta de un producto eliminado (o nula)
+     * o el mensaje del 404 recibido.
+     */
+    private record MissingProduct(ProductResponse response, String notFoundMessage) {
+
+        ProductResponse replay() {
+            if (notFoundMessage != null) {
+                throw new NotFoundException(notFoundMessage);
+            }
+            return response;
+        }
+    }
+}
@@ -2,9 +2,14 @@ package com.inventory_service.client;
 
 import com.inventory_service.config.ProductFeignConfig;
 import com.inventory_service.client.dto.ProductResponse;
+import org.springframework.cloud.openfeign.CollectionFormat;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Cliente Feign para el servicio de productos.
@@ -14,12 +19,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 @FeignClient(
         name = "product-service",
         url = "${products.service.url}",
-        configuration = ProductFeignConfig.class
+        configuration = ProductFeignConfig.class,
+        qualifiers = ProductClient.FEIGN_QUALIFIER,
+        primary = false
 )
 public interface ProductClient {
 
+    /** Calificador del cliente Feign remoto, para los decoradores que lo envuelven. */
+    String FEIGN_QUALIFIER = "productFeignClient";
+
     @GetMapping("/products/{id}")
     ProductResponse getProductById(@PathVariable("id") Long id);
-}
-
 
+    /**
+     * Consulta varios productos en una sola petición ({@code GET /products?ids=1,2,3}).
+     * Los IDs inexistentes se omiten de la respuesta; los productos eliminados se incluyen
+     * con {@code eliminado = true}.
+     * @param ids IDs de los productos (sin repetidos)
+     * @return productos encontrados
+     */
+    @GetMapping("/products")
+    @CollectionFormat(feign.CollectionFormat.CSV)
+    List<ProductResponse> getProductsByIds(@RequestParam("ids") Collection<Long> ids);
+}
@@ -0,0 +1,56 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.NotFoundException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Utilidades comunes a los decoradores de {@link ProductClient}.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+final class ProductLookups {
+
+    private ProductLookups() {
+    }
+
+    /**
+     * Indica si la respuesta representa un producto inexistente o eliminado.
+     */
+    static boolean isMissing(ProductResponse product) {
+        return product == null || product.getIdProducto() == null || Boolean.TRUE.equals(product.getEliminado());
+    }
+
+    /**
+     * Error equivalente al 404 de product-service para un producto ausente de una consulta por lote.
+     */
+    static NotFoundException notFound(Long id) {
+        return new NotFoundException("Recurso no encontrado del cliente: producto " + id);
+    }
+
+    /**
+     * Indexa por ID los productos de una respuesta por lote, descartando entradas sin ID.
+     */
+    static Map<Long, ProductResponse> indexById(Collection<ProductResponse> products) {
+        Map<Long, ProductResponse> index = new LinkedHashMap<>();
+        if (products != null) {
+            products.stream()
+                    .filter(Objects::nonNull)
+                    .filter(product -> product.getIdProducto() != null)
+                    .forEach(product -> index.putIfAbsent(product.getIdProducto(), product));
+        }
+        return index;
+    }
+
+    /**
+     * IDs sin nulos ni repetidos, en el orden recibido.
+     */
+    static List<Long> distinctIds(Collection<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).distinct().toList();
+    }
+}
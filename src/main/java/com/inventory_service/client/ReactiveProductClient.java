@@ -0,0 +1,121 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.InternalServerErrorException;
+import com.inventory_service.exception.NotFoundException;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cliente no bloqueante (WebClient) de product-service para la variante reactiva del API.
+ * Expone las mismas consultas que {@link ProductClient} y traduce los errores HTTP a las mismas
+ * excepciones que {@link com.inventory_service.exception.FeingClientErrorDecoder}; los errores de
+ * conexión se reintentan con espera creciente, como el {@code Retryer} de Feign.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductClient {
+
+    private static final ParameterizedTypeReference<List<ProductResponse>> PRODUCT_LIST =
+            new ParameterizedTypeReference<>() { };
+
+    private final WebClient webClient;
+    private final Duration readTimeout;
+    private final int maxRetries;
+
+    public ReactiveProductClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${products.service.url}") String baseUrl,
+            @Value("${products.api.key}") String productApiKey,
+            @Value("${products.reactive.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${products.reactive.read-timeout:3s}") Duration readTimeout,
+            @Value("${products.reactive.max-retries:2}") int maxRetries) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        WebClient.Builder builder = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        if (productApiKey != null && !productApiKey.isEmpty()) {
+            builder.defaultHeader("X-API-KEY", productApiKey);
+        }
+        this.webClient = builder.build();
+        this.readTimeout = readTimeout;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Consulta un producto por ID ({@code GET /products/{id}}).
+     */
+    public Mono<ProductResponse> getProductById(Long id) {
+        return webClient.get()
+                .uri("/products/{id}", id)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ReactiveProductClient::toException)
+                .bodyToMono(ProductResponse.class)
+                .retryWhen(connectionRetry());
+    }
+
+    /**
+     * Consulta varios productos en una sola petición ({@code GET /products?ids=1,2,3}).
+     * Los IDs inexistentes se omiten de la respuesta.
+     */
+    public Mono<List<ProductResponse>> getProductsByIds(Collection<Long> ids) {
+        String csv = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/products").queryParam("ids", csv).build())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ReactiveProductClient::toException)
+                .bodyToMono(PRODUCT_LIST)
+                .defaultIfEmpty(List.of())
+                .retryWhen(connectionRetry());
+    }
+
+    /**
+     * Solo se reintentan los fallos de conexión; las respuestas de error se propagan de inmediato.
+     */
+    private Retry connectionRetry() {
+        return Retry.backoff(maxRetries, Duration.ofMillis(100))
+                .maxBackoff(readTimeout)
+                .filter(WebClientRequestException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private static Mono<? extends Throwable> toException(ClientResponse response) {
+        int status = response.statusCode().value();
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> {
+                    if (status == 404) {
+                        return new NotFoundException("Recurso no encontrado del cliente: " + body);
+                    } else if (status == 500) {
+                        return new InternalServerErrorException("Error interno en el servidor del cliente: " + body);
+                    } else if (status == 502) {
+                        return new InternalServerErrorException("Bad Gate del cliente: " + body);
+                    } else if (status >= 400 && status <= 499) {
+                        return new BadRequestException("Petición incorrecta al servicio del cliente: " + body);
+                    }
+                    return new InternalServerErrorException(
+                            String.format("Error %d en el servidor del cliente: %s", status, body));
+                });
+    }
+}
@@ -0,0 +1,92 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Agrupa las consultas concurrentes de un mismo producto en una sola llamada remota.
+ * El primer hilo que pide un ID ejecuta la llamada; los que llegan mientras sigue en curso
+ * esperan y reciben el mismo resultado (o la misma excepción). Al terminar, la entrada se
+ * libera, por lo que no retiene resultados: la reutilización en el tiempo es tarea de la caché.
+ *
+ * <p>Métricas: {@code products.singleflight.leaders} (llamadas remotas realizadas) y
+ * {@code products.singleflight.collapsed} (consultas resueltas sin llamada propia).</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public class SingleFlightProductClient implements ProductClient {
+
+    static final String LEADERS_METRIC = "products.singleflight.leaders";
+    static final String COLLAPSED_METRIC = "products.singleflight.collapsed";
+
+    private final ProductClient delegate;
+    private final ConcurrentMap<Long, CompletableFuture<ProductResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter collapsed;
+
+    public SingleFlightProductClient(ProductClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.leaders = meterRegistry.counter(LEADERS_METRIC);
+        this.collapsed = meterRegistry.counter(COLLAPSED_METRIC);
+    }
+
+    @Override
+    public ProductResponse getProductById(Long id) {
+        if (id == null) {
+            return delegate.getProductById(null);
+        }
+        CompletableFuture<ProductResponse> call = new CompletableFuture<>();
+        CompletableFuture<ProductResponse> existing = inFlight.putIfAbsent(id, call);
+        if (existing != null) {
+            collapsed.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            ProductResponse product = delegate.getProductById(id);
+            call.complete(product);
+            return product;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, call);
+        }
+    }
+
+    @Override
+    public List<ProductResponse> getProductsByIds(Collection<Long> ids) {
+        return delegate.getProductsByIds(ids);
+    }
+
+    /**
+     * Número de consultas en curso, útil para diagnóstico.
+     */
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static ProductResponse await(CompletableFuture<ProductResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
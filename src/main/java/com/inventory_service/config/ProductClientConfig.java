@@ -0,0 +1,81 @@
+package com.inventory_service.config;
+
+import com.inventory_service.client.BatchingProductClient;
+import com.inventory_service.client.CachingProductClient;
+import com.inventory_service.client.NegativeCachingProductClient;
+import com.inventory_service.client.ProductClient;
+import com.inventory_service.client.SingleFlightProductClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Composición del {@link ProductClient} que usan los servicios.
+ * Sobre el cliente Feign se apilan, según configuración:
+ * micro-lotes de consultas individuales, agrupación de consultas concurrentes (single-flight),
+ * caché en proceso y, por encima de ella, caché negativa de productos inexistentes o eliminados.
+ *
+ * <p>La agrupación de consultas concurrentes solo se aplica con la caché desactivada: la caché ya
+ * carga cada producto una sola vez aunque lo pidan varios hilos a la vez (también al revalidarlo),
+ * por lo que debajo de ella el single-flight nunca agruparía nada.</p>
+ */
+@Configuration
+public class ProductClientConfig {
+
+    /**
+     * Micro-lotes de consultas individuales. Requiere que product-service exponga
+     * {@code GET /products?ids=}, por lo que está desactivado por defecto.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "products.batching", name = "enabled", havingValue = "true")
+    public BatchingProductClient batchingProductClient(
+            @Qualifier(ProductClient.FEIGN_QUALIFIER) ProductClient remoteClient,
+            MeterRegistry meterRegistry,
+            @Value("${products.batching.max-batch-size:50}") int maxBatchSize,
+            @Value("${products.batching.max-wait:5ms}") Duration maxWait,
+            @Value("${products.batching.lookup-timeout:5s}") Duration lookupTimeout) {
+        return new BatchingProductClient(remoteClient, meterRegistry, maxBatchSize, maxWait, lookupTimeout);
+    }
+
+    @Bean
+    @Primary
+    public ProductClient productClient(
+            @Qualifier(ProductClient.FEIGN_QUALIFIER) ProductClient remoteClient,
+            ObjectProvider<BatchingProductClient> batchingClient,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${products.single-flight.enabled:true}") boolean singleFlightEnabled,
+            @Value("${products.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${products.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${products.cache.ttl:10m}") Duration cacheTtl,
+            @Value("${products.cache.refresh-after:1m}") Duration cacheRefreshAfter,
+            @Value("${products.negative-cache.enabled:true}") boolean negativeCacheEnabled,
+            @Value("${products.negative-cache.maximum-size:5000}") long negativeCacheMaximumSize,
+            @Value("${products.negative-cache.ttl:30s}") Duration negativeCacheTtl) {
+        ProductClient client = batchingClient.getIfAvailable();
+        if (client == null) {
+            client = remoteClient;
+        }
+        if (singleFlightEnabled && !cacheEnabled) {
+            client = new SingleFlightProductClient(client, meterRegistry);
+        }
+        if (cacheEnabled) {
+            // Las revalidaciones usan el ejecutor de la aplicación (hilos virtuales si spring.threads.virtual.enabled)
+            client = new CachingProductClient(client, meterRegistry, cacheMaximumSize, cacheTtl, cacheRefreshAfter,
+                    taskExecutor);
+        }
+        if (negativeCacheEnabled) {
+            client = new NegativeCachingProductClient(client, meterRegistry, negativeCacheMaximumSize, negativeCacheTtl);
+        }
+        return client;
+    }
+}
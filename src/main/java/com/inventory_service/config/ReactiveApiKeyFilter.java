@@ -0,0 +1,45 @@
+package com.inventory_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Validación de la cabecera {@code X-API-KEY} en la variante reactiva, con las mismas reglas que
+ * {@link ApiKeyInboundFilter}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApiKeyFilter implements WebFilter {
+
+    @Value("${api.key}")
+    private String internalApiKey;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String uri = exchange.getRequest().getPath().value();
+        // Permitir acceso sin API key a OpenAPI docs, actuator y errores
+        if (uri.startsWith("/v3/api-docs")
+                || uri.startsWith("/swagger-ui")
+                || uri.equals("/swagger-ui.html")
+                || uri.startsWith("/actuator")
+                || uri.startsWith("/error")) {
+            return chain.filter(exchange);
+        }
+
+        String requestApiKey = exchange.getRequest().getHeaders().getFirst("X-API-KEY");
+        if (internalApiKey != null && !internalApiKey.isEmpty()) {
+            if (requestApiKey == null || !internalApiKey.equals(requestApiKey)) {
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+        }
+
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventory_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pool JDBC de la variante reactiva.
+ * {@code DataSourceAutoConfiguration} se inhibe cuando existe un {@code ConnectionFactory} R2DBC, pero
+ * las funciones que siguen sobre JPA (reservas, claves de idempotencia, tareas programadas) necesitan
+ * el {@code DataSource} configurado en {@code spring.datasource}. Con réplicas de lectura lo define
+ * {@link ReadReplicaDataSourceConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "inventory.read-replicas", name = "enabled", havingValue = "false", matchIfMissing = true)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.inventory_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de lectura ({@code inventory.read-replicas.enabled=true}).
+ *
+ * <p>El {@code DataSource} de la aplicación es un {@link LazyConnectionDataSourceProxy} que obtiene la
+ * conexión real con la primera sentencia, cuando ya se sabe si la transacción es de solo lectura:
+ * las transacciones {@code @Transactional(readOnly = true)} (las proyecciones de consulta de
+ * existencias y los métodos de lectura de los repositorios fuera de una transacción de escritura)
+ * van a una réplica mediante {@link ReplicaRoutingDataSource}; las demás, y las lecturas marcadas
+ * con {@link ReadReplicaRouting#onPrimary}, van a la base principal de {@code spring.datasource}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "inventory.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.read-replicas.urls:}") List<String> urls,
+            @Value("${inventory.read-replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${inventory.read-replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${inventory.read-replicas.pool-size:10}") int poolSize,
+            @Value("${inventory.read-replicas.max-lag:5s}") Duration maxLag,
+            @Value("${inventory.read-replicas.lag-query:}") String lagQuery,
+            @Value("${inventory.read-replicas.check-interval:5s}") Duration checkInterval) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Una réplica caída no debe impedir el arranque: queda excluida hasta que responda
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, meterRegistry, maxLag, lagQuery, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,49 @@
+package com.inventory_service.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Fija en la base principal las lecturas que preceden a una escritura.
+ *
+ * <p>Con las réplicas de lectura habilitadas, toda transacción de solo lectura se atiende en una
+ * réplica y puede ver datos con el retraso de replicación. Las lecturas cuyo resultado decide una
+ * escritura (la lectura previa de una compra, la cantidad previa de un ajuste, la carga de los
+ * contadores en memoria) o que se guardan en una caché invalidada por los commits (la caché de
+ * cantidad disponible) se ejecutan con {@link #onPrimary} para leer lo último confirmado. Sin
+ * réplicas configuradas no tiene efecto.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public final class ReadReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadReplicaRouting() {
+    }
+
+    /**
+     * Ejecuta una lectura en la base principal aunque abra una transacción de solo lectura.
+     * @param read lectura
+     * @return resultado de la lectura
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return si el hilo actual está dentro de {@link #onPrimary}
+     */
+    static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+}
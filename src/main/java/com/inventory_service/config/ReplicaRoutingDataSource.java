@@ -0,0 +1,186 @@
+package com.inventory_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Destino de las conexiones de solo lectura: reparte las conexiones entre las réplicas disponibles
+ * en turno rotativo y recurre a la base principal cuando ninguna lo está.
+ *
+ * <p>Cada {@code check-interval} se comprueba cada réplica. Con {@code max-lag} mayor que cero se
+ * ejecuta la consulta de retraso ({@code lag-query}, en segundos) y la réplica se excluye mientras
+ * lo supere; con {@code max-lag} en cero solo se comprueba que la conexión sea válida. Una réplica
+ * que no entrega una conexión se excluye en el acto hasta la siguiente comprobación.</p>
+ *
+ * <p>Métricas publicadas: {@code inventory.datasource.read-only.connections} (etiqueta
+ * {@code target=replica|primary}) e {@code inventory.datasource.replicas.available}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final String CONNECTIONS_METRIC = "inventory.datasource.read-only.connections";
+    static final String AVAILABLE_METRIC = "inventory.datasource.replicas.available";
+
+    /**
+     * Retraso de una réplica de PostgreSQL en segundos; cero si ya reprodujo todo lo recibido,
+     * para no contar como retraso el tiempo sin escrituras en la principal.
+     */
+    static final String DEFAULT_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    private final ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry,
+                                    Duration maxLag, String lagQuery, Duration checkInterval) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(entry -> new Replica(entry.getKey(), entry.getValue())).toList();
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? DEFAULT_LAG_QUERY : lagQuery;
+        this.replicaConnections = meterRegistry.counter(CONNECTIONS_METRIC, "target", "replica");
+        this.primaryConnections = meterRegistry.counter(CONNECTIONS_METRIC, "target", "primary");
+        meterRegistry.gauge(AVAILABLE_METRIC, this, ReplicaRoutingDataSource::availableReplicas);
+        log.info("Réplicas de lectura disponibles: {} de {}", checkReplicas(), this.replicas.size());
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1L, checkInterval.toMillis());
+        checker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadReplicaRouting.isPrimaryRequired() && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replicaConnections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    exclude(replica, e.getMessage());
+                }
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Las réplicas usan las credenciales de su pool");
+    }
+
+    /**
+     * Detiene las comprobaciones y cierra los pools de las réplicas; la base principal no es de este destino.
+     */
+    @Override
+    public void close() throws Exception {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Comprueba cada réplica y actualiza cuáles reciben conexiones.
+     * @return réplicas disponibles
+     */
+    int checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (maxLag.isZero()) {
+                    if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                        admit(replica);
+                    } else {
+                        exclude(replica, "conexión inválida");
+                    }
+                    continue;
+                }
+                double lagSeconds = lagSeconds(connection);
+                if (lagSeconds * 1_000 <= maxLag.toMillis()) {
+                    admit(replica);
+                } else {
+                    exclude(replica, String.format("retraso de %.1f s", lagSeconds));
+                }
+            } catch (SQLException | RuntimeException e) {
+                exclude(replica, e.getMessage());
+            }
+        }
+        return availableReplicas();
+    }
+
+    private double lagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                throw new SQLException("La consulta de retraso no retornó filas");
+            }
+            return resultSet.getDouble(1);
+        }
+    }
+
+    private int availableReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    private void admit(Replica replica) {
+        if (!replica.available) {
+            replica.available = true;
+            log.info("Réplica {} disponible para lecturas", replica.name);
+        }
+    }
+
+    private void exclude(Replica replica, String reason) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("Réplica {} excluida de las lecturas: {}", replica.name, reason);
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
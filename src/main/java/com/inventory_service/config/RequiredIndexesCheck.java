@@ -0,0 +1,134 @@
+package com.inventory_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Comprobación de arranque de los índices de los que dependen las consultas calientes.
+ *
+ * <p>Se ejecuta al terminar las migraciones de Flyway, sobre la misma conexión, y detiene el arranque si
+ * falta alguno: un índice borrado a mano o una migración omitida convertirían la búsqueda por producto
+ * activo en un recorrido completo de la tabla sin ningún otro síntoma. En PostgreSQL un índice inválido
+ * (lo que deja un {@code CREATE INDEX CONCURRENTLY} interrumpido) cuenta como ausente. Se desactiva con
+ * {@code inventory.schema.verify-indexes=false}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Component
+public class RequiredIndexesCheck implements Callback {
+
+    /** Índices requeridos por tabla. */
+    static final Map<String, List<String>> REQUIRED_INDEXES = requiredIndexes();
+
+    private final boolean enabled;
+
+    public RequiredIndexesCheck(@Value("${inventory.schema.verify-indexes:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return enabled && event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        try {
+            verify(context.getConnection());
+        } catch (SQLException e) {
+            throw new IllegalStateException("No fue posible leer los índices del esquema: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "required-indexes";
+    }
+
+    /**
+     * Verifica que existan todos los índices requeridos.
+     * @param connection conexión al esquema migrado
+     * @throws IllegalStateException si falta alguno
+     */
+    static void verify(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> invalid = invalidIndexNames(connection, metaData);
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : REQUIRED_INDEXES.entrySet()) {
+            Set<String> present = indexNames(connection, metaData, entry.getKey());
+            present.removeAll(invalid);
+            entry.getValue().stream()
+                    .filter(index -> !present.contains(index))
+                    .forEach(index -> missing.add(entry.getKey() + "." + index));
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Faltan índices requeridos en el esquema: " + String.join(", ", missing));
+        }
+        log.info("Índices requeridos presentes: {}", REQUIRED_INDEXES.values().stream().mapToInt(List::size).sum());
+    }
+
+    private static Set<String> indexNames(Connection connection, DatabaseMetaData metaData, String table)
+            throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> names = new TreeSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName,
+                false, true)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Set<String> invalidIndexNames(Connection connection, DatabaseMetaData metaData)
+            throws SQLException {
+        Set<String> names = new TreeSet<>();
+        if (!"PostgreSQL".equalsIgnoreCase(metaData.getDatabaseProductName())) {
+            return names;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet indexes = statement.executeQuery("SELECT c.relname FROM pg_index i "
+                     + "JOIN pg_class c ON c.oid = i.indexrelid WHERE NOT i.indisvalid")) {
+            while (indexes.next()) {
+                names.add(indexes.getString(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+
+    private static Map<String, List<String>> requiredIndexes() {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        indexes.put("inventories", List.of("idx_inventories_producto_activo"));
+        indexes.put("reservations", List.of("idx_reservations_estado", "idx_reservations_held_expira_en"));
+        indexes.put("idempotency_keys", List.of("idx_idempotency_keys_expira_en"));
+        indexes.put("inventory_snapshots", List.of("idx_inventory_snapshots_producto"));
+        return Collections.unmodifiableMap(indexes);
+    }
+}
@@ -1,10 +1,22 @@
 package com.inventory_service.controller;
 
 import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.config.ReadReplicaRouting;
+import com.inventory_service.dto.AdjustBatchRequest;
+import com.inventory_service.dto.AdjustBatchResponse;
+import com.inventory_service.dto.AdjustQuantityRequest;
+import com.inventory_service.dto.AvailabilityRequest;
 import com.inventory_service.dto.BuyRequest;
 import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.dto.CartRequest;
+import com.inventory_service.dto.CartResponse;
+import com.inventory_service.dto.QuantityAdjustment;
+import com.inventory_service.dto.StockLevelEvent;
 import com.inventory_service.dto.UpdateQuantityRequest;
+import com.inventory_service.exception.BadRequestException;
 import com.inventory_service.service.InventoryService;
+import com.inventory_service.service.feed.StockChangeBus;
+import com.inventory_service.service.idempotency.IdempotencyStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,26 +25,40 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * Controlador REST para operaciones de inventario.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/inventory")
 @RequiredArgsConstructor
 @Tag(name = "Inventory Controller", description = "Gestión de productos")
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final IdempotencyStore idempotencyStore;
+    private final StockChangeBus stockChangeBus;
 
     /**
      * Retorna la cantidad disponible en inventario para un producto específico.
@@ -54,6 +80,79 @@ public class InventoryController {
         return ResponseEntity.ok(qty);
     }
 
+    /**
+     * Retorna la cantidad disponible de varios productos en una sola petición.
+     * Los productos inexistentes, eliminados o sin inventario se omiten del resultado.
+     *
+     * @param request IDs de los productos a consultar
+     * @return mapa producto → cantidad disponible
+     */
+    @Operation(summary = "Consulta la cantidad disponible de varios productos")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cantidades disponibles por producto"),
+            @ApiResponse(responseCode = "400", description = "Lista de productos vacía o demasiado grande")
+    })
+    @PostMapping("/available")
+    public ResponseEntity<Map<Long, Integer>> getAvailableBulk(
+            @Valid @RequestBody AvailabilityRequest request) {
+        return ResponseEntity.ok(inventoryService.getAvailableQuantities(request.getProductIds()));
+    }
+
+    /**
+     * Transmite por Server-Sent Events los cambios de existencias de los productos indicados.
+     * El primer evento de cada producto es su cantidad actual; los siguientes llegan tras cada cambio
+     * confirmado, agrupados por producto (solo la última cantidad) cuando llegan muy seguidos o el
+     * cliente no alcanza a leerlos.
+     *
+     * @param productIds IDs de los productos a seguir
+     * @return flujo de eventos {@code stock} con {@link StockLevelEvent}
+     */
+    @Operation(summary = "Transmite los cambios de existencias de varios productos (SSE)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flujo de eventos de existencias"),
+            @ApiResponse(responseCode = "400", description = "Lista de productos vacía o demasiado grande"),
+            @ApiResponse(responseCode = "409", description = "Se alcanzó el máximo de suscripciones")
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Identificadores de los productos", required = true)
+            @RequestParam List<Long> productIds) {
+        List<Long> distinctIds = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty() || distinctIds.size() > AvailabilityRequest.MAX_PRODUCTS) {
+            throw new BadRequestException(String.format(
+                    "Se requieren entre 1 y %d productos", AvailabilityRequest.MAX_PRODUCTS));
+        }
+
+        SseEmitter emitter = new SseEmitter(stockChangeBus.getSubscriptionTimeout().toMillis());
+        StockChangeBus.Subscription subscription = stockChangeBus.subscribe(distinctIds, changes -> send(emitter, changes));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        try {
+            // Se suscribe antes de leer, en la principal: ningún cambio confirmado entre la lectura y la
+            // suscripción se pierde, y un cambio publicado antes de terminar la lectura prevalece sobre ella
+            ReadReplicaRouting.onPrimary(() -> inventoryService.getAvailableQuantities(distinctIds))
+                    .forEach(subscription::offerInitial);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            throw e;
+        }
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, Map<Long, Integer> changes) {
+        try {
+            for (Map.Entry<Long, Integer> change : changes.entrySet()) {
+                emitter.send(SseEmitter.event()
+                        .name("stock")
+                        .data(new StockLevelEvent(change.getKey(), change.getValue()), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException e) {
+            // Cliente desconectado: la suscripción se cancela
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Retorna el detalle de producto exactamente como lo expone product-service.
      */
@@ -88,25 +187,99 @@ public class InventoryController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Suma una variación a la cantidad disponible de un producto (recepción o merma) sin leerla antes,
+     * de modo que no pisa las compras concurrentes como lo haría un PUT con la cantidad absoluta.
+     * Si se envía la cabecera {@code Idempotency-Key}, los reintentos con la misma clave
+     * reproducen la primera respuesta sin volver a aplicar la variación.
+     */
+    @Operation(summary = "Suma una variación a la cantidad disponible de un producto")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cantidad resultante",
+                    content = @Content(schema = @Schema(implementation = Integer.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Variación nula o fuera de rango, o cantidad resultante negativa o por encima del máximo"),
+            @ApiResponse(responseCode = "404", description = "Producto o inventario no encontrado"),
+            @ApiResponse(responseCode = "409", description = "Variación con la misma Idempotency-Key en curso")
+    })
+    @PostMapping("/adjust/{productId}")
+    public ResponseEntity<Integer> adjustAvailable(
+            @Parameter(description = "Identificador del producto", required = true)
+            @PathVariable Long productId,
+            @Parameter(description = "Clave para reintentar la variación sin duplicarla")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody AdjustQuantityRequest request) {
+        Integer updated = idempotencyKey == null
+                ? inventoryService.adjustAvailableQuantity(productId, request.getDelta())
+                : idempotencyStore.execute("adjust", idempotencyKey,
+                        new QuantityAdjustment(productId, request.getDelta()), Integer.class,
+                        () -> inventoryService.adjustAvailableQuantity(productId, request.getDelta()),
+                        applied -> inventoryService.revertQuantity(productId, -request.getDelta()));
+        return ResponseEntity.ok(updated);
+    }
+
+    /**
+     * Aplica un lote de variaciones de cantidad (por ejemplo, la recepción nocturna de un almacén).
+     * Cada variación se aplica o se rechaza por separado; la respuesta detalla las rechazadas.
+     */
+    @Operation(summary = "Aplica un lote de variaciones de cantidad")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote procesado",
+                    content = @Content(schema = @Schema(implementation = AdjustBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vacío, demasiado grande o con variaciones inválidas")
+    })
+    @PostMapping("/adjust")
+    public ResponseEntity<AdjustBatchResponse> adjustAvailableBulk(
+            @Valid @RequestBody AdjustBatchRequest request) {
+        return ResponseEntity.ok(inventoryService.adjustAvailableQuantities(request.getItems()));
+    }
+
     /**
      * Procesa una compra de producto.
      * Permite a los clientes comprar productos verificando la disponibilidad
      * en inventario y actualizando las cantidades disponibles tras la compra.
      * Retorna información detallada de la transacción realizada.
+     * Si se envía la cabecera {@code Idempotency-Key}, los reintentos con la misma clave
+     * reproducen la primera respuesta sin volver a descontar inventario.
      */
     @Operation(summary = "Procesa una compra de producto")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Compra realizada exitosamente",
                     content = @Content(schema = @Schema(implementation = BuyResponse.class))),
             @ApiResponse(responseCode = "400", description = "Inventario insuficiente para realizar la compra solicitada"),
-            @ApiResponse(responseCode = "404", description = "Producto no encontrado o eliminado")
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado o eliminado"),
+            @ApiResponse(responseCode = "409", description = "Compra con la misma Idempotency-Key en curso")
     })
     @PostMapping("/buy")
     public ResponseEntity<BuyResponse> buyProduct(
+            @Parameter(description = "Clave para reintentar la compra sin duplicarla")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BuyRequest request) {
-        BuyResponse response = inventoryService.buyProduct(request);
+        BuyResponse response = idempotencyKey == null
+                ? inventoryService.buyProduct(request)
+                : idempotencyStore.execute("buy", idempotencyKey, request, BuyResponse.class,
+                        () -> inventoryService.buyProduct(request),
+                        purchase -> inventoryService.revertQuantity(request.getProductId(), request.getQuantity()));
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Procesa la compra de un carrito con varios productos.
+     * El inventario de todos los productos se descuenta en una sola transacción:
+     * si algún producto no existe o no tiene cantidad suficiente, no se descuenta ninguno.
+     */
+    @Operation(summary = "Procesa la compra de un carrito de productos")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Compra realizada exitosamente",
+                    content = @Content(schema = @Schema(implementation = CartResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Carrito inválido o inventario insuficiente para algún producto"),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado o eliminado")
+    })
+    @PostMapping("/buy/cart")
+    public ResponseEntity<CartResponse> buyCart(
+            @Valid @RequestBody CartRequest request) {
+        return ResponseEntity.ok(inventoryService.buyCart(request));
+    }
 }
 
 
@@ -0,0 +1,79 @@
+package com.inventory_service.controller;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.AvailabilityRequest;
+import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.dto.UpdateQuantityRequest;
+import com.inventory_service.service.ReactiveInventoryService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Controlador REST reactivo (WebFlux) equivalente a {@link InventoryController}.
+ * Solo se registra con el perfil {@code reactive}; expone las mismas rutas, cuerpos y códigos de estado
+ * para consulta, actualización y compra individual. La compra de carritos, la cabecera
+ * {@code Idempotency-Key} y las reservas requieren transacciones JPA y solo están disponibles en el
+ * modo servlet.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/inventory")
+@RequiredArgsConstructor
+public class ReactiveInventoryController {
+
+    private final ReactiveInventoryService inventoryService;
+
+    /**
+     * Retorna la cantidad disponible en inventario para un producto específico.
+     */
+    @GetMapping("/{productId}/available")
+    public Mono<ResponseEntity<Integer>> getAvailable(@PathVariable Long productId) {
+        return inventoryService.getAvailableQuantityByProductId(productId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retorna la cantidad disponible de varios productos en una sola petición.
+     */
+    @PostMapping("/available")
+    public Mono<ResponseEntity<Map<Long, Integer>>> getAvailableBulk(@Valid @RequestBody AvailabilityRequest request) {
+        return inventoryService.getAvailableQuantities(request.getProductIds()).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retorna el detalle de producto exactamente como lo expone product-service.
+     */
+    @GetMapping("/{productId}")
+    public Mono<ResponseEntity<ProductResponse>> getProduct(@PathVariable Long productId) {
+        return inventoryService.getProductById(productId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Actualiza la cantidad disponible en inventario para un producto (upsert).
+     */
+    @PutMapping("/update/{productId}")
+    public Mono<ResponseEntity<Integer>> updateAvailable(@PathVariable Long productId,
+                                                        @Valid @RequestBody UpdateQuantityRequest request) {
+        return inventoryService.updateAvailableQuantity(productId, request.getCantidad()).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Procesa una compra de producto.
+     */
+    @PostMapping("/buy")
+    public Mono<ResponseEntity<BuyResponse>> buyProduct(@Valid @RequestBody BuyRequest request) {
+        return inventoryService.buyProduct(request).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,84 @@
+package com.inventory_service.controller;
+
+import com.inventory_service.dto.ReservationRequest;
+import com.inventory_service.dto.ReservationResponse;
+import com.inventory_service.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para reservas de inventario.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/inventory/reservations")
+@RequiredArgsConstructor
+@Tag(name = "Reservation Controller", description = "Reservas de inventario durante el pago")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    /**
+     * Reserva unidades de un producto, descontándolas del disponible hasta que la reserva
+     * se confirme, se libere o venza.
+     */
+    @Operation(summary = "Reserva unidades de un producto")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reserva creada",
+                    content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Inventario insuficiente o duración inválida"),
+            @ApiResponse(responseCode = "404", description = "Producto o inventario no encontrado")
+    })
+    @PostMapping
+    public ResponseEntity<ReservationResponse> hold(@Valid @RequestBody ReservationRequest request) {
+        return ResponseEntity.ok(reservationService.hold(request));
+    }
+
+    /**
+     * Confirma una reserva pendiente: la cantidad reservada se consume definitivamente.
+     */
+    @Operation(summary = "Confirma una reserva pendiente")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reserva confirmada",
+                    content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Reserva no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La reserva no está pendiente o ya venció")
+    })
+    @PostMapping("/{reservationId}/confirm")
+    public ResponseEntity<ReservationResponse> confirm(
+            @Parameter(description = "Identificador de la reserva", required = true)
+            @PathVariable Long reservationId) {
+        return ResponseEntity.ok(reservationService.confirm(reservationId));
+    }
+
+    /**
+     * Libera una reserva pendiente: la cantidad reservada vuelve al disponible.
+     */
+    @Operation(summary = "Libera una reserva pendiente")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reserva liberada",
+                    content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Reserva no encontrada"),
+            @ApiResponse(responseCode = "409", description = "La reserva no está pendiente")
+    })
+    @PostMapping("/{reservationId}/release")
+    public ResponseEntity<ReservationResponse> release(
+            @Parameter(description = "Identificador de la reserva", required = true)
+            @PathVariable Long reservationId) {
+        return ResponseEntity.ok(reservationService.release(reservationId));
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventory_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para aplicar muchas variaciones de cantidad en una sola petición (por ejemplo, una recepción nocturna).
+ * Cada variación se aplica o se rechaza por separado.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustBatchRequest {
+
+    /** Número máximo de variaciones por petición. */
+    public static final int MAX_ITEMS = 50_000;
+
+    /**
+     * Variaciones a aplicar; las de un mismo producto se aplican en el orden recibido.
+     */
+    @NotEmpty(message = "El lote debe contener al menos una variación")
+    @Size(max = MAX_ITEMS, message = "El lote admite como máximo " + MAX_ITEMS + " variaciones")
+    private List<@NotNull(message = "Las variaciones del lote no pueden ser nulas") @Valid QuantityAdjustment> items;
+}
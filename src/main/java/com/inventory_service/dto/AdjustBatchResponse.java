@@ -0,0 +1,35 @@
+package com.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de un lote de variaciones de cantidad.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustBatchResponse {
+
+    /**
+     * Variaciones aplicadas.
+     */
+    private Integer applied;
+
+    /**
+     * Variaciones rechazadas.
+     */
+    private Integer rejected;
+
+    /**
+     * Detalle de las variaciones rechazadas, en el orden del lote.
+     */
+    private List<AdjustRejection> rejections;
+}
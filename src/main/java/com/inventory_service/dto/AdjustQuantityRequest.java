@@ -0,0 +1,33 @@
+package com.inventory_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para sumar o restar una variación a la cantidad disponible de un producto.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustQuantityRequest {
+
+    /**
+     * Variación a aplicar: positiva en recepciones, negativa en mermas.
+     */
+    @Schema(description = "Variación de la cantidad disponible, distinta de cero", example = "-3",
+            minimum = "-" + QuantityAdjustment.MAX_DELTA, maximum = "" + QuantityAdjustment.MAX_DELTA,
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "La variación es obligatoria")
+    @Min(value = -QuantityAdjustment.MAX_DELTA, message = "La variación no puede ser menor a -" + QuantityAdjustment.MAX_DELTA)
+    @Max(value = QuantityAdjustment.MAX_DELTA, message = "La variación no puede ser mayor a " + QuantityAdjustment.MAX_DELTA)
+    private Integer delta;
+}
@@ -0,0 +1,38 @@
+package com.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con una variación rechazada de un lote.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustRejection {
+
+    /**
+     * Posición de la variación en el lote (desde cero).
+     */
+    private Integer index;
+
+    /**
+     * ID del producto.
+     */
+    private Long productId;
+
+    /**
+     * Variación solicitada.
+     */
+    private Integer delta;
+
+    /**
+     * Motivo del rechazo.
+     */
+    private String reason;
+}
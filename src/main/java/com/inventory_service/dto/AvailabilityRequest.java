@@ -0,0 +1,36 @@
+package com.inventory_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para consultar la disponibilidad de varios productos en una sola petición.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityRequest {
+
+    /** Número máximo de productos por consulta. */
+    public static final int MAX_PRODUCTS = 500;
+
+    /**
+     * IDs de los productos a consultar.
+     */
+    @Schema(description = "IDs de los productos a consultar", example = "[1, 2, 3]",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "La lista de productos es obligatoria")
+    @Size(max = MAX_PRODUCTS, message = "Se permiten como máximo " + MAX_PRODUCTS + " productos por consulta")
+    private List<@NotNull(message = "El ID del producto es obligatorio") Long> productIds;
+}
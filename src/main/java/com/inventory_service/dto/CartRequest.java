@@ -0,0 +1,35 @@
+package com.inventory_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para solicitar la compra de varios productos en una sola operación (carrito).
+ * La compra se aplica completa o no se aplica.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartRequest {
+
+    /** Número máximo de líneas por carrito. */
+    public static final int MAX_ITEMS = 100;
+
+    /**
+     * Líneas del carrito; las líneas repetidas de un mismo producto se suman.
+     */
+    @NotEmpty(message = "El carrito debe contener al menos un producto")
+    @Size(max = MAX_ITEMS, message = "El carrito admite como máximo " + MAX_ITEMS + " líneas")
+    private List<@NotNull(message = "Las líneas del carrito no pueden ser nulas") @Valid BuyRequest> items;
+}
@@ -0,0 +1,47 @@
+package com.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una compra de carrito exitosa.
+ * Contiene el detalle por producto y los totales de la compra.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartResponse {
+
+    /**
+     * Detalle de la compra por producto, ordenado por ID de producto.
+     */
+    private List<BuyResponse> items;
+
+    /**
+     * Total de unidades compradas en el carrito.
+     */
+    private Integer totalQuantity;
+
+    /**
+     * Total de la compra como suma de los totales de cada producto.
+     */
+    private Double totalAmount;
+
+    /**
+     * Fecha y hora exacta cuando se realizó la compra.
+     */
+    private LocalDateTime buyDate;
+
+    /**
+     * Mensaje de confirmación.
+     */
+    private String message;
+}
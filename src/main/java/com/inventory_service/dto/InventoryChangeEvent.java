@@ -0,0 +1,55 @@
+package com.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO del evento de cambio de existencias publicado a los sistemas consumidores.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChangeEvent {
+
+    /**
+     * ID del evento, creciente; los consumidores lo usan para descartar duplicados.
+     */
+    private Long eventId;
+
+    /**
+     * ID del producto.
+     */
+    private Long productId;
+
+    /**
+     * Tipo de cambio: PURCHASE o ADJUSTMENT.
+     */
+    private String type;
+
+    /**
+     * Variación de la cantidad disponible (negativa en las compras).
+     */
+    private Integer delta;
+
+    /**
+     * Cantidad disponible tras el cambio.
+     */
+    private Integer quantity;
+
+    /**
+     * Identificador de correlación de la petición que originó el cambio.
+     */
+    private String correlationId;
+
+    /**
+     * Fecha y hora del cambio.
+     */
+    private LocalDateTime occurredAt;
+}
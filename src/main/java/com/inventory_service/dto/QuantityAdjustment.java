@@ -0,0 +1,42 @@
+package com.inventory_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con la variación de cantidad de un producto dentro de un lote.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantityAdjustment {
+
+    /** Valor absoluto máximo de una variación. */
+    public static final int MAX_DELTA = 1_000_000;
+
+    /**
+     * ID del producto.
+     */
+    @Schema(description = "ID del producto", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "El ID del producto es obligatorio")
+    private Long productId;
+
+    /**
+     * Variación a aplicar: positiva en recepciones, negativa en mermas.
+     */
+    @Schema(description = "Variación de la cantidad disponible, distinta de cero", example = "120",
+            minimum = "-" + MAX_DELTA, maximum = "" + MAX_DELTA, requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "La variación es obligatoria")
+    @Min(value = -MAX_DELTA, message = "La variación no puede ser menor a -" + MAX_DELTA)
+    @Max(value = MAX_DELTA, message = "La variación no puede ser mayor a " + MAX_DELTA)
+    private Integer delta;
+}
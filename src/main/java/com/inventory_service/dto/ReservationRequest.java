@@ -0,0 +1,39 @@
+package com.inventory_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para reservar unidades de un producto mientras se completa el pago.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+
+    /**
+     * ID del producto a reservar.
+     */
+    @NotNull(message = "El ID del producto es obligatorio")
+    private Long productId;
+
+    /**
+     * Cantidad de unidades a reservar.
+     */
+    @NotNull(message = "La cantidad es obligatoria")
+    @Positive(message = "La cantidad debe ser mayor a cero")
+    private Integer quantity;
+
+    /**
+     * Duración de la reserva en segundos; si se omite se usa la duración por defecto.
+     */
+    @Positive(message = "La duración de la reserva debe ser mayor a cero")
+    private Long ttlSeconds;
+}
@@ -0,0 +1,51 @@
+package com.inventory_service.dto;
+
+import com.inventory_service.model.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el estado de una reserva de inventario.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+
+    /**
+     * ID de la reserva.
+     */
+    private Long reservationId;
+
+    /**
+     * ID del producto reservado.
+     */
+    private Long productId;
+
+    /**
+     * Cantidad de unidades reservadas.
+     */
+    private Integer quantity;
+
+    /**
+     * Estado actual de la reserva.
+     */
+    private ReservationStatus status;
+
+    /**
+     * Fecha y hora a partir de la cual la reserva deja de poder confirmarse.
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Cantidad disponible restante tras crear la reserva (solo al reservar).
+     */
+    private Integer remainingQuantity;
+}
@@ -0,0 +1,28 @@
+package com.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO del evento {@code stock} del feed SSE de existencias.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelEvent {
+
+    /**
+     * ID del producto.
+     */
+    private Long productId;
+
+    /**
+     * Cantidad disponible tras el último cambio confirmado.
+     */
+    private Integer quantity;
+}
@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -23,6 +24,7 @@ import jakarta.servlet.http.HttpServletRequest;
  * @since Octubre 2022
  */
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class ApiExceptionHandler {
 	
@@ -124,6 +126,7 @@ public class ApiExceptionHandler {
 	@ResponseStatus(HttpStatus.CONFLICT)
 	@ExceptionHandler({
 		org.springframework.dao.DataIntegrityViolationException.class,
+		org.springframework.dao.OptimisticLockingFailureException.class,
 		com.inventory_service.exception.ConflictException.class
 	})
 	@ResponseBody
@@ -0,0 +1,112 @@
+package com.inventory_service.exception;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+/**
+ * Manejador de errores centralizado de la variante reactiva.
+ * Produce los mismos códigos de estado y el mismo cuerpo {@link MensajeError} que
+ * {@link ApiExceptionHandler}, a partir de las excepciones equivalentes de WebFlux.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveApiExceptionHandler {
+
+	/**
+	 * Maneja errores de validación del cuerpo de la solicitud.
+	 */
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	@ExceptionHandler(WebExchangeBindException.class)
+	public MensajeError handleValidationExceptions(ServerHttpRequest request, WebExchangeBindException ex) {
+		List<String> errores = ex.getBindingResult().getAllErrors()
+			.stream().map(errorObject -> {
+				String fieldName = ((FieldError) errorObject).getField();
+				String errorMessage = errorObject.getDefaultMessage();
+				return fieldName + ": " + errorMessage;
+			})
+			.collect(Collectors.toList());
+		return new MensajeError(errores, request.getPath().value());
+	}
+
+	/**
+	 * Maneja errores tipo NOT_FOUND.
+	 */
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	@ExceptionHandler({
+			com.inventory_service.exception.NotFoundException.class,
+			com.inventory_service.exception.ResourceNotFoundException.class
+	})
+	public MensajeError notFoundRequest(ServerHttpRequest request, Exception exception) {
+		return new MensajeError(List.of(exception.getMessage()), request.getPath().value());
+	}
+
+	/**
+	 * Maneja errores tipo BAD_REQUEST comunes (cuerpo ilegible, parámetros inválidos, método no soportado).
+	 */
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	@ExceptionHandler({
+		com.inventory_service.exception.BadRequestException.class,
+		org.springframework.dao.DuplicateKeyException.class,
+		org.springframework.web.server.ServerWebInputException.class,
+		org.springframework.web.server.MethodNotAllowedException.class,
+		IllegalArgumentException.class
+	})
+	public MensajeError badRequest(ServerHttpRequest request, Exception exception) {
+		return new MensajeError(List.of(exception.getMessage()), request.getPath().value());
+	}
+
+	/**
+	 * Maneja errores tipo FORBIDDEN.
+	 */
+	@ResponseStatus(HttpStatus.FORBIDDEN)
+	@ExceptionHandler(com.inventory_service.exception.ForbiddenException.class)
+	public MensajeError forbiddenRequest(ServerHttpRequest request, Exception exception) {
+		return new MensajeError(List.of(exception.getMessage()), request.getPath().value());
+	}
+
+	/**
+	 * Maneja errores de integridad de datos (CONFLICT).
+	 */
+	@ResponseStatus(HttpStatus.CONFLICT)
+	@ExceptionHandler({
+		org.springframework.dao.DataIntegrityViolationException.class,
+		org.springframework.dao.OptimisticLockingFailureException.class,
+		com.inventory_service.exception.ConflictException.class
+	})
+	public MensajeError conflictRequest(ServerHttpRequest request, Exception exception) {
+		log.error(exception.getMessage());
+		return new MensajeError(List.of("Las claves no pueden ser duplicadas."), request.getPath().value());
+	}
+
+	/**
+	 * Maneja errores de autorización (UNAUTHORIZED).
+	 */
+	@ResponseStatus(HttpStatus.UNAUTHORIZED)
+	@ExceptionHandler(com.inventory_service.exception.UnauthorizedException.class)
+	public void unauthorizedRequest() { }
+
+	/**
+	 * Maneja errores internos del servidor (INTERNAL_SERVER_ERROR).
+	 */
+	@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+	@ExceptionHandler(Exception.class)
+	public MensajeError fatalErrorUnexpectedRequest(ServerHttpRequest request, Exception exception) {
+		log.error(exception.getMessage(), exception);
+		return new MensajeError(List.of("Contacte con un administrador"), request.getPath().value());
+	}
+}
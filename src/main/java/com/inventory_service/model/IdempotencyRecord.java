@@ -0,0 +1,66 @@
+package com.inventory_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado registrado de una solicitud con {@code Idempotency-Key}.
+ * El registro se crea como pendiente antes de ejecutar la operación, lo que impide que otra
+ * instancia la ejecute en paralelo, y se completa con la respuesta serializada para reproducirla.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expira_en", columnList = "expira_en")
+})
+public class IdempotencyRecord {
+
+    /**
+     * Clave de idempotencia con el prefijo de la operación.
+     */
+    @Id
+    @Column(name = "clave", nullable = false, length = 200)
+    private String clave;
+
+    /**
+     * Huella (SHA-256) del cuerpo de la solicitud original.
+     */
+    @Column(name = "huella", nullable = false, length = 64)
+    private String huella;
+
+    @Builder.Default
+    @Column(name = "completado", nullable = false)
+    private Boolean completado = false;
+
+    /**
+     * Respuesta serializada en JSON; nula mientras la operación está en curso.
+     */
+    @Column(name = "respuesta", length = 4000)
+    private String respuesta;
+
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    @CreationTimestamp
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+
+    /**
+     * Versión del registro. Al ser nula en registros nuevos, el alta es siempre un INSERT
+     * y dos instancias no pueden reclamar la misma clave.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
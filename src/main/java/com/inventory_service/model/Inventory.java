@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -53,4 +54,14 @@ public class Inventory {
     @UpdateTimestamp
     @Column(name = "fecha_modificacion")
     private LocalDateTime fechaModificacion;
-}
\ No newline at end of file
+
+    /**
+     * Versión del registro para control de concurrencia optimista.
+     * Se incrementa en cada modificación, incluidos los descuentos atómicos.
+     */
+    @Version
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+}
@@ -0,0 +1,68 @@
+package com.inventory_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento del libro de inventario (solo inserción).
+ * La tabla no tiene índices secundarios: la clave primaria proviene de una secuencia creciente, de modo
+ * que las inserciones se agregan siempre al final del índice. La secuencia no se asigna por bloques:
+ * cada ID se obtiene dentro de la transacción del cambio, con la fila del inventario ya bloqueada, y
+ * así los movimientos de un producto quedan en orden de confirmación aunque escriban varias instancias.
+ * Las consultas por producto se acotan por rango de clave a partir de la última {@link InventorySnapshot}.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "inventory_movements")
+public class InventoryMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_movements_seq")
+    @SequenceGenerator(name = "inventory_movements_seq", sequenceName = "inventory_movements_seq", allocationSize = 1)
+    @Column(name = "id_movimiento", nullable = false, unique = true)
+    private Long idMovimiento;
+
+    @NotNull(message = "El producto_id es obligatorio")
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    /**
+     * Variación de la cantidad disponible (negativa en las compras).
+     */
+    @NotNull(message = "El delta es obligatorio")
+    @Column(nullable = false)
+    private Integer delta;
+
+    /**
+     * Cantidad disponible informada tras aplicar el movimiento.
+     */
+    @NotNull(message = "La cantidad resultante es obligatoria")
+    @Column(name = "cantidad_resultante", nullable = false)
+    private Integer cantidadResultante;
+
+    @NotNull(message = "El motivo es obligatorio")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "motivo", nullable = false, length = 16)
+    private MovementReason motivo;
+
+    /**
+     * Identificador de correlación de la petición que originó el movimiento.
+     */
+    @Column(name = "correlation_id", length = 64)
+    private String correlationId;
+
+    @NotNull(message = "La fecha del movimiento es obligatoria")
+    @Column(name = "fecha_movimiento", nullable = false)
+    private LocalDateTime fechaMovimiento;
+}
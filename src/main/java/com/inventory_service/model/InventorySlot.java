@@ -0,0 +1,59 @@
+package com.inventory_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Subcontador (escrow) de existencias de un producto muy demandado.
+ * En el modo {@code inventory.stock.mode=split} la cantidad de los productos configurados se reparte
+ * entre N filas de esta tabla, de modo que las compras concurrentes bloquean filas distintas; la fila
+ * de {@code inventories} conserva solo la cantidad aún no repartida.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "inventory_slots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inventory_slots_producto_slot", columnNames = {"producto_id", "slot"})
+})
+public class InventorySlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_slot", nullable = false, unique = true)
+    private Long idSlot;
+
+    @NotNull(message = "El producto_id es obligatorio")
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    /**
+     * Posición del subcontador dentro del producto (0..N-1).
+     */
+    @NotNull(message = "El slot es obligatorio")
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @PositiveOrZero(message = "La cantidad debe ser cero o positiva")
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    /**
+     * Timestamp de la última redistribución.
+     */
+    @UpdateTimestamp
+    @Column(name = "fecha_modificacion")
+    private LocalDateTime fechaModificacion;
+}
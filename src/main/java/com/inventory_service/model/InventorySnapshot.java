@@ -0,0 +1,52 @@
+package com.inventory_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fotografía de la cantidad de un producto según el libro de inventario, válida hasta el
+ * movimiento {@code ultimoMovimientoId} inclusive.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "inventory_snapshots", indexes = {
+        @Index(name = "idx_inventory_snapshots_producto", columnList = "producto_id, ultimo_movimiento_id")
+})
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_snapshot", nullable = false, unique = true)
+    private Long idSnapshot;
+
+    @NotNull(message = "El producto_id es obligatorio")
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    /**
+     * Último movimiento incluido en la fotografía.
+     */
+    @NotNull(message = "El último movimiento es obligatorio")
+    @Column(name = "ultimo_movimiento_id", nullable = false)
+    private Long ultimoMovimientoId;
+
+    @CreationTimestamp
+    @Column(name = "fecha_snapshot", nullable = false, updatable = false)
+    private LocalDateTime fechaSnapshot;
+}
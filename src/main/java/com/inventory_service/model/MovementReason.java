@@ -0,0 +1,18 @@
+package com.inventory_service.model;
+
+/**
+ * Motivo de un movimiento del libro de inventario.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public enum MovementReason {
+
+    /** Compra individual o línea de un carrito: descuenta la cantidad comprada. */
+    PURCHASE,
+
+    /** Ajuste manual: fija la cantidad disponible; el delta es la diferencia con la cantidad anterior. */
+    ADJUSTMENT,
+
+    /** Reserva: retiene unidades (delta negativo) o las devuelve al liberarse o vencer (delta positivo). */
+    RESERVATION
+}
@@ -0,0 +1,67 @@
+package com.inventory_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio de existencias pendiente de publicar (outbox transaccional).
+ * Se inserta en la misma transacción que modifica el inventario, de modo que solo existen eventos
+ * de cambios confirmados; el relay los lee en orden de clave y avanza su offset en
+ * {@link OutboxOffset}. La clave proviene de una secuencia con asignación por bloques para que las
+ * inserciones puedan enviarse en lotes JDBC.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "inventory_outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_outbox_seq")
+    @SequenceGenerator(name = "inventory_outbox_seq", sequenceName = "inventory_outbox_seq", allocationSize = 50)
+    @Column(name = "id_evento", nullable = false, unique = true)
+    private Long idEvento;
+
+    @NotNull(message = "El producto_id es obligatorio")
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @NotNull(message = "El tipo es obligatorio")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 16)
+    private MovementReason tipo;
+
+    /**
+     * Variación de la cantidad disponible (negativa en las compras).
+     */
+    @NotNull(message = "El delta es obligatorio")
+    @Column(nullable = false)
+    private Integer delta;
+
+    /**
+     * Cantidad disponible tras el cambio.
+     */
+    @NotNull(message = "La cantidad es obligatoria")
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    /**
+     * Identificador de correlación de la petición que originó el cambio.
+     */
+    @Column(name = "correlation_id", length = 64)
+    private String correlationId;
+
+    @NotNull(message = "La fecha del evento es obligatoria")
+    @Column(name = "fecha_evento", nullable = false)
+    private LocalDateTime fechaEvento;
+}
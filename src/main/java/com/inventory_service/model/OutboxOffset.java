@@ -0,0 +1,41 @@
+package com.inventory_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Offset de un relay del outbox: ID del último {@link OutboxEvent} entregado a su destino.
+ * La fila se bloquea mientras se publica un lote, de modo que solo una instancia avanza cada relay.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "inventory_outbox_offsets")
+public class OutboxOffset {
+
+    @Id
+    @Column(name = "relay", nullable = false, length = 64)
+    private String relay;
+
+    @NotNull(message = "El último evento es obligatorio")
+    @Column(name = "ultimo_evento_id", nullable = false)
+    private Long ultimoEventoId;
+
+    /**
+     * Timestamp del último avance.
+     */
+    @UpdateTimestamp
+    @Column(name = "fecha_modificacion")
+    private LocalDateTime fechaModificacion;
+}
@@ -0,0 +1,71 @@
+package com.inventory_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva de inventario: cantidad descontada del disponible de un producto y apartada
+ * hasta que se confirma, se libera o vence. Las reservas en estado {@link ReservationStatus#HELD}
+ * conforman la cantidad reservada del producto.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_estado", columnList = "estado")
+})
+public class Reservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_reserva", nullable = false, unique = true)
+    private Long idReserva;
+
+    @NotNull(message = "El producto_id es obligatorio")
+    @Column(name = "producto_id", nullable = false)
+    private Long productoId;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Positive(message = "La cantidad debe ser mayor a cero")
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 16)
+    private ReservationStatus estado = ReservationStatus.HELD;
+
+    /**
+     * Momento a partir del cual la reserva deja de poder confirmarse.
+     */
+    @NotNull(message = "La fecha de expiración es obligatoria")
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    /**
+     * Timestamp de creación del registro.
+     */
+    @CreationTimestamp
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
+    private LocalDateTime fechaCreacion;
+
+    /**
+     * Timestamp de última modificación (cambio de estado).
+     */
+    @UpdateTimestamp
+    @Column(name = "fecha_modificacion")
+    private LocalDateTime fechaModificacion;
+}
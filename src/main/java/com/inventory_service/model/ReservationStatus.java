@@ -0,0 +1,22 @@
+package com.inventory_service.model;
+
+/**
+ * Estados de una reserva de inventario.
+ * Solo una reserva {@link #HELD} puede pasar a cualquiera de los estados finales.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public enum ReservationStatus {
+
+    /** Cantidad apartada del disponible, pendiente de confirmación. */
+    HELD,
+
+    /** Compra confirmada: la cantidad reservada se consume definitivamente. */
+    CONFIRMED,
+
+    /** Reserva liberada por el cliente: la cantidad vuelve al disponible. */
+    RELEASED,
+
+    /** Reserva vencida sin confirmar: la cantidad vuelve al disponible. */
+    EXPIRED
+}
@@ -0,0 +1,15 @@
+package com.inventory_service.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de solo lectura del vencimiento de una reserva pendiente. Se construye directamente
+ * desde la consulta, sin materializar ni gestionar la entidad {@link com.inventory_service.model.Reservation}.
+ *
+ * @param idReserva ID de la reserva
+ * @param expiraEn  momento en que vence la reserva
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public record HeldReservation(Long idReserva, LocalDateTime expiraEn) {
+}
@@ -0,0 +1,50 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio para la entidad IdempotencyRecord.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Completa un registro pendiente con la respuesta, solo si sigue siendo el reclamo de quien lo completa.
+     * @param clave clave del registro
+     * @param lease vencimiento con el que se reclamó; identifica el reclamo
+     * @param respuesta respuesta serializada
+     * @param expiraEn vencimiento del resultado guardado
+     * @return 1 si el registro se completó; 0 si el reclamo venció y la clave se volvió a reclamar
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IdempotencyRecord r SET r.completado = true, r.respuesta = :respuesta, r.expiraEn = :expiraEn, "
+            + "r.version = r.version + 1 WHERE r.clave = :clave AND r.completado = false AND r.expiraEn = :lease")
+    int complete(@Param("clave") String clave, @Param("lease") LocalDateTime lease,
+                 @Param("respuesta") String respuesta, @Param("expiraEn") LocalDateTime expiraEn);
+
+    /**
+     * Elimina un registro pendiente, solo si sigue siendo el reclamo indicado.
+     * @param clave clave del registro
+     * @param lease vencimiento con el que se reclamó
+     * @return número de registros eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.clave = :clave AND r.completado = false AND r.expiraEn = :lease")
+    int deleteClaim(@Param("clave") String clave, @Param("lease") LocalDateTime lease);
+
+    /**
+     * Elimina en una sola sentencia los registros vencidos.
+     * @param now instante de referencia
+     * @return número de registros eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiraEn <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,49 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.InventoryMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio del libro de movimientos de inventario.
+ * Todas las consultas se acotan por rango de la clave primaria.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    /**
+     * Movimientos con ID en el rango {@code (afterId, toId]}, en orden de ID.
+     * @param afterId ID exclusivo de inicio
+     * @param toId ID inclusivo de fin
+     * @return movimientos del rango
+     */
+    @Query("SELECT m FROM InventoryMovement m WHERE m.idMovimiento > :afterId AND m.idMovimiento <= :toId "
+            + "ORDER BY m.idMovimiento")
+    List<InventoryMovement> findRange(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    /**
+     * Movimientos de un producto posteriores a un ID, en orden de ID.
+     * @param productoId ID del producto
+     * @param afterId ID exclusivo de inicio
+     * @return movimientos del producto
+     */
+    @Query("SELECT m FROM InventoryMovement m WHERE m.idMovimiento > :afterId AND m.productoId = :productoId "
+            + "ORDER BY m.idMovimiento")
+    List<InventoryMovement> findByProductAfter(@Param("productoId") Long productoId, @Param("afterId") Long afterId);
+
+    /**
+     * Mayor ID de los movimientos posteriores a un ID y ocurridos hasta un instante dado.
+     * @param afterId ID exclusivo de inicio
+     * @param until instante límite (inclusivo)
+     * @return ID máximo; vacío si no hay movimientos
+     */
+    @Query("SELECT MAX(m.idMovimiento) FROM InventoryMovement m WHERE m.idMovimiento > :afterId "
+            + "AND m.fechaMovimiento <= :until")
+    Optional<Long> findMaxIdUntil(@Param("afterId") Long afterId, @Param("until") LocalDateTime until);
+}
@@ -1,22 +1,83 @@
 package com.inventory_service.repository;
 
 import com.inventory_service.model.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio para la entidad Inventory.
+ * Las lecturas de cantidad de los endpoints de consulta usan proyecciones ({@code cantidad} escalar o
+ * {@link StockLevel}) en transacciones de solo lectura: no se materializan entidades gestionadas ni
+ * sus copias para la detección de cambios, y Hibernate no vacía la sesión (flush {@code MANUAL}).
+ * Dentro de una transacción de escritura en curso se unen a ella con su comportamiento habitual.
  * @author Diego Alexander Villalba
  * @since Octubre 2025
  */
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryRepositoryCustom {
     /**
      * Busca un inventario por el ID del producto y que no esté eliminado.
      * @param productoId ID del producto
      * @return Optional con el inventario encontrado
      */
     Optional<Inventory> findByProductoIdAndEliminadoFalse(Long productoId);
+
+    /**
+     * Cantidad de la fila de inventario activa de un producto, sin cargar la entidad.
+     * @param productoId ID del producto
+     * @return cantidad; vacío si el producto no tiene inventario activo
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT i.cantidad FROM Inventory i WHERE i.productoId = :productoId AND i.eliminado = false")
+    Optional<Integer> findCantidadByProductoId(@Param("productoId") Long productoId);
+
+    /**
+     * Cantidades de los inventarios activos de varios productos en una sola consulta, sin cargar las entidades.
+     * @param productoIds IDs de los productos
+     * @return cantidades encontradas (los productos sin inventario se omiten)
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.inventory_service.repository.StockLevel(i.productoId, i.cantidad) FROM Inventory i "
+            + "WHERE i.productoId IN :productoIds AND i.eliminado = false")
+    List<StockLevel> findStockLevels(@Param("productoIds") Collection<Long> productoIds);
+
+    /**
+     * Busca y bloquea (SELECT ... FOR UPDATE) el inventario activo de un producto.
+     * Solo se usa en operaciones poco frecuentes que deben serializarse sobre la fila.
+     * @param productoId ID del producto
+     * @return Optional con el inventario bloqueado
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productoId = :productoId AND i.eliminado = false")
+    Optional<Inventory> findActiveForUpdate(@Param("productoId") Long productoId);
+
+    /**
+     * Busca en una sola consulta ({@code WHERE producto_id IN (...)}) los inventarios
+     * no eliminados de varios productos.
+     * @param productoIds IDs de los productos
+     * @return inventarios encontrados (los productos sin inventario se omiten)
+     */
+    List<Inventory> findByProductoIdInAndEliminadoFalse(Collection<Long> productoIds);
+
+    /**
+     * Devuelve cantidad al inventario activo de un producto (liberación o vencimiento de reservas).
+     * Se ejecuta como un único UPDATE que incrementa también la versión del registro.
+     * @param productoId ID del producto
+     * @param cantidad cantidad a devolver (mayor a cero)
+     * @return número de filas actualizadas (0 si el producto no tiene inventario activo)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.cantidad = i.cantidad + :cantidad, i.version = i.version + 1, "
+            + "i.fechaModificacion = LOCAL DATETIME WHERE i.productoId = :productoId AND i.eliminado = false")
+    int incrementStock(@Param("productoId") Long productoId, @Param("cantidad") Integer cantidad);
 }
 
 
@@ -0,0 +1,71 @@
+package com.inventory_service.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Operaciones del repositorio de inventario que no pueden expresarse con consultas derivadas.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface InventoryRepositoryCustom {
+
+    /**
+     * Descuenta de forma atómica la cantidad indicada del inventario activo de un producto,
+     * solo si hay existencias suficientes. Se ejecuta como una única sentencia UPDATE
+     * condicional que retorna la cantidad resultante, por lo que no requiere una lectura previa
+     * ni puede dejar el inventario en negativo ante compras concurrentes.
+     * @param productoId ID del producto
+     * @param cantidad cantidad a descontar (mayor a cero)
+     * @return Optional con la cantidad restante; vacío si no existe inventario activo
+     *         o si la cantidad disponible es insuficiente
+     */
+    Optional<Integer> decrementStockIfAvailable(Long productoId, Integer cantidad);
+
+    /**
+     * Aplica varios descuentos condicionales en un único lote JDBC ({@code addBatch}/{@code executeBatch})
+     * dentro de la transacción en curso. Cada sentencia descuenta solo si hay existencias suficientes
+     * en ese punto del lote, por lo que los descuentos de un mismo producto se evalúan en el orden recibido.
+     * @param decrements descuentos a aplicar, en orden
+     * @return filas actualizadas por descuento (1 si se aplicó, 0 si no existe inventario activo
+     *         o si la cantidad disponible era insuficiente)
+     */
+    int[] decrementStockInBatch(List<StockDecrement> decrements);
+
+    /**
+     * Suma una variación (positiva o negativa) a la cantidad del inventario activo de un producto con una
+     * única sentencia UPDATE condicional que retorna la cantidad resultante; la variación solo se aplica
+     * si la cantidad no queda negativa ni supera {@link Integer#MAX_VALUE} (la suma se evalúa en BIGINT,
+     * de modo que un desbordamiento no llega a ser un error de la base de datos).
+     * @param productoId ID del producto
+     * @param delta variación a aplicar
+     * @return Optional con la cantidad resultante; vacío si no existe inventario activo
+     *         o si la cantidad quedaría fuera de rango
+     */
+    Optional<Integer> adjustStockIfNonNegative(Long productoId, Integer delta);
+
+    /**
+     * Aplica varias variaciones condicionales en un único lote JDBC dentro de la transacción en curso,
+     * en el orden recibido.
+     * @param adjustments variaciones a aplicar, en orden
+     * @return filas actualizadas por variación (1 si se aplicó, 0 si no existe inventario activo
+     *         o si la cantidad quedaría negativa o por encima de {@link Integer#MAX_VALUE})
+     */
+    int[] adjustStockInBatch(List<StockAdjustment> adjustments);
+
+    /**
+     * Descuento solicitado para un producto.
+     * @param productoId ID del producto
+     * @param cantidad cantidad a descontar (mayor a cero)
+     */
+    record StockDecrement(Long productoId, Integer cantidad) {
+    }
+
+    /**
+     * Variación solicitada para un producto.
+     * @param productoId ID del producto
+     * @param delta variación a aplicar (positiva en recepciones, negativa en mermas)
+     */
+    record StockAdjustment(Long productoId, Integer delta) {
+    }
+}
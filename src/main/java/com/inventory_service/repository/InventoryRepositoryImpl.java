@@ -0,0 +1,149 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.Inventory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación de las operaciones personalizadas de {@link InventoryRepository}.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public class InventoryRepositoryImpl implements InventoryRepositoryCustom {
+
+    /** Descuento condicional con RETURNING (PostgreSQL). */
+    private static final String DECREMENT_RETURNING_SQL =
+            "UPDATE inventories SET cantidad = cantidad - :cantidad, fecha_modificacion = CURRENT_TIMESTAMP, "
+                    + "version = version + 1 WHERE producto_id = :productoId AND eliminado = false AND cantidad >= :cantidad "
+                    + "RETURNING cantidad";
+
+    /** Descuento condicional equivalente para motores sin RETURNING (H2). */
+    private static final String DECREMENT_FINAL_TABLE_SQL =
+            "SELECT cantidad FROM FINAL TABLE (UPDATE inventories SET cantidad = cantidad - :cantidad, "
+                    + "fecha_modificacion = CURRENT_TIMESTAMP, "
+                    + "version = version + 1 WHERE producto_id = :productoId AND eliminado = false AND cantidad >= :cantidad)";
+
+    /** Descuento condicional sin retorno de filas, apto para lotes JDBC. */
+    private static final String DECREMENT_BATCH_SQL =
+            "UPDATE inventories SET cantidad = cantidad - ?, fecha_modificacion = CURRENT_TIMESTAMP, "
+                    + "version = version + 1 WHERE producto_id = ? AND eliminado = false AND cantidad >= ?";
+
+    /**
+     * Condición de las variaciones con parámetros con nombre: la cantidad resultante, calculada en BIGINT
+     * para que un desbordamiento no sea un error de la base de datos, debe quedar entre cero y el máximo
+     * de la columna.
+     */
+    private static final String ADJUST_IN_RANGE =
+            "CAST(cantidad AS BIGINT) + :delta BETWEEN 0 AND " + Integer.MAX_VALUE;
+
+    /** Variación condicional con RETURNING (PostgreSQL). */
+    private static final String ADJUST_RETURNING_SQL =
+            "UPDATE inventories SET cantidad = cantidad + :delta, fecha_modificacion = CURRENT_TIMESTAMP, "
+                    + "version = version + 1 WHERE producto_id = :productoId AND eliminado = false "
+                    + "AND " + ADJUST_IN_RANGE + " RETURNING cantidad";
+
+    /** Variación condicional equivalente para motores sin RETURNING (H2). */
+    private static final String ADJUST_FINAL_TABLE_SQL =
+            "SELECT cantidad FROM FINAL TABLE (UPDATE inventories SET cantidad = cantidad + :delta, "
+                    + "fecha_modificacion = CURRENT_TIMESTAMP, "
+                    + "version = version + 1 WHERE producto_id = :productoId AND eliminado = false "
+                    + "AND " + ADJUST_IN_RANGE + ")";
+
+    /** Variación condicional sin retorno de filas, apta para lotes JDBC. */
+    private static final String ADJUST_BATCH_SQL =
+            "UPDATE inventories SET cantidad = cantidad + ?, fecha_modificacion = CURRENT_TIMESTAMP, "
+                    + "version = version + 1 WHERE producto_id = ? AND eliminado = false "
+                    + "AND CAST(cantidad AS BIGINT) + ? BETWEEN 0 AND " + Integer.MAX_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean supportsReturning;
+
+    @Override
+    public Optional<Integer> decrementStockIfAvailable(Long productoId, Integer cantidad) {
+        List<?> result = entityManager.createNativeQuery(
+                        supportsReturning() ? DECREMENT_RETURNING_SQL : DECREMENT_FINAL_TABLE_SQL)
+                .setParameter("cantidad", cantidad)
+                .setParameter("productoId", productoId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Inventory.class)
+                .getResultList();
+        return result.stream()
+                .findFirst()
+                .map(value -> ((Number) value).intValue());
+    }
+
+    @Override
+    public int[] decrementStockInBatch(List<StockDecrement> decrements) {
+        if (decrements.isEmpty()) {
+            return new int[0];
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DECREMENT_BATCH_SQL)) {
+                for (StockDecrement decrement : decrements) {
+                    statement.setInt(1, decrement.cantidad());
+                    statement.setLong(2, decrement.productoId());
+                    statement.setInt(3, decrement.cantidad());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public Optional<Integer> adjustStockIfNonNegative(Long productoId, Integer delta) {
+        List<?> result = entityManager.createNativeQuery(
+                        supportsReturning() ? ADJUST_RETURNING_SQL : ADJUST_FINAL_TABLE_SQL)
+                .setParameter("delta", delta)
+                .setParameter("productoId", productoId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Inventory.class)
+                .getResultList();
+        return result.stream()
+                .findFirst()
+                .map(value -> ((Number) value).intValue());
+    }
+
+    @Override
+    public int[] adjustStockInBatch(List<StockAdjustment> adjustments) {
+        if (adjustments.isEmpty()) {
+            return new int[0];
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ADJUST_BATCH_SQL)) {
+                for (StockAdjustment adjustment : adjustments) {
+                    statement.setInt(1, adjustment.delta());
+                    statement.setLong(2, adjustment.productoId());
+                    statement.setInt(3, adjustment.delta());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Resuelve una única vez si el dialecto configurado admite UPDATE ... RETURNING.
+     */
+    private boolean supportsReturning() {
+        Boolean supported = supportsReturning;
+        if (supported == null) {
+            supported = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+            supportsReturning = supported;
+        }
+        return supported;
+    }
+}
@@ -0,0 +1,53 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.InventorySlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la entidad InventorySlot.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface InventorySlotRepository extends JpaRepository<InventorySlot, Long> {
+
+    /**
+     * Descuenta la cantidad de un subcontador solo si le alcanza.
+     * @param productoId ID del producto
+     * @param slot posición del subcontador
+     * @param cantidad cantidad a descontar (mayor a cero)
+     * @return 1 si se descontó, 0 si el subcontador no existe o no tiene cantidad suficiente
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventorySlot s SET s.cantidad = s.cantidad - :cantidad, s.fechaModificacion = LOCAL DATETIME "
+            + "WHERE s.productoId = :productoId AND s.slot = :slot AND s.cantidad >= :cantidad")
+    int decrementIfAvailable(@Param("productoId") Long productoId,
+                             @Param("slot") Integer slot,
+                             @Param("cantidad") Integer cantidad);
+
+    /**
+     * Bloquea y retorna los subcontadores de un producto, en orden de posición.
+     * @param productoId ID del producto
+     * @return subcontadores existentes
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<InventorySlot> findByProductoIdOrderBySlot(Long productoId);
+
+    /**
+     * Cantidad total de un producto (fila de inventario más sus subcontadores), leída en una
+     * sola sentencia para obtener una imagen consistente.
+     * @param productoId ID del producto
+     * @return cantidad total; vacío si el producto no tiene inventario activo
+     */
+    @Query(value = "SELECT CAST(i.cantidad + COALESCE((SELECT SUM(s.cantidad) FROM inventory_slots s "
+            + "WHERE s.producto_id = i.producto_id), 0) AS INTEGER) "
+            + "FROM inventories i WHERE i.producto_id = :productoId AND i.eliminado = false", nativeQuery = true)
+    Optional<Integer> findAggregatedQuantity(@Param("productoId") Long productoId);
+}
@@ -0,0 +1,29 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+/**
+ * Repositorio de las fotografías del libro de inventario.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    /**
+     * Fotografía más reciente de un producto.
+     * @param productoId ID del producto
+     * @return Optional con la fotografía encontrada
+     */
+    Optional<InventorySnapshot> findFirstByProductoIdOrderByUltimoMovimientoIdDesc(Long productoId);
+
+    /**
+     * Último movimiento cubierto por la corrida de fotografías más reciente.
+     * @return ID del movimiento; vacío si aún no hay fotografías
+     */
+    @Query("SELECT MAX(s.ultimoMovimientoId) FROM InventorySnapshot s")
+    Optional<Long> findLastCoveredMovementId();
+}
@@ -0,0 +1,42 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio del outbox de eventos de inventario.
+ * Las consultas se acotan por rango de la clave primaria.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Siguiente lote de eventos posteriores a un offset y ocurridos hasta un instante dado, en orden de ID.
+     * @param afterId offset exclusivo
+     * @param until instante límite (inclusivo)
+     * @param page tamaño del lote
+     * @return eventos del lote
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.idEvento > :afterId AND e.fechaEvento <= :until "
+            + "ORDER BY e.idEvento")
+    List<OutboxEvent> findBatchAfter(@Param("afterId") Long afterId, @Param("until") LocalDateTime until,
+                                     Pageable page);
+
+    /**
+     * Elimina los eventos ya entregados y anteriores a un instante dado.
+     * @param upToId offset entregado (inclusivo)
+     * @param before instante límite (exclusivo)
+     * @return eventos eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.idEvento <= :upToId AND e.fechaEvento < :before")
+    int deleteDelivered(@Param("upToId") Long upToId, @Param("before") LocalDateTime before);
+}
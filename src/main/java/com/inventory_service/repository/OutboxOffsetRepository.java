@@ -0,0 +1,27 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.OutboxOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repositorio de los offsets de los relays del outbox.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+
+    /**
+     * Offset de un relay, bloqueado hasta el fin de la transacción (SELECT ... FOR UPDATE).
+     * @param relay nombre del relay
+     * @return offset del relay; vacío si aún no entregó eventos
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OutboxOffset o WHERE o.relay = :relay")
+    Optional<OutboxOffset> findForUpdate(@Param("relay") String relay);
+}
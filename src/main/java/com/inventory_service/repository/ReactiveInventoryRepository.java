@@ -0,0 +1,59 @@
+package com.inventory_service.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Lecturas no bloqueantes (R2DBC) de la tabla {@code inventories} para la variante reactiva del API,
+ * equivalentes a las proyecciones de {@link InventoryRepository}. Las escrituras no están aquí: pasan
+ * por el motor de existencias, como en la variante servlet.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveInventoryRepository {
+
+    private static final String FIND_QUANTITY_SQL =
+            "SELECT cantidad FROM inventories WHERE producto_id = :productoId AND eliminado = false";
+
+    private static final String FIND_QUANTITIES_SQL =
+            "SELECT producto_id, cantidad FROM inventories WHERE producto_id IN (:productoIds) AND eliminado = false";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveInventoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Cantidad disponible del inventario activo de un producto.
+     * @param productoId ID del producto
+     * @return cantidad disponible; vacío si el producto no tiene inventario activo
+     */
+    public Mono<Integer> findAvailableQuantity(Long productoId) {
+        return databaseClient.sql(FIND_QUANTITY_SQL)
+                .bind("productoId", productoId)
+                .map(row -> row.get("cantidad", Integer.class))
+                .one();
+    }
+
+    /**
+     * Cantidades disponibles de varios productos en una sola consulta {@code IN}.
+     * @param productoIds IDs de los productos (no vacío)
+     * @return mapa producto → cantidad; los productos sin inventario activo se omiten
+     */
+    public Mono<Map<Long, Integer>> findAvailableQuantities(Collection<Long> productoIds) {
+        return databaseClient.sql(FIND_QUANTITIES_SQL)
+                .bind("productoIds", productoIds)
+                .map(row -> Map.entry(row.get("producto_id", Long.class), row.get("cantidad", Integer.class)))
+                .all()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
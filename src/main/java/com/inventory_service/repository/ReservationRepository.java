@@ -0,0 +1,105 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.Reservation;
+import com.inventory_service.model.ReservationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad Reservation.
+ * Los cambios de estado son UPDATE condicionales sobre el estado actual, de modo que ante
+ * confirmaciones, liberaciones y expiraciones concurrentes solo una transición tiene efecto.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    /**
+     * Busca las reservas en un estado dado.
+     * @param estado estado de la reserva
+     * @return reservas encontradas
+     */
+    List<Reservation> findByEstado(ReservationStatus estado);
+
+    /**
+     * IDs de las reservas pendientes cuya expiración ya se cumplió, las más antiguas primero.
+     * @param now instante de referencia
+     * @param limit máximo de reservas a retornar
+     * @return IDs de las reservas vencidas sin procesar
+     */
+    @Query("SELECT r.idReserva FROM Reservation r "
+            + "WHERE r.estado = com.inventory_service.model.ReservationStatus.HELD AND r.expiraEn <= :now "
+            + "ORDER BY r.expiraEn")
+    List<Long> findExpiredHeldIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Primera página de los vencimientos de las reservas pendientes, por vencimiento e ID.
+     * @param limit tamaño de la página
+     * @return vencimientos de las reservas pendientes
+     */
+    @Query("SELECT new com.inventory_service.repository.HeldReservation(r.idReserva, r.expiraEn) FROM Reservation r "
+            + "WHERE r.estado = com.inventory_service.model.ReservationStatus.HELD "
+            + "ORDER BY r.expiraEn, r.idReserva")
+    List<HeldReservation> findHeldExpiries(Limit limit);
+
+    /**
+     * Página siguiente de los vencimientos de las reservas pendientes, a partir de la última leída.
+     * @param expiraEn vencimiento de la última reserva de la página anterior
+     * @param idReserva ID de la última reserva de la página anterior
+     * @param limit tamaño de la página
+     * @return vencimientos de las reservas pendientes posteriores
+     */
+    @Query("SELECT new com.inventory_service.repository.HeldReservation(r.idReserva, r.expiraEn) FROM Reservation r "
+            + "WHERE r.estado = com.inventory_service.model.ReservationStatus.HELD "
+            + "AND (r.expiraEn > :expiraEn OR (r.expiraEn = :expiraEn AND r.idReserva > :idReserva)) "
+            + "ORDER BY r.expiraEn, r.idReserva")
+    List<HeldReservation> findHeldExpiriesAfter(@Param("expiraEn") LocalDateTime expiraEn,
+                                                @Param("idReserva") Long idReserva,
+                                                Limit limit);
+
+    /**
+     * Cambia el estado de una reserva solo si se encuentra en el estado esperado.
+     * @param idReserva ID de la reserva
+     * @param from estado esperado
+     * @param to nuevo estado
+     * @return 1 si la transición se aplicó, 0 en caso contrario
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.estado = :to, r.fechaModificacion = LOCAL DATETIME "
+            + "WHERE r.idReserva = :idReserva AND r.estado = :from")
+    int transition(@Param("idReserva") Long idReserva,
+                   @Param("from") ReservationStatus from,
+                   @Param("to") ReservationStatus to);
+
+    /**
+     * Confirma una reserva pendiente que aún no ha vencido.
+     * @param idReserva ID de la reserva
+     * @param now instante de referencia
+     * @return 1 si la reserva se confirmó, 0 en caso contrario
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.estado = com.inventory_service.model.ReservationStatus.CONFIRMED, "
+            + "r.fechaModificacion = LOCAL DATETIME "
+            + "WHERE r.idReserva = :idReserva AND r.estado = com.inventory_service.model.ReservationStatus.HELD "
+            + "AND r.expiraEn > :now")
+    int confirmIfNotExpired(@Param("idReserva") Long idReserva, @Param("now") LocalDateTime now);
+
+    /**
+     * Marca como vencida una reserva pendiente cuya expiración ya se cumplió.
+     * @param idReserva ID de la reserva
+     * @param now instante de referencia
+     * @return 1 si la reserva venció, 0 en caso contrario
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.estado = com.inventory_service.model.ReservationStatus.EXPIRED, "
+            + "r.fechaModificacion = LOCAL DATETIME "
+            + "WHERE r.idReserva = :idReserva AND r.estado = com.inventory_service.model.ReservationStatus.HELD "
+            + "AND r.expiraEn <= :now")
+    int expireIfDue(@Param("idReserva") Long idReserva, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package com.inventory_service.repository;
+
+/**
+ * Proyección de solo lectura de la cantidad de un inventario activo. Se construye directamente
+ * desde la consulta, sin materializar ni gestionar la entidad {@link com.inventory_service.model.Inventory}.
+ *
+ * @param productoId ID del producto
+ * @param cantidad   cantidad de la fila de inventario
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public record StockLevel(Long productoId, Integer cantidad) {
+}
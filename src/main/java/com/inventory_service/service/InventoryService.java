@@ -1,8 +1,15 @@
 package com.inventory_service.service;
 
 import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.AdjustBatchResponse;
 import com.inventory_service.dto.BuyRequest;
 import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.dto.CartRequest;
+import com.inventory_service.dto.CartResponse;
+import com.inventory_service.dto.QuantityAdjustment;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio de dominio para operaciones de inventario.
@@ -18,6 +25,16 @@ public interface InventoryService {
      */
     Integer getAvailableQuantityByProductId(Long productId);
 
+    /**
+     * Obtiene la cantidad disponible de varios productos con una consulta por lote a
+     * product-service y una única consulta a la base de datos.
+     *
+     * @param productIds identificadores de los productos
+     * @return mapa producto → cantidad disponible, en el orden recibido; se omiten los productos
+     *         inexistentes o eliminados en product-service y los que no tienen inventario
+     */
+    Map<Long, Integer> getAvailableQuantities(List<Long> productIds);
+
     /**
      * Obtiene el producto desde product-service por ID.
      *
@@ -36,6 +53,41 @@ public interface InventoryService {
      */
     Integer updateAvailableQuantity(Long productId, Integer cantidad);
 
+    /**
+     * Suma una variación a la cantidad disponible de un producto con una única sentencia condicional,
+     * sin leerla antes: las recepciones y mermas no compiten con las compras concurrentes.
+     * Valida la existencia del producto en product-service.
+     *
+     * @param productId identificador del producto
+     * @param delta     variación a aplicar (positiva en recepciones, negativa en mermas)
+     * @return cantidad resultante
+     * @throws com.inventory_service.exception.NotFoundException si el producto no existe o no tiene inventario
+     * @throws com.inventory_service.exception.BadRequestException si la variación es cero o la cantidad
+     *         quedaría negativa o por encima del máximo
+     */
+    Integer adjustAvailableQuantity(Long productId, Integer delta);
+
+    /**
+     * Revierte una variación ya aplicada (por ejemplo, una compra idempotente cuyo resultado no pudo
+     * registrarse). No vuelve a validar el producto en product-service: la operación original ya lo hizo.
+     *
+     * @param productId identificador del producto
+     * @param delta     variación que deshace la operación original
+     * @return cantidad resultante
+     * @throws com.inventory_service.exception.BadRequestException si la cantidad quedaría negativa
+     */
+    Integer revertQuantity(Long productId, Integer delta);
+
+    /**
+     * Aplica muchas variaciones de cantidad en lotes JDBC, una transacción por bloque de variaciones.
+     * Cada variación se aplica o se rechaza por separado (variación cero, producto inexistente, sin
+     * inventario o con cantidad que quedaría negativa o por encima del máximo).
+     *
+     * @param adjustments variaciones a aplicar, en orden
+     * @return totales y detalle de las variaciones rechazadas
+     */
+    AdjustBatchResponse adjustAvailableQuantities(List<QuantityAdjustment> adjustments);
+
     /**
      * Procesa una compra de producto.
      * Verifica la disponibilidad del producto en el inventario y actualiza las cantidades
@@ -47,6 +99,18 @@ public interface InventoryService {
      * @throws com.inventory_service.exception.BadRequestException si no hay inventario suficiente para la compra
      */
     BuyResponse buyProduct(BuyRequest request);
+
+    /**
+     * Procesa la compra de un carrito con varios productos en una sola transacción.
+     * Los productos se validan con una única consulta por lote a product-service y el inventario
+     * se descuenta para todos los productos o para ninguno.
+     *
+     * @param request carrito con las líneas a comprar; las líneas repetidas de un producto se suman
+     * @return detalle de la compra por producto y totales del carrito
+     * @throws com.inventory_service.exception.NotFoundException si algún producto no existe, está eliminado o no tiene inventario
+     * @throws com.inventory_service.exception.BadRequestException si algún producto no tiene inventario suficiente
+     */
+    CartResponse buyCart(CartRequest request);
 }
 
 
@@ -0,0 +1,61 @@
+package com.inventory_service.service;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.dto.BuyResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de inventario no bloqueante, equivalente a {@link InventoryService} para la variante
+ * reactiva del API (perfil {@code reactive}). Los errores se emiten con las mismas excepciones.
+ */
+public interface ReactiveInventoryService {
+
+    /**
+     * Obtiene la cantidad disponible en inventario para un producto.
+     *
+     * @param productId identificador del producto
+     * @return cantidad disponible; error {@link com.inventory_service.exception.NotFoundException}
+     *         si el producto no existe o no tiene inventario
+     */
+    Mono<Integer> getAvailableQuantityByProductId(Long productId);
+
+    /**
+     * Obtiene la cantidad disponible de varios productos.
+     *
+     * @param productIds identificadores de los productos
+     * @return mapa producto → cantidad disponible, en el orden recibido; se omiten los productos
+     *         inexistentes, eliminados o sin inventario
+     */
+    Mono<Map<Long, Integer>> getAvailableQuantities(List<Long> productIds);
+
+    /**
+     * Obtiene el producto desde product-service por ID.
+     *
+     * @param productId identificador del producto
+     * @return representación del producto tal como la expone product-service
+     */
+    Mono<ProductResponse> getProductById(Long productId);
+
+    /**
+     * Actualiza (o crea) la cantidad disponible de inventario para un producto.
+     *
+     * @param productId identificador del producto
+     * @param cantidad  nueva cantidad disponible (>= 0)
+     * @return cantidad actualizada
+     */
+    Mono<Integer> updateAvailableQuantity(Long productId, Integer cantidad);
+
+    /**
+     * Procesa una compra de producto.
+     *
+     * @param request solicitud de compra
+     * @return detalle de la compra; error {@link com.inventory_service.exception.NotFoundException} si el
+     *         producto no existe o {@link com.inventory_service.exception.BadRequestException} si no hay
+     *         inventario suficiente
+     */
+    Mono<BuyResponse> buyProduct(BuyRequest request);
+}
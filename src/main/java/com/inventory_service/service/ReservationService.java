@@ -0,0 +1,43 @@
+package com.inventory_service.service;
+
+import com.inventory_service.dto.ReservationRequest;
+import com.inventory_service.dto.ReservationResponse;
+
+/**
+ * Servicio de reservas de inventario: aparta unidades mientras se confirma el pago.
+ * Una reserva descuenta la cantidad del disponible al crearse; confirmarla la consume
+ * definitivamente y liberarla (o dejarla vencer) la devuelve al disponible.
+ */
+public interface ReservationService {
+
+    /**
+     * Reserva unidades de un producto. Valida la existencia del producto en product-service.
+     *
+     * @param request producto, cantidad y duración opcional de la reserva
+     * @return reserva creada con la cantidad disponible restante
+     * @throws com.inventory_service.exception.NotFoundException si el producto no existe o no tiene inventario
+     * @throws com.inventory_service.exception.BadRequestException si no hay inventario suficiente
+     *         o la duración supera el máximo permitido
+     */
+    ReservationResponse hold(ReservationRequest request);
+
+    /**
+     * Confirma una reserva pendiente que no ha vencido.
+     *
+     * @param reservationId identificador de la reserva
+     * @return reserva confirmada
+     * @throws com.inventory_service.exception.NotFoundException si la reserva no existe
+     * @throws com.inventory_service.exception.ConflictException si la reserva no está pendiente o ya venció
+     */
+    ReservationResponse confirm(Long reservationId);
+
+    /**
+     * Libera una reserva pendiente y devuelve la cantidad al inventario.
+     *
+     * @param reservationId identificador de la reserva
+     * @return reserva liberada
+     * @throws com.inventory_service.exception.NotFoundException si la reserva no existe
+     * @throws com.inventory_service.exception.ConflictException si la reserva no está pendiente
+     */
+    ReservationResponse release(Long reservationId);
+}
@@ -0,0 +1,169 @@
+package com.inventory_service.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inventory_service.config.ReadReplicaRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Caché en proceso de la cantidad disponible por producto, para la consulta
+ * {@code GET /{productId}/available}.
+ *
+ * <ul>
+ *   <li>Cada entrada expira a los {@code inventory.availability-cache.ttl} de cargarse: es la cota de
+ *       antigüedad para los cambios que no pasan por esta instancia (otras instancias, SQL directo).</li>
+ *   <li>Los cambios de esta instancia invalidan la entrada al confirmarse su transacción (o en el acto,
+ *       si no hay una transacción en curso, como cuando el motor de existencias ya la confirmó) y se
+ *       informan a las demás instancias por el {@link CacheInvalidationBus}.</li>
+ *   <li>Una carga que leyó la base antes de una invalidación del mismo producto no se guarda: cada
+ *       invalidación avanza la época de su franja de productos y la carga solo se guarda si la época
+ *       no cambió mientras leía.</li>
+ *   <li>Las cargas se leen en la base principal aunque haya réplicas de lectura: la época solo protege
+ *       de las invalidaciones ocurridas durante la lectura, y una réplica retrasada devolvería un valor
+ *       anterior a una invalidación ya aplicada, que quedaría guardado hasta el {@code ttl}.</li>
+ * </ul>
+ *
+ * Los productos sin inventario no se guardan. Las estadísticas se publican en Micrometer bajo los
+ * medidores {@code cache.*} con la etiqueta {@code cache=available-quantity}.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+public class AvailabilityCache {
+
+    static final String CACHE_NAME = "available-quantity";
+
+    /** Número de franjas de épocas; acota la memoria sin importar cuántos productos se invaliden. */
+    private static final int STRIPES = 1024;
+
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final Cache<Long, Integer> cache;
+    private final AtomicLongArray epochs = new AtomicLongArray(STRIPES);
+
+    @Autowired
+    public AvailabilityCache(
+            MeterRegistry meterRegistry,
+            CacheInvalidationBus invalidationBus,
+            @Value("${inventory.availability-cache.enabled:true}") boolean enabled,
+            @Value("${inventory.availability-cache.ttl:2s}") Duration ttl,
+            @Value("${inventory.availability-cache.maximum-size:100000}") long maximumSize) {
+        this(meterRegistry, invalidationBus, enabled, ttl, maximumSize, Ticker.systemTicker());
+    }
+
+    AvailabilityCache(MeterRegistry meterRegistry, CacheInvalidationBus invalidationBus, boolean enabled,
+                      Duration ttl, long maximumSize, Ticker ticker) {
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        if (enabled) {
+            invalidationBus.subscribe(new CacheInvalidationBus.Listener() {
+                @Override
+                public void invalidate(Collection<Long> productIds) {
+                    productIds.forEach(AvailabilityCache.this::evict);
+                }
+
+                @Override
+                public void invalidateAll() {
+                    evictAll();
+                }
+            });
+        }
+        log.info("Caché de cantidad disponible {} (antigüedad máxima {})", enabled ? "habilitada" : "deshabilitada", ttl);
+    }
+
+    /**
+     * Retorna la cantidad guardada del producto o la carga y la guarda.
+     * @param productId ID del producto
+     * @param loader lectura de la cantidad disponible en la base; vacío si el producto no tiene inventario
+     * @return cantidad disponible; vacío si el producto no tiene inventario
+     */
+    public Optional<Integer> get(Long productId, Supplier<Optional<Integer>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Integer cached = cache.getIfPresent(productId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        int stripe = stripe(productId);
+        long epoch = epochs.get(stripe);
+        Optional<Integer> loaded = ReadReplicaRouting.onPrimary(loader);
+        // La comprobación se hace con la entrada bloqueada: una invalidación concurrente espera a que
+        // termine y la descarta, o avanza la época antes y la carga no se guarda
+        loaded.ifPresent(quantity -> cache.asMap().compute(productId, (id, current) ->
+                current != null ? current : epochs.get(stripe) == epoch ? quantity : null));
+        return loaded;
+    }
+
+    /**
+     * Descarta la cantidad guardada de un producto al completarse la transacción en curso, o en el
+     * acto si no hay una, y si el cambio se confirmó lo informa a las demás instancias.
+     * @param productId ID del producto
+     */
+    public void invalidate(Long productId) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(productId);
+                    if (status == STATUS_COMMITTED) {
+                        invalidationBus.publish(productId);
+                    }
+                }
+            });
+        } else {
+            evict(productId);
+            invalidationBus.publish(productId);
+        }
+    }
+
+    /**
+     * Instantánea de las estadísticas acumuladas de la caché.
+     * @return estadísticas de aciertos, fallos y desalojos
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void evict(Long productId) {
+        epochs.incrementAndGet(stripe(productId));
+        cache.invalidate(productId);
+    }
+
+    private void evictAll() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            epochs.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    private static int stripe(Long productId) {
+        return Math.floorMod(Long.hashCode(productId), STRIPES);
+    }
+}
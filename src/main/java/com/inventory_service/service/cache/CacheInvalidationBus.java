@@ -0,0 +1,166 @@
+package com.inventory_service.service.cache;
+
+import com.inventory_service.service.cache.InvalidationTransport.InvalidationMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bus de invalidaciones de caché entre réplicas.
+ *
+ * <p>{@link #publish} recibe los productos cuyo cambio ya se confirmó en esta instancia y solo los
+ * anota: cada {@code inventory.cache-invalidation.batch-window} los pendientes se envían juntos y sin
+ * repetir en un único mensaje del {@link InvalidationTransport}, de modo que una ráfaga de compras
+ * produce pocos mensajes. Los mensajes de las demás instancias se entregan a los {@link Listener}
+ * registrados; los propios se ignoran, porque la caché local ya se invalidó al confirmar.</p>
+ *
+ * <p>Si un envío falla, las demás instancias ven el cambio al vencer sus entradas
+ * ({@code inventory.availability-cache.ttl}).</p>
+ *
+ * <p>Métricas publicadas: {@code inventory.cache.invalidations.sent},
+ * {@code inventory.cache.invalidations.received} e {@code inventory.cache.invalidations.failures}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBus {
+
+    static final String SENT_METRIC = "inventory.cache.invalidations.sent";
+    static final String RECEIVED_METRIC = "inventory.cache.invalidations.received";
+    static final String FAILURES_METRIC = "inventory.cache.invalidations.failures";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter failures;
+
+    public CacheInvalidationBus(
+            InvalidationTransport transport,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.cache-invalidation.batch-window:50ms}") Duration batchWindow) {
+        this.transport = transport;
+        this.sent = meterRegistry.counter(SENT_METRIC);
+        this.received = meterRegistry.counter(RECEIVED_METRIC);
+        this.failures = meterRegistry.counter(FAILURES_METRIC);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMillis = Math.max(1L, batchWindow.toMillis());
+        flusher.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        transport.subscribe(new InvalidationTransport.Receiver() {
+            @Override
+            public void onMessage(InvalidationMessage message) {
+                deliver(message);
+            }
+
+            @Override
+            public void onReset() {
+                listeners.forEach(Listener::invalidateAll);
+            }
+        });
+    }
+
+    /**
+     * Detiene el envío periódico y envía los productos pendientes.
+     */
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Anota un producto cuyo cambio ya se confirmó, para informarlo a las demás instancias en el
+     * siguiente envío. No bloquea.
+     * @param productId ID del producto
+     */
+    public void publish(Long productId) {
+        pending.add(productId);
+    }
+
+    /**
+     * Registra un receptor de las invalidaciones de las demás instancias.
+     * @param listener receptor
+     */
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Envía en un solo mensaje los productos pendientes.
+     * @return productos enviados
+     */
+    int flush() {
+        Set<Long> batch = new LinkedHashSet<>();
+        for (Iterator<Long> iterator = pending.iterator(); iterator.hasNext(); ) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            transport.send(new InvalidationMessage(nodeId, batch));
+            sent.increment();
+            return batch.size();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("No fue posible enviar la invalidación de {} productos: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private void deliver(InvalidationMessage message) {
+        if (nodeId.equals(message.nodeId())) {
+            return;
+        }
+        received.increment();
+        listeners.forEach(listener -> listener.invalidate(message.productIds()));
+    }
+
+    /**
+     * Receptor de las invalidaciones de las demás instancias.
+     */
+    public interface Listener {
+
+        /**
+         * Otra instancia confirmó cambios de estos productos.
+         *
+         * @param productIds IDs de los productos
+         */
+        void invalidate(Collection<Long> productIds);
+
+        /**
+         * Pudieron perderse invalidaciones: todo lo guardado debe descartarse.
+         */
+        void invalidateAll();
+    }
+}
@@ -0,0 +1,32 @@
+package com.inventory_service.service.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Medio en memoria para una sola instancia y para pruebas ({@code inventory.cache-invalidation.transport=memory}).
+ * Entrega cada mensaje en el hilo emisor a los receptores del mismo proceso; varias instancias de
+ * {@link CacheInvalidationBus} sobre un mismo medio simulan varias réplicas.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.cache-invalidation", name = "transport", havingValue = "memory",
+        matchIfMissing = true)
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private final List<Receiver> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(InvalidationMessage message) {
+        receivers.forEach(receiver -> receiver.onMessage(message));
+    }
+
+    @Override
+    public void subscribe(Receiver receiver) {
+        receivers.add(receiver);
+    }
+}
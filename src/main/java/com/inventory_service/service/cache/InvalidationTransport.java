@@ -0,0 +1,54 @@
+package com.inventory_service.service.cache;
+
+import java.util.Set;
+
+/**
+ * Medio por el que {@link CacheInvalidationBus} comunica a las demás instancias los productos
+ * cuya cantidad cambió. La implementación activa se selecciona con la propiedad
+ * {@code inventory.cache-invalidation.transport}.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Envía un mensaje a todas las instancias suscritas, incluida la emisora.
+     *
+     * @param message productos invalidados por una instancia
+     */
+    void send(InvalidationMessage message);
+
+    /**
+     * Registra un receptor de los mensajes de todas las instancias.
+     *
+     * @param receiver receptor de los mensajes
+     */
+    void subscribe(Receiver receiver);
+
+    /**
+     * Productos invalidados por una instancia.
+     *
+     * @param nodeId     identificador de la instancia emisora
+     * @param productIds IDs de los productos
+     */
+    record InvalidationMessage(String nodeId, Set<Long> productIds) {
+    }
+
+    /**
+     * Receptor de los mensajes del medio.
+     */
+    interface Receiver {
+
+        /**
+         * Mensaje recibido.
+         *
+         * @param message productos invalidados por una instancia
+         */
+        void onMessage(InvalidationMessage message);
+
+        /**
+         * El medio pudo perder mensajes (por ejemplo, al reconectarse): todo lo guardado debe descartarse.
+         */
+        void onReset();
+    }
+}
@@ -0,0 +1,204 @@
+package com.inventory_service.service.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Medio entre réplicas sobre LISTEN/NOTIFY de Postgres ({@code inventory.cache-invalidation.transport=postgres}).
+ *
+ * <p>Cada mensaje se envía con {@code pg_notify} en el canal {@code inventory.cache-invalidation.channel}
+ * como texto {@code nodo:id,id,...}, partido en varias notificaciones si supera el límite de
+ * Postgres para la carga de una notificación. Un hilo dedicado mantiene una conexión propia con
+ * {@code LISTEN} y espera notificaciones hasta {@code poll-timeout}; si la conexión se pierde se
+ * reconecta tras {@code reconnect-backoff} y avisa a los receptores que pudieron perderse mensajes.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "inventory.cache-invalidation", name = "transport", havingValue = "postgres")
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    /** Límite de la carga de una notificación en Postgres (8000 bytes) con margen. */
+    static final int MAX_PAYLOAD_LENGTH = 7_900;
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectBackoff;
+    private final List<Receiver> receivers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationTransport(
+            DataSource dataSource,
+            @Value("${inventory.cache-invalidation.channel:inventory_cache_invalidation}") String channel,
+            @Value("${inventory.cache-invalidation.poll-timeout:500ms}") Duration pollTimeout,
+            @Value("${inventory.cache-invalidation.reconnect-backoff:1s}") Duration reconnectBackoff) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("inventory.cache-invalidation.channel debe ser un identificador de Postgres en minúsculas");
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectBackoff = reconnectBackoff;
+    }
+
+    /**
+     * Inicia el hilo que escucha el canal.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+        log.info("Invalidaciones de caché entre réplicas en el canal {} de Postgres", channel);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    @Override
+    public void send(InvalidationMessage message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : encode(message)) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No fue posible notificar la invalidación en Postgres: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Receiver receiver) {
+        receivers.add(receiver);
+    }
+
+    /**
+     * Escucha el canal mientras la instancia esté activa, reconectándose ante fallos.
+     */
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    // Lo notificado mientras no se escuchaba se perdió
+                    receivers.forEach(Receiver::onReset);
+                }
+                reconnecting = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) Math.max(1, pollTimeout.toMillis()));
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        InvalidationMessage message = decode(notification.getParameter());
+                        if (message != null) {
+                            receivers.forEach(receiver -> receiver.onMessage(message));
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Escucha de invalidaciones interrumpida; se reintenta en {}: {}", reconnectBackoff, e.getMessage());
+                try {
+                    Thread.sleep(reconnectBackoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Codifica un mensaje en una o más cargas {@code nodo:id,id,...} dentro del límite de Postgres.
+     */
+    static List<String> encode(InvalidationMessage message) {
+        List<String> payloads = new ArrayList<>();
+        String prefix = message.nodeId() + ":";
+        StringBuilder payload = new StringBuilder(prefix);
+        for (Long productId : message.productIds()) {
+            String id = productId.toString();
+            if (payload.length() > prefix.length() && payload.length() + 1 + id.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(prefix.length());
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(id);
+        }
+        if (payload.length() > prefix.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Decodifica una carga {@code nodo:id,id,...}.
+     * @return mensaje; {@code null} si la carga no tiene el formato esperado
+     */
+    static InvalidationMessage decode(String payload) {
+        int separator = payload != null ? payload.indexOf(':') : -1;
+        if (separator <= 0) {
+            log.warn("Notificación de invalidación descartada: {}", payload);
+            return null;
+        }
+        Set<Long> productIds = new LinkedHashSet<>();
+        try {
+            for (String id : payload.substring(separator + 1).split(",")) {
+                if (!id.isEmpty()) {
+                    productIds.add(Long.valueOf(id));
+                }
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Notificación de invalidación descartada: {}", payload);
+            return null;
+        }
+        return new InvalidationMessage(payload.substring(0, separator), productIds);
+    }
+}
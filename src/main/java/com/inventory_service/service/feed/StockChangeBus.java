@@ -0,0 +1,246 @@
+package com.inventory_service.service.feed;
+
+import com.inventory_service.exception.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bus en proceso de cambios de existencias confirmados, para los suscriptores del feed SSE.
+ *
+ * <p>{@link #publish} no bloquea: solo anota la última cantidad del producto en cada suscripción
+ * interesada. Cada suscripción entrega sus cambios pendientes tras {@code inventory.feed.coalesce-window},
+ * en un hilo virtual y con una sola entrega en curso a la vez; mientras un cliente lento recibe, los
+ * cambios siguientes de un mismo producto se sobrescriben en lugar de acumularse, de modo que la
+ * memoria de cada suscripción está acotada por el número de productos suscritos.</p>
+ *
+ * <p>La cantidad publicada es la informada por cada operación al confirmarse; con compras concurrentes
+ * de un mismo producto el orden de publicación puede diferir del de commit, y el siguiente cambio
+ * del producto corrige el valor. El valor inicial de una suscripción ({@link Subscription#offerInitial})
+ * nunca reemplaza a un cambio publicado después de suscribirse.</p>
+ *
+ * <p>Métricas publicadas: {@code inventory.feed.subscribers} e {@code inventory.feed.coalesced}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+public class StockChangeBus {
+
+    static final String SUBSCRIBERS_METRIC = "inventory.feed.subscribers";
+    static final String COALESCED_METRIC = "inventory.feed.coalesced";
+
+    private final Map<Long, Set<Subscription>> byProduct = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService deliveries;
+    private final Duration coalesceWindow;
+    private final Duration subscriptionTimeout;
+    private final int maxSubscribers;
+    private final Counter coalesced;
+
+    public StockChangeBus(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.feed.coalesce-window:250ms}") Duration coalesceWindow,
+            @Value("${inventory.feed.subscription-timeout:30m}") Duration subscriptionTimeout,
+            @Value("${inventory.feed.max-subscribers:1000}") int maxSubscribers) {
+        this.coalesceWindow = coalesceWindow;
+        this.subscriptionTimeout = subscriptionTimeout;
+        this.maxSubscribers = maxSubscribers;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-feed-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deliveries = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stock-feed-", 0).factory());
+        this.coalesced = meterRegistry.counter(COALESCED_METRIC);
+        Gauge.builder(SUBSCRIBERS_METRIC, subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.forEach(Subscription::cancel);
+        timer.shutdownNow();
+        deliveries.shutdownNow();
+    }
+
+    /**
+     * Duración máxima de una suscripción antes de que el cliente deba reconectarse.
+     */
+    public Duration getSubscriptionTimeout() {
+        return subscriptionTimeout;
+    }
+
+    /**
+     * Publica la cantidad confirmada de un producto. No bloquea al llamador. Dentro de una transacción
+     * (por ejemplo, la de una solicitud idempotente) la publicación espera a que se confirme.
+     * @param productId ID del producto
+     * @param quantity cantidad disponible tras el cambio
+     */
+    public void publish(Long productId, Integer quantity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offerToSubscribers(productId, quantity);
+                }
+            });
+        } else {
+            offerToSubscribers(productId, quantity);
+        }
+    }
+
+    private void offerToSubscribers(Long productId, Integer quantity) {
+        Set<Subscription> interested = byProduct.get(productId);
+        if (interested != null) {
+            interested.forEach(subscription -> subscription.offer(productId, quantity));
+        }
+    }
+
+    /**
+     * Suscribe un consumidor a los cambios de un conjunto de productos.
+     * @param productIds productos de interés
+     * @param consumer recibe, en un hilo virtual y de a una entrega por vez, la última cantidad de cada
+     *                 producto que cambió; si lanza una excepción la suscripción se cancela
+     * @return suscripción, que debe cancelarse al cerrar la conexión
+     * @throws ConflictException si se alcanzó {@code inventory.feed.max-subscribers}
+     */
+    public Subscription subscribe(Collection<Long> productIds, Consumer<Map<Long, Integer>> consumer) {
+        // Reserva el cupo antes de registrar la suscripción: dos altas simultáneas no superan el máximo
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ConflictException("Se alcanzó el máximo de suscripciones al feed de existencias");
+        }
+        Subscription subscription = new Subscription(Set.copyOf(productIds), consumer);
+        subscriptions.add(subscription);
+        subscription.productIds.forEach(productId ->
+                byProduct.computeIfAbsent(productId, id -> ConcurrentHashMap.newKeySet()).add(subscription));
+        return subscription;
+    }
+
+    /**
+     * Suscripción de un consumidor; acumula solo la última cantidad por producto.
+     */
+    public final class Subscription {
+
+        private final Set<Long> productIds;
+        private final Consumer<Map<Long, Integer>> consumer;
+        private final Map<Long, Integer> pending = new LinkedHashMap<>();
+        /** Productos con algún cambio publicado desde la suscripción; su valor inicial ya no aplica. */
+        private final Set<Long> changed = new HashSet<>();
+        private boolean scheduled;
+        private volatile boolean cancelled;
+
+        private Subscription(Set<Long> productIds, Consumer<Map<Long, Integer>> consumer) {
+            this.productIds = productIds;
+            this.consumer = consumer;
+        }
+
+        /**
+         * Anota la cantidad publicada de un producto para la próxima entrega.
+         */
+        void offer(Long productId, Integer quantity) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (this) {
+                changed.add(productId);
+                if (pending.put(productId, quantity) != null) {
+                    coalesced.increment();
+                }
+                scheduleIfIdle();
+            }
+        }
+
+        /**
+         * Anota la cantidad leída al suscribirse, salvo que el producto ya haya recibido un cambio
+         * publicado: ese cambio es posterior a la suscripción y el valor leído podría ser anterior.
+         */
+        public void offerInitial(Long productId, Integer quantity) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (this) {
+                if (!changed.contains(productId) && pending.putIfAbsent(productId, quantity) == null) {
+                    scheduleIfIdle();
+                }
+            }
+        }
+
+        /**
+         * Deja de recibir cambios. Es idempotente.
+         */
+        public void cancel() {
+            cancelled = true;
+            if (subscriptions.remove(this)) {
+                subscriberCount.decrementAndGet();
+                productIds.forEach(productId -> byProduct.computeIfPresent(productId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                }));
+            }
+        }
+
+        private void scheduleIfIdle() {
+            if (!scheduled) {
+                scheduled = true;
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            try {
+                timer.schedule(() -> deliveries.execute(this::deliver),
+                        coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                cancel();
+            }
+        }
+
+        private void deliver() {
+            Map<Long, Integer> changes;
+            synchronized (this) {
+                changes = new LinkedHashMap<>(pending);
+                pending.clear();
+            }
+            try {
+                if (!cancelled && !changes.isEmpty()) {
+                    consumer.accept(changes);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Suscripción al feed de existencias cancelada: {}", e.getMessage());
+                cancel();
+            }
+            synchronized (this) {
+                // Lo llegado durante la entrega sale en la siguiente, ya agrupado
+                if (!cancelled && !pending.isEmpty()) {
+                    schedule();
+                } else {
+                    scheduled = false;
+                }
+            }
+        }
+    }
+}
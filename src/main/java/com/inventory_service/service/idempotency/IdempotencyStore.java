@@ -0,0 +1,317 @@
+package com.inventory_service.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.exception.InternalServerErrorException;
+import com.inventory_service.model.IdempotencyRecord;
+import com.inventory_service.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Ejecución idempotente de operaciones identificadas por la cabecera {@value #HEADER}.
+ * El primer resultado exitoso de una clave se guarda y se reproduce ante reintentos:
+ * <ul>
+ *     <li>en memoria, en una caché acotada por tamaño y con vencimiento por tiempo;</li>
+ *     <li>en la tabla {@code idempotency_keys}, que sobrevive a reinicios y se comparte entre instancias.</li>
+ * </ul>
+ * Los duplicados concurrentes en la misma instancia esperan el resultado de la solicitud en curso
+ * en lugar de ejecutarse; en otra instancia, el registro pendiente los rechaza con un conflicto.
+ * Los errores no se guardan: la clave queda libre para reintentar.
+ *
+ * <p>El registro pendiente vence a los {@code inventory.idempotency.pending-lease} (no a los {@code ttl}
+ * del resultado), de modo que si la instancia cae durante la operación la clave se libera pronto.
+ * La operación se ejecuta fuera de cualquier transacción (valida el producto contra product-service y
+ * los motores de existencias confirman en sus propias transacciones, incluso en otros hilos), y su
+ * resultado se registra después con un UPDATE condicionado al reclamo. Si el reclamo venció y otra
+ * solicitud tomó la clave, o el resultado no pudo registrarse, la operación se compensa antes de
+ * responder, de modo que el reintento no la aplica dos veces.</p>
+ *
+ * <p>Métricas publicadas: {@code inventory.idempotency.replays} y las de la caché {@code idempotency}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    /** Cabecera HTTP con la clave de idempotencia. */
+    public static final String HEADER = "Idempotency-Key";
+
+    /** Longitud máxima aceptada para la clave. */
+    public static final int MAX_KEY_LENGTH = 128;
+
+    static final String REPLAYS_METRIC = "inventory.idempotency.replays";
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingLease;
+    private final Duration waitTimeout;
+    private final Cache<String, Completed> completed;
+    private final ConcurrentMap<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+    private final Counter replays;
+
+    public IdempotencyStore(
+            IdempotencyRecordRepository repository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.idempotency.ttl:24h}") Duration ttl,
+            @Value("${inventory.idempotency.maximum-size:10000}") long maximumSize,
+            @Value("${inventory.idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${inventory.idempotency.pending-lease:1m}") Duration pendingLease) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pendingLease = pendingLease;
+        this.waitTimeout = waitTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+        this.replays = meterRegistry.counter(REPLAYS_METRIC);
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave y reproduce su resultado en los reintentos.
+     *
+     * @param operation    nombre de la operación; separa los espacios de claves entre endpoints
+     * @param key          valor de la cabecera {@value #HEADER}
+     * @param request      cuerpo de la solicitud; una clave reutilizada con otro cuerpo se rechaza
+     * @param responseType tipo de la respuesta a reproducir
+     * @param action       operación a ejecutar
+     * @param compensation revierte la operación aplicada cuando su resultado no puede registrarse
+     * @return respuesta de la primera ejecución exitosa
+     * @throws BadRequestException si la clave es inválida o ya se usó con otro cuerpo
+     * @throws ConflictException si la misma clave está en curso en otra instancia
+     */
+    public <T> T execute(String operation, String key, Object request, Class<T> responseType, Supplier<T> action,
+                         Consumer<T> compensation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(String.format(
+                    "La cabecera %s debe tener entre 1 y %d caracteres", HEADER, MAX_KEY_LENGTH));
+        }
+        String storeKey = operation + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        Completed cached = completed.getIfPresent(storeKey);
+        if (cached != null) {
+            return replay(cached, fingerprint, responseType);
+        }
+
+        CompletableFuture<Completed> own = new CompletableFuture<>();
+        CompletableFuture<Completed> existing = inFlight.putIfAbsent(storeKey, own);
+        if (existing != null) {
+            return replay(await(existing), fingerprint, responseType);
+        }
+        try {
+            Completed result = lead(storeKey, fingerprint, responseType, action, compensation);
+            own.complete(result);
+            return result.replayed() ? replay(result, fingerprint, responseType) : responseType.cast(result.response());
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storeKey, own);
+        }
+    }
+
+    /**
+     * Elimina los registros vencidos de la tabla.
+     */
+    @Scheduled(fixedDelayString = "${inventory.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Eliminados {} registros de idempotencia vencidos", deleted);
+        }
+    }
+
+    /**
+     * Reclama la clave en la tabla, ejecuta la operación y registra su resultado si el reclamo sigue vigente.
+     */
+    private <T> Completed lead(String storeKey, String fingerprint, Class<T> responseType, Supplier<T> action,
+                               Consumer<T> compensation) {
+        // Precisión de milisegundos: el vencimiento identifica el reclamo y debe releerse igual de la base
+        LocalDateTime lease = LocalDateTime.now().plus(pendingLease).truncatedTo(ChronoUnit.MILLIS);
+        Optional<Completed> previous = claim(storeKey, fingerprint, responseType, lease);
+        if (previous.isPresent()) {
+            completed.put(storeKey, previous.get());
+            return previous.get();
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            releaseClaim(storeKey, lease);
+            throw e;
+        }
+
+        Integer recorded;
+        try {
+            recorded = transactionTemplate.execute(status -> repository.complete(
+                    storeKey, lease, serialize(response), LocalDateTime.now().plus(ttl)));
+        } catch (RuntimeException e) {
+            compensate(storeKey, compensation, response);
+            releaseClaim(storeKey, lease);
+            throw e;
+        }
+        if (recorded == null || recorded == 0) {
+            // El reclamo ya pertenece al reintento que lo tomó; no se libera
+            compensate(storeKey, compensation, response);
+            throw new ConflictException(String.format(
+                    "La solicitud con la cabecera %s superó su plazo y fue reclamada por un reintento", HEADER));
+        }
+        Completed result = new Completed(fingerprint, response, false);
+        completed.put(storeKey, result);
+        return result;
+    }
+
+    private <T> void compensate(String storeKey, Consumer<T> compensation, T response) {
+        try {
+            compensation.accept(response);
+        } catch (RuntimeException e) {
+            log.error("No fue posible revertir la operación de la clave de idempotencia {}: {}",
+                    storeKey, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Inserta el registro pendiente de la clave. Si ya existe, retorna su resultado guardado
+     * o rechaza la solicitud si la operación original sigue en curso.
+     */
+    private <T> Optional<Completed> claim(String storeKey, String fingerprint, Class<T> responseType,
+                                          LocalDateTime lease) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Optional<IdempotencyRecord> existing = repository.findById(storeKey);
+                if (existing.isPresent()) {
+                    IdempotencyRecord record = existing.get();
+                    if (record.getExpiraEn().isAfter(LocalDateTime.now())) {
+                        return Optional.of(stored(record, responseType));
+                    }
+                    repository.delete(record);
+                    repository.flush();
+                }
+                repository.saveAndFlush(IdempotencyRecord.builder()
+                        .clave(storeKey)
+                        .huella(fingerprint)
+                        .expiraEn(lease)
+                        .build());
+                return Optional.<Completed>empty();
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia reclamó la clave entre la consulta y el alta
+            return Optional.of(transactionTemplate.execute(status -> repository.findById(storeKey)
+                    .map(record -> stored(record, responseType))
+                    .orElseThrow(IdempotencyStore::inProgress)));
+        }
+    }
+
+    private <T> Completed stored(IdempotencyRecord record, Class<T> responseType) {
+        if (!Boolean.TRUE.equals(record.getCompletado())) {
+            throw inProgress();
+        }
+        try {
+            return new Completed(record.getHuella(), objectMapper.readValue(record.getRespuesta(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerErrorException("No fue posible leer la respuesta idempotente guardada");
+        }
+    }
+
+    private void releaseClaim(String storeKey, LocalDateTime lease) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.deleteClaim(storeKey, lease));
+        } catch (RuntimeException e) {
+            // El registro pendiente vence por sí solo; solo se retrasa el reintento del cliente
+            log.warn("No fue posible liberar la clave de idempotencia {}: {}", storeKey, e.getMessage());
+        }
+    }
+
+    private Completed await(CompletableFuture<Completed> existing) {
+        try {
+            return existing.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new InternalServerErrorException("Error en la solicitud idempotente original");
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private <T> T replay(Completed result, String fingerprint, Class<T> responseType) {
+        if (!result.fingerprint().equals(fingerprint)) {
+            throw new BadRequestException(String.format(
+                    "La cabecera %s ya fue usada con una solicitud diferente", HEADER));
+        }
+        replays.increment();
+        return responseType.cast(result.response());
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerErrorException("No fue posible serializar la respuesta idempotente");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new InternalServerErrorException("No fue posible calcular la huella de la solicitud");
+        }
+    }
+
+    private static ConflictException inProgress() {
+        return new ConflictException(String.format(
+                "Ya existe una solicitud en curso con la misma cabecera %s", HEADER));
+    }
+
+    /**
+     * Resultado guardado de una clave, con la huella de la solicitud que lo produjo.
+     * {@code replayed} indica si proviene de una ejecución anterior y no de la actual.
+     */
+    private record Completed(String fingerprint, Object response, boolean replayed) {
+    }
+}
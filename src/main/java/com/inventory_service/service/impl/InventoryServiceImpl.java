@@ -2,39 +2,117 @@ package com.inventory_service.service.impl;
 
 import com.inventory_service.client.ProductClient;
 import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.config.ReadReplicaRouting;
+import com.inventory_service.dto.AdjustBatchResponse;
+import com.inventory_service.dto.AdjustRejection;
 import com.inventory_service.dto.BuyRequest;
 import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.dto.CartRequest;
+import com.inventory_service.dto.CartResponse;
+import com.inventory_service.dto.QuantityAdjustment;
 import com.inventory_service.exception.BadRequestException;
 import com.inventory_service.exception.NotFoundException;
-import com.inventory_service.model.Inventory;
 import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.repository.StockLevel;
 import com.inventory_service.service.InventoryService;
+import com.inventory_service.service.cache.AvailabilityCache;
+import com.inventory_service.service.feed.StockChangeBus;
+import com.inventory_service.service.stock.StockAdjustmentResult;
+import com.inventory_service.service.stock.StockEngine;
+import com.inventory_service.service.stock.StockRejections;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio de inventario.
+ * En la consulta de disponibilidad y en la compra individual, la validación del producto en
+ * product-service se lanza en paralelo con la lectura local del inventario, de modo que la latencia
+ * es la mayor de las dos y no su suma. El resultado remoto se evalúa siempre primero, por lo que un
+ * producto inexistente sigue respondiendo 404 aunque tampoco exista su inventario.
+ *
+ * <p>Los lotes de variaciones de cantidad se aplican en bloques de {@value #ADJUST_CHUNK_SIZE}, cada
+ * uno con una consulta por lote a product-service y una transacción con un lote JDBC, de modo que
+ * un lote grande no retiene los bloqueos de todas sus filas hasta el final.</p>
  * @author Diego Alexander Villalba
  * @since Octubre 2025
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class InventoryServiceImpl implements InventoryService {
 
+    /** Variaciones aplicadas por transacción en los lotes de variaciones. */
+    static final int ADJUST_CHUNK_SIZE = 1_000;
+
+    private static final String PRODUCT_NOT_FOUND = "Producto no encontrado en product-service";
+    private static final String ZERO_DELTA = "La variación debe ser distinta de cero";
+
     private final InventoryRepository inventoryRepository;
     private final ProductClient productClient;
+    private final StockEngine stockEngine;
+    private final StockChangeBus changeBus;
+    private final AvailabilityCache availabilityCache;
+    private final Executor lookupExecutor;
+
+    /**
+     * Las consultas a product-service se lanzan en un hilo virtual por tarea: cada petición lanza como
+     * mucho una, de modo que la concurrencia ya está acotada por las peticiones en curso y las consultas
+     * no esperan en la cola de un pool fijo.
+     */
+    @Autowired
+    public InventoryServiceImpl(InventoryRepository inventoryRepository, ProductClient productClient,
+                                StockEngine stockEngine, StockChangeBus changeBus,
+                                AvailabilityCache availabilityCache) {
+        this(inventoryRepository, productClient, stockEngine, changeBus, availabilityCache,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("product-lookup-", 0).factory()));
+    }
+
+    InventoryServiceImpl(InventoryRepository inventoryRepository, ProductClient productClient,
+                         StockEngine stockEngine, StockChangeBus changeBus,
+                         AvailabilityCache availabilityCache, Executor lookupExecutor) {
+        this.inventoryRepository = inventoryRepository;
+        this.productClient = productClient;
+        this.stockEngine = stockEngine;
+        this.changeBus = changeBus;
+        this.availabilityCache = availabilityCache;
+        this.lookupExecutor = lookupExecutor;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (lookupExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
 
-    
     /**
-     * Obtiene la cantidad disponible de un producto por ID.
+     * Obtiene la cantidad disponible de un producto por ID, desde el {@link AvailabilityCache} si está guardada.
      * @param productId ID del producto
      * @return cantidad disponible
      * @throws NotFoundException si el producto o el inventario no existe
@@ -47,15 +125,46 @@ public class InventoryServiceImpl implements InventoryService {
             @ApiResponse(responseCode = "404", description = "Producto o inventario no encontrado")
     })
     public Integer getAvailableQuantityByProductId(Long productId) {
-        // Validar existencia del producto a través del product-service
-        ProductResponse product = productClient.getProductById(productId);
-        if (product == null || product.getIdProducto() == null || Boolean.TRUE.equals(product.getEliminado())) {
-            throw new NotFoundException("Producto no encontrado en product-service");
+        // Validar existencia del producto a través del product-service mientras se lee el inventario
+        CompletableFuture<ProductResponse> productLookup = lookupProduct(productId);
+        Optional<Integer> available = availabilityCache.get(productId, () -> readAvailableQuantity(productId));
+        awaitActiveProduct(productLookup);
+
+        return available.orElseThrow(() -> new NotFoundException("Inventario no encontrado para el producto"));
+    }
+
+    /**
+     * Obtiene la cantidad disponible de varios productos.
+     * Valida los productos con una sola consulta por lote a product-service y lee los
+     * inventarios con una sola consulta {@code IN}.
+     * @param productIds IDs de los productos
+     * @return mapa producto → cantidad disponible
+     */
+    @Override
+    @Operation(summary = "Obtiene la cantidad disponible de varios productos")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cantidades disponibles encontradas")
+    })
+    public Map<Long, Integer> getAvailableQuantities(List<Long> productIds) {
+        List<Long> distinctIds = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // Validar en lote la existencia de los productos a través del product-service
+        Set<Long> activeIds = activeProductIds(distinctIds);
+        if (activeIds.isEmpty()) {
+            return Map.of();
         }
 
-        Inventory inventory = inventoryRepository.findByProductoIdAndEliminadoFalse(productId)
-                .orElseThrow(() -> new NotFoundException("Inventario no encontrado para el producto"));
-        return inventory.getCantidad();
+        Map<Long, Integer> quantities = inventoryRepository.findStockLevels(activeIds).stream()
+                .collect(Collectors.toMap(StockLevel::productoId, stockEngine::availableQuantity));
+
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        distinctIds.stream()
+                .filter(quantities::containsKey)
+                .forEach(productId -> result.put(productId, quantities.get(productId)));
+        return result;
     }
 
     /**
@@ -66,7 +175,6 @@ public class InventoryServiceImpl implements InventoryService {
      * @throws NotFoundException si el producto no existe
      */
     @Override
-    @Transactional
     @Operation(summary = "Actualiza la cantidad disponible de un producto")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cantidad actualizada",
@@ -79,18 +187,89 @@ public class InventoryServiceImpl implements InventoryService {
             throw new NotFoundException("Producto no encontrado en product-service");
         }
 
-        Inventory inventory = inventoryRepository.findByProductoIdAndEliminadoFalse(productId)
-                .orElseGet(() -> Inventory.builder()
-                        .productoId(productId)
-                        .cantidad(0)
-                        .eliminado(false)
-                        .build());
+        // El motor registra el movimiento con el delta respecto de la cantidad que reemplaza
+        Integer updated = stockEngine.setQuantity(productId, cantidad);
+        availabilityCache.invalidate(productId);
+        changeBus.publish(productId, updated);
+        return updated;
+    }
 
-        inventory.setCantidad(cantidad);
-        Inventory saved = inventoryRepository.save(inventory);
-        return saved.getCantidad();
+    /**
+     * Suma una variación a la cantidad disponible de un producto.
+     * @param productId ID del producto
+     * @param delta variación a aplicar
+     * @return cantidad resultante
+     * @throws BadRequestException si la variación es cero o la cantidad quedaría fuera de rango
+     * @throws NotFoundException si el producto o el inventario no existe
+     */
+    @Override
+    @Operation(summary = "Suma una variación a la cantidad disponible de un producto")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Variación aplicada",
+                    content = @Content(schema = @Schema(implementation = Integer.class))),
+            @ApiResponse(responseCode = "400",
+                    description = "Variación nula o cantidad resultante negativa o por encima del máximo"),
+            @ApiResponse(responseCode = "404", description = "Producto o inventario no encontrado")
+    })
+    public Integer adjustAvailableQuantity(Long productId, Integer delta) {
+        if (delta == 0) {
+            // Solo dejaría un movimiento y un evento vacíos
+            throw new BadRequestException(ZERO_DELTA);
+        }
+        getProductById(productId);
+
+        // Una sola sentencia condicional; sin lectura previa de la cantidad
+        Integer updated = stockEngine.adjust(productId, delta);
+        availabilityCache.invalidate(productId);
+        changeBus.publish(productId, updated);
+        return updated;
+    }
+
+    /**
+     * Revierte una variación ya aplicada, sin validar el producto en product-service.
+     * @param productId ID del producto
+     * @param delta variación que deshace la operación original
+     * @return cantidad resultante
+     */
+    @Override
+    public Integer revertQuantity(Long productId, Integer delta) {
+        Integer updated = stockEngine.adjust(productId, delta);
+        availabilityCache.invalidate(productId);
+        changeBus.publish(productId, updated);
+        return updated;
     }
-    
+
+    /**
+     * Aplica un lote de variaciones de cantidad por bloques.
+     * Realiza las siguientes operaciones por bloque:
+     * 1. Valida los productos del bloque con una sola consulta por lote a product-service
+     * 2. Aplica las variaciones de los productos válidos en una transacción mediante el {@link StockEngine}
+     * 3. Invalida las cantidades de las variaciones aplicadas en el {@link AvailabilityCache} y las publica
+     *    en el {@link StockChangeBus}
+     * Si un bloque falla por completo (por ejemplo, por un error de la base de datos), sus variaciones se
+     * informan como rechazadas y se continúa con el siguiente; los bloques anteriores quedan confirmados.
+     */
+    @Override
+    @Operation(summary = "Aplica un lote de variaciones de cantidad")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote procesado",
+                    content = @Content(schema = @Schema(implementation = AdjustBatchResponse.class)))
+    })
+    public AdjustBatchResponse adjustAvailableQuantities(List<QuantityAdjustment> adjustments) {
+        int applied = 0;
+        List<AdjustRejection> rejections = new ArrayList<>();
+        for (int from = 0; from < adjustments.size(); from += ADJUST_CHUNK_SIZE) {
+            int to = Math.min(from + ADJUST_CHUNK_SIZE, adjustments.size());
+            applied += adjustChunk(adjustments.subList(from, to), from, rejections);
+        }
+        rejections.sort(Comparator.comparing(AdjustRejection::getIndex));
+        return AdjustBatchResponse.builder()
+                .applied(applied)
+                .rejected(rejections.size())
+                .rejections(rejections)
+                .build();
+    }
+
     /**
      * Obtiene el detalle del producto desde product-service por ID.
      * @param productId ID del producto
@@ -114,14 +293,14 @@ public class InventoryServiceImpl implements InventoryService {
 
     /**
      * Implementación del método para procesar una compra de producto.
-     * Realiza las siguientes operaciones de forma transaccional:
-     * 1. Valida la existencia del producto en product-service
-     * 2. Verifica la disponibilidad en inventario
-     * 3. Actualiza las cantidades disponibles
+     * Realiza las siguientes operaciones:
+     * 1. Valida la existencia del producto en product-service, en paralelo con una lectura previa del
+     *    inventario que rechaza sin abrir una transacción de escritura las compras que no pueden atenderse
+     * 2. Descuenta la cantidad solo si hay disponibilidad, mediante el {@link StockEngine} configurado
+     * 3. Invalida la cantidad en el {@link AvailabilityCache} y publica la nueva cantidad en el {@link StockChangeBus}
      * 4. Calcula totales y genera respuesta detallada
      */
     @Override
-    @Transactional
     @Operation(summary = "Procesa una compra de producto")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Compra realizada exitosamente",
@@ -133,29 +312,22 @@ public class InventoryServiceImpl implements InventoryService {
         Long productId = request.getProductId();
         Integer quantityToPurchase = request.getQuantity();
 
-        // Validar existencia del producto
-        ProductResponse product = productClient.getProductById(productId);
-        if (product == null || product.getIdProducto() == null || Boolean.TRUE.equals(product.getEliminado())) {
-            throw new NotFoundException("Producto no encontrado en product-service");
+        // Validar existencia del producto mientras se lee el inventario (en la principal: decide la compra)
+        CompletableFuture<ProductResponse> productLookup = lookupProduct(productId);
+        Optional<Integer> available = ReadReplicaRouting.onPrimary(() -> readAvailableQuantity(productId));
+        ProductResponse product = awaitActiveProduct(productLookup);
+        if (available.isEmpty()) {
+            throw StockRejections.inventoryNotFound();
         }
-
-        // Obtener inventario actual
-        Inventory inventory = inventoryRepository.findByProductoIdAndEliminadoFalse(productId)
-                .orElseThrow(() -> new NotFoundException("Inventario no encontrado para el producto"));
-
-        // Verificar disponibilidad
-        Integer currentQuantity = inventory.getCantidad();
-        if (currentQuantity < quantityToPurchase) {
-            throw new BadRequestException(
-                    String.format("Inventario insuficiente. Disponible: %d, Solicitado: %d", 
-                            currentQuantity, quantityToPurchase)
-            );
+        if (available.get() < quantityToPurchase) {
+            throw StockRejections.insufficientStock(available.get(), quantityToPurchase);
         }
 
-        // Actualizar inventario
-        Integer newQuantity = currentQuantity - quantityToPurchase;
-        inventory.setCantidad(newQuantity);
-        inventoryRepository.save(inventory);
+        // Descontar inventario (la validación remota queda fuera de la transacción);
+        // el motor vuelve a comprobar la disponibilidad de forma atómica
+        Integer newQuantity = stockEngine.decrement(productId, quantityToPurchase);
+        availabilityCache.invalidate(productId);
+        changeBus.publish(productId, newQuantity);
 
         // Calcular total de la compra
         Double unitPrice = product.getPrecio() != null ? product.getPrecio() : 0.0;
@@ -173,6 +345,197 @@ public class InventoryServiceImpl implements InventoryService {
                 .message(String.format("Compra exitosa de %d unidades de %s", quantityToPurchase, product.getNombre()))
                 .build();
     }
-}
 
+    /**
+     * Implementación de la compra de un carrito.
+     * Realiza las siguientes operaciones:
+     * 1. Agrupa las líneas por producto, ordenadas por ID de producto
+     * 2. Valida todos los productos con una sola consulta por lote a product-service
+     * 3. Descuenta el inventario de todos los productos en una sola transacción mediante el {@link StockEngine}
+     * 4. Invalida las cantidades en el {@link AvailabilityCache} y publica las nuevas cantidades en el
+     *    {@link StockChangeBus}
+     * 5. Calcula totales por producto y del carrito
+     */
+    @Override
+    @Operation(summary = "Procesa la compra de un carrito de productos")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Compra realizada exitosamente",
+                    content = @Content(schema = @Schema(implementation = CartResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Inventario insuficiente para algún producto del carrito"),
+            @ApiResponse(responseCode = "404", description = "Producto no encontrado o eliminado")
+    })
+    public CartResponse buyCart(CartRequest request) {
+        // Agrupar por producto; el orden ascendente fija el orden de bloqueo de las filas
+        SortedMap<Long, Integer> quantities;
+        try {
+            quantities = request.getItems().stream()
+                    .collect(Collectors.toMap(BuyRequest::getProductId, BuyRequest::getQuantity,
+                            Math::addExact, TreeMap::new));
+        } catch (ArithmeticException e) {
+            // Una suma desbordada sería negativa y el descuento terminaría sumando inventario
+            throw new BadRequestException("La cantidad total de un producto del carrito excede el máximo permitido");
+        }
+
+        // Validar en lote la existencia de los productos (fuera de la transacción)
+        Map<Long, ProductResponse> products = productClient.getProductsByIds(quantities.keySet()).stream()
+                .filter(product -> product != null && product.getIdProducto() != null
+                        && !Boolean.TRUE.equals(product.getEliminado()))
+                .collect(Collectors.toMap(ProductResponse::getIdProducto, product -> product,
+                        (first, second) -> first));
+        quantities.keySet().stream()
+                .filter(productId -> !products.containsKey(productId))
+                .findFirst()
+                .ifPresent(productId -> {
+                    throw new NotFoundException(
+                            String.format("Producto no encontrado en product-service: %d", productId));
+                });
+
+        // Descontar todo el carrito o nada
+        Map<Long, Integer> remaining = stockEngine.decrementAll(quantities);
+        quantities.forEach((productId, quantity) -> {
+            availabilityCache.invalidate(productId);
+            changeBus.publish(productId, remaining.get(productId));
+        });
+
+        LocalDateTime buyDate = LocalDateTime.now();
+        List<BuyResponse> items = quantities.entrySet().stream()
+                .map(entry -> {
+                    ProductResponse product = products.get(entry.getKey());
+                    Double unitPrice = product.getPrecio() != null ? product.getPrecio() : 0.0;
+                    return BuyResponse.builder()
+                            .productId(entry.getKey())
+                            .productName(product.getNombre())
+                            .quantityPurchased(entry.getValue())
+                            .remainingQuantity(remaining.get(entry.getKey()))
+                            .unitPrice(unitPrice)
+                            .totalAmount(unitPrice * entry.getValue())
+                            .buyDate(buyDate)
+                            .message(String.format("Compra exitosa de %d unidades de %s",
+                                    entry.getValue(), product.getNombre()))
+                            .build();
+                })
+                .toList();
+
+        int totalQuantity = items.stream().mapToInt(BuyResponse::getQuantityPurchased).sum();
+        return CartResponse.builder()
+                .items(items)
+                .totalQuantity(totalQuantity)
+                .totalAmount(items.stream().mapToDouble(BuyResponse::getTotalAmount).sum())
+                .buyDate(buyDate)
+                .message(String.format("Compra exitosa de %d productos (%d unidades)", items.size(), totalQuantity))
+                .build();
+    }
+
+    /**
+     * Aplica un bloque de variaciones y agrega sus rechazos.
+     * @param chunk variaciones del bloque
+     * @param offset posición de la primera variación del bloque en el lote
+     * @return variaciones aplicadas
+     */
+    private int adjustChunk(List<QuantityAdjustment> chunk, int offset, List<AdjustRejection> rejections) {
+        Set<Long> activeIds;
+        List<Integer> indexes = new ArrayList<>(chunk.size());
+        List<StockAdjustment> valid = new ArrayList<>(chunk.size());
+        List<StockAdjustmentResult> results;
+        try {
+            activeIds = activeProductIds(chunk.stream().map(QuantityAdjustment::getProductId).distinct().toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                QuantityAdjustment adjustment = chunk.get(i);
+                if (adjustment.getDelta() != 0 && activeIds.contains(adjustment.getProductId())) {
+                    indexes.add(offset + i);
+                    valid.add(new StockAdjustment(adjustment.getProductId(), adjustment.getDelta()));
+                }
+            }
+            results = valid.isEmpty() ? List.of() : stockEngine.adjustAll(valid);
+        } catch (RuntimeException e) {
+            // Nada del bloque se confirmó: se rechaza completo y se continúa con el siguiente
+            log.error("No fue posible aplicar un bloque de {} variaciones desde la posición {}: {}",
+                    chunk.size(), offset, e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                rejections.add(rejection(offset + i, chunk.get(i).getProductId(), chunk.get(i).getDelta(), e.getMessage()));
+            }
+            return 0;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.get(i).getDelta() == 0) {
+                rejections.add(rejection(offset + i, chunk.get(i).getProductId(), chunk.get(i).getDelta(), ZERO_DELTA));
+            } else if (!activeIds.contains(chunk.get(i).getProductId())) {
+                rejections.add(rejection(offset + i, chunk.get(i).getProductId(), chunk.get(i).getDelta(), PRODUCT_NOT_FOUND));
+            }
+        }
+        int applied = 0;
+        for (int i = 0; i < results.size(); i++) {
+            StockAdjustmentResult result = results.get(i);
+            if (result.isApplied()) {
+                availabilityCache.invalidate(result.productId());
+                changeBus.publish(result.productId(), result.quantity());
+                applied++;
+            } else {
+                rejections.add(rejection(indexes.get(i), result.productId(), result.delta(),
+                        result.rejection().getMessage()));
+            }
+        }
+        return applied;
+    }
+
+    private static AdjustRejection rejection(int index, Long productId, Integer delta, String reason) {
+        return AdjustRejection.builder()
+                .index(index)
+                .productId(productId)
+                .delta(delta)
+                .reason(reason)
+                .build();
+    }
+
+    /**
+     * Lee la cantidad disponible con la proyección de solo lectura, sin cargar la entidad.
+     * @return cantidad disponible; vacío si el producto no tiene inventario activo
+     */
+    private Optional<Integer> readAvailableQuantity(Long productId) {
+        return inventoryRepository.findCantidadByProductoId(productId)
+                .map(cantidad -> stockEngine.availableQuantity(new StockLevel(productId, cantidad)));
+    }
+
+    /**
+     * Valida en lote los productos en product-service.
+     * @return IDs de los productos existentes y no eliminados
+     */
+    private Set<Long> activeProductIds(Collection<Long> productIds) {
+        return productClient.getProductsByIds(productIds).stream()
+                .filter(product -> product != null && product.getIdProducto() != null
+                        && !Boolean.TRUE.equals(product.getEliminado()))
+                .map(ProductResponse::getIdProducto)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Lanza la consulta del producto a product-service en el ejecutor de consultas.
+     */
+    private CompletableFuture<ProductResponse> lookupProduct(Long productId) {
+        return CompletableFuture.supplyAsync(() -> productClient.getProductById(productId), lookupExecutor);
+    }
 
+    /**
+     * Espera el resultado de la consulta del producto y verifica que exista y no esté eliminado.
+     * Los errores de la consulta remota se propagan sin envolver.
+     */
+    private static ProductResponse awaitActiveProduct(CompletableFuture<ProductResponse> productLookup) {
+        ProductResponse product;
+        try {
+            product = productLookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+        if (product == null || product.getIdProducto() == null || Boolean.TRUE.equals(product.getEliminado())) {
+            throw new NotFoundException("Producto no encontrado en product-service");
+        }
+        return product;
+    }
+}
@@ -0,0 +1,149 @@
+package com.inventory_service.service.impl;
+
+import com.inventory_service.client.ReactiveProductClient;
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.repository.ReactiveInventoryRepository;
+import com.inventory_service.repository.StockLevel;
+import com.inventory_service.service.ReactiveInventoryService;
+import com.inventory_service.service.stock.StockEngine;
+import com.inventory_service.service.stock.StockRejections;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación no bloqueante del servicio de inventario.
+ * Replica las reglas de {@link InventoryServiceImpl}: la consulta a product-service y la lectura
+ * del inventario se combinan en paralelo y el resultado remoto se evalúa primero. La fila de inventario
+ * se lee con R2DBC y la cantidad disponible la resuelve el {@link StockEngine} configurado (que puede
+ * sumar subcontadores); las escrituras también pasan por el motor, igual que en la variante servlet.
+ * Como el motor es bloqueante (JPA), se invoca en {@link Schedulers#boundedElastic()}.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveInventoryServiceImpl implements ReactiveInventoryService {
+
+    private final ReactiveInventoryRepository inventoryRepository;
+    private final ReactiveProductClient productClient;
+    private final StockEngine stockEngine;
+
+    @Override
+    public Mono<Integer> getAvailableQuantityByProductId(Long productId) {
+        return Mono.zip(activeProduct(productId), optionalQuantity(productId))
+                .map(result -> result.getT2()
+                        .orElseThrow(() -> new NotFoundException("Inventario no encontrado para el producto")));
+    }
+
+    @Override
+    public Mono<Map<Long, Integer>> getAvailableQuantities(List<Long> productIds) {
+        List<Long> distinctIds = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return productClient.getProductsByIds(distinctIds)
+                .map(products -> products.stream()
+                        .filter(product -> product != null && product.getIdProducto() != null
+                                && !Boolean.TRUE.equals(product.getEliminado()))
+                        .map(ProductResponse::getIdProducto)
+                        .collect(Collectors.toSet()))
+                .flatMap(activeIds -> activeIds.isEmpty()
+                        ? Mono.just(Map.<Long, Integer>of())
+                        : inventoryRepository.findAvailableQuantities(activeIds)
+                                .publishOn(Schedulers.boundedElastic())
+                                .map(quantities -> inRequestOrder(distinctIds, activeIds, quantities)));
+    }
+
+    @Override
+    public Mono<ProductResponse> getProductById(Long productId) {
+        return activeProduct(productId);
+    }
+
+    @Override
+    public Mono<Integer> updateAvailableQuantity(Long productId, Integer cantidad) {
+        return activeProduct(productId)
+                .then(Mono.fromCallable(() -> stockEngine.setQuantity(productId, cantidad))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @Override
+    public Mono<BuyResponse> buyProduct(BuyRequest request) {
+        Long productId = request.getProductId();
+        Integer quantityToPurchase = request.getQuantity();
+
+        // Validar el producto mientras se lee el inventario; se rechaza sin escribir si no puede atenderse
+        return Mono.zip(activeProduct(productId), optionalQuantity(productId))
+                .flatMap(result -> {
+                    Optional<Integer> available = result.getT2();
+                    if (available.isEmpty()) {
+                        return Mono.error(StockRejections.inventoryNotFound());
+                    }
+                    if (available.get() < quantityToPurchase) {
+                        return Mono.error(StockRejections.insufficientStock(available.get(), quantityToPurchase));
+                    }
+                    // El motor rechaza con la cantidad actual si otra compra se adelantó tras la lectura
+                    return Mono.fromCallable(() -> stockEngine.decrement(productId, quantityToPurchase))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(newQuantity -> toBuyResponse(productId, result.getT1(), quantityToPurchase, newQuantity));
+                });
+    }
+
+    /**
+     * Consulta el producto y verifica que exista y no esté eliminado.
+     */
+    private Mono<ProductResponse> activeProduct(Long productId) {
+        return productClient.getProductById(productId)
+                .filter(product -> product.getIdProducto() != null && !Boolean.TRUE.equals(product.getEliminado()))
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Producto no encontrado en product-service")));
+    }
+
+    private Mono<Optional<Integer>> optionalQuantity(Long productId) {
+        return inventoryRepository.findAvailableQuantity(productId)
+                .publishOn(Schedulers.boundedElastic())
+                .map(quantity -> Optional.of(stockEngine.availableQuantity(new StockLevel(productId, quantity))))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Map<Long, Integer> inRequestOrder(List<Long> requestedIds, Set<Long> activeIds,
+                                              Map<Long, Integer> quantities) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        requestedIds.stream()
+                .filter(activeIds::contains)
+                .filter(quantities::containsKey)
+                .forEach(productId -> result.put(productId,
+                        stockEngine.availableQuantity(new StockLevel(productId, quantities.get(productId)))));
+        return result;
+    }
+
+    private static BuyResponse toBuyResponse(Long productId, ProductResponse product, Integer quantity,
+                                             Integer remaining) {
+        Double unitPrice = product.getPrecio() != null ? product.getPrecio() : 0.0;
+        return BuyResponse.builder()
+                .productId(productId)
+                .productName(product.getNombre())
+                .quantityPurchased(quantity)
+                .remainingQuantity(remaining)
+                .unitPrice(unitPrice)
+                .totalAmount(unitPrice * quantity)
+                .buyDate(LocalDateTime.now())
+                .message(String.format("Compra exitosa de %d unidades de %s", quantity, product.getNombre()))
+                .build();
+    }
+}
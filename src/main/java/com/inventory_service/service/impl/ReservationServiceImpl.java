@@ -0,0 +1,373 @@
+package com.inventory_service.service.impl;
+
+import com.inventory_service.client.ProductClient;
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.config.ReadReplicaRouting;
+import com.inventory_service.dto.ReservationRequest;
+import com.inventory_service.dto.ReservationResponse;
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Reservation;
+import com.inventory_service.model.ReservationStatus;
+import com.inventory_service.repository.HeldReservation;
+import com.inventory_service.repository.ReservationRepository;
+import com.inventory_service.service.ReservationService;
+import com.inventory_service.service.cache.AvailabilityCache;
+import com.inventory_service.service.feed.StockChangeBus;
+import com.inventory_service.service.reservation.TimingWheel;
+import com.inventory_service.service.stock.StockChangeListener;
+import com.inventory_service.service.stock.StockEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementación del servicio de reservas.
+ * Los vencimientos se programan en una {@link TimingWheel} en memoria que avanza un hilo
+ * temporizador. Al iniciar la aplicación se reprograman las reservas pendientes, y cada
+ * {@code inventory.reservations.sweep-interval} una consulta a la tabla vence las que la rueda no
+ * cubre (las creadas por una instancia que se detuvo, o las que no se pudieron reprogramar); como
+ * cada transición es un UPDATE condicional sobre el estado, la cantidad se devuelve una sola vez
+ * aunque varias instancias venzan la misma reserva.
+ * La cantidad se descuenta y se devuelve con el {@link StockEngine} configurado, dentro de la
+ * transacción de la reserva, de modo que cada cambio llega al {@link StockChangeListener} (libro de
+ * movimientos y outbox) en esa transacción, invalida el {@link AvailabilityCache} al confirmarse y
+ * se publica en el {@link StockChangeBus} tras el commit.
+ *
+ * <p>Métricas publicadas: {@code inventory.reservations.expired}, {@code inventory.reservations.swept}
+ * y {@code inventory.reservations.timers}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+public class ReservationServiceImpl implements ReservationService {
+
+    static final String EXPIRED_METRIC = "inventory.reservations.expired";
+    static final String SWEPT_METRIC = "inventory.reservations.swept";
+    static final String TIMERS_METRIC = "inventory.reservations.timers";
+
+    /** Máximo de reservas vencidas que procesa cada barrido. */
+    static final int SWEEP_BATCH_SIZE = 500;
+
+    /** Reservas pendientes que se leen por página al reprogramarlas en el arranque. */
+    static final int RESTORE_PAGE_SIZE = 1000;
+
+    private final ReservationRepository reservationRepository;
+    private final StockEngine stockEngine;
+    private final ProductClient productClient;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityCache availabilityCache;
+    private final StockChangeBus changeBus;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final Duration tick;
+    private final Duration sweepInterval;
+    private final TimingWheel<Long> expiryWheel;
+    private final Counter expiredCounter;
+    private final Counter sweptCounter;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public ReservationServiceImpl(
+            ReservationRepository reservationRepository,
+            StockEngine stockEngine,
+            ProductClient productClient,
+            TransactionTemplate transactionTemplate,
+            AvailabilityCache availabilityCache,
+            StockChangeBus changeBus,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.reservations.default-ttl:15m}") Duration defaultTtl,
+            @Value("${inventory.reservations.max-ttl:1h}") Duration maxTtl,
+            @Value("${inventory.reservations.timer.tick:100ms}") Duration tick,
+            @Value("${inventory.reservations.timer.wheel-size:512}") int wheelSize,
+            @Value("${inventory.reservations.sweep-interval:1m}") Duration sweepInterval) {
+        this(reservationRepository, stockEngine, productClient, transactionTemplate, availabilityCache, changeBus,
+                meterRegistry, defaultTtl, maxTtl, tick, sweepInterval, new TimingWheel<>(tick, wheelSize));
+    }
+
+    ReservationServiceImpl(
+            ReservationRepository reservationRepository,
+            StockEngine stockEngine,
+            ProductClient productClient,
+            TransactionTemplate transactionTemplate,
+            AvailabilityCache availabilityCache,
+            StockChangeBus changeBus,
+            MeterRegistry meterRegistry,
+            Duration defaultTtl,
+            Duration maxTtl,
+            Duration tick,
+            Duration sweepInterval,
+            TimingWheel<Long> expiryWheel) {
+        if (defaultTtl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException(
+                    "inventory.reservations.default-ttl no puede superar inventory.reservations.max-ttl");
+        }
+        this.reservationRepository = reservationRepository;
+        this.stockEngine = stockEngine;
+        this.productClient = productClient;
+        this.transactionTemplate = transactionTemplate;
+        this.availabilityCache = availabilityCache;
+        this.changeBus = changeBus;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.tick = tick;
+        this.sweepInterval = sweepInterval;
+        this.expiryWheel = expiryWheel;
+        this.expiredCounter = meterRegistry.counter(EXPIRED_METRIC);
+        this.sweptCounter = meterRegistry.counter(SWEPT_METRIC);
+        Gauge.builder(TIMERS_METRIC, expiryWheel, TimingWheel::size).register(meterRegistry);
+    }
+
+    /**
+     * Reprograma las reservas pendientes e inicia el temporizador de vencimientos y el barrido de la tabla.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        log.info("Reprogramadas {} reservas pendientes", schedulePending());
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = Math.max(1L, tick.toMillis());
+        ticker.scheduleAtFixedRate(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        if (!sweepInterval.isZero()) {
+            long sweepMillis = Math.max(1L, sweepInterval.toMillis());
+            ticker.scheduleWithFixedDelay(this::sweepExpired, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Programa en la rueda el vencimiento de las reservas pendientes de la tabla. Lee solo el ID y el
+     * vencimiento, por páginas en el orden del índice de vencimientos, sin materializar las entidades.
+     * @return reservas programadas
+     */
+    int schedulePending() {
+        LocalDateTime now = LocalDateTime.now();
+        int scheduled = 0;
+        List<HeldReservation> page = ReadReplicaRouting.onPrimary(
+                () -> reservationRepository.findHeldExpiries(Limit.of(RESTORE_PAGE_SIZE)));
+        while (!page.isEmpty()) {
+            page.forEach(held -> expiryWheel.schedule(held.idReserva(), Duration.between(now, held.expiraEn())));
+            scheduled += page.size();
+            if (page.size() < RESTORE_PAGE_SIZE) {
+                break;
+            }
+            HeldReservation last = page.get(page.size() - 1);
+            page = ReadReplicaRouting.onPrimary(() -> reservationRepository.findHeldExpiriesAfter(
+                    last.expiraEn(), last.idReserva(), Limit.of(RESTORE_PAGE_SIZE)));
+        }
+        return scheduled;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Implementación de la reserva de un producto.
+     * La validación remota se realiza fuera de la transacción; el descuento y el alta de la
+     * reserva se confirman juntos, y el vencimiento se programa tras el commit.
+     */
+    @Override
+    public ReservationResponse hold(ReservationRequest request) {
+        Long productId = request.getProductId();
+        Integer quantity = request.getQuantity();
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new BadRequestException(String.format(
+                    "La duración de la reserva no puede superar %d segundos", maxTtl.toSeconds()));
+        }
+
+        ProductResponse product = productClient.getProductById(productId);
+        if (product == null || product.getIdProducto() == null || Boolean.TRUE.equals(product.getEliminado())) {
+            throw new NotFoundException("Producto no encontrado en product-service");
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        ReservationResponse response = transactionTemplate.execute(status -> {
+            Integer remaining = stockEngine.hold(productId, quantity);
+            availabilityCache.invalidate(productId);
+            Reservation reservation = reservationRepository.save(Reservation.builder()
+                    .productoId(productId)
+                    .cantidad(quantity)
+                    .estado(ReservationStatus.HELD)
+                    .expiraEn(expiresAt)
+                    .build());
+            ReservationResponse held = toResponse(reservation);
+            held.setRemainingQuantity(remaining);
+            return held;
+        });
+
+        expiryWheel.schedule(response.getReservationId(), ttl);
+        changeBus.publish(productId, response.getRemainingQuantity());
+        return response;
+    }
+
+    @Override
+    public ReservationResponse confirm(Long reservationId) {
+        ReservationResponse response = transactionTemplate.execute(status -> {
+            if (reservationRepository.confirmIfNotExpired(reservationId, LocalDateTime.now()) == 0) {
+                throw rejection(findReservation(reservationId), "confirmarse");
+            }
+            return toResponse(findReservation(reservationId));
+        });
+        expiryWheel.cancel(reservationId);
+        return response;
+    }
+
+    @Override
+    public ReservationResponse release(Long reservationId) {
+        Restored released = transactionTemplate.execute(status -> {
+            if (reservationRepository.transition(reservationId, ReservationStatus.HELD, ReservationStatus.RELEASED) == 0) {
+                throw rejection(findReservation(reservationId), "liberarse");
+            }
+            return restore(findReservation(reservationId));
+        });
+        expiryWheel.cancel(reservationId);
+        released.publishTo(changeBus);
+        return toResponse(released.reservation());
+    }
+
+    /**
+     * Avanza la rueda de temporización y vence las reservas cuyo plazo se cumplió.
+     * Cada reserva se vence en su propia transacción para aislar fallos.
+     */
+    void expireDue() {
+        for (Long reservationId : expiryWheel.advance()) {
+            try {
+                if (expire(reservationId)) {
+                    expiredCounter.increment();
+                }
+            } catch (RuntimeException e) {
+                // Se reintenta en el siguiente tick para no perder la devolución de la cantidad
+                log.warn("No fue posible vencer la reserva {}: {}", reservationId, e.getMessage());
+                expiryWheel.schedule(reservationId, tick);
+            }
+        }
+    }
+
+    /**
+     * Vence en la base las reservas pendientes cuyo plazo se cumplió y que la rueda no venció: las de
+     * otra instancia que se detuvo o las que no se reprogramaron. Cada reserva se vence en su propia
+     * transacción; las que fallan quedan para el siguiente barrido.
+     */
+    void sweepExpired() {
+        List<Long> due;
+        try {
+            due = ReadReplicaRouting.onPrimary(() -> reservationRepository.findExpiredHeldIds(
+                    LocalDateTime.now(), Limit.of(SWEEP_BATCH_SIZE)));
+        } catch (RuntimeException e) {
+            log.warn("No fue posible consultar las reservas vencidas: {}", e.getMessage());
+            return;
+        }
+        int swept = 0;
+        for (Long reservationId : due) {
+            try {
+                if (expire(reservationId)) {
+                    expiryWheel.cancel(reservationId);
+                    expiredCounter.increment();
+                    swept++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("No fue posible vencer la reserva {}: {}", reservationId, e.getMessage());
+            }
+        }
+        if (swept > 0) {
+            sweptCounter.increment(swept);
+            log.info("Barrido de reservas: {} vencidas fuera de la rueda de temporización", swept);
+        }
+    }
+
+    /**
+     * Vence una reserva si sigue pendiente y su plazo se cumplió, devolviendo la cantidad en la misma
+     * transacción y publicándola tras el commit.
+     * @return si la reserva venció en esta llamada
+     */
+    private boolean expire(Long reservationId) {
+        Restored expired = transactionTemplate.execute(status -> {
+            if (reservationRepository.expireIfDue(reservationId, LocalDateTime.now()) == 0) {
+                return null;
+            }
+            return restore(findReservation(reservationId));
+        });
+        if (expired == null) {
+            return false;
+        }
+        expired.publishTo(changeBus);
+        return true;
+    }
+
+    /**
+     * Devuelve al inventario la cantidad de una reserva liberada o vencida, en la transacción en curso.
+     */
+    private Restored restore(Reservation reservation) {
+        Optional<Integer> quantity = stockEngine.release(reservation.getProductoId(), reservation.getCantidad());
+        availabilityCache.invalidate(reservation.getProductoId());
+        return new Restored(reservation, quantity);
+    }
+
+    private Reservation findReservation(Long reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new NotFoundException("Reserva no encontrada"));
+    }
+
+    /**
+     * Error para una transición no permitida según el estado actual de la reserva.
+     */
+    private static ConflictException rejection(Reservation reservation, String action) {
+        if (reservation.getEstado() == ReservationStatus.HELD) {
+            return new ConflictException(String.format(
+                    "La reserva %d venció y no puede %s", reservation.getIdReserva(), action));
+        }
+        return new ConflictException(String.format(
+                "La reserva %d no puede %s en estado %s", reservation.getIdReserva(), action, reservation.getEstado()));
+    }
+
+    /**
+     * Reserva liberada o vencida y la cantidad disponible resultante, para publicarla tras el commit.
+     */
+    private record Restored(Reservation reservation, Optional<Integer> quantity) {
+
+        void publishTo(StockChangeBus changeBus) {
+            quantity.ifPresent(restored -> changeBus.publish(reservation.getProductoId(), restored));
+        }
+    }
+
+    private static ReservationResponse toResponse(Reservation reservation) {
+        return ReservationResponse.builder()
+                .reservationId(reservation.getIdReserva())
+                .productId(reservation.getProductoId())
+                .quantity(reservation.getCantidad())
+                .status(reservation.getEstado())
+                .expiresAt(reservation.getExpiraEn())
+                .build();
+    }
+}
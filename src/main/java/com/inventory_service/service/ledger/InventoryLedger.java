@@ -0,0 +1,189 @@
+package com.inventory_service.service.ledger;
+
+import com.inventory_service.model.InventoryMovement;
+import com.inventory_service.model.InventorySnapshot;
+import com.inventory_service.repository.InventoryMovementRepository;
+import com.inventory_service.repository.InventorySnapshotRepository;
+import com.inventory_service.service.stock.StockChangeListener;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Libro de movimientos de inventario (solo inserción) con fotografías periódicas.
+ *
+ * <p>Es un {@link StockChangeListener}: los motores de existencias le notifican cada compra, ajuste y
+ * reserva dentro de la transacción que modifica el inventario, de modo que el movimiento se confirma o
+ * se revierte junto con el cambio y lleva su delta exacto. Los IDs provienen de una secuencia sin
+ * asignación por bloques que se consulta con la fila del inventario ya bloqueada, por lo que los
+ * movimientos de un mismo producto quedan en el orden en que se confirmaron.</p>
+ *
+ * <p>Cada {@code inventory.ledger.snapshot-interval} se fotografía la cantidad de los productos con
+ * movimientos nuevos, hasta el último movimiento anterior a {@code inventory.ledger.snapshot-lag}
+ * (margen para las transacciones aún sin confirmar). La cantidad de un producto se reconstruye con su
+ * última fotografía más los deltas de los movimientos posteriores.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+public class InventoryLedger implements StockChangeListener {
+
+    /** Clave del MDC con el identificador de correlación de la petición en curso. */
+    public static final String CORRELATION_ID_MDC = "correlationId";
+
+    /** Tamaño de los rangos de IDs leídos en cada consulta al fotografiar. */
+    private static final long SNAPSHOT_CHUNK = 5_000;
+
+    private final InventoryMovementRepository movementRepository;
+    private final InventorySnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration snapshotInterval;
+    private final Duration snapshotLag;
+    private ScheduledExecutorService scheduler;
+
+    public InventoryLedger(
+            InventoryMovementRepository movementRepository,
+            InventorySnapshotRepository snapshotRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.ledger.enabled:true}") boolean enabled,
+            @Value("${inventory.ledger.snapshot-interval:15m}") Duration snapshotInterval,
+            @Value("${inventory.ledger.snapshot-lag:1m}") Duration snapshotLag) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotLag = snapshotLag;
+    }
+
+    /**
+     * Inicia las fotografías periódicas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-ledger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long snapshotMillis = Math.max(1L, snapshotInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::snapshotSafely, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Inserta el movimiento en la transacción en curso; falla si no hay una, porque el movimiento debe
+     * confirmarse junto con el cambio de existencias.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStockChange(StockChange change) {
+        if (!enabled) {
+            return;
+        }
+        movementRepository.save(InventoryMovement.builder()
+                .productoId(change.productId())
+                .delta(change.delta())
+                .cantidadResultante(change.resultingQuantity())
+                .motivo(change.reason())
+                .correlationId(change.correlationId())
+                .fechaMovimiento(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Fotografía los productos con movimientos posteriores a la última corrida.
+     * @return número de fotografías creadas
+     */
+    int snapshot() {
+        Integer created = transactionTemplate.execute(status -> {
+            long afterId = snapshotRepository.findLastCoveredMovementId().orElse(0L);
+            Optional<Long> upTo = movementRepository.findMaxIdUntil(afterId, LocalDateTime.now().minus(snapshotLag));
+            if (upTo.isEmpty()) {
+                return 0;
+            }
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            for (long from = afterId; from < upTo.get(); from += SNAPSHOT_CHUNK) {
+                for (InventoryMovement movement : movementRepository.findRange(from, Math.min(from + SNAPSHOT_CHUNK, upTo.get()))) {
+                    Integer base = quantities.computeIfAbsent(movement.getProductoId(), productId ->
+                            snapshotRepository.findFirstByProductoIdOrderByUltimoMovimientoIdDesc(productId)
+                                    .map(InventorySnapshot::getCantidad)
+                                    .orElse(null));
+                    quantities.put(movement.getProductoId(), apply(base, movement));
+                }
+            }
+            quantities.forEach((productId, cantidad) -> snapshotRepository.save(InventorySnapshot.builder()
+                    .productoId(productId)
+                    .cantidad(cantidad)
+                    .ultimoMovimientoId(upTo.get())
+                    .build()));
+            return quantities.size();
+        });
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Reconstruye la cantidad de un producto según el libro: última fotografía más los movimientos posteriores.
+     * @param productId ID del producto
+     * @return cantidad según el libro; vacío si el producto no tiene movimientos ni fotografías
+     */
+    public Optional<Integer> rebuild(Long productId) {
+        return transactionTemplate.execute(status -> {
+            Optional<InventorySnapshot> snapshot =
+                    snapshotRepository.findFirstByProductoIdOrderByUltimoMovimientoIdDesc(productId);
+            Integer quantity = snapshot.map(InventorySnapshot::getCantidad).orElse(null);
+            long afterId = snapshot.map(InventorySnapshot::getUltimoMovimientoId).orElse(0L);
+            for (InventoryMovement movement : movementRepository.findByProductAfter(productId, afterId)) {
+                quantity = apply(quantity, movement);
+            }
+            return Optional.ofNullable(quantity);
+        });
+    }
+
+    /**
+     * Aplica el delta de un movimiento sobre una cantidad. Sin cantidad previa (primer movimiento
+     * registrado del producto) se parte de la cantidad anterior al movimiento.
+     */
+    private static Integer apply(Integer quantity, InventoryMovement movement) {
+        int before = quantity != null ? quantity : movement.getCantidadResultante() - movement.getDelta();
+        return before + movement.getDelta();
+    }
+
+    private void snapshotSafely() {
+        try {
+            int created = snapshot();
+            if (created > 0) {
+                log.info("Fotografías del libro de inventario creadas: {}", created);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No fue posible fotografiar el libro de inventario: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.inventory_service.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_service.dto.InventoryChangeEvent;
+import com.inventory_service.exception.InternalServerErrorException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino por defecto: agrega cada evento como una línea JSON al archivo
+ * {@code inventory.outbox.file.path} y sincroniza el archivo a disco antes de retornar.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "inventory.outbox", name = "sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxSink(
+            ObjectMapper objectMapper,
+            @Value("${inventory.outbox.file.path:data/inventory-events.jsonl}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+        log.info("Eventos de inventario publicados en {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void publish(List<InventoryChangeEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        for (InventoryChangeEvent event : events) {
+            try {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new InternalServerErrorException("No fue posible serializar el evento " + event.getEventId());
+            }
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible escribir los eventos en " + path, e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.inventory_service.service.outbox;
+
+import com.inventory_service.dto.InventoryChangeEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destino en memoria para pruebas y desarrollo local ({@code inventory.outbox.sink=memory}).
+ * Conserva todos los eventos publicados hasta que se limpian.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<InventoryChangeEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<InventoryChangeEvent> batch) {
+        events.addAll(batch);
+    }
+
+    /**
+     * Copia de los eventos publicados, en orden de publicación.
+     */
+    public synchronized List<InventoryChangeEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
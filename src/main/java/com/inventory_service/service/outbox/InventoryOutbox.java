@@ -0,0 +1,53 @@
+package com.inventory_service.service.outbox;
+
+import com.inventory_service.model.OutboxEvent;
+import com.inventory_service.repository.OutboxEventRepository;
+import com.inventory_service.service.stock.StockChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Escritor del outbox transaccional de cambios de existencias.
+ * Los motores de existencias lo invocan dentro de la transacción que aplica cada compra o ajuste,
+ * de modo que el evento se confirma (o se revierte) junto con el cambio; {@link OutboxRelay} lo
+ * entrega después a los consumidores.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Service
+public class InventoryOutbox implements StockChangeListener {
+
+    private final OutboxEventRepository eventRepository;
+    private final boolean enabled;
+
+    public InventoryOutbox(
+            OutboxEventRepository eventRepository,
+            @Value("${inventory.outbox.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Inserta el evento en la transacción en curso; falla si no hay una, porque el evento debe
+     * confirmarse junto con el cambio de existencias.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStockChange(StockChange change) {
+        if (!enabled) {
+            return;
+        }
+        eventRepository.save(OutboxEvent.builder()
+                .productoId(change.productId())
+                .tipo(change.reason())
+                .delta(change.delta())
+                .cantidad(change.resultingQuantity())
+                .correlationId(change.correlationId())
+                .fechaEvento(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,206 @@
+package com.inventory_service.service.outbox;
+
+import com.inventory_service.dto.InventoryChangeEvent;
+import com.inventory_service.model.OutboxEvent;
+import com.inventory_service.model.OutboxOffset;
+import com.inventory_service.repository.OutboxEventRepository;
+import com.inventory_service.repository.OutboxOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relay del outbox: entrega los eventos de cambio de existencias al {@link OutboxSink} configurado.
+ *
+ * <p>Cada {@code inventory.outbox.poll-interval} un hilo dedicado lee, en orden de ID, lotes de
+ * {@code inventory.outbox.batch-size} eventos posteriores al offset del relay, los publica y avanza
+ * el offset en la misma transacción, con la fila del offset bloqueada para que solo una instancia
+ * entregue a la vez. La entrega es al menos una vez: si la transacción falla después de publicar,
+ * el lote se vuelve a publicar con los mismos IDs.</p>
+ *
+ * <p>Solo se leen los eventos con más de {@code inventory.outbox.relay-lag} de antigüedad: los IDs
+ * se asignan al insertar y las transacciones pueden confirmarse en otro orden, de modo que el margen
+ * evita avanzar el offset por encima de un evento aún no confirmado. Los eventos entregados se eliminan
+ * pasado {@code inventory.outbox.retention}.</p>
+ *
+ * <p>Métricas publicadas: {@code inventory.outbox.relayed} e {@code inventory.outbox.failures}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    static final String RELAYED_METRIC = "inventory.outbox.relayed";
+    static final String FAILURES_METRIC = "inventory.outbox.failures";
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final String relayName;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration relayLag;
+    private final Duration retention;
+    private final Counter relayed;
+    private final Counter failures;
+    private ScheduledExecutorService scheduler;
+
+    public OutboxRelay(
+            OutboxEventRepository eventRepository,
+            OutboxOffsetRepository offsetRepository,
+            OutboxSink sink,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.outbox.enabled:true}") boolean enabled,
+            @Value("${inventory.outbox.relay-name:inventory-events}") String relayName,
+            @Value("${inventory.outbox.batch-size:500}") int batchSize,
+            @Value("${inventory.outbox.poll-interval:500ms}") Duration pollInterval,
+            @Value("${inventory.outbox.relay-lag:2s}") Duration relayLag,
+            @Value("${inventory.outbox.retention:1d}") Duration retention) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("inventory.outbox.batch-size debe ser mayor a cero");
+        }
+        this.eventRepository = eventRepository;
+        this.offsetRepository = offsetRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.relayName = relayName;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.relayLag = relayLag;
+        this.retention = retention;
+        this.relayed = meterRegistry.counter(RELAYED_METRIC);
+        this.failures = meterRegistry.counter(FAILURES_METRIC);
+    }
+
+    /**
+     * Inicia la entrega periódica y la limpieza de eventos entregados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long pollMillis = Math.max(1L, pollInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::relaySafely, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Entrega lotes hasta alcanzar el margen {@code relay-lag}.
+     * @return eventos entregados
+     */
+    int relay() {
+        int total = 0;
+        int delivered;
+        do {
+            delivered = relayBatch();
+            total += delivered;
+        } while (delivered == batchSize);
+        return total;
+    }
+
+    /**
+     * Publica el siguiente lote y avanza el offset en la misma transacción.
+     * @return eventos entregados
+     */
+    private int relayBatch() {
+        Integer delivered = transactionTemplate.execute(status -> {
+            OutboxOffset offset = offsetRepository.findForUpdate(relayName)
+                    .orElseGet(() -> OutboxOffset.builder().relay(relayName).ultimoEventoId(0L).build());
+            List<OutboxEvent> events = eventRepository.findBatchAfter(offset.getUltimoEventoId(),
+                    LocalDateTime.now().minus(relayLag), PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            sink.publish(events.stream().map(OutboxRelay::toEvent).toList());
+            offset.setUltimoEventoId(events.get(events.size() - 1).getIdEvento());
+            offsetRepository.save(offset);
+            return events.size();
+        });
+        int count = delivered != null ? delivered : 0;
+        relayed.increment(count);
+        return count;
+    }
+
+    /**
+     * Elimina los eventos entregados con más de {@code retention} de antigüedad.
+     * @return eventos eliminados
+     */
+    int purge() {
+        Integer deleted = transactionTemplate.execute(status -> offsetRepository.findById(relayName)
+                .map(offset -> eventRepository.deleteDelivered(offset.getUltimoEventoId(),
+                        LocalDateTime.now().minus(retention)))
+                .orElse(0));
+        return deleted != null ? deleted : 0;
+    }
+
+    private static InventoryChangeEvent toEvent(OutboxEvent event) {
+        return InventoryChangeEvent.builder()
+                .eventId(event.getIdEvento())
+                .productId(event.getProductoId())
+                .type(event.getTipo().name())
+                .delta(event.getDelta())
+                .quantity(event.getCantidad())
+                .correlationId(event.getCorrelationId())
+                .occurredAt(event.getFechaEvento())
+                .build();
+    }
+
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            // El offset no avanzó: el lote se reintenta en la próxima corrida
+            failures.increment();
+            log.warn("No fue posible entregar eventos del outbox de inventario: {}", e.getMessage());
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            int deleted = purge();
+            if (deleted > 0) {
+                log.info("Eventos entregados eliminados del outbox de inventario: {}", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No fue posible limpiar el outbox de inventario: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.inventory_service.service.outbox;
+
+import com.inventory_service.dto.InventoryChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destino al que {@link OutboxRelay} entrega los eventos de cambio de existencias.
+ * La implementación activa se selecciona con la propiedad {@code inventory.outbox.sink}.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface OutboxSink {
+
+    /**
+     * Publica un lote de eventos en orden de ID. Debe retornar solo cuando el lote quedó entregado
+     * de forma durable: a continuación el relay avanza su offset. Ante un fallo el lote completo se
+     * reintenta, por lo que los consumidores deben descartar los IDs ya recibidos.
+     *
+     * @param events eventos del lote, en orden de ID
+     */
+    void publish(List<InventoryChangeEvent> events);
+}
@@ -0,0 +1,154 @@
+package com.inventory_service.service.reservation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Rueda de temporización (hashed timing wheel) para vencimientos por clave.
+ * Programar y cancelar cuestan O(1) y no requieren bloqueos: las altas se encolan y la
+ * cancelación solo marca la entrada. Cada avance recorre únicamente las ranuras de los ticks
+ * transcurridos; las entradas cuyo vencimiento supera una vuelta completa esperan con un
+ * contador de vueltas en lugar de reubicarse.
+ *
+ * <p>{@link #advance()} debe invocarse desde un único hilo (el temporizador); {@link #schedule}
+ * y {@link #cancel} pueden invocarse desde cualquier hilo. La precisión es la duración del tick:
+ * una clave vence en el primer tick posterior a su plazo.</p>
+ * @param <K> tipo de la clave programada
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public final class TimingWheel<K> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<List<Timeout<K>>> buckets;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Queue<Timeout<K>> pending = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<K, Timeout<K>> timeouts = new ConcurrentHashMap<>();
+
+    /** Próximo tick a procesar; solo lo modifica el hilo que avanza la rueda. */
+    private long nextTick;
+
+    public TimingWheel(Duration tick, int wheelSize) {
+        this(tick, wheelSize, System::nanoTime);
+    }
+
+    /**
+     * @param tick duración de cada tick (resolución de los vencimientos)
+     * @param wheelSize número de ranuras; se redondea a la siguiente potencia de dos
+     * @param nanoClock reloj monotónico en nanosegundos
+     */
+    public TimingWheel(Duration tick, int wheelSize, LongSupplier nanoClock) {
+        if (tick == null || tick.isZero() || tick.isNegative()) {
+            throw new IllegalArgumentException("La duración del tick debe ser mayor a cero");
+        }
+        if (wheelSize < 1 || wheelSize > (1 << 20)) {
+            throw new IllegalArgumentException("El número de ranuras debe estar entre 1 y " + (1 << 20));
+        }
+        int size = Integer.highestOneBit(wheelSize) == wheelSize ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+        this.tickNanos = tick.toNanos();
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Programa el vencimiento de una clave. Si la clave ya estaba programada, el plazo anterior se descarta.
+     * @param key clave a programar
+     * @param delay tiempo hasta el vencimiento (los valores negativos vencen en el próximo tick)
+     */
+    public void schedule(K key, Duration delay) {
+        long deadline = nanoClock.getAsLong() - startNanos + Math.max(0L, delay.toNanos());
+        Timeout<K> timeout = new Timeout<>(key, deadline);
+        Timeout<K> previous = timeouts.put(key, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        pending.add(timeout);
+    }
+
+    /**
+     * Cancela el vencimiento programado de una clave.
+     * @param key clave a cancelar
+     * @return {@code true} si la clave estaba programada
+     */
+    public boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Número de claves programadas pendientes de vencer.
+     */
+    public int size() {
+        return timeouts.size();
+    }
+
+    /**
+     * Procesa los ticks transcurridos desde el último avance.
+     * @return claves vencidas, en orden de tick
+     */
+    public synchronized List<K> advance() {
+        long currentTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        transferPending();
+
+        List<K> expired = new ArrayList<>();
+        for (; nextTick <= currentTick; nextTick++) {
+            buckets.get((int) (nextTick & mask)).removeIf(timeout -> {
+                if (timeout.cancelled) {
+                    return true;
+                }
+                if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                    return false;
+                }
+                if (timeouts.remove(timeout.key, timeout)) {
+                    expired.add(timeout.key);
+                }
+                return true;
+            });
+        }
+        return expired;
+    }
+
+    /**
+     * Ubica las altas pendientes en la ranura del primer tick posterior a su plazo.
+     */
+    private void transferPending() {
+        for (Timeout<K> timeout; (timeout = pending.poll()) != null; ) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long dueTick = Math.max(nextTick, Math.ceilDiv(timeout.deadline, tickNanos));
+            timeout.remainingRounds = (dueTick - nextTick) / buckets.size();
+            buckets.get((int) (dueTick & mask)).add(timeout);
+        }
+    }
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
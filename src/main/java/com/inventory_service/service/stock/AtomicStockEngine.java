@@ -0,0 +1,162 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de existencias por defecto: cada compra es un único UPDATE condicional
+ * que descuenta solo si hay disponibilidad, sin lectura previa ni bloqueos de aplicación.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "inventory.stock", name = "mode", havingValue = "atomic", matchIfMissing = true)
+public class AtomicStockEngine implements StockEngine {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockChangeListener stockChangeListener;
+
+    @Override
+    @Transactional
+    public Integer decrement(Long productId, Integer quantity) {
+        return take(productId, quantity, MovementReason.PURCHASE);
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Integer> decrementAll(SortedMap<Long, Integer> quantities) {
+        // Cada UPDATE retiene el bloqueo de su fila hasta el commit; recorrer en orden de productoId evita interbloqueos
+        Map<Long, Integer> remaining = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> remaining.put(productId, decrement(productId, quantity)));
+        return remaining;
+    }
+
+    @Override
+    @Transactional
+    public Integer setQuantity(Long productId, Integer cantidad) {
+        Inventory inventory = inventoryRepository.findByProductoIdAndEliminadoFalse(productId)
+                .orElseGet(() -> Inventory.builder()
+                        .productoId(productId)
+                        .cantidad(0)
+                        .eliminado(false)
+                        .build());
+
+        int previous = inventory.getCantidad();
+        inventory.setCantidad(cantidad);
+        Inventory saved = inventoryRepository.save(inventory);
+        stockChangeListener.onStockChange(StockChange.current(
+                productId, saved.getCantidad() - previous, saved.getCantidad(), MovementReason.ADJUSTMENT));
+        return saved.getCantidad();
+    }
+
+    @Override
+    @Transactional
+    public Integer adjust(Long productId, Integer delta) {
+        Integer adjusted = inventoryRepository.adjustStockIfNonNegative(productId, delta)
+                .orElseThrow(() -> StockRejections.adjustmentRejection(
+                        inventoryRepository.findByProductoIdAndEliminadoFalse(productId), delta));
+        stockChangeListener.onStockChange(
+                StockChange.current(productId, delta, adjusted, MovementReason.ADJUSTMENT));
+        return adjusted;
+    }
+
+    @Override
+    @Transactional
+    public Integer hold(Long productId, Integer quantity) {
+        return take(productId, quantity, MovementReason.RESERVATION);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Integer> release(Long productId, Integer quantity) {
+        Optional<Integer> released = inventoryRepository.adjustStockIfNonNegative(productId, quantity);
+        released.ifPresent(restored -> stockChangeListener.onStockChange(
+                StockChange.current(productId, quantity, restored, MovementReason.RESERVATION)));
+        return released;
+    }
+
+    /**
+     * Descuenta con el UPDATE condicional y notifica el cambio con el motivo indicado.
+     */
+    private Integer take(Long productId, Integer quantity, MovementReason reason) {
+        Integer remaining = inventoryRepository.decrementStockIfAvailable(productId, quantity)
+                // Solo se consulta el inventario en el camino de error
+                .orElseThrow(() -> StockRejections.rejection(
+                        inventoryRepository.findByProductoIdAndEliminadoFalse(productId), quantity));
+        stockChangeListener.onStockChange(StockChange.current(productId, -quantity, remaining, reason));
+        return remaining;
+    }
+
+    /**
+     * Aplica las variaciones con un único lote JDBC ordenado por {@code productoId} (para no
+     * interbloquearse con los carritos) y una lectura final de las filas afectadas, a partir de la cual
+     * se reconstruye la cantidad resultante de cada variación.
+     */
+    @Override
+    @Transactional
+    public List<StockAdjustmentResult> adjustAll(List<StockAdjustment> adjustments) {
+        if (adjustments.isEmpty()) {
+            return List.of();
+        }
+        // Orden estable: por producto y, dentro de cada producto, en el orden recibido
+        int[] order = IntStream.range(0, adjustments.size()).boxed()
+                .sorted(Comparator.comparing(index -> adjustments.get(index).productoId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        List<StockAdjustment> ordered = Arrays.stream(order).mapToObj(adjustments::get).toList();
+        int[] updated = inventoryRepository.adjustStockInBatch(ordered);
+        Map<Long, Integer> finalQuantities = inventoryRepository.findByProductoIdInAndEliminadoFalse(
+                        ordered.stream().map(StockAdjustment::productoId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductoId, Inventory::getCantidad));
+
+        // Recorriendo cada producto hacia atrás se obtiene la cantidad tras cada sentencia
+        StockAdjustmentResult[] results = new StockAdjustmentResult[adjustments.size()];
+        Integer afterStatement = null;
+        Long currentProduct = null;
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            StockAdjustment adjustment = ordered.get(i);
+            if (!adjustment.productoId().equals(currentProduct)) {
+                currentProduct = adjustment.productoId();
+                afterStatement = finalQuantities.get(currentProduct);
+            }
+            if (afterStatement == null) {
+                results[order[i]] = StockAdjustmentResult.rejected(adjustment.productoId(), adjustment.delta(),
+                        StockRejections.inventoryNotFound());
+            } else if (updated[i] > 0) {
+                results[order[i]] = StockAdjustmentResult.applied(adjustment.productoId(), adjustment.delta(),
+                        afterStatement);
+                afterStatement -= adjustment.delta();
+            } else {
+                results[order[i]] = StockAdjustmentResult.rejected(adjustment.productoId(), adjustment.delta(),
+                        StockRejections.outOfRange(afterStatement, adjustment.delta()));
+            }
+        }
+        for (int index : order) {
+            StockAdjustmentResult result = results[index];
+            if (result.isApplied()) {
+                stockChangeListener.onStockChange(StockChange.current(
+                        result.productId(), result.delta(), result.quantity(), MovementReason.ADJUSTMENT));
+            }
+        }
+        return List.of(results);
+    }
+}
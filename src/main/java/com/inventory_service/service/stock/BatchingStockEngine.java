@@ -0,0 +1,290 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.InternalServerErrorException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockDecrement;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Motor de existencias con group commit: las compras individuales que llegan casi al mismo tiempo
+ * se agrupan y se confirman juntas, de modo que el costo del commit (fsync del WAL) se paga una vez
+ * por lote y no una vez por compra.
+ *
+ * <p>Un hilo colector toma la primera compra pendiente y espera como máximo
+ * {@code inventory.stock.batched.max-wait} a que lleguen más, hasta
+ * {@code inventory.stock.batched.max-batch-size}. El lote se aplica en una transacción con un único
+ * lote JDBC de UPDATE condicionales (uno por compra, ordenados por {@code productoId} para no
+ * interbloquearse con otras instancias) y una lectura final de las filas afectadas; con el número de
+ * filas actualizadas por sentencia cada llamador recibe su propio resultado: la cantidad restante
+ * que dejó su compra, o el rechazo por inventario insuficiente o inexistente. Las compras aplicadas
+ * se notifican al {@link StockChangeListener} dentro de la transacción del lote. Mientras un lote se
+ * confirma, las compras siguientes se acumulan para el próximo.</p>
+ *
+ * <p>Los carritos, los ajustes y las variaciones de cantidad no se agrupan: se ejecutan en su propia transacción
+ * con la misma lógica del motor atómico.</p>
+ *
+ * <p>Métricas publicadas: {@code inventory.stock.batched.batch.size} y {@code inventory.stock.batched.queued}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "inventory.stock", name = "mode", havingValue = "batched")
+public class BatchingStockEngine implements StockEngine {
+
+    static final String BATCH_SIZE_METRIC = "inventory.stock.batched.batch.size";
+    static final String QUEUED_METRIC = "inventory.stock.batched.queued";
+
+    private final InventoryRepository inventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockChangeListener stockChangeListener;
+    private final AtomicStockEngine directEngine;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Duration enqueueTimeout;
+    private final BlockingQueue<PendingDecrement> pending;
+    private final DistributionSummary batchSizes;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    public BatchingStockEngine(
+            InventoryRepository inventoryRepository,
+            TransactionTemplate transactionTemplate,
+            StockChangeListener stockChangeListener,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.stock.batched.max-batch-size:128}") int maxBatchSize,
+            @Value("${inventory.stock.batched.max-wait:2ms}") Duration maxWait,
+            @Value("${inventory.stock.batched.queue-capacity:10000}") int queueCapacity,
+            @Value("${inventory.stock.batched.enqueue-timeout:1s}") Duration enqueueTimeout) {
+        if (maxBatchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "inventory.stock.batched.max-batch-size y queue-capacity deben ser mayores a cero");
+        }
+        this.inventoryRepository = inventoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockChangeListener = stockChangeListener;
+        this.directEngine = new AtomicStockEngine(inventoryRepository, stockChangeListener);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.enqueueTimeout = enqueueTimeout;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC).register(meterRegistry);
+        Gauge.builder(QUEUED_METRIC, pending, BlockingQueue::size).register(meterRegistry);
+        this.collector = Thread.ofPlatform().daemon().name("stock-batch-collector").start(this::collect);
+    }
+
+    @Override
+    public Integer decrement(Long productId, Integer quantity) {
+        PendingDecrement decrement = new PendingDecrement(
+                productId, quantity, StockChange.currentCorrelationId(), new CompletableFuture<>());
+        boolean accepted;
+        try {
+            accepted = running && pending.offer(decrement, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException("Actualización de inventario interrumpida");
+        }
+        if (!accepted) {
+            throw new InternalServerErrorException(String.format(
+                    "El motor de existencias no admite más operaciones para el producto %d", productId));
+        }
+        // Una vez admitida, la compra siempre se resuelve tras el commit (o el rollback) de su lote
+        try {
+            return decrement.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<Long, Integer> decrementAll(SortedMap<Long, Integer> quantities) {
+        return transactionTemplate.execute(status -> directEngine.decrementAll(quantities));
+    }
+
+    @Override
+    public Integer setQuantity(Long productId, Integer cantidad) {
+        return transactionTemplate.execute(status -> directEngine.setQuantity(productId, cantidad));
+    }
+
+    @Override
+    public Integer adjust(Long productId, Integer delta) {
+        return transactionTemplate.execute(status -> directEngine.adjust(productId, delta));
+    }
+
+    @Override
+    public List<StockAdjustmentResult> adjustAll(List<StockAdjustment> adjustments) {
+        return transactionTemplate.execute(status -> directEngine.adjustAll(adjustments));
+    }
+
+    /**
+     * Las reservas no pasan por la cola de lotes: deben confirmarse con el alta de la reserva, en la
+     * transacción del llamador, con la sentencia condicional del motor atómico.
+     */
+    @Override
+    public Integer hold(Long productId, Integer quantity) {
+        return transactionTemplate.execute(status -> directEngine.hold(productId, quantity));
+    }
+
+    @Override
+    public Optional<Integer> release(Long productId, Integer quantity) {
+        return transactionTemplate.execute(status -> directEngine.release(productId, quantity));
+    }
+
+    /**
+     * Deja de admitir compras y espera a que el colector confirme las ya encoladas.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            collector.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingDecrement decrement;
+        while ((decrement = pending.poll()) != null) {
+            decrement.result().completeExceptionally(
+                    new InternalServerErrorException("El motor de existencias se detuvo"));
+        }
+    }
+
+    private void collect() {
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingDecrement first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingDecrement> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingDecrement next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Confirma el lote en una transacción y resuelve cada compra con su resultado individual.
+     */
+    void flush(List<PendingDecrement> batch) {
+        batchSizes.record(batch.size());
+        // Orden estable: por producto y, dentro de cada producto, en orden de llegada
+        List<PendingDecrement> ordered = batch.stream()
+                .sorted(Comparator.comparing(PendingDecrement::productId))
+                .toList();
+        try {
+            BatchResult result = transactionTemplate.execute(status -> {
+                int[] updated = inventoryRepository.decrementStockInBatch(ordered.stream()
+                        .map(decrement -> new StockDecrement(decrement.productId(), decrement.quantity()))
+                        .toList());
+                Map<Long, Integer> finalQuantities = inventoryRepository.findByProductoIdInAndEliminadoFalse(
+                                ordered.stream().map(PendingDecrement::productId).distinct().toList())
+                        .stream()
+                        .collect(Collectors.toMap(Inventory::getProductoId, Inventory::getCantidad));
+                Integer[] afterStatements = afterStatements(ordered, finalQuantities, updated);
+                for (int i = 0; i < ordered.size(); i++) {
+                    PendingDecrement decrement = ordered.get(i);
+                    if (updated[i] > 0 && afterStatements[i] != null) {
+                        stockChangeListener.onStockChange(new StockChange(decrement.productId(),
+                                -decrement.quantity(), afterStatements[i], MovementReason.PURCHASE,
+                                decrement.correlationId()));
+                    }
+                }
+                return new BatchResult(updated, afterStatements);
+            });
+            complete(ordered, result);
+        } catch (RuntimeException e) {
+            log.warn("Falló la confirmación de un lote de {} compras: {}", batch.size(), e.getMessage());
+            batch.forEach(decrement -> decrement.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Reconstruye, recorriendo cada producto desde su última compra hacia atrás, la cantidad que
+     * había en la fila inmediatamente después de cada sentencia del lote ({@code null} si el
+     * producto no tiene inventario).
+     */
+    private static Integer[] afterStatements(List<PendingDecrement> ordered, Map<Long, Integer> finalQuantities,
+                                             int[] updated) {
+        Integer[] after = new Integer[ordered.size()];
+        Integer afterStatement = null;
+        Long currentProduct = null;
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            PendingDecrement decrement = ordered.get(i);
+            if (!decrement.productId().equals(currentProduct)) {
+                currentProduct = decrement.productId();
+                afterStatement = finalQuantities.get(currentProduct);
+            }
+            after[i] = afterStatement;
+            if (afterStatement != null && updated[i] > 0) {
+                afterStatement += decrement.quantity();
+            }
+        }
+        return after;
+    }
+
+    /**
+     * Resuelve cada compra con la cantidad restante que dejó o con su rechazo.
+     */
+    private static void complete(List<PendingDecrement> ordered, BatchResult result) {
+        for (int i = 0; i < ordered.size(); i++) {
+            PendingDecrement decrement = ordered.get(i);
+            Integer afterStatement = result.afterStatements()[i];
+            if (afterStatement == null) {
+                decrement.result().completeExceptionally(StockRejections.inventoryNotFound());
+            } else if (result.updated()[i] > 0) {
+                decrement.result().complete(afterStatement);
+            } else {
+                decrement.result().completeExceptionally(
+                        StockRejections.insufficientStock(afterStatement, decrement.quantity()));
+            }
+        }
+    }
+
+    record PendingDecrement(Long productId, Integer quantity, String correlationId,
+                            CompletableFuture<Integer> result) {
+    }
+
+    private record BatchResult(int[] updated, Integer[] afterStatements) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory_service.service.stock;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Receptor que los motores de existencias reciben por defecto: reenvía cada cambio, en la misma
+ * transacción, a todos los demás {@link StockChangeListener} del contexto (el outbox y el libro de
+ * movimientos). Si uno falla, la excepción revierte el cambio completo.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Primary
+@Service
+public class CompositeStockChangeListener implements StockChangeListener {
+
+    private final List<StockChangeListener> listeners;
+
+    /**
+     * @param listeners receptores del contexto; Spring no incluye a este mismo bean en la lista
+     */
+    public CompositeStockChangeListener(List<StockChangeListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public void onStockChange(StockChange change) {
+        for (StockChangeListener listener : listeners) {
+            listener.onStockChange(change);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Motor de existencias con concurrencia optimista: lee la fila, valida en memoria y
+ * escribe verificando la columna {@code version}. Ante un conflicto reintenta la operación
+ * completa en una transacción nueva, con espera exponencial y jitter, hasta un máximo de intentos.
+ * No se mantienen bloqueos de fila entre intentos ni durante la llamada a product-service.
+ *
+ * <p>Métricas publicadas: {@code inventory.stock.optimistic.retries} y
+ * {@code inventory.stock.optimistic.giveups}, etiquetadas por {@code operation} ({@code single} o
+ * {@code cart}) y por {@code bucket}, la franja del producto en conflicto entre
+ * {@code inventory.stock.optimistic.metric-buckets}: así la cardinalidad no crece con el catálogo y
+ * un producto caliente sigue destacando en su franja. El ID exacto se registra en el log.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "inventory.stock", name = "mode", havingValue = "optimistic")
+public class OptimisticStockEngine implements StockEngine {
+
+    static final String RETRIES_METRIC = "inventory.stock.optimistic.retries";
+    static final String GIVEUPS_METRIC = "inventory.stock.optimistic.giveups";
+    static final String SINGLE_OPERATION = "single";
+    static final String CART_OPERATION = "cart";
+
+    private final InventoryRepository inventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockChangeListener stockChangeListener;
+    private final AtomicStockEngine directEngine;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int metricBuckets;
+
+    public OptimisticStockEngine(
+            InventoryRepository inventoryRepository,
+            TransactionTemplate transactionTemplate,
+            StockChangeListener stockChangeListener,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.stock.optimistic.max-attempts:5}") int maxAttempts,
+            @Value("${inventory.stock.optimistic.initial-backoff-ms:5}") long initialBackoffMs,
+            @Value("${inventory.stock.optimistic.max-backoff-ms:100}") long maxBackoffMs,
+            @Value("${inventory.stock.optimistic.metric-buckets:16}") int metricBuckets) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("inventory.stock.optimistic.max-attempts debe ser mayor a cero");
+        }
+        if (metricBuckets < 1) {
+            throw new IllegalArgumentException("inventory.stock.optimistic.metric-buckets debe ser mayor a cero");
+        }
+        this.inventoryRepository = inventoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockChangeListener = stockChangeListener;
+        this.directEngine = new AtomicStockEngine(inventoryRepository, stockChangeListener);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.metricBuckets = metricBuckets;
+    }
+
+    @Override
+    public Integer decrement(Long productId, Integer quantity) {
+        return withRetry(SINGLE_OPERATION, () -> productId, () -> decrementOnce(productId, quantity));
+    }
+
+    @Override
+    public Map<Long, Integer> decrementAll(SortedMap<Long, Integer> quantities) {
+        // Un conflicto en cualquier fila revierte el carrito completo y se reintenta desde el principio;
+        // el conflicto se atribuye a la fila que se estaba escribiendo al detectarlo
+        AtomicReference<Long> writing = new AtomicReference<>();
+        return withRetry(CART_OPERATION, writing::get, () -> {
+            Map<Long, Integer> remaining = new LinkedHashMap<>();
+            quantities.forEach((productId, quantity) -> {
+                writing.set(productId);
+                remaining.put(productId, decrementOnce(productId, quantity));
+            });
+            return remaining;
+        });
+    }
+
+    @Override
+    public Integer setQuantity(Long productId, Integer cantidad) {
+        return withRetry(SINGLE_OPERATION, () -> productId, () -> {
+            Inventory inventory = inventoryRepository.findByProductoIdAndEliminadoFalse(productId)
+                    .orElseGet(() -> Inventory.builder()
+                            .productoId(productId)
+                            .cantidad(0)
+                            .eliminado(false)
+                            .build());
+            int previous = inventory.getCantidad();
+            inventory.setCantidad(cantidad);
+            Integer saved = inventoryRepository.saveAndFlush(inventory).getCantidad();
+            stockChangeListener.onStockChange(
+                    StockChange.current(productId, saved - previous, saved, MovementReason.ADJUSTMENT));
+            return saved;
+        });
+    }
+
+    /**
+     * Las variaciones no necesitan leer la fila: se aplican con la sentencia condicional del motor atómico,
+     * que incrementa la versión, de modo que las escrituras optimistas concurrentes detectan el cambio y reintentan.
+     */
+    @Override
+    public Integer adjust(Long productId, Integer delta) {
+        return transactionTemplate.execute(status -> directEngine.adjust(productId, delta));
+    }
+
+    @Override
+    public List<StockAdjustmentResult> adjustAll(List<StockAdjustment> adjustments) {
+        return transactionTemplate.execute(status -> directEngine.adjustAll(adjustments));
+    }
+
+    /**
+     * Como las variaciones, las reservas usan la sentencia condicional del motor atómico, que incrementa
+     * la versión; se unen a la transacción del llamador y no se reintentan.
+     */
+    @Override
+    public Integer hold(Long productId, Integer quantity) {
+        return transactionTemplate.execute(status -> directEngine.hold(productId, quantity));
+    }
+
+    @Override
+    public Optional<Integer> release(Long productId, Integer quantity) {
+        return transactionTemplate.execute(status -> directEngine.release(productId, quantity));
+    }
+
+    /**
+     * Lee, valida y escribe una fila; debe ejecutarse dentro de la transacción del intento.
+     */
+    private Integer decrementOnce(Long productId, Integer quantity) {
+        Inventory inventory = inventoryRepository.findByProductoIdAndEliminadoFalse(productId)
+                .orElseThrow(StockRejections::inventoryNotFound);
+        if (inventory.getCantidad() < quantity) {
+            throw StockRejections.insufficientStock(inventory.getCantidad(), quantity);
+        }
+        inventory.setCantidad(inventory.getCantidad() - quantity);
+        Integer remaining = inventoryRepository.saveAndFlush(inventory).getCantidad();
+        stockChangeListener.onStockChange(
+                StockChange.current(productId, -quantity, remaining, MovementReason.PURCHASE));
+        return remaining;
+    }
+
+    /**
+     * Ejecuta la acción en su propia transacción, reintentando ante conflictos de versión.
+     * Se rechaza dentro de una transacción del llamador: tras un conflicto esta quedaría marcada
+     * para deshacerse y con un contexto de persistencia desactualizado, y ningún reintento prosperaría.
+     * @param operation etiqueta de la operación
+     * @param conflicting producto cuya escritura detectó el conflicto
+     * @throws IllegalStateException si hay una transacción activa
+     */
+    private <T> T withRetry(String operation, Supplier<Long> conflicting, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(
+                    "Las escrituras optimistas reintentan en transacciones propias y no deben ejecutarse dentro de otra");
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                Long productId = conflicting.get();
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter(GIVEUPS_METRIC, "operation", operation, "bucket", bucket(productId))
+                            .increment();
+                    log.warn("Se agotaron los {} intentos de actualización optimista para el producto {}",
+                            maxAttempts, productId);
+                    throw new ConflictException(String.format(
+                            "No fue posible actualizar el inventario del producto %d por concurrencia", productId));
+                }
+                meterRegistry.counter(RETRIES_METRIC, "operation", operation, "bucket", bucket(productId)).increment();
+                log.debug("Conflicto de versión en el producto {} (intento {})", productId, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Franja acotada del producto para las etiquetas de las métricas.
+     */
+    String bucket(Long productId) {
+        return String.valueOf(Math.floorMod(Long.hashCode(productId), metricBuckets));
+    }
+
+    /**
+     * Espera exponencial acotada con jitter completo para desincronizar a los competidores.
+     */
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Actualización de inventario interrumpida");
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.config.ReadReplicaRouting;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.exception.InternalServerErrorException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de existencias particionado con un único escritor por producto.
+ * Cada compra se enruta por el hash del {@code productoId} a uno de N shards; cada shard es un
+ * hilo dedicado que mantiene en memoria la cantidad disponible de sus productos, valida y descuenta
+ * sin bloqueos y persiste en lotes (group commit): todas las compras acumuladas de un producto se
+ * aplican con un único UPDATE condicional por producto, en una sola transacción por lote.
+ *
+ * <p>La base de datos sigue siendo la fuente de verdad: el UPDATE conserva la condición
+ * {@code cantidad >= :cantidad}, de modo que un contador desactualizado (otra instancia, un ajuste
+ * externo) nunca produce sobreventa; ante un rechazo del UPDATE se recarga el contador y se
+ * reprocesan las compras del producto. Cada llamador recibe su respuesta solo después del commit.</p>
+ *
+ * <p>Métricas publicadas: {@code inventory.stock.sharded.batch.size},
+ * {@code inventory.stock.sharded.flush.conflicts} y {@code inventory.stock.sharded.queued}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "inventory.stock", name = "mode", havingValue = "sharded")
+public class ShardedStockEngine implements StockEngine {
+
+    static final String BATCH_SIZE_METRIC = "inventory.stock.sharded.batch.size";
+    static final String FLUSH_CONFLICTS_METRIC = "inventory.stock.sharded.flush.conflicts";
+    static final String QUEUED_METRIC = "inventory.stock.sharded.queued";
+
+    /** Intentos de persistencia de una misma compra antes de rechazarla por concurrencia. */
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final InventoryRepository inventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockChangeListener stockChangeListener;
+    private final AtomicStockEngine directEngine;
+    private final Shard[] shards;
+    private final int maxBatchSize;
+    private final Duration enqueueTimeout;
+    private final DistributionSummary batchSize;
+    private final Counter flushConflicts;
+
+    @Autowired
+    public ShardedStockEngine(
+            InventoryRepository inventoryRepository,
+            TransactionTemplate transactionTemplate,
+            StockChangeListener stockChangeListener,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.stock.sharded.shards:0}") int shardCount,
+            @Value("${inventory.stock.sharded.max-batch-size:256}") int maxBatchSize,
+            @Value("${inventory.stock.sharded.queue-capacity:10000}") int queueCapacity,
+            @Value("${inventory.stock.sharded.enqueue-timeout:1s}") Duration enqueueTimeout) {
+        if (maxBatchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "inventory.stock.sharded.max-batch-size y queue-capacity deben ser mayores a cero");
+        }
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.inventoryRepository = inventoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockChangeListener = stockChangeListener;
+        this.directEngine = new AtomicStockEngine(inventoryRepository, stockChangeListener);
+        this.maxBatchSize = maxBatchSize;
+        this.enqueueTimeout = enqueueTimeout;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE_METRIC).register(meterRegistry);
+        this.flushConflicts = meterRegistry.counter(FLUSH_CONFLICTS_METRIC);
+        Gauge.builder(QUEUED_METRIC, this, ShardedStockEngine::queued).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+        log.info("Motor de existencias particionado iniciado con {} shards", shards.length);
+    }
+
+    /**
+     * Detiene la admisión de comandos y espera a que cada shard procese y persista lo encolado.
+     */
+    @PreDestroy
+    public void stop() {
+        for (Shard shard : shards) {
+            shard.running = false;
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Integer decrement(Long productId, Integer quantity) {
+        return submit(new Decrement(productId, quantity));
+    }
+
+    /**
+     * El carrito se descuenta directamente con UPDATE condicionales en una sola transacción, como en
+     * el motor atómico; al confirmar, los shards dueños de los productos descartan su contador.
+     */
+    @Override
+    public Map<Long, Integer> decrementAll(SortedMap<Long, Integer> quantities) {
+        Map<Long, Integer> remaining = transactionTemplate.execute(status -> {
+            Map<Long, Integer> result = new LinkedHashMap<>();
+            quantities.forEach((productId, quantity) -> {
+                Integer left = inventoryRepository.decrementStockIfAvailable(productId, quantity)
+                        .orElseThrow(() -> StockRejections.rejection(
+                                inventoryRepository.findByProductoIdAndEliminadoFalse(productId), quantity));
+                stockChangeListener.onStockChange(
+                        StockChange.current(productId, -quantity, left, MovementReason.PURCHASE));
+                result.put(productId, left);
+            });
+            return result;
+        });
+        // Sin esperar: el UPDATE condicional del siguiente lote protege igualmente contra la sobreventa
+        quantities.keySet().forEach(productId -> shardFor(productId).queue.offer(new Invalidate(productId)));
+        return remaining;
+    }
+
+    @Override
+    public Integer setQuantity(Long productId, Integer cantidad) {
+        return submit(new SetQuantity(productId, cantidad));
+    }
+
+    /**
+     * Las variaciones se aplican directamente con UPDATE condicionales, como los carritos, y luego
+     * invalidan el contador del shard dueño del producto.
+     */
+    @Override
+    public Integer adjust(Long productId, Integer delta) {
+        Integer adjusted = transactionTemplate.execute(status -> directEngine.adjust(productId, delta));
+        shardFor(productId).queue.offer(new Invalidate(productId));
+        return adjusted;
+    }
+
+    @Override
+    public List<StockAdjustmentResult> adjustAll(List<StockAdjustment> adjustments) {
+        List<StockAdjustmentResult> results = transactionTemplate.execute(status -> directEngine.adjustAll(adjustments));
+        adjustments.stream().map(StockAdjustment::productoId).distinct()
+                .forEach(productId -> shardFor(productId).queue.offer(new Invalidate(productId)));
+        return results;
+    }
+
+    /**
+     * Las reservas se aplican directamente en la transacción del llamador, como las variaciones; el
+     * contador del shard se descarta al terminar esa transacción, no antes, para no recargarlo sin el cambio.
+     */
+    @Override
+    public Integer hold(Long productId, Integer quantity) {
+        Integer remaining = transactionTemplate.execute(status -> directEngine.hold(productId, quantity));
+        invalidateAfterCompletion(productId);
+        return remaining;
+    }
+
+    @Override
+    public Optional<Integer> release(Long productId, Integer quantity) {
+        Optional<Integer> released = transactionTemplate.execute(status -> directEngine.release(productId, quantity));
+        invalidateAfterCompletion(productId);
+        return released;
+    }
+
+    private void invalidateAfterCompletion(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    shardFor(productId).queue.offer(new Invalidate(productId));
+                }
+            });
+        } else {
+            shardFor(productId).queue.offer(new Invalidate(productId));
+        }
+    }
+
+    /**
+     * Comandos pendientes en todas las colas.
+     */
+    int queued() {
+        return Arrays.stream(shards).mapToInt(shard -> shard.queue.size()).sum();
+    }
+
+    private Shard shardFor(Long productId) {
+        // Mezcla de Fibonacci para repartir IDs consecutivos entre los shards
+        int hash = (int) ((productId * 0x9E3779B97F4A7C15L) >>> 32);
+        return shards[Math.floorMod(hash, shards.length)];
+    }
+
+    /**
+     * Encola el comando en el shard dueño del producto y espera el resultado confirmado.
+     * Una vez admitido, el comando siempre se completa: no se abandona la espera para no
+     * informar un fallo de una compra que finalmente se persiste.
+     */
+    private Integer submit(Command command) {
+        Shard shard = shardFor(command.productId);
+        boolean accepted;
+        try {
+            accepted = shard.running
+                    && shard.queue.offer(command, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException("Actualización de inventario interrumpida");
+        }
+        if (!accepted) {
+            throw new InternalServerErrorException(String.format(
+                    "El motor de existencias no admite más operaciones para el producto %d", command.productId));
+        }
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Partición de productos atendida por un único hilo; su estado solo lo toca ese hilo.
+     */
+    private final class Shard implements Runnable {
+
+        private final BlockingQueue<Command> queue;
+        private final Map<Long, Integer> available = new HashMap<>();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Shard(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "stock-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<Command> batch = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                } catch (RuntimeException e) {
+                    log.error("Error inesperado en {}", thread.getName(), e);
+                    available.clear();
+                    batch.forEach(command -> command.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+            queue.forEach(command -> command.result.completeExceptionally(
+                    new InternalServerErrorException("El motor de existencias se detuvo")));
+        }
+
+        /**
+         * Agrupa los descuentos consecutivos; los ajustes e invalidaciones actúan como barrera
+         * para conservar el orden de llegada.
+         */
+        private void process(List<Command> batch) {
+            batchSize.record(batch.size());
+            List<Decrement> decrements = new ArrayList<>();
+            for (Command command : batch) {
+                if (command instanceof Decrement decrement) {
+                    decrements.add(decrement);
+                    continue;
+                }
+                flush(decrements);
+                decrements.clear();
+                if (command instanceof SetQuantity set) {
+                    apply(set);
+                } else {
+                    available.remove(command.productId);
+                }
+            }
+            flush(decrements);
+        }
+
+        private void apply(SetQuantity command) {
+            try {
+                Integer saved = transactionTemplate.execute(status -> {
+                    Inventory inventory = inventoryRepository.findByProductoIdAndEliminadoFalse(command.productId)
+                            .orElseGet(() -> Inventory.builder()
+                                    .productoId(command.productId)
+                                    .cantidad(0)
+                                    .eliminado(false)
+                                    .build());
+                    int previous = inventory.getCantidad();
+                    inventory.setCantidad(command.quantity);
+                    Integer stored = inventoryRepository.save(inventory).getCantidad();
+                    stockChangeListener.onStockChange(new StockChange(command.productId, stored - previous,
+                            stored, MovementReason.ADJUSTMENT, command.correlationId));
+                    return stored;
+                });
+                available.put(command.productId, saved);
+                command.result.complete(saved);
+            } catch (RuntimeException e) {
+                available.remove(command.productId);
+                command.result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Valida en memoria, persiste un UPDATE condicional por producto con la suma de sus compras
+         * (notificando cada compra en la misma transacción) y completa cada compra tras el commit. Los productos cuyo UPDATE no aplica se recargan y
+         * sus compras se reprocesan, hasta {@link #MAX_FLUSH_ATTEMPTS} intentos.
+         */
+        private void flush(List<Decrement> decrements) {
+            List<Decrement> pending = decrements;
+            for (int attempt = 1; !pending.isEmpty(); attempt++) {
+                Map<Long, List<Decrement>> accepted = reserve(pending);
+                if (accepted.isEmpty()) {
+                    return;
+                }
+
+                Map<Long, Integer> committed;
+                try {
+                    committed = transactionTemplate.execute(status -> {
+                        Map<Long, Integer> result = new HashMap<>();
+                        accepted.forEach((productId, commands) -> inventoryRepository
+                                .decrementStockIfAvailable(productId, total(commands))
+                                .ifPresent(remaining -> {
+                                    publish(commands, remaining);
+                                    result.put(productId, remaining);
+                                }));
+                        return result;
+                    });
+                } catch (RuntimeException e) {
+                    accepted.forEach((productId, commands) -> {
+                        available.remove(productId);
+                        commands.forEach(command -> command.result.completeExceptionally(e));
+                    });
+                    return;
+                }
+
+                List<Decrement> retry = new ArrayList<>();
+                for (Map.Entry<Long, List<Decrement>> entry : accepted.entrySet()) {
+                    Long productId = entry.getKey();
+                    Integer remaining = committed.get(productId);
+                    if (remaining != null) {
+                        available.put(productId, remaining);
+                        complete(entry.getValue(), remaining);
+                        continue;
+                    }
+                    flushConflicts.increment();
+                    available.remove(productId);
+                    if (attempt >= MAX_FLUSH_ATTEMPTS) {
+                        log.warn("Se agotaron los {} intentos de persistencia para el producto {}",
+                                MAX_FLUSH_ATTEMPTS, productId);
+                        entry.getValue().forEach(command -> command.result.completeExceptionally(
+                                new ConflictException(String.format(
+                                        "No fue posible actualizar el inventario del producto %d por concurrencia",
+                                        productId))));
+                    } else {
+                        retry.addAll(entry.getValue());
+                    }
+                }
+                pending = retry;
+            }
+        }
+
+        /**
+         * Descuenta en memoria en orden de llegada y rechaza de inmediato las compras sin
+         * disponibilidad; un rechazo con un contador cargado en un lote anterior se confirma
+         * recargando la fila una única vez.
+         */
+        private Map<Long, List<Decrement>> reserve(List<Decrement> pending) {
+            Map<Long, List<Decrement>> accepted = new LinkedHashMap<>();
+            Map<Long, Boolean> reloaded = new HashMap<>();
+            for (Decrement command : pending) {
+                Long productId = command.productId;
+                Integer current = available.get(productId);
+                if (current == null || (current < command.quantity && reloaded.putIfAbsent(productId, true) == null)) {
+                    current = load(productId).orElse(null);
+                    reloaded.put(productId, true);
+                    if (current != null) {
+                        // Las compras ya aceptadas en este lote siguen pendientes de persistir
+                        current -= total(accepted.getOrDefault(productId, List.of()));
+                    }
+                }
+                if (current == null) {
+                    command.result.completeExceptionally(StockRejections.inventoryNotFound());
+                } else if (current < command.quantity) {
+                    available.put(productId, current);
+                    command.result.completeExceptionally(StockRejections.insufficientStock(current, command.quantity));
+                } else {
+                    available.put(productId, current - command.quantity);
+                    accepted.computeIfAbsent(productId, id -> new ArrayList<>()).add(command);
+                }
+            }
+            return accepted;
+        }
+
+        private Optional<Integer> load(Long productId) {
+            // El contador valida las compras: se carga de la principal, nunca de una réplica
+            Optional<Integer> quantity =
+                    ReadReplicaRouting.onPrimary(() -> inventoryRepository.findCantidadByProductoId(productId));
+            if (quantity.isEmpty()) {
+                available.remove(productId);
+            }
+            return quantity;
+        }
+    }
+
+    /**
+     * Completa las compras de un producto con la cantidad restante que observó cada una,
+     * reconstruida a partir del valor confirmado en base de datos.
+     */
+    private static void complete(List<Decrement> commands, int remainingAfterAll) {
+        int remaining = remainingAfterAll + total(commands);
+        for (Decrement command : commands) {
+            remaining -= command.quantity;
+            command.result.complete(remaining);
+        }
+    }
+
+    /**
+     * Notifica, dentro de la transacción del lote, cada compra de un producto con la cantidad
+     * restante que le corresponde.
+     */
+    private void publish(List<Decrement> commands, int remainingAfterAll) {
+        int remaining = remainingAfterAll + total(commands);
+        for (Decrement command : commands) {
+            remaining -= command.quantity;
+            stockChangeListener.onStockChange(new StockChange(command.productId, -command.quantity,
+                    remaining, MovementReason.PURCHASE, command.correlationId));
+        }
+    }
+
+    private static int total(List<Decrement> commands) {
+        return commands.stream().mapToInt(command -> command.quantity).sum();
+    }
+
+    private abstract static class Command {
+        final Long productId;
+        // Se captura en el hilo del llamador: el shard aplica el comando en su propio hilo
+        final String correlationId = StockChange.currentCorrelationId();
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        Command(Long productId) {
+            this.productId = productId;
+        }
+    }
+
+    private static final class Decrement extends Command {
+        final int quantity;
+
+        Decrement(Long productId, int quantity) {
+            super(productId);
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class SetQuantity extends Command {
+        final Integer quantity;
+
+        SetQuantity(Long productId, Integer quantity) {
+            super(productId);
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class Invalidate extends Command {
+        Invalidate(Long productId) {
+            super(productId);
+        }
+    }
+}
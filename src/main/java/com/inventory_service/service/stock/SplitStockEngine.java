@@ -0,0 +1,310 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.InventorySlot;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.repository.InventorySlotRepository;
+import com.inventory_service.repository.StockLevel;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Motor de existencias con subcontadores (escrow) para productos muy demandados.
+ * La cantidad de cada producto listado en {@code inventory.stock.split.products} se reparte entre
+ * {@code inventory.stock.split.slots} filas de {@code inventory_slots}; cada compra elige un
+ * subcontador al azar y lo descuenta con un UPDATE condicional, de modo que las compras concurrentes
+ * se reparten entre N bloqueos de fila en lugar de serializarse sobre uno solo.
+ *
+ * <p>Si ningún subcontador alcanza para la compra, se redistribuye: con la fila de inventario y los
+ * subcontadores bloqueados se suma el total, se descuenta la compra y el resto se reparte en partes
+ * iguales. La fila de {@code inventories} actúa como reserva de lo no repartido (por ejemplo, las
+ * cantidades devueltas por reservas), y la cantidad disponible es siempre la suma de ambas.</p>
+ *
+ * <p>Toda transacción que bloquea ambas cosas lo hace en el mismo orden: primero la fila de inventario
+ * y después los subcontadores. Por eso las compras de carritos y las reservas, que pueden redistribuir
+ * dentro de su propia transacción, bloquean la fila de inventario antes de probar los subcontadores;
+ * solo la compra individual prueba los subcontadores sin ella, en una transacción que no redistribuye.</p>
+ *
+ * <p>Los demás productos se atienden con la lógica del motor atómico.</p>
+ *
+ * <p>Métrica publicada: {@code inventory.stock.split.rebalances}.</p>
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "inventory.stock", name = "mode", havingValue = "split")
+public class SplitStockEngine implements StockEngine {
+
+    static final String REBALANCES_METRIC = "inventory.stock.split.rebalances";
+
+    private final InventoryRepository inventoryRepository;
+    private final InventorySlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockChangeListener stockChangeListener;
+    private final AtomicStockEngine directEngine;
+    private final Set<Long> splitProducts;
+    private final int slots;
+    private final Counter rebalances;
+
+    public SplitStockEngine(
+            InventoryRepository inventoryRepository,
+            InventorySlotRepository slotRepository,
+            TransactionTemplate transactionTemplate,
+            StockChangeListener stockChangeListener,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.stock.split.products:}") Set<Long> splitProducts,
+            @Value("${inventory.stock.split.slots:8}") int slots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("inventory.stock.split.slots debe ser mayor a cero");
+        }
+        this.inventoryRepository = inventoryRepository;
+        this.slotRepository = slotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockChangeListener = stockChangeListener;
+        this.directEngine = new AtomicStockEngine(inventoryRepository, stockChangeListener);
+        this.splitProducts = Set.copyOf(splitProducts);
+        this.slots = slots;
+        this.rebalances = meterRegistry.counter(REBALANCES_METRIC);
+        log.info("Subcontadores de existencias: {} por producto para {}", slots, this.splitProducts);
+    }
+
+    /**
+     * Los intentos sobre los subcontadores y la redistribución se ejecutan en transacciones separadas,
+     * de modo que la redistribución nunca espera la fila de inventario reteniendo un subcontador.
+     */
+    @Override
+    public Integer decrement(Long productId, Integer quantity) {
+        if (!splitProducts.contains(productId)) {
+            return transactionTemplate.execute(status -> directEngine.decrement(productId, quantity));
+        }
+        Integer remaining = transactionTemplate.execute(
+                status -> takeFromSlots(productId, quantity, MovementReason.PURCHASE));
+        return remaining != null
+                ? remaining
+                : transactionTemplate.execute(status -> rebalance(productId, quantity, MovementReason.PURCHASE));
+    }
+
+    @Override
+    public Map<Long, Integer> decrementAll(SortedMap<Long, Integer> quantities) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Integer> remaining = new LinkedHashMap<>();
+            quantities.forEach((productId, quantity) ->
+                    remaining.put(productId, decrementInTransaction(productId, quantity, MovementReason.PURCHASE)));
+            return remaining;
+        });
+    }
+
+    @Override
+    public Integer hold(Long productId, Integer quantity) {
+        return transactionTemplate.execute(
+                status -> decrementInTransaction(productId, quantity, MovementReason.RESERVATION));
+    }
+
+    /**
+     * Para los productos con subcontadores la cantidad liberada vuelve a la fila de inventario, que
+     * actúa como reserva de lo no repartido hasta la siguiente redistribución.
+     */
+    @Override
+    public Optional<Integer> release(Long productId, Integer quantity) {
+        return transactionTemplate.execute(status -> {
+            if (!splitProducts.contains(productId)) {
+                return directEngine.release(productId, quantity);
+            }
+            if (inventoryRepository.adjustStockIfNonNegative(productId, quantity).isEmpty()) {
+                return Optional.<Integer>empty();
+            }
+            Integer restored = slotRepository.findAggregatedQuantity(productId)
+                    .orElseThrow(StockRejections::inventoryNotFound);
+            stockChangeListener.onStockChange(
+                    StockChange.current(productId, quantity, restored, MovementReason.RESERVATION));
+            return Optional.of(restored);
+        });
+    }
+
+    @Override
+    public Integer setQuantity(Long productId, Integer cantidad) {
+        return transactionTemplate.execute(status -> {
+            if (!splitProducts.contains(productId)) {
+                return directEngine.setQuantity(productId, cantidad);
+            }
+            Inventory pool = inventoryRepository.findActiveForUpdate(productId).orElse(null);
+            if (pool == null) {
+                // El motor atómico crea la fila y notifica el ajuste
+                directEngine.setQuantity(productId, cantidad);
+                inventoryRepository.flush();
+                pool = inventoryRepository.findActiveForUpdate(productId).orElseThrow();
+                distribute(pool, slotRepository.findByProductoIdOrderBySlot(productId), cantidad);
+                return cantidad;
+            }
+            List<InventorySlot> current = slotRepository.findByProductoIdOrderBySlot(productId);
+            int previous = pool.getCantidad() + current.stream().mapToInt(InventorySlot::getCantidad).sum();
+            distribute(pool, current, cantidad);
+            stockChangeListener.onStockChange(
+                    StockChange.current(productId, cantidad - previous, cantidad, MovementReason.ADJUSTMENT));
+            return cantidad;
+        });
+    }
+
+    @Override
+    public Integer adjust(Long productId, Integer delta) {
+        return transactionTemplate.execute(status -> adjustInTransaction(productId, delta));
+    }
+
+    /**
+     * Las variaciones de los demás productos se aplican en un único lote del motor atómico; las de los
+     * productos con subcontadores, una a una con sus filas bloqueadas.
+     */
+    @Override
+    public List<StockAdjustmentResult> adjustAll(List<StockAdjustment> adjustments) {
+        return transactionTemplate.execute(status -> {
+            Iterator<StockAdjustmentResult> direct = directEngine.adjustAll(adjustments.stream()
+                    .filter(adjustment -> !splitProducts.contains(adjustment.productoId()))
+                    .toList()).iterator();
+            List<StockAdjustmentResult> results = new ArrayList<>(adjustments.size());
+            for (StockAdjustment adjustment : adjustments) {
+                if (!splitProducts.contains(adjustment.productoId())) {
+                    results.add(direct.next());
+                    continue;
+                }
+                try {
+                    results.add(StockAdjustmentResult.applied(adjustment.productoId(), adjustment.delta(),
+                            adjustInTransaction(adjustment.productoId(), adjustment.delta())));
+                } catch (BadRequestException | NotFoundException e) {
+                    results.add(StockAdjustmentResult.rejected(adjustment.productoId(), adjustment.delta(), e));
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Para los productos con subcontadores agrega la fila de inventario y sus subcontadores en una sola lectura.
+     */
+    @Override
+    public Integer availableQuantity(StockLevel stockLevel) {
+        if (!splitProducts.contains(stockLevel.productoId())) {
+            return stockLevel.cantidad();
+        }
+        return slotRepository.findAggregatedQuantity(stockLevel.productoId()).orElse(stockLevel.cantidad());
+    }
+
+    /**
+     * Descuenta dentro de la transacción en curso (compra de carritos y reservas); si ningún subcontador
+     * alcanza, redistribuye en la misma transacción. Como la redistribución bloquea la fila de inventario,
+     * se bloquea antes de tocar los subcontadores para respetar el orden de {@link #rebalance}.
+     */
+    private Integer decrementInTransaction(Long productId, Integer quantity, MovementReason reason) {
+        if (!splitProducts.contains(productId)) {
+            return MovementReason.RESERVATION == reason
+                    ? directEngine.hold(productId, quantity)
+                    : directEngine.decrement(productId, quantity);
+        }
+        inventoryRepository.findActiveForUpdate(productId).orElseThrow(StockRejections::inventoryNotFound);
+        Integer remaining = takeFromSlots(productId, quantity, reason);
+        return remaining != null ? remaining : rebalance(productId, quantity, reason);
+    }
+
+    /**
+     * Aplica una variación dentro de la transacción en curso; para los productos con subcontadores suma
+     * el total con sus filas bloqueadas y lo vuelve a repartir con la variación aplicada.
+     */
+    private Integer adjustInTransaction(Long productId, Integer delta) {
+        if (!splitProducts.contains(productId)) {
+            return directEngine.adjust(productId, delta);
+        }
+        Inventory pool = inventoryRepository.findActiveForUpdate(productId)
+                .orElseThrow(StockRejections::inventoryNotFound);
+        List<InventorySlot> current = slotRepository.findByProductoIdOrderBySlot(productId);
+        int total = pool.getCantidad() + current.stream().mapToInt(InventorySlot::getCantidad).sum();
+        long adjusted = (long) total + delta;
+        if (adjusted < 0 || adjusted > Integer.MAX_VALUE) {
+            throw StockRejections.outOfRange(total, delta);
+        }
+        distribute(pool, current, total + delta);
+        stockChangeListener.onStockChange(
+                StockChange.current(productId, delta, total + delta, MovementReason.ADJUSTMENT));
+        return total + delta;
+    }
+
+    /**
+     * Prueba los subcontadores empezando por uno al azar.
+     * @return cantidad total restante; {@code null} si ningún subcontador alcanza
+     */
+    private Integer takeFromSlots(Long productId, Integer quantity, MovementReason reason) {
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            if (slotRepository.decrementIfAvailable(productId, (start + i) % slots, quantity) > 0) {
+                Integer remaining = slotRepository.findAggregatedQuantity(productId)
+                        .orElseThrow(StockRejections::inventoryNotFound);
+                stockChangeListener.onStockChange(
+                        StockChange.current(productId, -quantity, remaining, reason));
+                return remaining;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Junta el total del producto con sus filas bloqueadas, descuenta la compra y reparte el resto.
+     * Es el único punto de serialización por producto y solo se alcanza cuando los subcontadores se agotan.
+     */
+    private Integer rebalance(Long productId, Integer quantity, MovementReason reason) {
+        rebalances.increment();
+        Inventory pool = inventoryRepository.findActiveForUpdate(productId)
+                .orElseThrow(StockRejections::inventoryNotFound);
+        List<InventorySlot> current = slotRepository.findByProductoIdOrderBySlot(productId);
+        int total = pool.getCantidad() + current.stream().mapToInt(InventorySlot::getCantidad).sum();
+        if (total < quantity) {
+            throw StockRejections.insufficientStock(total, quantity);
+        }
+        distribute(pool, current, total - quantity);
+        stockChangeListener.onStockChange(
+                StockChange.current(productId, -quantity, total - quantity, reason));
+        return total - quantity;
+    }
+
+    /**
+     * Reparte la cantidad en partes iguales entre los N subcontadores (creando los que falten) y deja
+     * la fila de inventario en cero; los subcontadores sobrantes de una configuración anterior quedan vacíos.
+     */
+    private void distribute(Inventory pool, List<InventorySlot> current, int amount) {
+        Map<Integer, InventorySlot> bySlot = new LinkedHashMap<>();
+        current.forEach(slot -> bySlot.put(slot.getSlot(), slot));
+        for (int i = 0; i < slots; i++) {
+            int share = amount / slots + (i < amount % slots ? 1 : 0);
+            InventorySlot slot = bySlot.remove(i);
+            if (slot == null) {
+                slot = InventorySlot.builder().productoId(pool.getProductoId()).slot(i).build();
+            }
+            slot.setCantidad(share);
+            slotRepository.save(slot);
+        }
+        bySlot.values().forEach(extra -> {
+            extra.setCantidad(0);
+            slotRepository.save(extra);
+        });
+        pool.setCantidad(0);
+        inventoryRepository.save(pool);
+    }
+}
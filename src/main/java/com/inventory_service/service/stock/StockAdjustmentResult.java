@@ -0,0 +1,26 @@
+package com.inventory_service.service.stock;
+
+/**
+ * Resultado de una variación de un lote aplicado con {@link StockEngine#adjustAll}.
+ *
+ * @param productId ID del producto
+ * @param delta     variación solicitada
+ * @param quantity  cantidad resultante tras la variación; {@code null} si se rechazó
+ * @param rejection motivo del rechazo; {@code null} si se aplicó
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public record StockAdjustmentResult(Long productId, Integer delta, Integer quantity, RuntimeException rejection) {
+
+    public static StockAdjustmentResult applied(Long productId, Integer delta, Integer quantity) {
+        return new StockAdjustmentResult(productId, delta, quantity, null);
+    }
+
+    public static StockAdjustmentResult rejected(Long productId, Integer delta, RuntimeException rejection) {
+        return new StockAdjustmentResult(productId, delta, null, rejection);
+    }
+
+    public boolean isApplied() {
+        return rejection == null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.service.ledger.InventoryLedger;
+import org.slf4j.MDC;
+
+/**
+ * Receptor de los cambios de existencias aplicados por un {@link StockEngine}.
+ * Los motores lo invocan dentro de la misma transacción que modifica el inventario (también en los
+ * hilos de los motores particionado y por lotes), de modo que lo que escriba se confirma o se revierte
+ * junto con el cambio.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@FunctionalInterface
+public interface StockChangeListener {
+
+    /**
+     * Notifica un cambio ya aplicado en la transacción en curso.
+     *
+     * @param change cambio de existencias
+     */
+    void onStockChange(StockChange change);
+
+    /**
+     * Cambio de existencias de un producto.
+     *
+     * @param productId         ID del producto
+     * @param delta             variación de la cantidad disponible (negativa en las compras)
+     * @param resultingQuantity cantidad disponible tras el cambio
+     * @param reason            motivo del cambio
+     * @param correlationId     identificador de correlación de la petición que lo originó
+     */
+    record StockChange(Long productId, int delta, int resultingQuantity, MovementReason reason, String correlationId) {
+
+        /**
+         * Cambio originado por la petición en curso en este hilo.
+         */
+        public static StockChange current(Long productId, int delta, int resultingQuantity, MovementReason reason) {
+            return new StockChange(productId, delta, resultingQuantity, reason, currentCorrelationId());
+        }
+
+        /**
+         * Identificador de correlación de la petición en curso; los motores que aplican los cambios
+         * en otro hilo lo capturan al recibir la operación.
+         */
+        public static String currentCorrelationId() {
+            return MDC.get(InventoryLedger.CORRELATION_ID_MDC);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.repository.StockLevel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * Estrategia de escritura sobre las existencias de inventario.
+ * La implementación activa se selecciona con la propiedad {@code inventory.stock.mode}.
+ * Las validaciones contra product-service se realizan antes de invocar el motor,
+ * de modo que ninguna implementación mantiene transacciones abiertas durante llamadas remotas.
+ * Cada cambio aplicado se notifica al {@link StockChangeListener} dentro de la transacción que lo confirma.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public interface StockEngine {
+
+    /**
+     * Descuenta la cantidad indicada del inventario activo de un producto.
+     *
+     * @param productId identificador del producto
+     * @param quantity  cantidad a descontar (mayor a cero)
+     * @return cantidad restante tras el descuento
+     * @throws com.inventory_service.exception.NotFoundException si el producto no tiene inventario
+     * @throws com.inventory_service.exception.BadRequestException si la cantidad disponible es insuficiente
+     */
+    Integer decrement(Long productId, Integer quantity);
+
+    /**
+     * Descuenta en una sola transacción las cantidades de varios productos: se aplican todas o ninguna.
+     * Las filas se actualizan en orden ascendente de {@code productoId} (el orden del mapa recibido),
+     * de modo que dos compras concurrentes nunca se bloquean mutuamente.
+     *
+     * @param quantities cantidades a descontar por producto, ordenadas por ID de producto
+     * @return cantidad restante por producto, en el mismo orden
+     * @throws com.inventory_service.exception.NotFoundException si algún producto no tiene inventario
+     * @throws com.inventory_service.exception.BadRequestException si algún producto no tiene cantidad suficiente
+     */
+    Map<Long, Integer> decrementAll(SortedMap<Long, Integer> quantities);
+
+    /**
+     * Establece (o crea) la cantidad disponible de un producto.
+     *
+     * @param productId identificador del producto
+     * @param cantidad  nueva cantidad disponible (>= 0)
+     * @return cantidad almacenada
+     */
+    Integer setQuantity(Long productId, Integer cantidad);
+
+    /**
+     * Suma una variación a la cantidad disponible de un producto (recepciones positivas, mermas
+     * negativas) sin lectura previa; la variación solo se aplica si la cantidad no queda negativa.
+     *
+     * @param productId identificador del producto
+     * @param delta     variación a aplicar
+     * @return cantidad resultante
+     * @throws com.inventory_service.exception.NotFoundException si el producto no tiene inventario
+     * @throws com.inventory_service.exception.BadRequestException si la cantidad quedaría negativa o por encima
+     *         del máximo
+     */
+    Integer adjust(Long productId, Integer delta);
+
+    /**
+     * Aplica varias variaciones en una sola transacción; cada una se aplica o se rechaza por separado
+     * y las de un mismo producto se evalúan en el orden recibido.
+     *
+     * @param adjustments variaciones a aplicar
+     * @return resultado por variación, en el mismo orden
+     */
+    List<StockAdjustmentResult> adjustAll(List<StockAdjustment> adjustments);
+
+    /**
+     * Retiene unidades para una reserva. Se une a la transacción en curso, de modo que el descuento
+     * se confirma junto con el alta de la reserva, y se notifica con el motivo {@code RESERVATION}.
+     *
+     * @param productId identificador del producto
+     * @param quantity  cantidad a retener (mayor a cero)
+     * @return cantidad disponible tras la retención
+     * @throws com.inventory_service.exception.NotFoundException si el producto no tiene inventario
+     * @throws com.inventory_service.exception.BadRequestException si la cantidad disponible es insuficiente
+     */
+    Integer hold(Long productId, Integer quantity);
+
+    /**
+     * Devuelve las unidades de una reserva liberada o vencida, dentro de la transacción en curso.
+     *
+     * @param productId identificador del producto
+     * @param quantity  cantidad a devolver (mayor a cero)
+     * @return cantidad disponible tras la devolución; vacío si el producto ya no tiene inventario activo
+     */
+    Optional<Integer> release(Long productId, Integer quantity);
+
+    /**
+     * Cantidad disponible total de un inventario activo. Por defecto es la columna {@code cantidad};
+     * los motores que reparten las existencias fuera de la fila de inventario la agregan aquí.
+     *
+     * @param stockLevel cantidad leída de la tabla {@code inventories}
+     * @return cantidad disponible para la venta
+     */
+    default Integer availableQuantity(StockLevel stockLevel) {
+        return stockLevel.cantidad();
+    }
+}
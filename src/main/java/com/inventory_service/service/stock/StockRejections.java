@@ -0,0 +1,60 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Inventory;
+
+import java.util.Optional;
+
+/**
+ * Construcción de los errores de negocio comunes a los motores de existencias y a las reservas.
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public final class StockRejections {
+
+    private StockRejections() {
+    }
+
+    /**
+     * Error para un producto sin inventario activo.
+     */
+    public static NotFoundException inventoryNotFound() {
+        return new NotFoundException("Inventario no encontrado para el producto");
+    }
+
+    /**
+     * Error para una compra que supera la cantidad disponible.
+     */
+    public static BadRequestException insufficientStock(Integer available, Integer requested) {
+        return new BadRequestException(
+                String.format("Inventario insuficiente. Disponible: %d, Solicitado: %d", available, requested));
+    }
+
+    /**
+     * Determina el motivo del rechazo a partir del inventario actual (si existe).
+     */
+    public static RuntimeException rejection(Optional<Inventory> inventory, Integer requested) {
+        return inventory.<RuntimeException>map(current -> insufficientStock(current.getCantidad(), requested))
+                .orElseGet(StockRejections::inventoryNotFound);
+    }
+
+    /**
+     * Error para una variación que dejaría la cantidad negativa o por encima de {@link Integer#MAX_VALUE}.
+     */
+    public static BadRequestException outOfRange(Integer available, Integer delta) {
+        if ((long) available + delta < 0) {
+            return insufficientStock(available, -delta);
+        }
+        return new BadRequestException(String.format(
+                "La cantidad disponible excedería el máximo permitido. Disponible: %d, Variación: %d", available, delta));
+    }
+
+    /**
+     * Determina el motivo del rechazo de una variación a partir del inventario actual (si existe).
+     */
+    public static RuntimeException adjustmentRejection(Optional<Inventory> inventory, Integer delta) {
+        return inventory.<RuntimeException>map(current -> outOfRange(current.getCantidad(), delta))
+                .orElseGet(StockRejections::inventoryNotFound);
+    }
+}
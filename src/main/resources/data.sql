@@ -1,6 +0,0 @@
-INSERT INTO inventories (producto_id, cantidad, eliminado, fecha_creacion, fecha_modificacion) VALUES
-(1, 50, false, now(), now()),
-(2, 10, false, now(), now()),
-(3, 75, false, now(), now() ),
-(4, 200, false, now(), now()),
-(5, 30, false, now(), now());
@@ -0,0 +1,12 @@
+-- Esquema de partida: la tabla inventories tal como la creaba ddl-auto: update antes de las migraciones.
+-- Las bases existentes se toman como esta versión (baseline-on-migrate) y reciben el resto desde V2.
+
+CREATE TABLE inventories (
+    id_inventario      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    producto_id        BIGINT       NOT NULL UNIQUE,
+    cantidad           INTEGER      NOT NULL,
+    eliminado          BOOLEAN      NOT NULL,
+    fecha_creacion     TIMESTAMP(6) NOT NULL,
+    fecha_modificacion TIMESTAMP(6),
+    PRIMARY KEY (id_inventario)
+);
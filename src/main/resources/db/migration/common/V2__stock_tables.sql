@@ -0,0 +1,87 @@
+-- Columnas y tablas posteriores al esquema de partida. Con IF NOT EXISTS, porque una base que siguió
+-- con ddl-auto: update puede tener ya parte de ellas.
+
+ALTER TABLE inventories ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS inventory_slots (
+    id_slot            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    producto_id        BIGINT       NOT NULL,
+    slot               INTEGER      NOT NULL,
+    cantidad           INTEGER      NOT NULL,
+    fecha_modificacion TIMESTAMP(6),
+    CONSTRAINT pk_inventory_slots PRIMARY KEY (id_slot),
+    CONSTRAINT uk_inventory_slots_producto_slot UNIQUE (producto_id, slot)
+);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    id_reserva         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    producto_id        BIGINT       NOT NULL,
+    cantidad           INTEGER      NOT NULL,
+    estado             VARCHAR(16)  NOT NULL,
+    expira_en          TIMESTAMP(6) NOT NULL,
+    fecha_creacion     TIMESTAMP(6) NOT NULL,
+    fecha_modificacion TIMESTAMP(6),
+    CONSTRAINT pk_reservations PRIMARY KEY (id_reserva),
+    CONSTRAINT ck_reservations_estado CHECK (estado IN ('HELD', 'CONFIRMED', 'RELEASED', 'EXPIRED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_estado ON reservations (estado);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    clave          VARCHAR(200)  NOT NULL,
+    huella         VARCHAR(64)   NOT NULL,
+    completado     BOOLEAN       NOT NULL,
+    respuesta      VARCHAR(4000),
+    fecha_creacion TIMESTAMP(6)  NOT NULL,
+    expira_en      TIMESTAMP(6)  NOT NULL,
+    version        BIGINT,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (clave)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expira_en ON idempotency_keys (expira_en);
+
+CREATE SEQUENCE IF NOT EXISTS inventory_movements_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inventory_movements (
+    id_movimiento       BIGINT       NOT NULL,
+    producto_id         BIGINT       NOT NULL,
+    delta               INTEGER      NOT NULL,
+    cantidad_resultante INTEGER      NOT NULL,
+    motivo              VARCHAR(16)  NOT NULL,
+    correlation_id      VARCHAR(64),
+    fecha_movimiento    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_inventory_movements PRIMARY KEY (id_movimiento),
+    CONSTRAINT ck_inventory_movements_motivo CHECK (motivo IN ('PURCHASE', 'ADJUSTMENT'))
+);
+
+CREATE TABLE IF NOT EXISTS inventory_snapshots (
+    id_snapshot          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    producto_id          BIGINT       NOT NULL,
+    cantidad             INTEGER      NOT NULL,
+    ultimo_movimiento_id BIGINT       NOT NULL,
+    fecha_snapshot       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_inventory_snapshots PRIMARY KEY (id_snapshot)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_snapshots_producto ON inventory_snapshots (producto_id, ultimo_movimiento_id);
+
+CREATE SEQUENCE IF NOT EXISTS inventory_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inventory_outbox (
+    id_evento      BIGINT       NOT NULL,
+    producto_id    BIGINT       NOT NULL,
+    tipo           VARCHAR(16)  NOT NULL,
+    delta          INTEGER      NOT NULL,
+    cantidad       INTEGER      NOT NULL,
+    correlation_id VARCHAR(64),
+    fecha_evento   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_inventory_outbox PRIMARY KEY (id_evento),
+    CONSTRAINT ck_inventory_outbox_tipo CHECK (tipo IN ('PURCHASE', 'ADJUSTMENT'))
+);
+
+CREATE TABLE IF NOT EXISTS inventory_outbox_offsets (
+    relay              VARCHAR(64)  NOT NULL,
+    ultimo_evento_id   BIGINT       NOT NULL,
+    fecha_modificacion TIMESTAMP(6),
+    CONSTRAINT pk_inventory_outbox_offsets PRIMARY KEY (relay)
+);
@@ -0,0 +1,5 @@
+-- Inventario inicial de los productos de ejemplo (antes data.sql). No pisa los inventarios que ya existan.
+INSERT INTO inventories (producto_id, cantidad, eliminado, fecha_creacion, fecha_modificacion)
+SELECT seed.producto_id, seed.cantidad, false, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (VALUES (1, 50), (2, 10), (3, 75), (4, 200), (5, 30)) AS seed (producto_id, cantidad)
+WHERE NOT EXISTS (SELECT 1 FROM inventories i WHERE i.producto_id = seed.producto_id);
@@ -0,0 +1,15 @@
+-- Libro de movimientos escrito en la transacción del cambio: un ID por movimiento, sin bloques por
+-- instancia, para que el orden de los IDs de un producto sea el de confirmación.
+ALTER SEQUENCE inventory_movements_seq INCREMENT BY 1;
+
+-- Movimientos y eventos de reservas. Se descartan también las restricciones con el nombre que les
+-- daba ddl-auto: update en PostgreSQL, para las bases que ya tenían estas tablas.
+ALTER TABLE inventory_movements DROP CONSTRAINT IF EXISTS ck_inventory_movements_motivo;
+ALTER TABLE inventory_movements DROP CONSTRAINT IF EXISTS inventory_movements_motivo_check;
+ALTER TABLE inventory_movements ADD CONSTRAINT ck_inventory_movements_motivo
+    CHECK (motivo IN ('PURCHASE', 'ADJUSTMENT', 'RESERVATION'));
+
+ALTER TABLE inventory_outbox DROP CONSTRAINT IF EXISTS ck_inventory_outbox_tipo;
+ALTER TABLE inventory_outbox DROP CONSTRAINT IF EXISTS inventory_outbox_tipo_check;
+ALTER TABLE inventory_outbox ADD CONSTRAINT ck_inventory_outbox_tipo
+    CHECK (tipo IN ('PURCHASE', 'ADJUSTMENT', 'RESERVATION'));
@@ -0,0 +1,4 @@
+-- H2 no admite índices parciales ni columnas INCLUDE: el índice equivalente lleva el filtro y la
+-- cantidad como columnas de la clave. Mismo nombre que en PostgreSQL para la comprobación de arranque.
+CREATE INDEX IF NOT EXISTS idx_inventories_producto_activo
+    ON inventories (producto_id, eliminado, cantidad);
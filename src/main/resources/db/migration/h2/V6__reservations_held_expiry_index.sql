@@ -0,0 +1,4 @@
+-- H2 no admite índices parciales: el índice equivalente lleva el estado delante del vencimiento.
+-- Mismo nombre que en PostgreSQL para la comprobación de arranque.
+CREATE INDEX IF NOT EXISTS idx_reservations_held_expira_en
+    ON reservations (estado, expira_en);
@@ -0,0 +1,14 @@
+-- Búsqueda por producto activo (producto_id = ? AND eliminado = false): índice parcial con la cantidad
+-- incluida, para resolver la consulta con un index-only scan.
+--
+-- Se construye CONCURRENTLY, fuera de transacción (ver el .conf), para no bloquear las escrituras de una
+-- tabla en uso. Si una ejecución anterior falló, el índice inválido que dejó se descarta antes.
+--
+-- No es único: la unicidad de producto_id ya la garantiza inventories_producto_id_key sobre todas las filas,
+-- eliminadas incluidas, y es la que declara la entidad; un segundo índice único solo repetiría la
+-- comprobación en cada escritura.
+DROP INDEX CONCURRENTLY IF EXISTS idx_inventories_producto_activo;
+
+CREATE INDEX CONCURRENTLY idx_inventories_producto_activo
+    ON inventories (producto_id) INCLUDE (cantidad)
+    WHERE eliminado = false;
@@ -0,0 +1,12 @@
+-- Barrido de reservas vencidas (estado = 'HELD' AND expira_en <= ? ORDER BY expira_en LIMIT ?) y recarga
+-- de la rueda de tiempos al arrancar: índice parcial sobre las reservas retenidas, ordenado por vencimiento,
+-- para leer solo las vencidas y en orden sin recorrer ni ordenar todas las retenidas. Las confirmadas y
+-- liberadas, que son la mayoría de la tabla, no entran en el índice.
+--
+-- Se construye CONCURRENTLY, fuera de transacción (ver el .conf); si una ejecución anterior falló, el índice
+-- inválido que dejó se descarta antes.
+DROP INDEX CONCURRENTLY IF EXISTS idx_reservations_held_expira_en;
+
+CREATE INDEX CONCURRENTLY idx_reservations_held_expira_en
+    ON reservations (expira_en)
+    WHERE estado = 'HELD';
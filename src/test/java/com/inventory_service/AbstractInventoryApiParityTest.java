@@ -0,0 +1,191 @@
+package com.inventory_service;
+
+import com.inventory_service.client.ProductServiceStub;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+/**
+ * Escenarios HTTP comunes a las dos variantes del API de inventario (servlet y reactiva).
+ * Cada subclase arranca la aplicación en un modo y ejecuta los mismos escenarios contra un
+ * product-service simulado, con los mismos códigos de estado y cuerpos esperados.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+abstract class AbstractInventoryApiParityTest {
+
+    private static ProductServiceStub stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${api.key}")
+    private String apiKey;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    private WebTestClient client;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        stub = new ProductServiceStub()
+                .withProduct(1L, "Producto 1", 10.0, false)
+                .withProduct(2L, "Producto Eliminado", 5.0, true)
+                .withProduct(3L, "Producto Sin Inventario", 20.0, false);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @DynamicPropertySource
+    static void productServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("products.service.url", () -> stub.url());
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(Inventory.builder().productoId(1L).cantidad(50).eliminado(false).build());
+        inventoryRepository.save(Inventory.builder().productoId(2L).cantidad(10).eliminado(false).build());
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port + "/api/v1/inventory")
+                .defaultHeader("X-API-KEY", apiKey)
+                .build();
+    }
+
+    @Test
+    void getAvailable_WhenProductAndInventoryExist_ShouldReturnQuantity() {
+        client.get().uri("/1/available").exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(50);
+    }
+
+    @Test
+    void getAvailable_WhenProductMissingInProductService_ShouldReturnNotFound() {
+        client.get().uri("/999/available").exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.mensaje[0]").isEqualTo("Recurso no encontrado del cliente: Producto no encontrado")
+                .jsonPath("$.path").isEqualTo("/api/v1/inventory/999/available");
+    }
+
+    @Test
+    void getAvailable_WhenProductIsDeleted_ShouldReturnNotFound() {
+        client.get().uri("/2/available").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.mensaje[0]").isEqualTo("Producto no encontrado en product-service");
+    }
+
+    @Test
+    void getAvailable_WhenInventoryMissing_ShouldReturnNotFound() {
+        client.get().uri("/3/available").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.mensaje[0]").isEqualTo("Inventario no encontrado para el producto");
+    }
+
+    @Test
+    void getAvailableBulk_ShouldSkipMissingDeletedAndWithoutInventory() {
+        client.post().uri("/available")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("productIds", new long[]{3, 1, 2, 999}))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"1\":50}", true);
+    }
+
+    @Test
+    void getProduct_ShouldReturnProductFromProductService() {
+        client.get().uri("/1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.idProducto").isEqualTo(1)
+                .jsonPath("$.nombre").isEqualTo("Producto 1");
+    }
+
+    @Test
+    void updateAvailable_WhenInventoryMissing_ShouldCreateIt() {
+        client.put().uri("/update/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("cantidad", 7))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(7);
+
+        client.get().uri("/3/available").exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(7);
+    }
+
+    @Test
+    void updateAvailable_WhenQuantityIsNegative_ShouldReturnBadRequest() {
+        client.put().uri("/update/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("cantidad", -1))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.mensaje[0]").isEqualTo("cantidad: La cantidad debe ser cero o positiva");
+    }
+
+    @Test
+    void buyProduct_WhenStockIsAvailable_ShouldReturnReceipt() {
+        client.post().uri("/buy")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("productId", 1, "quantity", 5))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.productId").isEqualTo(1)
+                .jsonPath("$.productName").isEqualTo("Producto 1")
+                .jsonPath("$.quantityPurchased").isEqualTo(5)
+                .jsonPath("$.remainingQuantity").isEqualTo(45)
+                .jsonPath("$.totalAmount").isEqualTo(50.0)
+                .jsonPath("$.message").isEqualTo("Compra exitosa de 5 unidades de Producto 1");
+    }
+
+    @Test
+    void buyProduct_WhenStockIsInsufficient_ShouldReturnBadRequest() {
+        client.post().uri("/buy")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("productId", 1, "quantity", 500))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.mensaje[0]").isEqualTo("Inventario insuficiente. Disponible: 50, Solicitado: 500");
+    }
+
+    @Test
+    void buyProduct_WhenQuantityIsMissing_ShouldReturnBadRequest() {
+        client.post().uri("/buy")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("productId", 1))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.mensaje[0]").isEqualTo("quantity: La cantidad es obligatoria");
+    }
+
+    @Test
+    void request_WhenApiKeyIsMissing_ShouldReturnUnauthorized() {
+        WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port + "/api/v1/inventory")
+                .build()
+                .get().uri("/1/available")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
@@ -3,7 +3,10 @@ package com.inventory_service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory_service.client.ProductClient;
 import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.AvailabilityRequest;
 import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.dto.CartRequest;
+import com.inventory_service.dto.ReservationRequest;
 import com.inventory_service.dto.BuyResponse;
 import com.inventory_service.dto.UpdateQuantityRequest;
 import com.inventory_service.model.Inventory;
@@ -22,8 +25,10 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -384,4 +389,143 @@ class InventoryServiceIntegrationTest {
                 .orElseThrow(() -> new RuntimeException("Inventario no encontrado"));
         assertEquals(Integer.valueOf(initialQuantity), unchangedInventory.getCantidad());
     }
+
+    @Test
+    @DisplayName("Integration - Debe consultar la disponibilidad de varios productos en una petición")
+    void integration_GetAvailableBulk_ShouldReturnQuantitiesForActiveProducts() throws Exception {
+        // Given
+        ProductResponse product2 = new ProductResponse();
+        product2.setIdProducto(2L);
+        product2.setEliminado(false);
+        ProductResponse product3 = new ProductResponse();
+        product3.setIdProducto(3L);
+        product3.setEliminado(false);
+        when(productClient.getProductsByIds(anyCollection())).thenReturn(List.of(product2, product3));
+
+        inventoryRepository.save(Inventory.builder().productoId(2L).cantidad(12).eliminado(false).build());
+        inventoryRepository.save(Inventory.builder().productoId(3L).cantidad(0).eliminado(false).build());
+
+        AvailabilityRequest request = AvailabilityRequest.builder().productIds(List.of(2L, 3L, 404L)).build();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.2").value(12))
+                .andExpect(jsonPath("$.3").value(0))
+                .andExpect(jsonPath("$.404").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Integration - La compra de carrito debe revertirse completa si un producto no alcanza")
+    void integration_BuyCart_WhenAnyStockIsInsufficient_ShouldRollBackWholeCart() throws Exception {
+        // Given
+        ProductResponse product2 = new ProductResponse();
+        product2.setIdProducto(2L);
+        product2.setNombre("Producto Dos");
+        product2.setPrecio(10.0);
+        product2.setEliminado(false);
+        ProductResponse product3 = new ProductResponse();
+        product3.setIdProducto(3L);
+        product3.setNombre("Producto Tres");
+        product3.setPrecio(20.0);
+        product3.setEliminado(false);
+        when(productClient.getProductsByIds(anyCollection())).thenReturn(List.of(product2, product3));
+
+        inventoryRepository.save(Inventory.builder().productoId(2L).cantidad(10).eliminado(false).build());
+        inventoryRepository.save(Inventory.builder().productoId(3L).cantidad(1).eliminado(false).build());
+
+        CartRequest tooMuch = CartRequest.builder()
+                .items(List.of(
+                        BuyRequest.builder().productId(2L).quantity(4).build(),
+                        BuyRequest.builder().productId(3L).quantity(2).build()))
+                .build();
+        CartRequest affordable = CartRequest.builder()
+                .items(List.of(
+                        BuyRequest.builder().productId(3L).quantity(1).build(),
+                        BuyRequest.builder().productId(2L).quantity(4).build()))
+                .build();
+
+        // When & Then: el producto 2 no se descuenta si el 3 no alcanza
+        mockMvc.perform(post("/api/v1/inventory/buy/cart")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tooMuch)))
+                .andExpect(status().isBadRequest());
+        assertEquals(10, inventoryRepository.findByProductoIdAndEliminadoFalse(2L).orElseThrow().getCantidad());
+
+        mockMvc.perform(post("/api/v1/inventory/buy/cart")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(affordable)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productId").value(2))
+                .andExpect(jsonPath("$.items[0].remainingQuantity").value(6))
+                .andExpect(jsonPath("$.items[1].remainingQuantity").value(0))
+                .andExpect(jsonPath("$.totalAmount").value(60.0));
+    }
+
+    @Test
+    @DisplayName("Integration - Una reserva debe apartar la cantidad y devolverla al liberarse")
+    void integration_Reservation_HoldReleaseAndConfirm_ShouldMoveStock() throws Exception {
+        // Given
+        inventoryRepository.save(Inventory.builder().productoId(1L).cantidad(10).eliminado(false).build());
+        ReservationRequest request = ReservationRequest.builder().productId(1L).quantity(4).ttlSeconds(60L).build();
+
+        // When & Then: reservar descuenta del disponible
+        String held = mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("HELD"))
+                .andExpect(jsonPath("$.remainingQuantity").value(6))
+                .andReturn().getResponse().getContentAsString();
+        Long reservationId = objectMapper.readTree(held).get("reservationId").asLong();
+
+        // Liberar devuelve la cantidad y no puede repetirse
+        mockMvc.perform(post("/api/v1/inventory/reservations/{id}/release", reservationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RELEASED"));
+        assertEquals(10, inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+        mockMvc.perform(post("/api/v1/inventory/reservations/{id}/confirm", reservationId))
+                .andExpect(status().isConflict());
+
+        // Confirmar consume la cantidad reservada
+        String second = mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/api/v1/inventory/reservations/{id}/confirm",
+                        objectMapper.readTree(second).get("reservationId").asLong()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+        assertEquals(6, inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+    }
+
+    @Test
+    @DisplayName("Integration - Un reintento con la misma Idempotency-Key no debe descontar dos veces")
+    void integration_BuyProduct_WithSameIdempotencyKey_ShouldDecrementOnce() throws Exception {
+        // Given
+        inventoryRepository.save(Inventory.builder().productoId(1L).cantidad(10).eliminado(false).build());
+        BuyRequest request = BuyRequest.builder().productId(1L).quantity(3).build();
+
+        // When & Then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/v1/inventory/buy")
+                            .header("Idempotency-Key", "checkout-42")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.remainingQuantity").value(7));
+        }
+        assertEquals(7, inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+
+        // Otra clave es otra compra
+        mockMvc.perform(post("/api/v1/inventory/buy")
+                        .header("Idempotency-Key", "checkout-43")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.remainingQuantity").value(4));
+    }
 }
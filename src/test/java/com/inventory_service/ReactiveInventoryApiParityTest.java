@@ -0,0 +1,36 @@
+package com.inventory_service;
+
+import com.inventory_service.controller.InventoryController;
+import com.inventory_service.controller.ReactiveInventoryController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Escenarios de paridad contra la variante reactiva (WebFlux, R2DBC y WebClient).
+ * El perfil {@code test} va después de {@code reactive} para que prevalezca su conexión R2DBC a H2.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"products.cache.enabled=false", "products.negative-cache.enabled=false"})
+@ActiveProfiles({"reactive", "test"})
+@DisplayName("Reactive Inventory API Parity Tests")
+class ReactiveInventoryApiParityTest extends AbstractInventoryApiParityTest {
+
+    @Autowired
+    private ReactiveWebServerApplicationContext applicationContext;
+
+    @Test
+    @DisplayName("El perfil reactive debe registrar solo el controlador WebFlux")
+    void reactiveProfile_ShouldServeOnlyTheReactiveController() {
+        assertEquals(1, applicationContext.getBeansOfType(ReactiveInventoryController.class).size());
+        assertTrue(applicationContext.getBeansOfType(InventoryController.class).isEmpty());
+    }
+}
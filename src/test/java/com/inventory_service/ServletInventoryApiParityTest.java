@@ -0,0 +1,18 @@
+package com.inventory_service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Escenarios de paridad contra la variante servlet (Spring MVC, JPA y Feign).
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"products.cache.enabled=false", "products.negative-cache.enabled=false"})
+@ActiveProfiles("test")
+@DisplayName("Servlet Inventory API Parity Tests")
+class ServletInventoryApiParityTest extends AbstractInventoryApiParityTest {
+}
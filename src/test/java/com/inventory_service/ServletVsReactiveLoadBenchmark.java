@@ -0,0 +1,140 @@
+package com.inventory_service;
+
+import com.inventory_service.client.ProductServiceStub;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga que compara la variante servlet (Tomcat con su pool de 200 hilos) con la variante
+ * reactiva (Netty) sobre {@code GET /{id}/available}, con product-service respondiendo con latencia fija.
+ * Cada variante se arranca en su propio contexto y recibe la misma carga HTTP con concurrencia acotada.
+ *
+ * <p>Solo informa los resultados: el generador de carga comparte la máquina con la aplicación, y con
+ * pocos núcleos el límite pasa a ser la CPU y no el modelo de hilos. No forma parte de la suite habitual (surefire solo ejecuta clases
+ * {@code *Test}); se lanza con {@code mvn test -Dtest=ServletVsReactiveLoadBenchmark}.</p>
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Tag("benchmark")
+@DisplayName("Servlet vs Reactive Load Benchmark")
+class ServletVsReactiveLoadBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 500;
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    private static ProductServiceStub stub;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        stub = new ProductServiceStub()
+                .withProduct(1L, "Producto 1", 10.0, false)
+                .withLatency(LATENCY);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Throughput y latencia de la consulta de disponibilidad en ambas variantes")
+    void availability_ServletVersusReactive() throws Exception {
+        Result servlet = measure("test");
+        Result reactive = measure("reactive", "test");
+
+        System.out.printf("Servlet:  %.0f req/s, p50 %d ms, p99 %d ms%n", servlet.throughput(), servlet.p50(), servlet.p99());
+        System.out.printf("Reactiva: %.0f req/s, p50 %d ms, p99 %d ms%n", reactive.throughput(), reactive.p50(), reactive.p99());
+    }
+
+    private Result measure(String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .profiles(profiles)
+                // Como argumentos para que prevalezcan sobre application-test.yml
+                .run("--server.port=0",
+                        "--products.service.url=" + stub.url(),
+                        "--products.cache.enabled=false",
+                        "--products.negative-cache.enabled=false",
+                        "--products.single-flight.enabled=false",
+                        // El log de consola del perfil de pruebas serializaría las peticiones
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.inventory_service=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")) {
+            InventoryRepository inventoryRepository = context.getBean(InventoryRepository.class);
+            inventoryRepository.deleteAll();
+            inventoryRepository.save(Inventory.builder().productoId(1L).cantidad(100).eliminado(false).build());
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:"
+                            + context.getEnvironment().getProperty("local.server.port") + "/api/v1/inventory/1/available"))
+                    .header("X-API-KEY", context.getEnvironment().getProperty("api.key"))
+                    .GET()
+                    .build();
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient httpClient = HttpClient.newBuilder().executor(clients).build();
+                run(httpClient, request, clients, REQUESTS / 4);
+                return run(httpClient, request, clients, REQUESTS);
+            }
+        }
+    }
+
+    /**
+     * Envía las peticiones con como mucho {@link #CONCURRENCY} en curso y mide cada una.
+     */
+    private Result run(HttpClient httpClient, HttpRequest request, ExecutorService clients, int requests)
+            throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<Future<Long>> latencies = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            latencies.add(clients.submit(() -> {
+                try {
+                    long sent = System.nanoTime();
+                    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                    assertEquals(200, response.statusCode());
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+        long[] sorted = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            sorted[i] = latencies.get(i).get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        Arrays.sort(sorted);
+        return new Result(requests / seconds, sorted[requests / 2], sorted[(int) (requests * 0.99)]);
+    }
+
+    private record Result(double throughput, long p50, long p99) {
+    }
+}
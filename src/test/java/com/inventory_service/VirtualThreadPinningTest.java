@@ -0,0 +1,195 @@
+package com.inventory_service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_service.client.ProductServiceStub;
+import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.repository.InventoryRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica el modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}):
+ * las peticiones HTTP se atienden en hilos virtuales y el camino de compra completo
+ * (Tomcat, llamada Feign a product-service y UPDATE JDBC) no fija (pin) el hilo virtual
+ * a su hilo portador, según los eventos {@code jdk.VirtualThreadPinned} de JFR.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "products.cache.enabled=false",
+        "products.negative-cache.enabled=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Virtual Thread Pinning Tests")
+class VirtualThreadPinningTest {
+
+    private static final int REQUESTS = 200;
+
+    /** Monitor usado para provocar un pin de control y comprobar que la grabación lo detecta. */
+    private static final Object CONTROL_MONITOR = new Object();
+
+    private static final ProductServiceStub STUB = startStub();
+
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.key}")
+    private String apiKey;
+
+    private static ProductServiceStub startStub() {
+        try {
+            return new ProductServiceStub()
+                    .withProduct(1L, "Producto 1", 10.0, false)
+                    .withLatency(Duration.ofMillis(5));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void productServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("products.service.url", STUB::url);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @Test
+    @DisplayName("Tomcat y el ejecutor de tareas deben usar hilos virtuales")
+    void virtualThreadMode_ShouldRunRequestsAndTasksOnVirtualThreads() throws Exception {
+        Connector connector = ((TomcatWebServer) applicationContext.getWebServer()).getTomcat().getConnector();
+        assertInstanceOf(VirtualThreadExecutor.class, connector.getProtocolHandler().getExecutor());
+        assertTrue(taskExecutor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("El camino de compra no debe fijar hilos virtuales a su portador")
+    void buyAndReadPath_ShouldNotPinVirtualThreads() throws Exception {
+        // Given
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(Inventory.builder().productoId(1L).cantidad(REQUESTS).eliminado(false).build());
+        HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        String baseUrl = "http://localhost:" + applicationContext.getWebServer().getPort() + "/api/v1/inventory";
+        String body = objectMapper.writeValueAsString(BuyRequest.builder().productId(1L).quantity(1).build());
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            // When
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < REQUESTS; i++) {
+                    HttpRequest request = i % 2 == 0
+                            ? HttpRequest.newBuilder(URI.create(baseUrl + "/buy"))
+                                    .header("Content-Type", "application/json")
+                                    .header("X-API-KEY", apiKey)
+                                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                                    .build()
+                            : HttpRequest.newBuilder(URI.create(baseUrl + "/1/available"))
+                                    .header("X-API-KEY", apiKey)
+                                    .GET()
+                                    .build();
+                    responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.ofString())));
+                }
+                for (Future<HttpResponse<String>> response : responses) {
+                    assertEquals(200, response.get(30, TimeUnit.SECONDS).statusCode());
+                }
+            }
+            Thread.ofVirtual().start(VirtualThreadPinningTest::pinDeliberately).join();
+            recording.stop();
+        }
+
+        // Then
+        assertEquals(REQUESTS / 2,
+                REQUESTS - inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+        List<RecordedEvent> control = pinned.stream().filter(VirtualThreadPinningTest::isControl).toList();
+        List<RecordedEvent> hotPath = pinned.stream().filter(event -> !isControl(event)).toList();
+        assertFalse(control.isEmpty(), "La grabación JFR no detectó el pin de control");
+        assertTrue(hotPath.isEmpty(), () -> "Hilos virtuales fijados:\n" + hotPath.stream()
+                .map(VirtualThreadPinningTest::describe)
+                .distinct()
+                .collect(Collectors.joining("\n---\n")));
+    }
+
+    /**
+     * Bloquea un hilo virtual dentro de un bloque {@code synchronized}, lo que en Java 21 lo fija a su portador.
+     */
+    private static void pinDeliberately() {
+        synchronized (CONTROL_MONITOR) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static boolean isControl(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getName().equals("pinDeliberately"));
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(sin traza)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(15)
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n  "));
+    }
+}
@@ -0,0 +1,128 @@
+package com.inventory_service;
+
+import com.inventory_service.client.ProductServiceStub;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.service.InventoryService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara el throughput de la consulta de disponibilidad con un pool de hilos de plataforma
+ * del tamaño por defecto de Tomcat (200) frente a un hilo virtual por petición, con
+ * product-service respondiendo con latencia fija. Se desactivan cachés y single-flight para que
+ * cada petición bloquee su hilo durante la llamada remota completa.
+ *
+ * <p>Solo informa los resultados: la mejora depende de los núcleos disponibles, ya que con pocos
+ * núcleos el límite pasa a ser la CPU y no el número de hilos bloqueados.</p>
+ *
+ * <p>No forma parte de la suite habitual (surefire solo ejecuta clases {@code *Test}); se lanza con
+ * {@code mvn test -Dtest=VirtualThreadThroughputBenchmark}.</p>
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "products.cache.enabled=false",
+        "products.negative-cache.enabled=false",
+        "products.single-flight.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=50",
+        // El log de consola del perfil de pruebas serializaría las peticiones
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN",
+        "logging.level.com.inventory_service=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Virtual Thread Throughput Benchmark")
+class VirtualThreadThroughputBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final int REQUESTS = 2_000;
+    private static final Duration LATENCY = Duration.ofMillis(20);
+
+    private static final ProductServiceStub STUB = startStub();
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    private static ProductServiceStub startStub() {
+        try {
+            return new ProductServiceStub()
+                    .withProduct(1L, "Producto 1", 10.0, false)
+                    .withLatency(LATENCY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void productServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("products.service.url", STUB::url);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @Test
+    @DisplayName("Hilos virtuales frente a pool de plataforma con product-service lento")
+    void availability_VirtualVersusPlatformThreads() throws Exception {
+        inventoryRepository.deleteAll();
+        inventoryRepository.save(Inventory.builder().productoId(1L).cantidad(100).eliminado(false).build());
+
+        // Calentamiento de Feign, Hibernate y el JIT
+        run(() -> Executors.newFixedThreadPool(PLATFORM_POOL_SIZE), REQUESTS / 4);
+
+        double platform = run(() -> Executors.newFixedThreadPool(PLATFORM_POOL_SIZE), REQUESTS);
+        double virtual = run(Executors::newVirtualThreadPerTaskExecutor, REQUESTS);
+
+        System.out.printf("Plataforma (%d hilos): %.0f req/s%n", PLATFORM_POOL_SIZE, platform);
+        System.out.printf("Virtuales (1 por petición): %.0f req/s%n", virtual);
+        System.out.printf("Mejora: x%.2f%n", virtual / platform);
+    }
+
+    /**
+     * Lanza todas las peticiones a la vez y devuelve las peticiones completadas por segundo.
+     */
+    private double run(Supplier<ExecutorService> executorFactory, int requests) throws Exception {
+        long start = System.nanoTime();
+        List<Future<Integer>> results = new ArrayList<>(requests);
+        try (ExecutorService executor = executorFactory.get()) {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> inventoryService.getAvailableQuantityByProductId(1L)));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(100, result.get(60, TimeUnit.SECONDS));
+            }
+        }
+        return requests / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
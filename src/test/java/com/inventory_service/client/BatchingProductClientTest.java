@@ -0,0 +1,199 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.InternalServerErrorException;
+import com.inventory_service.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para BatchingProductClient.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchingProductClient Tests")
+class BatchingProductClientTest {
+
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private ProductClient delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BatchingProductClient batchingClient;
+
+    @AfterEach
+    void tearDown() {
+        if (batchingClient != null) {
+            batchingClient.close();
+        }
+    }
+
+    private static ProductResponse product(Long id) {
+        ProductResponse product = new ProductResponse();
+        product.setIdProducto(id);
+        product.setNombre("Producto " + id);
+        product.setEliminado(false);
+        return product;
+    }
+
+    private void answerWithRequestedProducts() {
+        when(delegate.getProductsByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id < 100).map(BatchingProductClientTest::product).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe despachar el lote al alcanzar el tamaño máximo")
+    void getProductById_WhenBatchIsFull_ShouldDispatchSingleBatchCall() throws Exception {
+        // Given
+        batchingClient = new BatchingProductClient(delegate, meterRegistry, 3, Duration.ofSeconds(30), LOOKUP_TIMEOUT);
+        answerWithRequestedProducts();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Future<ProductResponse>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (long id = 1; id <= 3; id++) {
+                long productId = id;
+                results.add(executor.submit(() -> batchingClient.getProductById(productId)));
+            }
+
+            // Then
+            for (int i = 0; i < 3; i++) {
+                assertEquals(i + 1L, results.get(i).get(5, TimeUnit.SECONDS).getIdProducto());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate, times(1)).getProductsByIds(idsCaptor.capture());
+        assertEquals(3, idsCaptor.getValue().size());
+        verify(delegate, never()).getProductById(any());
+        assertEquals(3.0, meterRegistry.get(BatchingProductClient.BATCH_SIZE_METRIC).summary().max());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe despachar una consulta aislada al vencer la espera máxima")
+    void getProductById_WhenAlone_ShouldDispatchAfterMaxWait() {
+        // Given
+        batchingClient = new BatchingProductClient(delegate, meterRegistry, 50, Duration.ofMillis(10), LOOKUP_TIMEOUT);
+        answerWithRequestedProducts();
+
+        // When
+        ProductResponse result = batchingClient.getProductById(7L);
+
+        // Then
+        assertEquals(7L, result.getIdProducto());
+        verify(delegate).getProductsByIds(List.of(7L));
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe lanzar NotFoundException cuando el ID no viene en el lote")
+    void getProductById_WhenMissingFromBatch_ShouldThrowNotFoundException() {
+        // Given
+        batchingClient = new BatchingProductClient(delegate, meterRegistry, 50, Duration.ofMillis(1), LOOKUP_TIMEOUT);
+        answerWithRequestedProducts();
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> batchingClient.getProductById(100L));
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe propagar el error del lote a cada llamador")
+    void getProductById_WhenBatchCallFails_ShouldPropagateError() {
+        // Given
+        batchingClient = new BatchingProductClient(delegate, meterRegistry, 50, Duration.ofMillis(1), LOOKUP_TIMEOUT);
+        when(delegate.getProductsByIds(anyCollection())).thenThrow(new IllegalStateException("product-service caído"));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> batchingClient.getProductById(1L));
+        assertEquals("product-service caído", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("close - Debe delegar directamente las consultas posteriores al cierre")
+    void close_ShouldFallBackToDirectLookups() {
+        // Given
+        batchingClient = new BatchingProductClient(delegate, meterRegistry, 50, Duration.ofMillis(1), LOOKUP_TIMEOUT);
+        when(delegate.getProductById(1L)).thenReturn(product(1L));
+
+        // When
+        batchingClient.close();
+        ProductResponse result = batchingClient.getProductById(1L);
+
+        // Then
+        assertEquals(1L, result.getIdProducto());
+        verify(delegate, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("close - Debe rechazar las consultas del lote en armado sin dejarlas esperando")
+    void close_WhenBatchIsBeingCollected_ShouldFailWaitingLookups() throws Exception {
+        // Given: un lote que esperaría 30 s a completarse
+        batchingClient = new BatchingProductClient(delegate, meterRegistry, 50, Duration.ofSeconds(30), LOOKUP_TIMEOUT);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ProductResponse> lookup = executor.submit(() -> batchingClient.getProductById(1L));
+            Thread.sleep(100);
+
+            // When
+            batchingClient.close();
+
+            // Then
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> lookup.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(InternalServerErrorException.class, exception.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        verify(delegate, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe dejar de esperar al vencer el tiempo máximo de la consulta")
+    void getProductById_WhenBatchCallHangs_ShouldTimeOut() {
+        // Given
+        batchingClient = new BatchingProductClient(delegate, meterRegistry, 50, Duration.ofMillis(1), Duration.ofMillis(50));
+        when(delegate.getProductsByIds(anyCollection())).thenAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return List.of();
+        });
+
+        // When & Then
+        InternalServerErrorException exception = assertThrows(InternalServerErrorException.class,
+                () -> batchingClient.getProductById(1L));
+        assertTrue(exception.getMessage().contains("Tiempo de espera agotado"));
+    }
+
+    @Test
+    @DisplayName("constructor - Debe rechazar un tamaño de lote inválido")
+    void constructor_WithInvalidBatchSize_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingProductClient(delegate, meterRegistry, 0, Duration.ofMillis(1), LOOKUP_TIMEOUT));
+    }
+}
@@ -0,0 +1,207 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para CachingProductClient.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingProductClient Tests")
+class CachingProductClientTest {
+
+    @Mock
+    private ProductClient delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> pendingRefreshes = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private CachingProductClient cachingClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cachingClient = new CachingProductClient(delegate, meterRegistry, 2,
+                Duration.ofMinutes(10), Duration.ofMinutes(1), nanos::get, pendingRefreshes::add);
+    }
+
+    private ProductResponse product(Long id, String nombre) {
+        ProductResponse product = new ProductResponse();
+        product.setIdProducto(id);
+        product.setNombre(nombre);
+        product.setEliminado(false);
+        return product;
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private void runPendingRefreshes() {
+        Runnable task;
+        while ((task = pendingRefreshes.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe consultar product-service una sola vez para lecturas repetidas")
+    void getProductById_WhenCalledRepeatedly_ShouldHitRemoteOnce() {
+        // Given
+        when(delegate.getProductById(1L)).thenReturn(product(1L, "Producto Test"));
+
+        // When
+        ProductResponse first = cachingClient.getProductById(1L);
+        ProductResponse second = cachingClient.getProductById(1L);
+
+        // Then
+        assertSame(first, second);
+        verify(delegate, times(1)).getProductById(1L);
+        assertEquals(1, cachingClient.stats().hitCount());
+        assertEquals(1, cachingClient.stats().missCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe servir el valor anterior y revalidar pasado refresh-after")
+    void getProductById_AfterRefreshWindow_ShouldServeStaleAndRevalidate() {
+        // Given
+        when(delegate.getProductById(1L)).thenReturn(product(1L, "Nombre viejo"), product(1L, "Nombre nuevo"));
+        cachingClient.getProductById(1L);
+        advance(Duration.ofMinutes(2));
+
+        // When
+        ProductResponse stale = cachingClient.getProductById(1L);
+        runPendingRefreshes();
+        ProductResponse refreshed = cachingClient.getProductById(1L);
+
+        // Then
+        assertEquals("Nombre viejo", stale.getNombre());
+        assertEquals("Nombre nuevo", refreshed.getNombre());
+        verify(delegate, times(2)).getProductById(1L);
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe conservar el valor anterior si la revalidación falla")
+    void getProductById_WhenRevalidationFails_ShouldKeepStaleValue() {
+        // Given
+        when(delegate.getProductById(1L))
+                .thenReturn(product(1L, "Producto Test"))
+                .thenThrow(new RuntimeException("product-service no disponible"));
+        cachingClient.getProductById(1L);
+        advance(Duration.ofMinutes(2));
+
+        // When
+        ProductResponse result = cachingClient.getProductById(1L);
+        runPendingRefreshes();
+
+        // Then
+        assertEquals("Producto Test", result.getNombre());
+        assertEquals("Producto Test", cachingClient.getProductById(1L).getNombre());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe volver a consultar cuando la entrada expira")
+    void getProductById_AfterTtl_ShouldReload() {
+        // Given
+        when(delegate.getProductById(1L)).thenReturn(product(1L, "Producto Test"));
+        cachingClient.getProductById(1L);
+        advance(Duration.ofMinutes(11));
+
+        // When
+        cachingClient.getProductById(1L);
+
+        // Then
+        verify(delegate, times(2)).getProductById(1L);
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe propagar NotFoundException sin almacenarla")
+    void getProductById_WhenRemoteThrows_ShouldPropagateAndNotCache() {
+        // Given
+        when(delegate.getProductById(9L)).thenThrow(new NotFoundException("Recurso no encontrado del cliente: "));
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> cachingClient.getProductById(9L));
+        assertThrows(NotFoundException.class, () -> cachingClient.getProductById(9L));
+        verify(delegate, times(2)).getProductById(9L);
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe respetar el tamaño máximo desalojando entradas")
+    void getProductById_WhenSizeExceeded_ShouldEvict() {
+        // Given
+        when(delegate.getProductById(anyLong())).thenAnswer(invocation -> product(invocation.getArgument(0), "P"));
+
+        // When
+        for (long id = 1; id <= 5; id++) {
+            cachingClient.getProductById(id);
+        }
+        runPendingRefreshes();
+
+        // Then
+        assertTrue(cachingClient.stats().evictionCount() >= 3);
+    }
+
+    @Test
+    @DisplayName("invalidate - Debe forzar la recarga del producto")
+    void invalidate_ShouldForceReload() {
+        // Given
+        when(delegate.getProductById(1L)).thenReturn(product(1L, "Producto Test"));
+        cachingClient.getProductById(1L);
+
+        // When
+        cachingClient.invalidate(1L);
+        cachingClient.getProductById(1L);
+
+        // Then
+        verify(delegate, times(2)).getProductById(1L);
+    }
+
+    @Test
+    @DisplayName("constructor - Debe rechazar refresh-after mayor o igual al ttl")
+    void constructor_WithRefreshNotBelowTtl_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingProductClient(delegate, meterRegistry, 10,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), nanos::get, Runnable::run));
+    }
+
+    @Test
+    @DisplayName("getProductsByIds - Debe cargar por lote solo los productos que no están en caché")
+    void getProductsByIds_ShouldLoadOnlyMissingProductsInOneBatch() {
+        // Given
+        when(delegate.getProductById(1L)).thenReturn(product(1L, "Producto 1"));
+        when(delegate.getProductsByIds(anyCollection()))
+                .thenAnswer(invocation -> List.of(product(2L, "Producto 2")));
+        cachingClient.getProductById(1L);
+
+        // When
+        List<ProductResponse> result = cachingClient.getProductsByIds(List.of(1L, 2L, 3L, 1L));
+
+        // Then
+        assertEquals(List.of(1L, 2L), result.stream().map(ProductResponse::getIdProducto).toList());
+        verify(delegate).getProductsByIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(2L, 3L))));
+        assertEquals("Producto 2", cachingClient.getProductById(2L).getNombre());
+        verify(delegate, never()).getProductById(2L);
+    }
+}
@@ -0,0 +1,174 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para NegativeCachingProductClient.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NegativeCachingProductClient Tests")
+class NegativeCachingProductClientTest {
+
+    @Mock
+    private ProductClient delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private NegativeCachingProductClient negativeClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        negativeClient = new NegativeCachingProductClient(delegate, meterRegistry, 100, Duration.ofSeconds(30), nanos::get);
+    }
+
+    private ProductResponse product(Long id, boolean eliminado) {
+        ProductResponse product = new ProductResponse();
+        product.setIdProducto(id);
+        product.setNombre("Producto Test");
+        product.setEliminado(eliminado);
+        return product;
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe reproducir el 404 sin volver a consultar product-service")
+    void getProductById_WhenRemoteReturnsNotFound_ShouldReplayFromCache() {
+        // Given
+        when(delegate.getProductById(9L)).thenThrow(new NotFoundException("Recurso no encontrado del cliente: 9"));
+
+        // When & Then
+        NotFoundException first = assertThrows(NotFoundException.class, () -> negativeClient.getProductById(9L));
+        NotFoundException second = assertThrows(NotFoundException.class, () -> negativeClient.getProductById(9L));
+        assertEquals(first.getMessage(), second.getMessage());
+        verify(delegate, times(1)).getProductById(9L);
+        assertEquals(1, negativeClient.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe recordar productos eliminados")
+    void getProductById_WhenProductIsDeleted_ShouldReplayFromCache() {
+        // Given
+        ProductResponse deleted = product(2L, true);
+        when(delegate.getProductById(2L)).thenReturn(deleted);
+
+        // When
+        negativeClient.getProductById(2L);
+        ProductResponse result = negativeClient.getProductById(2L);
+
+        // Then
+        assertSame(deleted, result);
+        verify(delegate, times(1)).getProductById(2L);
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe recordar respuestas nulas")
+    void getProductById_WhenRemoteReturnsNull_ShouldReplayFromCache() {
+        // Given
+        when(delegate.getProductById(3L)).thenReturn(null);
+
+        // When
+        negativeClient.getProductById(3L);
+        ProductResponse result = negativeClient.getProductById(3L);
+
+        // Then
+        assertNull(result);
+        verify(delegate, times(1)).getProductById(3L);
+    }
+
+    @Test
+    @DisplayName("getProductById - No debe almacenar productos activos")
+    void getProductById_WhenProductIsActive_ShouldNotCache() {
+        // Given
+        when(delegate.getProductById(1L)).thenReturn(product(1L, false));
+
+        // When
+        negativeClient.getProductById(1L);
+        negativeClient.getProductById(1L);
+
+        // Then
+        verify(delegate, times(2)).getProductById(1L);
+        assertEquals(0, negativeClient.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe volver a consultar cuando vence el ttl negativo")
+    void getProductById_AfterTtl_ShouldQueryRemoteAgain() {
+        // Given
+        when(delegate.getProductById(2L)).thenReturn(product(2L, true), product(2L, false));
+        negativeClient.getProductById(2L);
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        // When
+        ProductResponse result = negativeClient.getProductById(2L);
+
+        // Then
+        assertFalse(result.getEliminado());
+        verify(delegate, times(2)).getProductById(2L);
+    }
+
+    @Test
+    @DisplayName("getProductById - No debe almacenar errores distintos a 404")
+    void getProductById_WhenRemoteFailsWithOtherError_ShouldNotCache() {
+        // Given
+        when(delegate.getProductById(anyLong())).thenThrow(new IllegalStateException("timeout"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> negativeClient.getProductById(4L));
+        assertThrows(IllegalStateException.class, () -> negativeClient.getProductById(4L));
+        verify(delegate, times(2)).getProductById(4L);
+    }
+
+    @Test
+    @DisplayName("invalidate - Debe descartar el resultado negativo")
+    void invalidate_ShouldForceRemoteQuery() {
+        // Given
+        when(delegate.getProductById(2L)).thenReturn(product(2L, true));
+        negativeClient.getProductById(2L);
+
+        // When
+        negativeClient.invalidate(2L);
+        negativeClient.getProductById(2L);
+
+        // Then
+        verify(delegate, times(2)).getProductById(2L);
+        assertNotNull(meterRegistry.find("cache.size").tag("cache", "products-negative").gauge());
+    }
+
+    @Test
+    @DisplayName("getProductsByIds - Debe omitir la consulta remota de IDs con resultado negativo vigente")
+    void getProductsByIds_ShouldSkipKnownMissingIds() {
+        // Given
+        ProductResponse deleted = product(2L, true);
+        when(delegate.getProductsByIds(List.of(1L, 2L, 9L))).thenReturn(List.of(product(1L, false), deleted));
+        when(delegate.getProductsByIds(List.of(1L))).thenReturn(List.of(product(1L, false)));
+        negativeClient.getProductsByIds(List.of(1L, 2L, 9L));
+
+        // When
+        List<ProductResponse> result = negativeClient.getProductsByIds(List.of(1L, 2L, 9L));
+
+        // Then
+        assertEquals(List.of(1L, 2L), result.stream().map(ProductResponse::getIdProducto).toList());
+        verify(delegate).getProductsByIds(List.of(1L));
+        assertThrows(NotFoundException.class, () -> negativeClient.getProductById(9L));
+        verify(delegate, never()).getProductById(anyLong());
+    }
+}
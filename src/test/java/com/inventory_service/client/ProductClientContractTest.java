@@ -0,0 +1,130 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.NotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de contrato del cliente de productos contra un product-service local simulado.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(properties = {
+        "products.batching.enabled=true",
+        "products.batching.max-wait=200ms",
+        "products.batching.max-batch-size=5",
+        "products.cache.enabled=false",
+        "products.negative-cache.enabled=false"
+})
+@ActiveProfiles("test")
+@DisplayName("ProductClient Contract Tests")
+class ProductClientContractTest {
+
+    private static final ProductServiceStub STUB = startStub();
+
+    @Autowired
+    @Qualifier(ProductClient.FEIGN_QUALIFIER)
+    private ProductClient remoteClient;
+
+    @Autowired
+    private ProductClient productClient;
+
+    private static ProductServiceStub startStub() {
+        try {
+            return new ProductServiceStub()
+                    .withProduct(1L, "Producto 1", 10.0, false)
+                    .withProduct(2L, "Producto 2", 20.0, false)
+                    .withProduct(3L, "Producto 3", 30.0, true)
+                    .withProduct(4L, "Producto 4", 40.0, false)
+                    .withProduct(5L, "Producto 5", 50.0, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void productServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("products.service.url", STUB::url);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        STUB.reset();
+    }
+
+    @Test
+    @DisplayName("getProductsByIds - Debe enviar los IDs separados por coma y omitir los inexistentes")
+    void getProductsByIds_ShouldUseCsvIdsAndSkipMissing() {
+        // When
+        List<ProductResponse> result = remoteClient.getProductsByIds(List.of(1L, 3L, 99L));
+
+        // Then
+        assertEquals(List.of("/products?ids=1,3,99"), STUB.requests());
+        assertEquals(List.of(1L, 3L), result.stream().map(ProductResponse::getIdProducto).toList());
+        assertTrue(result.get(1).getEliminado());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe traducir el 404 a NotFoundException")
+    void getProductById_WhenMissing_ShouldThrowNotFoundException() {
+        assertThrows(NotFoundException.class, () -> remoteClient.getProductById(99L));
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe agrupar consultas individuales concurrentes en una consulta por lote")
+    void getProductById_WhenConcurrentLookups_ShouldBeMicroBatched() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<ProductResponse>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (long id = 1; id <= 5; id++) {
+                long productId = id;
+                results.add(executor.submit(() -> productClient.getProductById(productId)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i + 1L, results.get(i).get(5, TimeUnit.SECONDS).getIdProducto());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertTrue(STUB.requests().stream().allMatch(request -> request.startsWith("/products?ids=")));
+        assertTrue(STUB.requests().size() < 5, "Se esperaban menos llamadas que consultas: " + STUB.requests());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe resolver con NotFoundException un ID ausente del lote")
+    void getProductById_WhenIdMissingFromBatch_ShouldThrowNotFoundException() {
+        assertThrows(NotFoundException.class, () -> productClient.getProductById(99L));
+        assertEquals(List.of("/products?ids=99"), STUB.requests());
+    }
+}
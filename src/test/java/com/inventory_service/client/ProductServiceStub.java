@@ -0,0 +1,120 @@
+package com.inventory_service.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_service.client.dto.ProductResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP local que imita el contrato de product-service para pruebas:
+ * {@code GET /products/{id}} y {@code GET /products?ids=1,2,3}.
+ * Registra las peticiones recibidas para verificar cuántas llamadas remotas se realizaron.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+public class ProductServiceStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, ProductResponse> products = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final HttpServer server;
+    private volatile Duration latency = Duration.ZERO;
+
+    public ProductServiceStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext("/products", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public ProductServiceStub withProduct(Long id, String nombre, Double precio, boolean eliminado) {
+        ProductResponse product = new ProductResponse();
+        product.setIdProducto(id);
+        product.setNombre(nombre);
+        product.setPrecio(precio);
+        product.setEliminado(eliminado);
+        products.put(id, product);
+        return this;
+    }
+
+    /**
+     * Simula la latencia de red y de procesamiento de product-service en cada respuesta.
+     */
+    public ProductServiceStub withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Peticiones recibidas como {@code ruta?consulta}.
+     */
+    public List<String> requests() {
+        return List.copyOf(requests);
+    }
+
+    public void reset() {
+        requests.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        requests.add(query == null ? path : path + "?" + query);
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (path.equals("/products") && query != null && query.startsWith("ids=")) {
+            List<ProductResponse> found = Arrays.stream(query.substring(4).split(","))
+                    .filter(id -> !id.isBlank())
+                    .map(id -> products.get(Long.valueOf(id)))
+                    .filter(Objects::nonNull)
+                    .toList();
+            respond(exchange, 200, objectMapper.writeValueAsBytes(found));
+            return;
+        }
+        ProductResponse product = path.startsWith("/products/")
+                ? products.get(Long.valueOf(path.substring("/products/".length())))
+                : null;
+        if (product == null) {
+            respond(exchange, 404, "Producto no encontrado".getBytes(StandardCharsets.UTF_8));
+        } else {
+            respond(exchange, 200, objectMapper.writeValueAsBytes(product));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.inventory_service.client;
+
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para SingleFlightProductClient.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SingleFlightProductClient Tests")
+class SingleFlightProductClientTest {
+
+    private static final int CALLERS = 8;
+
+    @Mock
+    private ProductClient delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightProductClient singleFlightClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlightClient = new SingleFlightProductClient(delegate, meterRegistry);
+    }
+
+    private ProductResponse product(Long id) {
+        ProductResponse product = new ProductResponse();
+        product.setIdProducto(id);
+        product.setNombre("Producto Test");
+        product.setEliminado(false);
+        return product;
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    /**
+     * Lanza CALLERS consultas del mismo ID mientras la llamada remota está bloqueada,
+     * y la libera solo cuando todos los seguidores quedaron agrupados.
+     */
+    private List<Future<ProductResponse>> callConcurrently(CountDownLatch release) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<ProductResponse>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlightClient.getProductById(1L)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (counter(SingleFlightProductClient.COLLAPSED_METRIC) < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe compartir una sola llamada remota entre consultas concurrentes")
+    void getProductById_WhenConcurrentCallsForSameId_ShouldCallRemoteOnce() throws Exception {
+        // Given
+        ProductResponse expected = product(1L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getProductById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return expected;
+        });
+
+        // When
+        List<Future<ProductResponse>> results = callConcurrently(release);
+
+        // Then
+        for (Future<ProductResponse> result : results) {
+            assertSame(expected, result.get(5, TimeUnit.SECONDS));
+        }
+        verify(delegate, times(1)).getProductById(1L);
+        assertEquals(1.0, counter(SingleFlightProductClient.LEADERS_METRIC));
+        assertEquals(CALLERS - 1, counter(SingleFlightProductClient.COLLAPSED_METRIC));
+        assertEquals(0, singleFlightClient.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe propagar la misma excepción a todas las consultas agrupadas")
+    void getProductById_WhenRemoteFails_ShouldPropagateToAllCallers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getProductById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new NotFoundException("Recurso no encontrado del cliente: ");
+        });
+
+        // When
+        List<Future<ProductResponse>> results = callConcurrently(release);
+
+        // Then
+        for (Future<ProductResponse> result : results) {
+            Exception exception = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NotFoundException.class, exception.getCause());
+        }
+        verify(delegate, times(1)).getProductById(1L);
+        assertEquals(0, singleFlightClient.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("getProductById - Debe realizar una nueva llamada cuando la anterior ya terminó")
+    void getProductById_WhenCallsAreSequential_ShouldNotReuseResult() {
+        // Given
+        when(delegate.getProductById(1L)).thenReturn(product(1L));
+
+        // When
+        singleFlightClient.getProductById(1L);
+        singleFlightClient.getProductById(1L);
+
+        // Then
+        verify(delegate, times(2)).getProductById(1L);
+        assertEquals(0.0, counter(SingleFlightProductClient.COLLAPSED_METRIC));
+    }
+}
@@ -0,0 +1,121 @@
+package com.inventory_service.config;
+
+import com.inventory_service.client.BatchingProductClient;
+import com.inventory_service.client.ProductClient;
+import com.inventory_service.client.dto.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para la composición de ProductClientConfig.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductClientConfig Tests")
+class ProductClientConfigTest {
+
+    private static final int CALLERS = 8;
+    private static final String COLLAPSED_METRIC = "products.singleflight.collapsed";
+
+    @Mock
+    private ProductClient remoteClient;
+
+    @Mock
+    private ObjectProvider<BatchingProductClient> batchingClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductResponse product;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        product = new ProductResponse();
+        product.setIdProducto(1L);
+        product.setEliminado(false);
+        release = new CountDownLatch(1);
+        when(remoteClient.getProductById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return product;
+        });
+    }
+
+    private ProductClient productClient(boolean cacheEnabled) {
+        return new ProductClientConfig().productClient(remoteClient, batchingClient, Runnable::run, meterRegistry,
+                true, cacheEnabled, 100, Duration.ofMinutes(10), Duration.ofMinutes(1),
+                false, 100, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Lanza CALLERS consultas del mismo ID mientras la llamada remota está bloqueada, la libera cuando
+     * quedaron agrupadas las esperadas (o pasado el plazo) y comprueba que todas reciben el producto.
+     */
+    private void callConcurrently(ProductClient client, long collapsedCallers)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<ProductResponse>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> client.getProductById(1L)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(collapsedCallers > 0 ? 5000 : 200);
+            while (collapsed() < collapsedCallers && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<ProductResponse> result : results) {
+                assertSame(product, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double collapsed() {
+        Counter counter = meterRegistry.find(COLLAPSED_METRIC).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    @DisplayName("productClient - Sin caché, el single-flight debe agrupar las consultas concurrentes")
+    void productClient_WhenCacheDisabled_ShouldCollapseConcurrentLookups() throws Exception {
+        // When
+        callConcurrently(productClient(false), CALLERS - 1);
+
+        // Then
+        verify(remoteClient, times(1)).getProductById(1L);
+        assertEquals(CALLERS - 1, collapsed());
+    }
+
+    @Test
+    @DisplayName("productClient - Con caché, la caché agrupa las cargas y no se apila el single-flight")
+    void productClient_WhenCacheEnabled_ShouldLoadOnceWithoutSingleFlight() throws Exception {
+        // When
+        callConcurrently(productClient(true), 0);
+
+        // Then
+        verify(remoteClient, times(1)).getProductById(1L);
+        assertNull(meterRegistry.find(COLLAPSED_METRIC).counter());
+    }
+}
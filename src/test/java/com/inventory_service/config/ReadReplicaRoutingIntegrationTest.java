@@ -0,0 +1,166 @@
+package com.inventory_service.config;
+
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.service.cache.AvailabilityCache;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de integración del enrutamiento a réplicas de lectura con dos bases H2: la principal de
+ * {@code spring.datasource} y una réplica cuyo contenido difiere a propósito para distinguir el origen.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(properties = {
+        "inventory.read-replicas.enabled=true",
+        "inventory.read-replicas.urls=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "inventory.read-replicas.max-lag=5s",
+        "inventory.read-replicas.lag-query=SELECT lag_seconds FROM replica_lag",
+        "inventory.read-replicas.check-interval=1h"})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_routing;DB_CLOSE_DELAY=-1";
+
+    private static final int REPLICA_QUANTITY = 777;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AvailabilityCache availabilityCache;
+
+    private JdbcTemplate replica;
+    private int primaryQuantity;
+
+    @BeforeEach
+    void setUp() {
+        // La réplica recibe el esquema de la principal y una cantidad distinta para el producto 1
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        List<String> schema = primary.queryForList("SCRIPT NODATA TABLE inventories", String.class);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+        replica.execute("DROP ALL OBJECTS");
+        schema.forEach(replica::execute);
+        replica.update("INSERT INTO inventories (producto_id, cantidad, eliminado, fecha_creacion, version) "
+                + "VALUES (1, ?, false, CURRENT_TIMESTAMP, 0)",
+                REPLICA_QUANTITY);
+        replica.execute("CREATE TABLE replica_lag (lag_seconds DOUBLE)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        primaryQuantity = primary.queryForObject(
+                "SELECT cantidad FROM inventories WHERE producto_id = 1 AND eliminado = false", Integer.class);
+        assertEquals(1, replicaDataSource.checkReplicas());
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.execute("DROP ALL OBJECTS");
+        replicaDataSource.checkReplicas();
+    }
+
+    @Test
+    @DisplayName("Las transacciones de solo lectura deben leer de la réplica")
+    void readOnlyProjection_ShouldReadFromReplica() {
+        // Given
+        double before = meterRegistry.get(ReplicaRoutingDataSource.CONNECTIONS_METRIC).tag("target", "replica")
+                .counter().count();
+
+        // When
+        Optional<Integer> quantity = inventoryRepository.findCantidadByProductoId(1L);
+
+        // Then
+        assertEquals(Optional.of(REPLICA_QUANTITY), quantity);
+        assertEquals(before + 1, meterRegistry.get(ReplicaRoutingDataSource.CONNECTIONS_METRIC).tag("target", "replica")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Las lecturas fijadas en la principal y las de una transacción de escritura deben ir a la principal")
+    void primaryPinnedAndReadWriteTransactions_ShouldReadFromPrimary() {
+        // When
+        Optional<Integer> pinned = ReadReplicaRouting.onPrimary(() -> inventoryRepository.findCantidadByProductoId(1L));
+        Optional<Integer> withinWrite = transactionTemplate.execute(status -> inventoryRepository.findCantidadByProductoId(1L));
+
+        // Then
+        assertEquals(Optional.of(primaryQuantity), pinned);
+        assertEquals(Optional.of(primaryQuantity), withinWrite);
+    }
+
+    @Test
+    @DisplayName("La caché de cantidad disponible debe cargarse desde la principal")
+    void availabilityCacheLoad_ShouldReadFromPrimary() {
+        // Given
+        availabilityCache.invalidate(1L);
+
+        // When
+        Optional<Integer> loaded = availabilityCache.get(1L, () -> inventoryRepository.findCantidadByProductoId(1L));
+        Optional<Integer> cached = availabilityCache.get(1L, Optional::empty);
+
+        // Then
+        assertEquals(Optional.of(primaryQuantity), loaded);
+        assertEquals(Optional.of(primaryQuantity), cached);
+    }
+
+    @Test
+    @DisplayName("Una réplica que supera el retraso máximo debe excluirse hasta ponerse al día")
+    void lagGuard_WhenReplicaFallsBehind_ShouldFallBackToPrimary() {
+        // Given
+        replica.update("UPDATE replica_lag SET lag_seconds = 60");
+
+        // When
+        int available = replicaDataSource.checkReplicas();
+        Optional<Integer> whileLagging = inventoryRepository.findCantidadByProductoId(1L);
+        replica.update("UPDATE replica_lag SET lag_seconds = 0.5");
+        replicaDataSource.checkReplicas();
+        Optional<Integer> caughtUp = inventoryRepository.findCantidadByProductoId(1L);
+
+        // Then
+        assertEquals(0, available);
+        assertEquals(Optional.of(primaryQuantity), whileLagging);
+        assertEquals(Optional.of(REPLICA_QUANTITY), caughtUp);
+    }
+
+    @Test
+    @DisplayName("Sin réplicas disponibles las lecturas deben ir a la principal")
+    void unavailableReplica_ShouldFallBackToPrimary() {
+        // Given: la réplica pierde la tabla de retraso y no supera la comprobación
+        replica.execute("DROP TABLE replica_lag");
+
+        // When
+        int available = replicaDataSource.checkReplicas();
+
+        // Then
+        assertEquals(0, available);
+        assertEquals(Optional.of(primaryQuantity), inventoryRepository.findCantidadByProductoId(1L));
+    }
+}
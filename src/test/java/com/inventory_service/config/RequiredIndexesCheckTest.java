@@ -0,0 +1,119 @@
+package com.inventory_service.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para RequiredIndexesCheck sobre una base H2 migrada con las migraciones del servicio.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DisplayName("RequiredIndexesCheck Tests")
+class RequiredIndexesCheckTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:required_indexes;DB_CLOSE_DELAY=-1", "sa", "password");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    private Flyway flyway(RequiredIndexesCheck check) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .callbacks(check)
+                .load();
+    }
+
+    @Test
+    @DisplayName("migrate - Debe crear el esquema con los índices requeridos y los datos semilla")
+    void migrate_ShouldCreateRequiredIndexes() throws Exception {
+        // When
+        flyway(new RequiredIndexesCheck(true)).migrate();
+
+        // Then
+        try (Connection connection = dataSource.getConnection()) {
+            assertDoesNotThrow(() -> RequiredIndexesCheck.verify(connection));
+        }
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventories", Integer.class));
+    }
+
+    @Test
+    @DisplayName("migrate - Sobre una base anterior a las migraciones debe tomar la línea base y completar el esquema")
+    void migrate_WhenSchemaPredatesMigrations_ShouldBaselineAndUpgrade() throws Exception {
+        // Given: la tabla inventories creada por ddl-auto: update, sin versión ni tablas posteriores
+        jdbcTemplate.execute("CREATE TABLE inventories (id_inventario BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+                + "producto_id BIGINT NOT NULL UNIQUE, cantidad INTEGER NOT NULL, eliminado BOOLEAN NOT NULL, "
+                + "fecha_creacion TIMESTAMP(6) NOT NULL, fecha_modificacion TIMESTAMP(6), PRIMARY KEY (id_inventario))");
+        jdbcTemplate.update("INSERT INTO inventories (producto_id, cantidad, eliminado, fecha_creacion) "
+                + "VALUES (1, 3, false, CURRENT_TIMESTAMP)");
+
+        // When
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .callbacks(new RequiredIndexesCheck(true))
+                .load()
+                .migrate();
+
+        // Then
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT version FROM inventories WHERE producto_id = 1", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT cantidad FROM inventories WHERE producto_id = 1", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventories", Integer.class));
+        for (String table : new String[]{"inventory_slots", "reservations", "idempotency_keys", "inventory_movements",
+                "inventory_snapshots", "inventory_outbox", "inventory_outbox_offsets"}) {
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class), table);
+        }
+    }
+
+    @Test
+    @DisplayName("verify - Debe detener el arranque cuando falta un índice requerido")
+    void verify_WhenIndexMissing_ShouldFail() throws Exception {
+        // Given
+        flyway(new RequiredIndexesCheck(true)).migrate();
+        jdbcTemplate.execute("DROP INDEX idx_inventories_producto_activo");
+
+        // When / Then
+        try (Connection connection = dataSource.getConnection()) {
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> RequiredIndexesCheck.verify(connection));
+            assertTrue(exception.getMessage().contains("inventories.idx_inventories_producto_activo"));
+        }
+        assertThrows(FlywayException.class, () -> flyway(new RequiredIndexesCheck(true)).migrate());
+    }
+
+    @Test
+    @DisplayName("migrate - Deshabilitada no debe comprobar los índices")
+    void migrate_WhenDisabled_ShouldSkipCheck() {
+        // Given
+        flyway(new RequiredIndexesCheck(false)).migrate();
+        jdbcTemplate.execute("DROP INDEX idx_inventories_producto_activo");
+
+        // When / Then
+        assertDoesNotThrow(() -> flyway(new RequiredIndexesCheck(false)).migrate());
+    }
+}
@@ -2,25 +2,50 @@ package com.inventory_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.AdjustBatchRequest;
+import com.inventory_service.dto.AdjustBatchResponse;
+import com.inventory_service.dto.AdjustQuantityRequest;
+import com.inventory_service.dto.AdjustRejection;
+import com.inventory_service.dto.AvailabilityRequest;
 import com.inventory_service.dto.BuyRequest;
 import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.dto.CartRequest;
+import com.inventory_service.dto.CartResponse;
+import com.inventory_service.dto.QuantityAdjustment;
 import com.inventory_service.dto.UpdateQuantityRequest;
 import com.inventory_service.service.InventoryService;
+import com.inventory_service.service.feed.StockChangeBus;
+import com.inventory_service.service.idempotency.IdempotencyStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +63,13 @@ class InventoryControllerTest {
     @Mock
     private InventoryService inventoryService;
 
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Spy
+    private StockChangeBus stockChangeBus =
+            new StockChangeBus(new SimpleMeterRegistry(), Duration.ZERO, Duration.ofMinutes(1), 10);
+
     @InjectMocks
     private InventoryController inventoryController;
 
@@ -155,6 +187,97 @@ class InventoryControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/inventory/adjust/{productId} - Debe aplicar la variación")
+    void adjustAvailable_WhenValidRequest_ShouldReturnAdjustedQuantity() throws Exception {
+        // Given
+        when(inventoryService.adjustAvailableQuantity(1L, -3)).thenReturn(7);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/adjust/{productId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdjustQuantityRequest(-3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(7));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/adjust/{productId} - Debe aplicar la variación una sola vez por Idempotency-Key")
+    void adjustAvailable_WithIdempotencyKey_ShouldDelegateToIdempotencyStore() throws Exception {
+        // Given
+        when(idempotencyStore.execute(eq("adjust"), eq("receipt-1"), eq(new QuantityAdjustment(1L, 120)),
+                eq(Integer.class), any(), any())).thenReturn(130);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/adjust/{productId}", 1L)
+                        .header(IdempotencyStore.HEADER, "receipt-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdjustQuantityRequest(120))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(130));
+        verify(inventoryService, never()).adjustAvailableQuantity(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/adjust/{productId} - Debe exigir la variación")
+    void adjustAvailable_WhenDeltaMissing_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/adjust/{productId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        verify(inventoryService, never()).adjustAvailableQuantity(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/adjust - Debe aplicar el lote y detallar las variaciones rechazadas")
+    void adjustAvailableBulk_WhenValidRequest_ShouldReturnSummary() throws Exception {
+        // Given
+        List<QuantityAdjustment> items = List.of(new QuantityAdjustment(1L, 5), new QuantityAdjustment(9L, 1));
+        when(inventoryService.adjustAvailableQuantities(items)).thenReturn(AdjustBatchResponse.builder()
+                .applied(1)
+                .rejected(1)
+                .rejections(List.of(new AdjustRejection(1, 9L, 1, "Producto no encontrado en product-service")))
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdjustBatchRequest(items))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejections[0].index").value(1))
+                .andExpect(jsonPath("$.rejections[0].productId").value(9));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/adjust - Debe rechazar lotes vacíos")
+    void adjustAvailableBulk_WhenEmpty_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdjustBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+        verify(inventoryService, never()).adjustAvailableQuantities(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/adjust - Debe rechazar variaciones fuera de rango")
+    void adjustAvailableBulk_WhenDeltaOutOfRange_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdjustBatchRequest(List.of(
+                                new QuantityAdjustment(1L, QuantityAdjustment.MAX_DELTA + 1))))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/inventory/adjust/{productId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AdjustQuantityRequest(Integer.MIN_VALUE))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(inventoryService);
+    }
+
     @Test
     @DisplayName("PUT /api/v1/inventory/update/{productId} - Debe validar request body nulo")
     void updateAvailable_WhenNullRequest_ShouldReturnBadRequest() throws Exception {
@@ -346,4 +469,133 @@ class InventoryControllerTest {
                         .content(objectMapper.writeValueAsString(validUpdateRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/available - Debe retornar las cantidades por producto")
+    void getAvailableBulk_WhenValidRequest_ShouldReturnQuantitiesByProduct() throws Exception {
+        // Given
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(1L, 10);
+        quantities.put(3L, 0);
+        when(inventoryService.getAvailableQuantities(List.of(1L, 2L, 3L))).thenReturn(quantities);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                AvailabilityRequest.builder().productIds(List.of(1L, 2L, 3L)).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1").value(10))
+                .andExpect(jsonPath("$.3").value(0))
+                .andExpect(jsonPath("$.2").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/available - Debe validar que la lista no esté vacía")
+    void getAvailableBulk_WhenEmptyList_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/inventory/stream - Debe enviar la cantidad inicial y luego los cambios publicados")
+    void streamChanges_ShouldSendInitialQuantitiesAndPublishedChanges() throws Exception {
+        // Given
+        when(inventoryService.getAvailableQuantities(List.of(1L, 2L))).thenReturn(Map.of(1L, 10));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/inventory/stream").param("productIds", "1", "2", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "\"quantity\":10");
+        stockChangeBus.publish(2L, 4);
+        stockChangeBus.publish(3L, 99);
+
+        // Then
+        String content = awaitContent(result, "\"productId\":2");
+        assertTrue(content.contains("event:stock"));
+        assertTrue(content.contains("{\"productId\":2,\"quantity\":4}"));
+        assertFalse(content.contains("\"productId\":3"));
+        stockChangeBus.stop();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/inventory/stream - Debe rechazar la suscripción sin productos")
+    void streamChanges_WhenNoProducts_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/inventory/stream").param("productIds", ""))
+                .andExpect(status().isBadRequest());
+        verify(inventoryService, never()).getAvailableQuantities(any());
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/buy/cart - Debe retornar el recibo combinado del carrito")
+    void buyCart_WhenValidRequest_ShouldReturnCartResponse() throws Exception {
+        // Given
+        CartRequest request = CartRequest.builder().items(List.of(validBuyRequest)).build();
+        CartResponse response = CartResponse.builder()
+                .items(List.of(validBuyResponse))
+                .totalQuantity(5)
+                .totalAmount(500.0)
+                .message("Compra exitosa de 1 productos (5 unidades)")
+                .build();
+        when(inventoryService.buyCart(any(CartRequest.class))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/buy/cart")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productId").value(1))
+                .andExpect(jsonPath("$.totalQuantity").value(5))
+                .andExpect(jsonPath("$.totalAmount").value(500.0));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/buy/cart - Debe validar las líneas del carrito")
+    void buyCart_WhenInvalidItem_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/buy/cart")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": [{\"productId\": 1, \"quantity\": 0}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/buy - Debe delegar en el almacén idempotente cuando hay Idempotency-Key")
+    void buyProduct_WithIdempotencyKey_ShouldUseIdempotencyStore() throws Exception {
+        // Given
+        when(idempotencyStore.execute(eq("buy"), eq("retry-123"), any(BuyRequest.class), eq(BuyResponse.class), any(),
+                any()))
+                .thenReturn(validBuyResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/buy")
+                        .header(IdempotencyStore.HEADER, "retry-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validBuyRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(1));
+        verify(inventoryService, never()).buyProduct(any(BuyRequest.class));
+
+        // Si el resultado no puede registrarse, la compensación devuelve las unidades compradas
+        ArgumentCaptor<Consumer<BuyResponse>> compensation = ArgumentCaptor.captor();
+        verify(idempotencyStore).execute(eq("buy"), eq("retry-123"), any(BuyRequest.class), eq(BuyResponse.class),
+                any(), compensation.capture());
+        compensation.getValue().accept(validBuyResponse);
+        verify(inventoryService).revertQuantity(validBuyRequest.getProductId(), validBuyRequest.getQuantity());
+    }
 }
@@ -0,0 +1,112 @@
+package com.inventory_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_service.dto.ReservationRequest;
+import com.inventory_service.dto.ReservationResponse;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.model.ReservationStatus;
+import com.inventory_service.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para ReservationController.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationController Tests")
+class ReservationControllerTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @InjectMocks
+    private ReservationController reservationController;
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reservationController)
+                .setControllerAdvice(new com.inventory_service.exception.ApiExceptionHandler())
+                .build();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/reservations - Debe crear la reserva")
+    void hold_WhenValidRequest_ShouldReturnReservation() throws Exception {
+        // Given
+        ReservationResponse response = ReservationResponse.builder()
+                .reservationId(7L)
+                .productId(1L)
+                .quantity(3)
+                .status(ReservationStatus.HELD)
+                .remainingQuantity(7)
+                .build();
+        when(reservationService.hold(any(ReservationRequest.class))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                ReservationRequest.builder().productId(1L).quantity(3).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservationId").value(7))
+                .andExpect(jsonPath("$.status").value("HELD"))
+                .andExpect(jsonPath("$.remainingQuantity").value(7));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/reservations - Debe validar la cantidad")
+    void hold_WhenInvalidQuantity_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\": 1, \"quantity\": 0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/reservations/{id}/confirm - Debe retornar 409 si la reserva no está pendiente")
+    void confirm_WhenReservationNotHeld_ShouldReturnConflict() throws Exception {
+        // Given
+        when(reservationService.confirm(7L))
+                .thenThrow(new ConflictException("La reserva 7 no puede confirmarse en estado EXPIRED"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/reservations/7/confirm"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/reservations/{id}/release - Debe liberar la reserva")
+    void release_WhenReservationHeld_ShouldReturnReleasedReservation() throws Exception {
+        // Given
+        when(reservationService.release(7L)).thenReturn(ReservationResponse.builder()
+                .reservationId(7L)
+                .status(ReservationStatus.RELEASED)
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/reservations/7/release"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RELEASED"));
+    }
+}
@@ -8,7 +8,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -394,4 +397,22 @@ class DTOsTest {
         assertEquals(totalAmount, response.getTotalAmount());
         assertEquals(message, response.getMessage());
     }
+
+    @Test
+    @DisplayName("AvailabilityRequest - Debe rechazar listas vacías, con nulos o demasiado grandes")
+    void availabilityRequest_WithInvalidProductIds_ShouldHaveValidationErrors() {
+        // Given
+        AvailabilityRequest empty = AvailabilityRequest.builder().productIds(List.of()).build();
+        AvailabilityRequest withNull = AvailabilityRequest.builder().productIds(Arrays.asList(1L, null)).build();
+        AvailabilityRequest tooLarge = AvailabilityRequest.builder()
+                .productIds(LongStream.rangeClosed(1, AvailabilityRequest.MAX_PRODUCTS + 1).boxed().toList())
+                .build();
+        AvailabilityRequest valid = AvailabilityRequest.builder().productIds(List.of(1L, 2L)).build();
+
+        // When & Then
+        assertFalse(validator.validate(empty).isEmpty());
+        assertFalse(validator.validate(withNull).isEmpty());
+        assertFalse(validator.validate(tooLarge).isEmpty());
+        assertTrue(validator.validate(valid).isEmpty());
+    }
 }
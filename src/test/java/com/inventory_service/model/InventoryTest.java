@@ -83,7 +83,7 @@ class InventoryTest {
         LocalDateTime fechaModificacion = LocalDateTime.now();
 
         // When
-        Inventory inventory = new Inventory(idInventario, productoId, cantidad, eliminado, fechaCreacion, fechaModificacion);
+        Inventory inventory = new Inventory(idInventario, productoId, cantidad, eliminado, fechaCreacion, fechaModificacion, 0L);
 
         // Then
         assertNotNull(inventory);
@@ -93,6 +93,7 @@ class InventoryTest {
         assertEquals(eliminado, inventory.getEliminado());
         assertEquals(fechaCreacion, inventory.getFechaCreacion());
         assertEquals(fechaModificacion, inventory.getFechaModificacion());
+        assertEquals(0L, inventory.getVersion());
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.inventory_service.repository;
 
 import com.inventory_service.model.Inventory;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,8 +40,9 @@ class InventoryRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        // Limpiar la base de datos antes de cada prueba
+        // Limpiar la base de datos antes de cada prueba (incluye los datos semilla de las migraciones)
         inventoryRepository.deleteAll();
+        entityManager.flush();
 
         // Configurar inventario válido
         validInventory = Inventory.builder()
@@ -364,4 +367,193 @@ class InventoryRepositoryTest {
             entityManager.flush();
         });
     }
+
+    @Test
+    @DisplayName("decrementStockIfAvailable - Debe descontar y retornar la cantidad restante")
+    void decrementStockIfAvailable_WhenStockIsSufficient_ShouldReturnRemainingQuantity() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+
+        // When
+        Optional<Integer> result = inventoryRepository.decrementStockIfAvailable(validInventory.getProductoId(), 4);
+        entityManager.clear();
+
+        // Then
+        assertEquals(Optional.of(6), result);
+        assertEquals(6, inventoryRepository.findByProductoIdAndEliminadoFalse(validInventory.getProductoId())
+                .orElseThrow().getCantidad());
+    }
+
+    @Test
+    @DisplayName("decrementStockIfAvailable - Debe permitir agotar exactamente el inventario")
+    void decrementStockIfAvailable_WhenQuantityEqualsStock_ShouldLeaveZero() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+
+        // When
+        Optional<Integer> result = inventoryRepository.decrementStockIfAvailable(validInventory.getProductoId(), 10);
+
+        // Then
+        assertEquals(Optional.of(0), result);
+    }
+
+    @Test
+    @DisplayName("decrementStockIfAvailable - No debe modificar el inventario cuando es insuficiente")
+    void decrementStockIfAvailable_WhenStockIsInsufficient_ShouldReturnEmptyAndKeepQuantity() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+
+        // When
+        Optional<Integer> result = inventoryRepository.decrementStockIfAvailable(validInventory.getProductoId(), 11);
+        entityManager.clear();
+
+        // Then
+        assertFalse(result.isPresent());
+        assertEquals(10, inventoryRepository.findByProductoIdAndEliminadoFalse(validInventory.getProductoId())
+                .orElseThrow().getCantidad());
+    }
+
+    @Test
+    @DisplayName("decrementStockIfAvailable - Debe ignorar inventarios eliminados o inexistentes")
+    void decrementStockIfAvailable_WhenInventoryIsDeletedOrMissing_ShouldReturnEmpty() {
+        // Given
+        entityManager.persistAndFlush(deletedInventory);
+
+        // When & Then
+        assertFalse(inventoryRepository.decrementStockIfAvailable(deletedInventory.getProductoId(), 1).isPresent());
+        assertFalse(inventoryRepository.decrementStockIfAvailable(999L, 1).isPresent());
+    }
+
+    @Test
+    @DisplayName("findByProductoIdInAndEliminadoFalse - Debe retornar solo inventarios activos solicitados")
+    void findByProductoIdInAndEliminadoFalse_ShouldReturnOnlyRequestedActiveInventories() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+        entityManager.persistAndFlush(deletedInventory);
+        entityManager.persistAndFlush(anotherValidInventory);
+
+        // When
+        List<Inventory> result = inventoryRepository.findByProductoIdInAndEliminadoFalse(List.of(1L, 2L, 999L));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(validInventory.getProductoId(), result.get(0).getProductoId());
+    }
+
+    @Test
+    @DisplayName("findCantidadByProductoId - Debe leer la cantidad sin cargar la entidad")
+    void findCantidadByProductoId_ShouldReturnQuantityWithoutManagedEntity() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+        entityManager.persistAndFlush(deletedInventory);
+        entityManager.clear();
+
+        // When
+        Optional<Integer> active = inventoryRepository.findCantidadByProductoId(validInventory.getProductoId());
+        Optional<Integer> deleted = inventoryRepository.findCantidadByProductoId(deletedInventory.getProductoId());
+
+        // Then
+        assertEquals(Optional.of(10), active);
+        assertEquals(Optional.empty(), deleted);
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("findStockLevels - Debe retornar solo las cantidades de los inventarios activos solicitados")
+    void findStockLevels_ShouldReturnOnlyRequestedActiveQuantities() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+        entityManager.persistAndFlush(deletedInventory);
+        entityManager.persistAndFlush(anotherValidInventory);
+        entityManager.clear();
+
+        // When
+        List<StockLevel> result = inventoryRepository.findStockLevels(List.of(1L, 2L, 3L, 999L));
+
+        // Then
+        assertEquals(Set.of(new StockLevel(1L, 10), new StockLevel(3L, 20)), Set.copyOf(result));
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("decrementStockInBatch - Debe evaluar cada descuento del lote en orden")
+    void decrementStockInBatch_ShouldApplyEachStatementInOrder() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+        entityManager.persistAndFlush(deletedInventory);
+
+        // When: 10 disponibles → 6 aplica, 5 no alcanza, 4 aplica; el inventario eliminado no se toca
+        int[] result = inventoryRepository.decrementStockInBatch(List.of(
+                new InventoryRepositoryCustom.StockDecrement(1L, 6),
+                new InventoryRepositoryCustom.StockDecrement(1L, 5),
+                new InventoryRepositoryCustom.StockDecrement(1L, 4),
+                new InventoryRepositoryCustom.StockDecrement(2L, 1)));
+        entityManager.clear();
+
+        // Then
+        assertArrayEquals(new int[]{1, 0, 1, 0}, result);
+        assertEquals(0, inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+        assertEquals(5, inventoryRepository.findById(deletedInventory.getIdInventario()).orElseThrow().getCantidad());
+    }
+
+    @Test
+    @DisplayName("adjustStockIfNonNegative - Debe sumar la variación y retornar la cantidad resultante")
+    void adjustStockIfNonNegative_ShouldApplyDeltaOnlyWhenResultIsNonNegative() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+
+        // When
+        Optional<Integer> received = inventoryRepository.adjustStockIfNonNegative(1L, 5);
+        Optional<Integer> tooLarge = inventoryRepository.adjustStockIfNonNegative(1L, -16);
+        Optional<Integer> shrinkage = inventoryRepository.adjustStockIfNonNegative(1L, -15);
+        entityManager.clear();
+
+        // Then
+        assertEquals(Optional.of(15), received);
+        assertFalse(tooLarge.isPresent());
+        assertEquals(Optional.of(0), shrinkage);
+        assertEquals(0, inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+        assertFalse(inventoryRepository.adjustStockIfNonNegative(999L, 1).isPresent());
+    }
+
+    @Test
+    @DisplayName("adjustStockInBatch - Debe evaluar cada variación del lote en orden")
+    void adjustStockInBatch_ShouldApplyEachStatementInOrder() {
+        // Given
+        entityManager.persistAndFlush(validInventory);
+        entityManager.persistAndFlush(deletedInventory);
+
+        // When: 10 disponibles → -12 no alcanza, +5 aplica, -12 aplica; el inventario eliminado no se toca
+        int[] result = inventoryRepository.adjustStockInBatch(List.of(
+                new InventoryRepositoryCustom.StockAdjustment(1L, -12),
+                new InventoryRepositoryCustom.StockAdjustment(1L, 5),
+                new InventoryRepositoryCustom.StockAdjustment(1L, -12),
+                new InventoryRepositoryCustom.StockAdjustment(2L, 1)));
+        entityManager.clear();
+
+        // Then
+        assertArrayEquals(new int[]{0, 1, 1, 0}, result);
+        assertEquals(3, inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+        assertEquals(5, inventoryRepository.findById(deletedInventory.getIdInventario()).orElseThrow().getCantidad());
+    }
+
+    @Test
+    @DisplayName("adjustStock - Una variación que desborda la cantidad no debe aplicarse ni fallar")
+    void adjustStock_WhenResultWouldOverflow_ShouldNotApply() {
+        // Given
+        validInventory.setCantidad(Integer.MAX_VALUE - 1);
+        entityManager.persistAndFlush(validInventory);
+
+        // When
+        Optional<Integer> single = inventoryRepository.adjustStockIfNonNegative(1L, 2);
+        int[] batch = inventoryRepository.adjustStockInBatch(List.of(
+                new InventoryRepositoryCustom.StockAdjustment(1L, Integer.MAX_VALUE),
+                new InventoryRepositoryCustom.StockAdjustment(1L, 1)));
+        entityManager.clear();
+
+        // Then
+        assertFalse(single.isPresent());
+        assertArrayEquals(new int[]{0, 1}, batch);
+        assertEquals(Integer.MAX_VALUE, inventoryRepository.findByProductoIdAndEliminadoFalse(1L).orElseThrow().getCantidad());
+    }
 }
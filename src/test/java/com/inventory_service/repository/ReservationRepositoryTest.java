@@ -0,0 +1,113 @@
+package com.inventory_service.repository;
+
+import com.inventory_service.model.Reservation;
+import com.inventory_service.model.ReservationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para ReservationRepository.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("ReservationRepository Integration Tests")
+class ReservationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Reservation persistHeld(LocalDateTime expiraEn) {
+        return entityManager.persistFlushFind(Reservation.builder()
+                .productoId(1L)
+                .cantidad(3)
+                .expiraEn(expiraEn)
+                .build());
+    }
+
+    @Test
+    @DisplayName("transition - Solo debe aplicar la primera transición desde HELD")
+    void transition_ShouldApplyOnlyFromExpectedState() {
+        // Given
+        Reservation reservation = persistHeld(LocalDateTime.now().plusMinutes(5));
+
+        // When
+        int released = reservationRepository.transition(
+                reservation.getIdReserva(), ReservationStatus.HELD, ReservationStatus.RELEASED);
+        int releasedAgain = reservationRepository.transition(
+                reservation.getIdReserva(), ReservationStatus.HELD, ReservationStatus.RELEASED);
+
+        // Then
+        assertEquals(1, released);
+        assertEquals(0, releasedAgain);
+        assertEquals(ReservationStatus.RELEASED,
+                reservationRepository.findById(reservation.getIdReserva()).orElseThrow().getEstado());
+    }
+
+    @Test
+    @DisplayName("confirmIfNotExpired - No debe confirmar una reserva vencida")
+    void confirmIfNotExpired_WhenExpired_ShouldNotConfirm() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Reservation expired = persistHeld(now.minusSeconds(1));
+        Reservation active = persistHeld(now.plusMinutes(5));
+
+        // When & Then
+        assertEquals(0, reservationRepository.confirmIfNotExpired(expired.getIdReserva(), now));
+        assertEquals(1, reservationRepository.confirmIfNotExpired(active.getIdReserva(), now));
+    }
+
+    @Test
+    @DisplayName("expireIfDue - Solo debe vencer reservas pendientes cuyo plazo se cumplió")
+    void expireIfDue_ShouldExpireOnlyDueHeldReservations() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Reservation due = persistHeld(now.minusSeconds(1));
+        Reservation notDue = persistHeld(now.plusMinutes(5));
+
+        // When & Then
+        assertEquals(0, reservationRepository.expireIfDue(notDue.getIdReserva(), now));
+        assertEquals(1, reservationRepository.expireIfDue(due.getIdReserva(), now));
+        assertEquals(0, reservationRepository.expireIfDue(due.getIdReserva(), now));
+        assertEquals(1, reservationRepository.findByEstado(ReservationStatus.HELD).size());
+    }
+
+    @Test
+    @DisplayName("findHeldExpiries - Debe paginar las reservas pendientes por vencimiento e ID")
+    void findHeldExpiries_ShouldPageHeldReservationsByExpiryAndId() {
+        // Given: dos reservas con el mismo vencimiento, una posterior y una ya liberada
+        LocalDateTime expiry = LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        Reservation first = persistHeld(expiry);
+        Reservation second = persistHeld(expiry);
+        Reservation later = persistHeld(expiry.plusMinutes(1));
+        Reservation released = persistHeld(expiry.minusMinutes(1));
+        reservationRepository.transition(released.getIdReserva(), ReservationStatus.HELD, ReservationStatus.RELEASED);
+
+        // When
+        List<HeldReservation> page = reservationRepository.findHeldExpiries(Limit.of(2));
+        HeldReservation last = page.get(page.size() - 1);
+        List<HeldReservation> next = reservationRepository.findHeldExpiriesAfter(
+                last.expiraEn(), last.idReserva(), Limit.of(2));
+
+        // Then
+        assertEquals(List.of(first.getIdReserva(), second.getIdReserva()),
+                page.stream().map(HeldReservation::idReserva).toList());
+        assertEquals(List.of(new HeldReservation(later.getIdReserva(), expiry.plusMinutes(1))), next);
+    }
+}
@@ -0,0 +1,141 @@
+package com.inventory_service.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para AvailabilityCache.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DisplayName("AvailabilityCache Tests")
+class AvailabilityCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private CacheInvalidationBus invalidationBus;
+    private AvailabilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        invalidationBus = new CacheInvalidationBus(new InMemoryInvalidationTransport(), new SimpleMeterRegistry(),
+                Duration.ofHours(1));
+        cache = new AvailabilityCache(new SimpleMeterRegistry(), invalidationBus, true, Duration.ofSeconds(2), 100, nanos::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        invalidationBus.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Optional<Integer> load(int quantity) {
+        loads.incrementAndGet();
+        return Optional.of(quantity);
+    }
+
+    @Test
+    @DisplayName("get - Debe leer la base una sola vez hasta que vence la cota de antigüedad")
+    void get_ShouldServeFromMemoryUntilTtlExpires() {
+        // When
+        Optional<Integer> first = cache.get(1L, () -> load(10));
+        Optional<Integer> second = cache.get(1L, () -> load(7));
+        nanos.addAndGet(Duration.ofSeconds(3).toNanos());
+        Optional<Integer> afterTtl = cache.get(1L, () -> load(7));
+
+        // Then
+        assertEquals(Optional.of(10), first);
+        assertEquals(Optional.of(10), second);
+        assertEquals(Optional.of(7), afterTtl);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("get - No debe guardar los productos sin inventario")
+    void get_WhenInventoryMissing_ShouldNotCacheAbsence() {
+        // When
+        assertEquals(Optional.empty(), cache.get(1L, Optional::empty));
+
+        // Then
+        assertEquals(Optional.of(5), cache.get(1L, () -> load(5)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("invalidate - Sin transacción debe descartar la entrada en el acto")
+    void invalidate_WithoutTransaction_ShouldEvictImmediately() {
+        // Given
+        cache.get(1L, () -> load(10));
+
+        // When
+        cache.invalidate(1L);
+
+        // Then
+        assertEquals(Optional.of(6), cache.get(1L, () -> load(6)));
+    }
+
+    @Test
+    @DisplayName("invalidate - Con transacción debe descartar la entrada al completarse")
+    void invalidate_WithinTransaction_ShouldEvictAfterCompletion() {
+        // Given
+        cache.get(1L, () -> load(10));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.invalidate(1L);
+        Optional<Integer> beforeCommit = cache.get(1L, () -> load(6));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Then
+        assertEquals(Optional.of(10), beforeCommit);
+        assertEquals(Optional.of(6), cache.get(1L, () -> load(6)));
+    }
+
+    @Test
+    @DisplayName("get - No debe guardar una carga que leyó la base antes de una invalidación")
+    void get_WhenInvalidatedDuringLoad_ShouldNotStoreStaleValue() {
+        // When: la carga lee 10 y, antes de guardarla, otra operación confirma un cambio
+        Optional<Integer> stale = cache.get(1L, () -> {
+            Optional<Integer> read = load(10);
+            cache.invalidate(1L);
+            return read;
+        });
+
+        // Then: se responde lo leído, pero la siguiente consulta vuelve a la base
+        assertEquals(Optional.of(10), stale);
+        assertEquals(Optional.of(4), cache.get(1L, () -> load(4)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("get - Deshabilitada debe leer siempre la base")
+    void get_WhenDisabled_ShouldAlwaysLoad() {
+        // Given
+        cache = new AvailabilityCache(new SimpleMeterRegistry(), invalidationBus, false, Duration.ofSeconds(2), 100, nanos::get);
+
+        // When
+        cache.get(1L, () -> load(10));
+        cache.get(1L, () -> load(10));
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,146 @@
+package com.inventory_service.service.cache;
+
+import com.inventory_service.service.cache.InvalidationTransport.InvalidationMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para CacheInvalidationBus.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DisplayName("CacheInvalidationBus Tests")
+class CacheInvalidationBusTest {
+
+    private final List<InvalidationMessage> messages = new ArrayList<>();
+    private InMemoryInvalidationTransport transport;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        transport = new InMemoryInvalidationTransport();
+        transport.subscribe(new InvalidationTransport.Receiver() {
+            @Override
+            public void onMessage(InvalidationMessage message) {
+                messages.add(message);
+            }
+
+            @Override
+            public void onReset() {
+            }
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        // Ventana larga: los envíos se disparan a mano con flush()
+        nodeA = new CacheInvalidationBus(transport, meterRegistry, Duration.ofHours(1));
+        nodeB = new CacheInvalidationBus(transport, new SimpleMeterRegistry(), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    @DisplayName("flush - Debe agrupar una ráfaga de cambios en un solo mensaje sin repetir productos")
+    void flush_ShouldBatchBurstIntoSingleMessage() {
+        // Given: 100 compras de tres productos
+        for (int i = 0; i < 100; i++) {
+            nodeA.publish((long) (i % 3) + 1);
+        }
+
+        // When
+        int sent = nodeA.flush();
+
+        // Then
+        assertEquals(3, sent);
+        assertEquals(1, messages.size());
+        assertEquals(Set.of(1L, 2L, 3L), messages.get(0).productIds());
+        assertEquals(1.0, meterRegistry.get(CacheInvalidationBus.SENT_METRIC).counter().count());
+        assertEquals(0, nodeA.flush());
+    }
+
+    @Test
+    @DisplayName("publish - Debe invalidar la caché de las demás instancias y no la propia")
+    void publish_ShouldInvalidateOtherNodesOnly() {
+        // Given: cada instancia guarda la cantidad del producto 1
+        AvailabilityCache cacheA = new AvailabilityCache(new SimpleMeterRegistry(), nodeA, true, Duration.ofMinutes(1), 100);
+        AvailabilityCache cacheB = new AvailabilityCache(new SimpleMeterRegistry(), nodeB, true, Duration.ofMinutes(1), 100);
+        cacheA.get(1L, () -> Optional.of(10));
+        cacheB.get(1L, () -> Optional.of(10));
+
+        // When: la instancia A confirma una compra del producto 1
+        cacheA.invalidate(1L);
+        nodeA.flush();
+
+        // Then
+        assertEquals(Optional.of(7), cacheA.get(1L, () -> Optional.of(7)));
+        assertEquals(Optional.of(7), cacheB.get(1L, () -> Optional.of(7)));
+        assertEquals(0.0, meterRegistry.get(CacheInvalidationBus.RECEIVED_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("onReset - Debe descartar toda la caché cuando el medio pudo perder mensajes")
+    void onReset_ShouldInvalidateEverything() {
+        // Given
+        InvalidationTransport.Receiver[] receiver = new InvalidationTransport.Receiver[1];
+        InvalidationTransport lossy = new InvalidationTransport() {
+            @Override
+            public void send(InvalidationMessage message) {
+            }
+
+            @Override
+            public void subscribe(Receiver subscriber) {
+                receiver[0] = subscriber;
+            }
+        };
+        CacheInvalidationBus bus = new CacheInvalidationBus(lossy, new SimpleMeterRegistry(), Duration.ofHours(1));
+        AvailabilityCache cache = new AvailabilityCache(new SimpleMeterRegistry(), bus, true, Duration.ofMinutes(1), 100);
+        cache.get(1L, () -> Optional.of(10));
+        cache.get(2L, () -> Optional.of(20));
+
+        // When
+        receiver[0].onReset();
+
+        // Then
+        assertEquals(Optional.of(9), cache.get(1L, () -> Optional.of(9)));
+        assertEquals(Optional.of(19), cache.get(2L, () -> Optional.of(19)));
+        bus.stop();
+    }
+
+    @Test
+    @DisplayName("flush - Debe contabilizar los envíos fallidos sin propagar el error")
+    void flush_WhenTransportFails_ShouldCountFailure() {
+        // Given
+        CacheInvalidationBus bus = new CacheInvalidationBus(new InvalidationTransport() {
+            @Override
+            public void send(InvalidationMessage message) {
+                throw new IllegalStateException("sin conexión");
+            }
+
+            @Override
+            public void subscribe(Receiver receiver) {
+            }
+        }, meterRegistry, Duration.ofHours(1));
+        bus.publish(1L);
+
+        // When / Then
+        assertEquals(0, bus.flush());
+        assertEquals(1.0, meterRegistry.get(CacheInvalidationBus.FAILURES_METRIC).counter().count());
+        bus.stop();
+    }
+}
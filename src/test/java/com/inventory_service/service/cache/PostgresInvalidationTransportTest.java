@@ -0,0 +1,64 @@
+package com.inventory_service.service.cache;
+
+import com.inventory_service.service.cache.InvalidationTransport.InvalidationMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la codificación de PostgresInvalidationTransport.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DisplayName("PostgresInvalidationTransport Tests")
+class PostgresInvalidationTransportTest {
+
+    @Test
+    @DisplayName("encode/decode - Debe conservar el nodo y los productos")
+    void encode_ThenDecode_ShouldRoundTrip() {
+        // Given
+        InvalidationMessage message = new InvalidationMessage("node-a", Set.of(1L, 42L));
+
+        // When
+        List<String> payloads = PostgresInvalidationTransport.encode(message);
+
+        // Then
+        assertEquals(1, payloads.size());
+        InvalidationMessage decoded = PostgresInvalidationTransport.decode(payloads.get(0));
+        assertEquals("node-a", decoded.nodeId());
+        assertEquals(Set.of(1L, 42L), decoded.productIds());
+    }
+
+    @Test
+    @DisplayName("encode - Debe partir los mensajes que superan el límite de una notificación")
+    void encode_WhenPayloadTooLarge_ShouldSplitWithinLimit() {
+        // Given
+        Set<Long> productIds = new LinkedHashSet<>();
+        LongStream.rangeClosed(1_000_000L, 1_003_000L).forEach(productIds::add);
+
+        // When
+        List<String> payloads = PostgresInvalidationTransport.encode(new InvalidationMessage("node-a", productIds));
+
+        // Then
+        assertTrue(payloads.size() > 1);
+        assertTrue(payloads.stream().allMatch(payload -> payload.length() <= PostgresInvalidationTransport.MAX_PAYLOAD_LENGTH));
+        Set<Long> decoded = new LinkedHashSet<>();
+        payloads.forEach(payload -> decoded.addAll(PostgresInvalidationTransport.decode(payload).productIds()));
+        assertEquals(productIds, decoded);
+    }
+
+    @Test
+    @DisplayName("decode - Debe descartar las cargas con formato inválido")
+    void decode_WhenMalformed_ShouldReturnNull() {
+        assertNull(PostgresInvalidationTransport.decode("sin-separador"));
+        assertNull(PostgresInvalidationTransport.decode("node-a:1,x"));
+        assertNull(PostgresInvalidationTransport.decode(null));
+    }
+}
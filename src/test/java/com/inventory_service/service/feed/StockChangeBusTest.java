@@ -0,0 +1,181 @@
+package com.inventory_service.service.feed;
+
+import com.inventory_service.exception.ConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para StockChangeBus.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DisplayName("StockChangeBus Tests")
+class StockChangeBusTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockChangeBus bus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bus = new StockChangeBus(meterRegistry, Duration.ofMillis(50), Duration.ofMinutes(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    @DisplayName("publish - Debe agrupar los cambios seguidos de un producto y entregar solo la última cantidad")
+    void publish_WithinCoalesceWindow_ShouldDeliverLatestQuantityOnce() throws Exception {
+        // Given
+        BlockingQueue<Map<Long, Integer>> deliveries = new LinkedBlockingQueue<>();
+        bus.subscribe(List.of(1L, 2L), deliveries::add);
+
+        // When
+        bus.publish(1L, 9);
+        bus.publish(1L, 8);
+        bus.publish(2L, 4);
+        bus.publish(1L, 7);
+        bus.publish(3L, 100);
+
+        // Then
+        assertEquals(Map.of(1L, 7, 2L, 4), deliveries.poll(5, TimeUnit.SECONDS));
+        assertNull(deliveries.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(2.0, meterRegistry.get(StockChangeBus.COALESCED_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("publish - No debe acumular cambios mientras un suscriptor lento recibe")
+    void publish_WhenSubscriberIsSlow_ShouldKeepOnlyLatestPerProduct() throws Exception {
+        // Given: la primera entrega queda bloqueada hasta liberar el latch
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstDelivery = new CountDownLatch(1);
+        BlockingQueue<Map<Long, Integer>> deliveries = new LinkedBlockingQueue<>();
+        bus.subscribe(Set.of(1L), changes -> {
+            deliveries.add(changes);
+            firstDelivery.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bus.publish(1L, 100);
+        assertTrue(firstDelivery.await(5, TimeUnit.SECONDS));
+
+        // When
+        for (int quantity = 99; quantity >= 0; quantity--) {
+            bus.publish(1L, quantity);
+        }
+        release.countDown();
+
+        // Then
+        assertEquals(Map.of(1L, 100), deliveries.poll(5, TimeUnit.SECONDS));
+        assertEquals(Map.of(1L, 0), deliveries.poll(5, TimeUnit.SECONDS));
+        assertNull(deliveries.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("subscribe - Debe cancelar la suscripción cuando el consumidor falla")
+    void subscribe_WhenConsumerFails_ShouldCancelSubscription() throws Exception {
+        // Given
+        CountDownLatch attempted = new CountDownLatch(1);
+        bus.subscribe(Set.of(1L), changes -> {
+            attempted.countDown();
+            throw new IllegalStateException("cliente desconectado");
+        });
+
+        // When
+        bus.publish(1L, 5);
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(StockChangeBus.SUBSCRIBERS_METRIC).gauge().value() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0.0, meterRegistry.get(StockChangeBus.SUBSCRIBERS_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("subscribe - Debe rechazar suscripciones por encima del máximo y liberar el cupo al cancelar")
+    void subscribe_WhenMaxSubscribersReached_ShouldThrowConflict() {
+        // Given: máximo 2
+        StockChangeBus.Subscription first = bus.subscribe(Set.of(1L), changes -> { });
+        bus.subscribe(Set.of(2L), changes -> { });
+
+        // When / Then
+        assertThrows(ConflictException.class, () -> bus.subscribe(Set.of(3L), changes -> { }));
+        first.cancel();
+        assertDoesNotThrow(() -> bus.subscribe(Set.of(3L), changes -> { }));
+    }
+
+    @Test
+    @DisplayName("offerInitial - No debe reemplazar un cambio publicado después de suscribirse")
+    void offerInitial_WhenChangeAlreadyPublished_ShouldKeepPublishedQuantity() throws Exception {
+        // Given
+        BlockingQueue<Map<Long, Integer>> deliveries = new LinkedBlockingQueue<>();
+        StockChangeBus.Subscription subscription = bus.subscribe(List.of(1L, 2L), deliveries::add);
+        bus.publish(1L, 4);
+
+        // When: la lectura inicial, anterior al cambio, termina después
+        subscription.offerInitial(1L, 5);
+        subscription.offerInitial(2L, 8);
+
+        // Then
+        assertEquals(Map.of(1L, 4, 2L, 8), deliveries.poll(5, TimeUnit.SECONDS));
+        subscription.offerInitial(1L, 5);
+        assertNull(deliveries.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("subscribe - No debe superar el máximo con altas simultáneas")
+    void subscribe_WhenConcurrent_ShouldNotExceedMaximum() throws Exception {
+        // Given: máximo 2
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> subscribers = new ArrayList<>();
+        AtomicInteger accepted = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            long productId = i;
+            subscribers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    bus.subscribe(Set.of(productId), changes -> { });
+                    accepted.incrementAndGet();
+                } catch (ConflictException | InterruptedException ignored) {
+                    // Rechazada por el máximo
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Thread subscriber : subscribers) {
+            subscriber.join();
+        }
+
+        // Then
+        assertEquals(2, accepted.get());
+        assertEquals(2.0, meterRegistry.get(StockChangeBus.SUBSCRIBERS_METRIC).gauge().value());
+    }
+}
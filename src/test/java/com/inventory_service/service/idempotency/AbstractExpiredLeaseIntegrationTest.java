@@ -0,0 +1,139 @@
+package com.inventory_service.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_service.client.ProductClient;
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.repository.IdempotencyRecordRepository;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.StockLevel;
+import com.inventory_service.service.InventoryService;
+import com.inventory_service.service.stock.StockEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compra con {@code Idempotency-Key} cuyo reclamo vence mientras la operación sigue en curso y un
+ * reintento desde otra instancia toma la clave. Cada subclase arranca la aplicación con un motor de
+ * existencias distinto; en todos la compra debe quedar aplicada una sola vez.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+abstract class AbstractExpiredLeaseIntegrationTest {
+
+    static final long PRODUCT_ID = 41L;
+
+    private static final Duration LEASE = Duration.ofMillis(300);
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockEngine stockEngine;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ProductClient productClient;
+
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        ProductResponse product = new ProductResponse();
+        product.setIdProducto(PRODUCT_ID);
+        product.setNombre("Producto Test");
+        product.setPrecio(100.0);
+        product.setEliminado(false);
+        when(productClient.getProductById(PRODUCT_ID)).thenReturn(product);
+
+        if (inventoryRepository.findByProductoIdAndEliminadoFalse(PRODUCT_ID).isEmpty()) {
+            inventoryRepository.save(Inventory.builder().productoId(PRODUCT_ID).cantidad(0).eliminado(false).build());
+        }
+        stockEngine.setQuantity(PRODUCT_ID, 10);
+
+        key = "lease-" + getClass().getSimpleName();
+        idempotencyRecordRepository.findById("buy:" + key).ifPresent(idempotencyRecordRepository::delete);
+    }
+
+    /**
+     * Almacén idempotente independiente, como el de otra instancia del servicio.
+     */
+    private IdempotencyStore instance() {
+        return new IdempotencyStore(idempotencyRecordRepository, transactionTemplate, objectMapper,
+                new SimpleMeterRegistry(), Duration.ofHours(1), 100, Duration.ofSeconds(5), LEASE);
+    }
+
+    private BuyResponse purchase(IdempotencyStore store, BuyRequest request, Runnable afterApplied) {
+        return store.execute("buy", key, request, BuyResponse.class, () -> {
+                    BuyResponse response = inventoryService.buyProduct(request);
+                    afterApplied.run();
+                    return response;
+                },
+                bought -> inventoryService.revertQuantity(request.getProductId(), request.getQuantity()));
+    }
+
+    private Integer available() {
+        return stockEngine.availableQuantity(
+                new StockLevel(PRODUCT_ID, inventoryRepository.findCantidadByProductoId(PRODUCT_ID).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Compra con clave vencida - Debe aplicarse una sola vez aunque el reintento tome la clave")
+    void purchase_WhenLeaseExpiresAndRetryTakesKey_ShouldApplyOnce() throws Exception {
+        // Given: la primera solicitud descuenta y se demora hasta después del vencimiento de su reclamo
+        BuyRequest request = BuyRequest.builder().productId(PRODUCT_ID).quantity(3).build();
+        CountDownLatch applied = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        CompletableFuture<BuyResponse> slow = CompletableFuture.supplyAsync(() ->
+                purchase(instance(), request, () -> {
+                    applied.countDown();
+                    try {
+                        resume.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(applied.await(5, TimeUnit.SECONDS));
+        Thread.sleep(LEASE.toMillis() + 200);
+
+        // When: el reintento desde otra instancia toma la clave vencida y la primera termina después
+        BuyResponse retried = purchase(instance(), request, () -> { });
+        resume.countDown();
+
+        // Then: la primera se compensa con un conflicto y la compra queda aplicada una sola vez
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ConflictException.class, failure.getCause());
+        assertEquals(3, retried.getQuantityPurchased());
+        assertEquals(7, available());
+        assertTrue(idempotencyRecordRepository.findById("buy:" + key).orElseThrow().getCompletado());
+    }
+}
@@ -0,0 +1,19 @@
+package com.inventory_service.service.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Pruebas de integración del reclamo idempotente vencido con el motor atómico.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(properties = "inventory.stock.mode=atomic")
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Expired Lease Integration Tests (atomic)")
+class AtomicExpiredLeaseIntegrationTest extends AbstractExpiredLeaseIntegrationTest {
+}
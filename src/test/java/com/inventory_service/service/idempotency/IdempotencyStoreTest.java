@@ -0,0 +1,262 @@
+package com.inventory_service.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.model.IdempotencyRecord;
+import com.inventory_service.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para IdempotencyStore.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyStore Tests")
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Consumer<BuyResponse> compensation;
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore store;
+    private BuyRequest request;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        meterRegistry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(repository, transactionTemplate, objectMapper, meterRegistry,
+                Duration.ofHours(1), 100, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        request = BuyRequest.builder().productId(1L).quantity(2).build();
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(repository.findById(any())).thenReturn(Optional.empty());
+        lenient().when(repository.complete(any(), any(), any(), any())).thenReturn(1);
+    }
+
+    private BuyResponse response(int remaining) {
+        return BuyResponse.builder().productId(1L).quantityPurchased(2).remainingQuantity(remaining).build();
+    }
+
+    @Test
+    @DisplayName("execute - Debe ejecutar una sola vez y reproducir la respuesta en el reintento")
+    void execute_WhenRetriedWithSameKey_ShouldReplayFirstResponse() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        BuyResponse first = store.execute("buy", "k-1", request, BuyResponse.class,
+                () -> response(10 - 2 * executions.incrementAndGet()), compensation);
+        BuyResponse second = store.execute("buy", "k-1", request, BuyResponse.class,
+                () -> response(10 - 2 * executions.incrementAndGet()), compensation);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertSame(first, second);
+        verify(repository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+        assertEquals(1.0, meterRegistry.get(IdempotencyStore.REPLAYS_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("execute - Debe rechazar una clave reutilizada con otra solicitud")
+    void execute_WhenKeyReusedWithDifferentRequest_ShouldThrowBadRequestException() {
+        // Given
+        store.execute("buy", "k-1", request, BuyResponse.class, () -> response(8), compensation);
+        BuyRequest other = BuyRequest.builder().productId(1L).quantity(5).build();
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> store.execute("buy", "k-1", other, BuyResponse.class, () -> response(5), compensation));
+    }
+
+    @Test
+    @DisplayName("execute - Los duplicados concurrentes deben esperar a la solicitud en curso")
+    void execute_WhenConcurrentDuplicate_ShouldWaitForInFlightResult() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<BuyResponse> leader = CompletableFuture.supplyAsync(() ->
+                store.execute("buy", "k-1", request, BuyResponse.class, () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return response(8);
+                }, compensation));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<BuyResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute("buy", "k-1", request, BuyResponse.class, () -> {
+                    executions.incrementAndGet();
+                    return response(6);
+                }, compensation));
+        release.countDown();
+
+        // Then
+        assertEquals(8, duplicate.get(5, TimeUnit.SECONDS).getRemainingQuantity());
+        assertEquals(8, leader.get(5, TimeUnit.SECONDS).getRemainingQuantity());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("execute - Un error no debe guardarse y debe liberar la clave")
+    void execute_WhenActionFails_ShouldReleaseKeyForRetry() {
+        // Given
+        assertThrows(BadRequestException.class, () -> store.execute("buy", "k-1", request, BuyResponse.class, () -> {
+            throw new BadRequestException("Inventario insuficiente");
+        }, compensation));
+
+        // When
+        BuyResponse result = store.execute("buy", "k-1", request, BuyResponse.class, () -> response(8), compensation);
+
+        // Then
+        verify(repository).deleteClaim(eq("buy:k-1"), any(LocalDateTime.class));
+        assertEquals(8, result.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("execute - Debe reproducir la respuesta guardada en la tabla tras un reinicio")
+    void execute_WhenCompletedRecordInTable_ShouldReplayWithoutExecuting() throws Exception {
+        // Given
+        String fingerprint = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .clave("buy:k-1")
+                .huella(fingerprint)
+                .completado(true)
+                .respuesta(objectMapper.writeValueAsString(response(8)))
+                .expiraEn(LocalDateTime.now().plusHours(1))
+                .build();
+        when(repository.findById("buy:k-1")).thenReturn(Optional.of(record));
+
+        // When
+        BuyResponse result = store.execute("buy", "k-1", request, BuyResponse.class,
+                () -> fail("No debe ejecutarse"), compensation);
+
+        // Then
+        assertEquals(8, result.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("execute - Debe responder conflicto si la clave sigue pendiente en otra instancia")
+    void execute_WhenPendingRecordInTable_ShouldThrowConflictException() {
+        // Given
+        when(repository.findById("buy:k-1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .clave("buy:k-1")
+                .huella("otra")
+                .completado(false)
+                .expiraEn(LocalDateTime.now().plusHours(1))
+                .build()));
+
+        // When & Then
+        assertThrows(ConflictException.class,
+                () -> store.execute("buy", "k-1", request, BuyResponse.class, () -> response(8), compensation));
+    }
+
+    @Test
+    @DisplayName("execute - El reclamo pendiente debe vencer con el plazo corto y no con el del resultado")
+    void execute_ShouldClaimWithPendingLeaseAndStoreResultWithTtl() {
+        // When
+        store.execute("buy", "k-1", request, BuyResponse.class, () -> response(8), compensation);
+
+        // Then
+        verify(repository).saveAndFlush(argThat(record -> record.getExpiraEn().isBefore(LocalDateTime.now().plusMinutes(2))));
+        verify(repository).complete(eq("buy:k-1"), argThat(lease -> lease.isBefore(LocalDateTime.now().plusMinutes(2))),
+                any(), argThat(expiresAt -> expiresAt.isAfter(LocalDateTime.now().plusMinutes(50))));
+    }
+
+    @Test
+    @DisplayName("execute - Debe responder conflicto si el reclamo venció y otro reintento tomó la clave")
+    void execute_WhenClaimWasTakenOver_ShouldThrowConflictAndKeepNewClaim() {
+        // Given
+        when(repository.complete(any(), any(), any(), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(ConflictException.class,
+                () -> store.execute("buy", "k-1", request, BuyResponse.class, () -> response(8), compensation));
+        verify(compensation).accept(response(8));
+        verify(repository, never()).deleteById(any());
+        verify(repository, never()).deleteClaim(any(), any());
+    }
+
+    @Test
+    @DisplayName("execute - Debe compensar y liberar la clave si el resultado no pudo registrarse")
+    void execute_WhenCompletionFails_ShouldCompensateAndReleaseKey() {
+        // Given
+        when(repository.complete(any(), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("Conexión perdida"));
+
+        // When & Then
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> store.execute("buy", "k-1", request, BuyResponse.class, () -> response(8), compensation));
+        verify(compensation).accept(response(8));
+        verify(repository).deleteClaim(eq("buy:k-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("execute - Una operación fallida no debe compensarse")
+    void execute_WhenActionFails_ShouldNotCompensate() {
+        // When & Then
+        assertThrows(BadRequestException.class, () -> store.execute("buy", "k-1", request, BuyResponse.class, () -> {
+            throw new BadRequestException("Inventario insuficiente");
+        }, compensation));
+        verifyNoInteractions(compensation);
+        verify(repository, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("execute - Debe validar la longitud de la clave")
+    void execute_WhenKeyTooLong_ShouldThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> store.execute("buy",
+                "x".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), request, BuyResponse.class, () -> response(8),
+                compensation));
+    }
+}
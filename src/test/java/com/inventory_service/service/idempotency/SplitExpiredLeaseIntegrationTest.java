@@ -0,0 +1,22 @@
+package com.inventory_service.service.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Pruebas de integración del reclamo idempotente vencido con el motor con subcontadores.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(properties = {
+        "inventory.stock.mode=split",
+        "inventory.stock.split.products=" + AbstractExpiredLeaseIntegrationTest.PRODUCT_ID,
+        "inventory.stock.split.slots=4"})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Expired Lease Integration Tests (split)")
+class SplitExpiredLeaseIntegrationTest extends AbstractExpiredLeaseIntegrationTest {
+}
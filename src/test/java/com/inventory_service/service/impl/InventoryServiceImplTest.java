@@ -2,25 +2,49 @@ package com.inventory_service.service.impl;
 
 import com.inventory_service.client.ProductClient;
 import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.AdjustBatchResponse;
+import com.inventory_service.dto.AdjustRejection;
 import com.inventory_service.dto.BuyRequest;
 import com.inventory_service.dto.BuyResponse;
+import com.inventory_service.dto.CartRequest;
+import com.inventory_service.dto.CartResponse;
+import com.inventory_service.dto.QuantityAdjustment;
 import com.inventory_service.exception.BadRequestException;
 import com.inventory_service.exception.NotFoundException;
-import com.inventory_service.model.Inventory;
 import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.StockLevel;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.service.cache.AvailabilityCache;
+import com.inventory_service.service.cache.CacheInvalidationBus;
+import com.inventory_service.service.feed.StockChangeBus;
+import com.inventory_service.service.stock.StockAdjustmentResult;
+import com.inventory_service.service.stock.StockEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -40,16 +64,31 @@ class InventoryServiceImplTest {
     @Mock
     private ProductClient productClient;
 
-    @InjectMocks
+    @Mock
+    private StockEngine stockEngine;
+
+    @Mock
+    private StockChangeBus changeBus;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private AvailabilityCache availabilityCache;
+
     private InventoryServiceImpl inventoryService;
 
     private ProductResponse validProduct;
     private ProductResponse deletedProduct;
-    private Inventory validInventory;
     private BuyRequest validBuyRequest;
 
     @BeforeEach
     void setUp() {
+        availabilityCache = new AvailabilityCache(new SimpleMeterRegistry(), invalidationBus, true, Duration.ofMinutes(1), 100);
+        // La consulta a product-service se ejecuta en el hilo del llamador salvo en la prueba de concurrencia
+        inventoryService = new InventoryServiceImpl(inventoryRepository, productClient, stockEngine, changeBus, availabilityCache, Runnable::run);
+        lenient().when(stockEngine.availableQuantity(any(StockLevel.class)))
+                .thenAnswer(invocation -> invocation.<StockLevel>getArgument(0).cantidad());
+
         // Configurar producto válido
         validProduct = new ProductResponse();
         validProduct.setIdProducto(1L);
@@ -65,16 +104,6 @@ class InventoryServiceImplTest {
         deletedProduct.setPrecio(50.0);
         deletedProduct.setEliminado(true);
 
-        // Configurar inventario válido
-        validInventory = Inventory.builder()
-                .idInventario(1L)
-                .productoId(1L)
-                .cantidad(10)
-                .eliminado(false)
-                .fechaCreacion(LocalDateTime.now())
-                .fechaModificacion(LocalDateTime.now())
-                .build();
-
         // Configurar request de compra válido
         validBuyRequest = BuyRequest.builder()
                 .productId(1L)
@@ -88,8 +117,8 @@ class InventoryServiceImplTest {
         // Given
         Long productId = 1L;
         when(productClient.getProductById(productId)).thenReturn(validProduct);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(productId))
-                .thenReturn(Optional.of(validInventory));
+        when(inventoryRepository.findCantidadByProductoId(productId))
+                .thenReturn(Optional.of(10));
 
         // When
         Integer result = inventoryService.getAvailableQuantityByProductId(productId);
@@ -97,7 +126,48 @@ class InventoryServiceImplTest {
         // Then
         assertEquals(10, result);
         verify(productClient).getProductById(productId);
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(productId);
+        verify(inventoryRepository).findCantidadByProductoId(productId);
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantityByProductId - Debe servir las lecturas repetidas desde la caché hasta una compra")
+    void getAvailableQuantityByProductId_ShouldServeFromCacheUntilPurchaseInvalidates() {
+        // Given
+        when(productClient.getProductById(1L)).thenReturn(validProduct);
+        when(inventoryRepository.findCantidadByProductoId(1L))
+                .thenReturn(Optional.of(10))
+                .thenReturn(Optional.of(10))
+                .thenReturn(Optional.of(5));
+        when(stockEngine.decrement(1L, 5)).thenReturn(5);
+
+        // When: dos lecturas, una compra (con su lectura previa) y otra lectura
+        Integer first = inventoryService.getAvailableQuantityByProductId(1L);
+        Integer cached = inventoryService.getAvailableQuantityByProductId(1L);
+        inventoryService.buyProduct(validBuyRequest);
+        Integer afterPurchase = inventoryService.getAvailableQuantityByProductId(1L);
+
+        // Then
+        assertEquals(10, first);
+        assertEquals(10, cached);
+        assertEquals(5, afterPurchase);
+        verify(inventoryRepository, times(3)).findCantidadByProductoId(1L);
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantityByProductId - Debe retornar la cantidad agregada por el motor de existencias")
+    void getAvailableQuantityByProductId_ShouldUseEngineAggregatedQuantity() {
+        // Given: el motor reparte existencias fuera de la fila (subcontadores)
+        Long productId = 1L;
+        when(productClient.getProductById(productId)).thenReturn(validProduct);
+        when(inventoryRepository.findCantidadByProductoId(productId))
+                .thenReturn(Optional.of(10));
+        when(stockEngine.availableQuantity(new StockLevel(productId, 10))).thenReturn(42);
+
+        // When
+        Integer result = inventoryService.getAvailableQuantityByProductId(productId);
+
+        // Then
+        assertEquals(42, result);
     }
 
     @Test
@@ -113,7 +183,6 @@ class InventoryServiceImplTest {
         
         assertEquals("Producto no encontrado en product-service", exception.getMessage());
         verify(productClient).getProductById(productId);
-        verify(inventoryRepository, never()).findByProductoIdAndEliminadoFalse(anyLong());
     }
 
     @Test
@@ -129,7 +198,6 @@ class InventoryServiceImplTest {
         
         assertEquals("Producto no encontrado en product-service", exception.getMessage());
         verify(productClient).getProductById(productId);
-        verify(inventoryRepository, never()).findByProductoIdAndEliminadoFalse(anyLong());
     }
 
     @Test
@@ -138,7 +206,7 @@ class InventoryServiceImplTest {
         // Given
         Long productId = 1L;
         when(productClient.getProductById(productId)).thenReturn(validProduct);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(productId))
+        when(inventoryRepository.findCantidadByProductoId(productId))
                 .thenReturn(Optional.empty());
 
         // When & Then
@@ -147,56 +215,41 @@ class InventoryServiceImplTest {
         
         assertEquals("Inventario no encontrado para el producto", exception.getMessage());
         verify(productClient).getProductById(productId);
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(productId);
+        verify(inventoryRepository).findCantidadByProductoId(productId);
     }
 
     @Test
-    @DisplayName("updateAvailableQuantity - Debe actualizar cantidad cuando producto e inventario existen")
-    void updateAvailableQuantity_WhenProductAndInventoryExist_ShouldUpdateQuantity() {
+    @DisplayName("updateAvailableQuantity - Debe delegar la actualización en el motor de existencias")
+    void updateAvailableQuantity_WhenProductExists_ShouldDelegateToStockEngine() {
         // Given
         Long productId = 1L;
         Integer newQuantity = 15;
         when(productClient.getProductById(productId)).thenReturn(validProduct);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(productId))
-                .thenReturn(Optional.of(validInventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(validInventory);
+        when(stockEngine.setQuantity(productId, newQuantity)).thenReturn(newQuantity);
 
         // When
         Integer result = inventoryService.updateAvailableQuantity(productId, newQuantity);
 
         // Then
         assertEquals(newQuantity, result);
-        assertEquals(newQuantity, validInventory.getCantidad());
         verify(productClient).getProductById(productId);
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(productId);
-        verify(inventoryRepository).save(validInventory);
+        verify(stockEngine).setQuantity(productId, newQuantity);
+        verify(changeBus).publish(productId, 15);
     }
 
     @Test
-    @DisplayName("updateAvailableQuantity - Debe crear inventario cuando producto existe pero inventario no")
-    void updateAvailableQuantity_WhenProductExistsButInventoryNot_ShouldCreateInventory() {
+    @DisplayName("updateAvailableQuantity - Debe lanzar NotFoundException cuando producto está eliminado")
+    void updateAvailableQuantity_WhenProductIsDeleted_ShouldThrowNotFoundException() {
         // Given
-        Long productId = 1L;
-        Integer newQuantity = 20;
-        when(productClient.getProductById(productId)).thenReturn(validProduct);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(productId))
-                .thenReturn(Optional.empty());
-        
-        Inventory newInventory = Inventory.builder()
-                .productoId(productId)
-                .cantidad(newQuantity)
-                .eliminado(false)
-                .build();
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(newInventory);
+        Long productId = 2L;
+        when(productClient.getProductById(productId)).thenReturn(deletedProduct);
 
-        // When
-        Integer result = inventoryService.updateAvailableQuantity(productId, newQuantity);
+        // When & Then
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> inventoryService.updateAvailableQuantity(productId, 20));
 
-        // Then
-        assertEquals(newQuantity, result);
-        verify(productClient).getProductById(productId);
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(productId);
-        verify(inventoryRepository).save(any(Inventory.class));
+        assertEquals("Producto no encontrado en product-service", exception.getMessage());
+        verify(stockEngine, never()).setQuantity(anyLong(), anyInt());
     }
 
     @Test
@@ -213,8 +266,111 @@ class InventoryServiceImplTest {
         
         assertEquals("Producto no encontrado en product-service", exception.getMessage());
         verify(productClient).getProductById(productId);
-        verify(inventoryRepository, never()).findByProductoIdAndEliminadoFalse(anyLong());
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockEngine, never()).setQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("adjustAvailableQuantity - Debe aplicar la variación sin leer el inventario")
+    void adjustAvailableQuantity_WhenProductExists_ShouldDelegateToStockEngine() {
+        // Given
+        when(productClient.getProductById(1L)).thenReturn(validProduct);
+        when(stockEngine.adjust(1L, -3)).thenReturn(7);
+
+        // When
+        Integer result = inventoryService.adjustAvailableQuantity(1L, -3);
+
+        // Then
+        assertEquals(7, result);
+        verify(inventoryRepository, never()).findCantidadByProductoId(anyLong());
+        verify(changeBus).publish(1L, 7);
+    }
+
+    @Test
+    @DisplayName("adjustAvailableQuantity - Debe lanzar NotFoundException cuando producto está eliminado")
+    void adjustAvailableQuantity_WhenProductIsDeleted_ShouldThrowNotFoundException() {
+        // Given
+        when(productClient.getProductById(2L)).thenReturn(deletedProduct);
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> inventoryService.adjustAvailableQuantity(2L, 5));
+        verify(stockEngine, never()).adjust(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("adjustAvailableQuantity - Debe rechazar una variación cero sin consultar el producto")
+    void adjustAvailableQuantity_WhenDeltaIsZero_ShouldThrowBadRequestException() {
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> inventoryService.adjustAvailableQuantity(1L, 0));
+        assertEquals("La variación debe ser distinta de cero", exception.getMessage());
+        verifyNoInteractions(productClient, stockEngine, changeBus);
+    }
+
+    @Test
+    @DisplayName("adjustAvailableQuantities - Debe rechazar las variaciones cero sin aplicarlas")
+    void adjustAvailableQuantities_WhenDeltaIsZero_ShouldRejectItem() {
+        // Given
+        List<QuantityAdjustment> adjustments = List.of(new QuantityAdjustment(1L, 0), new QuantityAdjustment(1L, 5));
+        when(productClient.getProductsByIds(List.of(1L))).thenReturn(List.of(validProduct));
+        when(stockEngine.adjustAll(List.of(new StockAdjustment(1L, 5))))
+                .thenReturn(List.of(StockAdjustmentResult.applied(1L, 5, 15)));
+
+        // When
+        AdjustBatchResponse result = inventoryService.adjustAvailableQuantities(adjustments);
+
+        // Then
+        assertEquals(1, result.getApplied());
+        assertEquals(List.of(new AdjustRejection(0, 1L, 0, "La variación debe ser distinta de cero")),
+                result.getRejections());
+    }
+
+    @Test
+    @DisplayName("adjustAvailableQuantities - Debe aplicar las variaciones válidas y detallar las rechazadas")
+    void adjustAvailableQuantities_ShouldReportRejectionsByIndex() {
+        // Given
+        List<QuantityAdjustment> adjustments = List.of(
+                new QuantityAdjustment(1L, 5), new QuantityAdjustment(2L, 1), new QuantityAdjustment(1L, -50));
+        when(productClient.getProductsByIds(List.of(1L, 2L))).thenReturn(List.of(validProduct, deletedProduct));
+        when(stockEngine.adjustAll(List.of(new StockAdjustment(1L, 5), new StockAdjustment(1L, -50)))).thenReturn(List.of(
+                StockAdjustmentResult.applied(1L, 5, 15),
+                StockAdjustmentResult.rejected(1L, -50, new BadRequestException("Inventario insuficiente. Disponible: 15, Solicitado: 50"))));
+
+        // When
+        AdjustBatchResponse result = inventoryService.adjustAvailableQuantities(adjustments);
+
+        // Then
+        assertEquals(1, result.getApplied());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(
+                new AdjustRejection(1, 2L, 1, "Producto no encontrado en product-service"),
+                new AdjustRejection(2, 1L, -50, "Inventario insuficiente. Disponible: 15, Solicitado: 50")),
+                result.getRejections());
+        verify(changeBus).publish(1L, 15);
+        verifyNoMoreInteractions(changeBus);
+    }
+
+    @Test
+    @DisplayName("adjustAvailableQuantities - Debe rechazar solo el bloque que falla y continuar con el siguiente")
+    void adjustAvailableQuantities_WhenChunkFails_ShouldRejectOnlyThatChunk() {
+        // Given: dos bloques; el primero falla en la base de datos
+        List<QuantityAdjustment> adjustments = new ArrayList<>();
+        for (int i = 0; i < InventoryServiceImpl.ADJUST_CHUNK_SIZE + 1; i++) {
+            adjustments.add(new QuantityAdjustment(1L, 1));
+        }
+        when(productClient.getProductsByIds(List.of(1L))).thenReturn(List.of(validProduct));
+        when(stockEngine.adjustAll(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(StockAdjustmentResult.applied(1L, 1, 11)));
+
+        // When
+        AdjustBatchResponse result = inventoryService.adjustAvailableQuantities(adjustments);
+
+        // Then
+        assertEquals(1, result.getApplied());
+        assertEquals(InventoryServiceImpl.ADJUST_CHUNK_SIZE, result.getRejected());
+        assertEquals(InventoryServiceImpl.ADJUST_CHUNK_SIZE - 1, result.getRejections().getLast().getIndex());
+        assertEquals("timeout", result.getRejections().getFirst().getReason());
+        verify(changeBus, times(1)).publish(1L, 11);
     }
 
     @Test
@@ -270,9 +426,10 @@ class InventoryServiceImplTest {
     void buyProduct_WhenSufficientInventory_ShouldProcessPurchaseSuccessfully() {
         // Given
         when(productClient.getProductById(validBuyRequest.getProductId())).thenReturn(validProduct);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(validBuyRequest.getProductId()))
-                .thenReturn(Optional.of(validInventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(validInventory);
+        when(inventoryRepository.findCantidadByProductoId(validBuyRequest.getProductId()))
+                .thenReturn(Optional.of(10));
+        when(stockEngine.decrement(validBuyRequest.getProductId(), validBuyRequest.getQuantity()))
+                .thenReturn(5);
 
         // When
         BuyResponse result = inventoryService.buyProduct(validBuyRequest);
@@ -289,8 +446,8 @@ class InventoryServiceImplTest {
         assertTrue(result.getMessage().contains("Compra exitosa"));
         
         verify(productClient).getProductById(validBuyRequest.getProductId());
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(validBuyRequest.getProductId());
-        verify(inventoryRepository).save(validInventory);
+        verify(stockEngine).decrement(validBuyRequest.getProductId(), validBuyRequest.getQuantity());
+        verify(changeBus).publish(validBuyRequest.getProductId(), 5);
     }
 
     @Test
@@ -305,16 +462,15 @@ class InventoryServiceImplTest {
         
         assertEquals("Producto no encontrado en product-service", exception.getMessage());
         verify(productClient).getProductById(validBuyRequest.getProductId());
-        verify(inventoryRepository, never()).findByProductoIdAndEliminadoFalse(anyLong());
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockEngine, never()).decrement(anyLong(), anyInt());
     }
 
     @Test
-    @DisplayName("buyProduct - Debe lanzar NotFoundException cuando inventario no existe")
+    @DisplayName("buyProduct - Debe lanzar NotFoundException sin descontar cuando inventario no existe")
     void buyProduct_WhenInventoryNotFound_ShouldThrowNotFoundException() {
         // Given
         when(productClient.getProductById(validBuyRequest.getProductId())).thenReturn(validProduct);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(validBuyRequest.getProductId()))
+        when(inventoryRepository.findCantidadByProductoId(validBuyRequest.getProductId()))
                 .thenReturn(Optional.empty());
 
         // When & Then
@@ -323,12 +479,11 @@ class InventoryServiceImplTest {
         
         assertEquals("Inventario no encontrado para el producto", exception.getMessage());
         verify(productClient).getProductById(validBuyRequest.getProductId());
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(validBuyRequest.getProductId());
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockEngine, never()).decrement(anyLong(), anyInt());
     }
 
     @Test
-    @DisplayName("buyProduct - Debe lanzar BadRequestException cuando inventario es insuficiente")
+    @DisplayName("buyProduct - Debe propagar BadRequestException cuando inventario es insuficiente")
     void buyProduct_WhenInsufficientInventory_ShouldThrowBadRequestException() {
         // Given
         BuyRequest requestWithHighQuantity = BuyRequest.builder()
@@ -337,20 +492,74 @@ class InventoryServiceImplTest {
                 .build();
         
         when(productClient.getProductById(requestWithHighQuantity.getProductId())).thenReturn(validProduct);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(requestWithHighQuantity.getProductId()))
-                .thenReturn(Optional.of(validInventory));
+        when(inventoryRepository.findCantidadByProductoId(requestWithHighQuantity.getProductId()))
+                .thenReturn(Optional.of(10));
 
         // When & Then
         BadRequestException exception = assertThrows(BadRequestException.class, 
                 () -> inventoryService.buyProduct(requestWithHighQuantity));
         
-        assertTrue(exception.getMessage().contains("Inventario insuficiente"));
-        assertTrue(exception.getMessage().contains("Disponible: 10"));
-        assertTrue(exception.getMessage().contains("Solicitado: 20"));
-        
+        assertEquals("Inventario insuficiente. Disponible: 10, Solicitado: 20", exception.getMessage());
         verify(productClient).getProductById(requestWithHighQuantity.getProductId());
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(requestWithHighQuantity.getProductId());
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockEngine, never()).decrement(anyLong(), anyInt());
+        verifyNoInteractions(changeBus);
+    }
+
+    @Test
+    @DisplayName("buyProduct - Debe propagar el rechazo del motor cuando el stock se agota tras la lectura previa")
+    void buyProduct_WhenStockIsTakenAfterPreRead_ShouldPropagateEngineRejection() {
+        // Given
+        when(productClient.getProductById(validBuyRequest.getProductId())).thenReturn(validProduct);
+        when(inventoryRepository.findCantidadByProductoId(validBuyRequest.getProductId()))
+                .thenReturn(Optional.of(10));
+        when(stockEngine.decrement(validBuyRequest.getProductId(), validBuyRequest.getQuantity()))
+                .thenThrow(new BadRequestException("Inventario insuficiente. Disponible: 2, Solicitado: 5"));
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> inventoryService.buyProduct(validBuyRequest));
+
+        assertEquals("Inventario insuficiente. Disponible: 2, Solicitado: 5", exception.getMessage());
+        verify(stockEngine).decrement(validBuyRequest.getProductId(), validBuyRequest.getQuantity());
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantityByProductId - Debe leer el inventario mientras consulta product-service")
+    void getAvailableQuantityByProductId_ShouldOverlapRemoteLookupWithInventoryRead() throws Exception {
+        // Given: la respuesta remota solo llega cuando ya se leyó el inventario
+        CountDownLatch inventoryRead = new CountDownLatch(1);
+        when(inventoryRepository.findCantidadByProductoId(1L)).thenAnswer(invocation -> {
+            inventoryRead.countDown();
+            return Optional.of(10);
+        });
+        when(productClient.getProductById(1L)).thenAnswer(invocation -> {
+            assertTrue(inventoryRead.await(5, TimeUnit.SECONDS));
+            return validProduct;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            InventoryServiceImpl concurrentService =
+                    new InventoryServiceImpl(inventoryRepository, productClient, stockEngine, changeBus, availabilityCache, executor);
+
+            // When
+            Integer result = concurrentService.getAvailableQuantityByProductId(1L);
+
+            // Then
+            assertEquals(10, result);
+        }
+    }
+
+    @Test
+    @DisplayName("buyProduct - Debe propagar sin envolver los errores de la consulta remota")
+    void buyProduct_WhenRemoteLookupFails_ShouldPropagateOriginalException() {
+        // Given
+        IllegalStateException failure = new IllegalStateException("product-service no disponible");
+        when(productClient.getProductById(validBuyRequest.getProductId())).thenThrow(failure);
+
+        // When & Then
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> inventoryService.buyProduct(validBuyRequest)));
+        verifyNoInteractions(stockEngine);
     }
 
     @Test
@@ -364,9 +573,10 @@ class InventoryServiceImplTest {
         productWithNullPrice.setEliminado(false);
 
         when(productClient.getProductById(validBuyRequest.getProductId())).thenReturn(productWithNullPrice);
-        when(inventoryRepository.findByProductoIdAndEliminadoFalse(validBuyRequest.getProductId()))
-                .thenReturn(Optional.of(validInventory));
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(validInventory);
+        when(inventoryRepository.findCantidadByProductoId(validBuyRequest.getProductId()))
+                .thenReturn(Optional.of(10));
+        when(stockEngine.decrement(validBuyRequest.getProductId(), validBuyRequest.getQuantity()))
+                .thenReturn(5);
 
         // When
         BuyResponse result = inventoryService.buyProduct(validBuyRequest);
@@ -376,8 +586,7 @@ class InventoryServiceImplTest {
         assertEquals(0.0, result.getUnitPrice());
         assertEquals(0.0, result.getTotalAmount());
         verify(productClient).getProductById(validBuyRequest.getProductId());
-        verify(inventoryRepository).findByProductoIdAndEliminadoFalse(validBuyRequest.getProductId());
-        verify(inventoryRepository).save(validInventory);
+        verify(stockEngine).decrement(validBuyRequest.getProductId(), validBuyRequest.getQuantity());
     }
 
     @Test
@@ -392,7 +601,109 @@ class InventoryServiceImplTest {
         
         assertEquals("Producto no encontrado en product-service", exception.getMessage());
         verify(productClient).getProductById(validBuyRequest.getProductId());
-        verify(inventoryRepository, never()).findByProductoIdAndEliminadoFalse(anyLong());
-        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockEngine, never()).decrement(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantities - Debe validar en lote y consultar inventarios en una sola consulta")
+    void getAvailableQuantities_ShouldUseBatchLookupAndSingleQuery() {
+        // Given
+        ProductResponse secondProduct = new ProductResponse();
+        secondProduct.setIdProducto(3L);
+        secondProduct.setEliminado(false);
+        when(productClient.getProductsByIds(List.of(3L, 1L, 2L, 4L)))
+                .thenReturn(List.of(validProduct, deletedProduct, secondProduct));
+        when(inventoryRepository.findStockLevels(Set.of(1L, 3L)))
+                .thenReturn(List.of(new StockLevel(1L, 10), new StockLevel(3L, 7)));
+
+        // When
+        Map<Long, Integer> result = inventoryService.getAvailableQuantities(List.of(3L, 1L, 2L, 4L, 1L));
+
+        // Then
+        assertEquals(List.of(3L, 1L), List.copyOf(result.keySet()));
+        assertEquals(7, result.get(3L));
+        assertEquals(10, result.get(1L));
+        verify(productClient, never()).getProductById(anyLong());
+        verify(inventoryRepository, never()).findCantidadByProductoId(anyLong());
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantities - No debe consultar la base de datos si ningún producto está activo")
+    void getAvailableQuantities_WhenNoActiveProducts_ShouldSkipDatabase() {
+        // Given
+        when(productClient.getProductsByIds(List.of(2L))).thenReturn(List.of(deletedProduct));
+
+        // When
+        Map<Long, Integer> result = inventoryService.getAvailableQuantities(List.of(2L));
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(inventoryRepository, never()).findStockLevels(anyCollection());
+    }
+
+    @Test
+    @DisplayName("buyCart - Debe agrupar líneas, validar en lote y descontar todo el carrito ordenado por ID")
+    void buyCart_WhenAllProductsAvailable_ShouldReturnCombinedReceipt() {
+        // Given
+        ProductResponse thirdProduct = new ProductResponse();
+        thirdProduct.setIdProducto(3L);
+        thirdProduct.setNombre("Producto Tres");
+        thirdProduct.setPrecio(10.0);
+        thirdProduct.setEliminado(false);
+        CartRequest request = CartRequest.builder()
+                .items(List.of(
+                        BuyRequest.builder().productId(3L).quantity(2).build(),
+                        BuyRequest.builder().productId(1L).quantity(1).build(),
+                        BuyRequest.builder().productId(3L).quantity(1).build()))
+                .build();
+        when(productClient.getProductsByIds(Set.of(1L, 3L))).thenReturn(List.of(thirdProduct, validProduct));
+        when(stockEngine.decrementAll(new TreeMap<>(Map.of(1L, 1, 3L, 3)))).thenReturn(Map.of(1L, 9, 3L, 7));
+
+        // When
+        CartResponse result = inventoryService.buyCart(request);
+
+        // Then
+        assertEquals(List.of(1L, 3L), result.getItems().stream().map(BuyResponse::getProductId).toList());
+        assertEquals(3, result.getItems().get(1).getQuantityPurchased());
+        assertEquals(7, result.getItems().get(1).getRemainingQuantity());
+        assertEquals(4, result.getTotalQuantity());
+        assertEquals(130.0, result.getTotalAmount());
+        verify(productClient, never()).getProductById(anyLong());
+        verify(changeBus).publish(1L, 9);
+        verify(changeBus).publish(3L, 7);
+    }
+
+    @Test
+    @DisplayName("buyCart - No debe descontar inventario si algún producto no existe o está eliminado")
+    void buyCart_WhenAnyProductIsDeleted_ShouldThrowWithoutDecrementing() {
+        // Given
+        CartRequest request = CartRequest.builder()
+                .items(List.of(
+                        BuyRequest.builder().productId(1L).quantity(1).build(),
+                        BuyRequest.builder().productId(2L).quantity(1).build()))
+                .build();
+        when(productClient.getProductsByIds(Set.of(1L, 2L))).thenReturn(List.of(validProduct, deletedProduct));
+
+        // When & Then
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> inventoryService.buyCart(request));
+        assertEquals("Producto no encontrado en product-service: 2", exception.getMessage());
+        verifyNoInteractions(stockEngine);
+    }
+
+    @Test
+    @DisplayName("buyCart - Debe rechazar líneas repetidas cuya suma desborda la cantidad")
+    void buyCart_WhenDuplicateLinesOverflow_ShouldThrowBadRequestWithoutDecrementing() {
+        // Given
+        CartRequest request = CartRequest.builder()
+                .items(List.of(
+                        BuyRequest.builder().productId(1L).quantity(Integer.MAX_VALUE - 1).build(),
+                        BuyRequest.builder().productId(1L).quantity(2).build()))
+                .build();
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> inventoryService.buyCart(request));
+        assertEquals("La cantidad total de un producto del carrito excede el máximo permitido", exception.getMessage());
+        verifyNoInteractions(stockEngine, productClient);
     }
 }
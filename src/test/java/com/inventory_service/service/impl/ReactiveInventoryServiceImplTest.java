@@ -0,0 +1,155 @@
+package com.inventory_service.service.impl;
+
+import com.inventory_service.client.ReactiveProductClient;
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.BuyRequest;
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.repository.ReactiveInventoryRepository;
+import com.inventory_service.repository.StockLevel;
+import com.inventory_service.service.stock.StockEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para ReactiveInventoryServiceImpl.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveInventoryService Tests")
+class ReactiveInventoryServiceImplTest {
+
+    @Mock
+    private ReactiveInventoryRepository inventoryRepository;
+
+    @Mock
+    private ReactiveProductClient productClient;
+
+    @Mock
+    private StockEngine stockEngine;
+
+    @InjectMocks
+    private ReactiveInventoryServiceImpl inventoryService;
+
+    private ProductResponse validProduct;
+    private ProductResponse deletedProduct;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stockEngine.availableQuantity(any(StockLevel.class)))
+                .thenAnswer(invocation -> invocation.<StockLevel>getArgument(0).cantidad());
+        validProduct = new ProductResponse();
+        validProduct.setIdProducto(1L);
+        validProduct.setNombre("Producto Test");
+        validProduct.setPrecio(100.0);
+        validProduct.setEliminado(false);
+
+        deletedProduct = new ProductResponse();
+        deletedProduct.setIdProducto(2L);
+        deletedProduct.setNombre("Producto Eliminado");
+        deletedProduct.setEliminado(true);
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantityByProductId - Debe retornar la cantidad cuando producto e inventario existen")
+    void getAvailableQuantityByProductId_WhenProductAndInventoryExist_ShouldReturnQuantity() {
+        when(productClient.getProductById(1L)).thenReturn(Mono.just(validProduct));
+        when(inventoryRepository.findAvailableQuantity(1L)).thenReturn(Mono.just(10));
+
+        StepVerifier.create(inventoryService.getAvailableQuantityByProductId(1L))
+                .expectNext(10)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantityByProductId - El producto eliminado prevalece sobre el inventario inexistente")
+    void getAvailableQuantityByProductId_WhenProductDeletedAndNoInventory_ShouldReportProduct() {
+        when(productClient.getProductById(2L)).thenReturn(Mono.just(deletedProduct));
+        when(inventoryRepository.findAvailableQuantity(2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(inventoryService.getAvailableQuantityByProductId(2L))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(NotFoundException.class, error);
+                    assertEquals("Producto no encontrado en product-service", error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName("getAvailableQuantities - Debe omitir productos eliminados y respetar el orden recibido")
+    void getAvailableQuantities_ShouldSkipDeletedProductsAndKeepRequestOrder() {
+        ProductResponse third = new ProductResponse();
+        third.setIdProducto(3L);
+        third.setEliminado(false);
+        when(productClient.getProductsByIds(List.of(3L, 2L, 1L)))
+                .thenReturn(Mono.just(List.of(validProduct, deletedProduct, third)));
+        when(inventoryRepository.findAvailableQuantities(Set.of(1L, 3L))).thenReturn(Mono.just(Map.of(1L, 10, 3L, 4)));
+
+        StepVerifier.create(inventoryService.getAvailableQuantities(List.of(3L, 2L, 1L, 3L)))
+                .assertNext(result -> assertEquals(List.of(3L, 1L), List.copyOf(result.keySet())))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("buyProduct - Debe rechazar sin descontar cuando la lectura previa muestra stock insuficiente")
+    void buyProduct_WhenPreReadShowsInsufficientStock_ShouldRejectWithoutDecrementing() {
+        when(productClient.getProductById(1L)).thenReturn(Mono.just(validProduct));
+        when(inventoryRepository.findAvailableQuantity(1L)).thenReturn(Mono.just(3));
+
+        StepVerifier.create(inventoryService.buyProduct(BuyRequest.builder().productId(1L).quantity(5).build()))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(BadRequestException.class, error);
+                    assertEquals("Inventario insuficiente. Disponible: 3, Solicitado: 5", error.getMessage());
+                })
+                .verify();
+        verify(stockEngine, never()).decrement(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("buyProduct - Debe informar la cantidad actual cuando el motor rechaza el descuento")
+    void buyProduct_WhenStockIsTakenAfterPreRead_ShouldReportCurrentQuantity() {
+        when(productClient.getProductById(1L)).thenReturn(Mono.just(validProduct));
+        when(inventoryRepository.findAvailableQuantity(1L)).thenReturn(Mono.just(10));
+        when(stockEngine.decrement(1L, 5))
+                .thenThrow(new BadRequestException("Inventario insuficiente. Disponible: 2, Solicitado: 5"));
+
+        StepVerifier.create(inventoryService.buyProduct(BuyRequest.builder().productId(1L).quantity(5).build()))
+                .expectErrorMessage("Inventario insuficiente. Disponible: 2, Solicitado: 5")
+                .verify();
+    }
+
+    @Test
+    @DisplayName("buyProduct - Debe retornar el detalle de la compra tras el descuento")
+    void buyProduct_WhenStockIsAvailable_ShouldReturnReceipt() {
+        when(productClient.getProductById(1L)).thenReturn(Mono.just(validProduct));
+        when(inventoryRepository.findAvailableQuantity(1L)).thenReturn(Mono.just(10));
+        when(stockEngine.decrement(1L, 5)).thenReturn(5);
+
+        StepVerifier.create(inventoryService.buyProduct(BuyRequest.builder().productId(1L).quantity(5).build()))
+                .assertNext(response -> {
+                    assertEquals(5, response.getRemainingQuantity());
+                    assertEquals(500.0, response.getTotalAmount());
+                    assertEquals("Compra exitosa de 5 unidades de Producto Test", response.getMessage());
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,279 @@
+package com.inventory_service.service.impl;
+
+import com.inventory_service.client.ProductClient;
+import com.inventory_service.client.dto.ProductResponse;
+import com.inventory_service.dto.ReservationRequest;
+import com.inventory_service.dto.ReservationResponse;
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Reservation;
+import com.inventory_service.model.ReservationStatus;
+import com.inventory_service.repository.HeldReservation;
+import com.inventory_service.repository.ReservationRepository;
+import com.inventory_service.service.cache.AvailabilityCache;
+import com.inventory_service.service.feed.StockChangeBus;
+import com.inventory_service.service.reservation.TimingWheel;
+import com.inventory_service.service.stock.StockEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para ReservationServiceImpl.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationService Tests")
+class ReservationServiceImplTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private StockEngine stockEngine;
+
+    @Mock
+    private ProductClient productClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AvailabilityCache availabilityCache;
+
+    @Mock
+    private StockChangeBus changeBus;
+
+    private long nanos;
+    private SimpleMeterRegistry meterRegistry;
+    private TimingWheel<Long> expiryWheel;
+    private ReservationServiceImpl reservationService;
+    private ProductResponse validProduct;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        expiryWheel = new TimingWheel<>(Duration.ofMillis(100), 64, () -> nanos);
+        reservationService = new ReservationServiceImpl(reservationRepository, stockEngine, productClient,
+                transactionTemplate, availabilityCache, changeBus, meterRegistry, Duration.ofMinutes(15),
+                Duration.ofHours(1), Duration.ofMillis(100), Duration.ofMinutes(1), expiryWheel);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+
+        validProduct = new ProductResponse();
+        validProduct.setIdProducto(1L);
+        validProduct.setNombre("Producto Test");
+        validProduct.setEliminado(false);
+    }
+
+    private Reservation reservation(ReservationStatus estado) {
+        return Reservation.builder()
+                .idReserva(7L)
+                .productoId(1L)
+                .cantidad(3)
+                .estado(estado)
+                .expiraEn(LocalDateTime.now().plusMinutes(5))
+                .build();
+    }
+
+    @Test
+    @DisplayName("hold - Debe descontar el disponible, guardar la reserva y programar su vencimiento")
+    void hold_WhenStockIsSufficient_ShouldReserveAndScheduleExpiry() {
+        // Given
+        when(productClient.getProductById(1L)).thenReturn(validProduct);
+        when(stockEngine.hold(1L, 3)).thenReturn(7);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation saved = invocation.getArgument(0);
+            saved.setIdReserva(7L);
+            return saved;
+        });
+
+        // When
+        ReservationResponse result = reservationService.hold(
+                ReservationRequest.builder().productId(1L).quantity(3).ttlSeconds(60L).build());
+
+        // Then
+        assertEquals(7L, result.getReservationId());
+        assertEquals(ReservationStatus.HELD, result.getStatus());
+        assertEquals(7, result.getRemainingQuantity());
+        assertEquals(1, expiryWheel.size());
+        verify(availabilityCache).invalidate(1L);
+        verify(changeBus).publish(1L, 7);
+    }
+
+    @Test
+    @DisplayName("hold - Debe rechazar una duración mayor a la máxima sin consultar servicios")
+    void hold_WhenTtlExceedsMaximum_ShouldThrowBadRequestException() {
+        // When & Then
+        assertThrows(BadRequestException.class, () -> reservationService.hold(
+                ReservationRequest.builder().productId(1L).quantity(3).ttlSeconds(7_200L).build()));
+        verifyNoInteractions(productClient, stockEngine, reservationRepository);
+    }
+
+    @Test
+    @DisplayName("hold - Debe lanzar BadRequestException cuando inventario es insuficiente")
+    void hold_WhenStockIsInsufficient_ShouldThrowBadRequestException() {
+        // Given
+        when(productClient.getProductById(1L)).thenReturn(validProduct);
+        when(stockEngine.hold(1L, 30))
+                .thenThrow(new BadRequestException("Inventario insuficiente. Disponible: 10, Solicitado: 30"));
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> reservationService.hold(
+                ReservationRequest.builder().productId(1L).quantity(30).build()));
+        assertEquals("Inventario insuficiente. Disponible: 10, Solicitado: 30", exception.getMessage());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        assertEquals(0, expiryWheel.size());
+    }
+
+    @Test
+    @DisplayName("confirm - Debe lanzar ConflictException cuando la reserva ya fue liberada")
+    void confirm_WhenReservationReleased_ShouldThrowConflictException() {
+        // Given
+        when(reservationRepository.confirmIfNotExpired(eq(7L), any(LocalDateTime.class))).thenReturn(0);
+        when(reservationRepository.findById(7L)).thenReturn(Optional.of(reservation(ReservationStatus.RELEASED)));
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class, () -> reservationService.confirm(7L));
+        assertEquals("La reserva 7 no puede confirmarse en estado RELEASED", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("confirm - Debe lanzar NotFoundException cuando la reserva no existe")
+    void confirm_WhenReservationNotFound_ShouldThrowNotFoundException() {
+        // Given
+        when(reservationRepository.confirmIfNotExpired(eq(7L), any(LocalDateTime.class))).thenReturn(0);
+        when(reservationRepository.findById(7L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> reservationService.confirm(7L));
+    }
+
+    @Test
+    @DisplayName("release - Debe devolver la cantidad y cancelar el vencimiento programado")
+    void release_WhenReservationHeld_ShouldReturnStockAndCancelTimer() {
+        // Given
+        expiryWheel.schedule(7L, Duration.ofMinutes(5));
+        when(reservationRepository.transition(7L, ReservationStatus.HELD, ReservationStatus.RELEASED)).thenReturn(1);
+        when(reservationRepository.findById(7L)).thenReturn(Optional.of(reservation(ReservationStatus.RELEASED)));
+        when(stockEngine.release(1L, 3)).thenReturn(Optional.of(10));
+
+        // When
+        ReservationResponse result = reservationService.release(7L);
+
+        // Then
+        assertEquals(ReservationStatus.RELEASED, result.getStatus());
+        verify(stockEngine).release(1L, 3);
+        verify(availabilityCache).invalidate(1L);
+        verify(changeBus).publish(1L, 10);
+        assertEquals(0, expiryWheel.size());
+    }
+
+    @Test
+    @DisplayName("expireDue - Debe vencer las reservas programadas y devolver la cantidad una sola vez")
+    void expireDue_WhenDeadlinePassed_ShouldExpireAndReturnStock() {
+        // Given
+        expiryWheel.schedule(7L, Duration.ofMillis(200));
+        expiryWheel.schedule(8L, Duration.ofMillis(200));
+        when(reservationRepository.expireIfDue(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+        when(reservationRepository.expireIfDue(eq(8L), any(LocalDateTime.class))).thenReturn(0);
+        when(reservationRepository.findById(7L)).thenReturn(Optional.of(reservation(ReservationStatus.EXPIRED)));
+        when(stockEngine.release(1L, 3)).thenReturn(Optional.of(10));
+
+        // When
+        reservationService.expireDue();
+        verifyNoInteractions(reservationRepository);
+        nanos += Duration.ofMillis(200).toNanos();
+        reservationService.expireDue();
+
+        // Then
+        verify(stockEngine, times(1)).release(anyLong(), anyInt());
+        verify(stockEngine).release(1L, 3);
+        verify(changeBus).publish(1L, 10);
+        assertEquals(1.0, meterRegistry.get(ReservationServiceImpl.EXPIRED_METRIC).counter().count());
+        assertEquals(0, expiryWheel.size());
+    }
+
+    @Test
+    @DisplayName("expireDue - Debe reprogramar la reserva si el vencimiento falla")
+    void expireDue_WhenExpirationFails_ShouldReschedule() {
+        // Given
+        expiryWheel.schedule(7L, Duration.ofMillis(100));
+        when(reservationRepository.expireIfDue(eq(7L), any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("sin conexión"));
+        nanos += Duration.ofMillis(100).toNanos();
+
+        // When
+        reservationService.expireDue();
+
+        // Then
+        assertEquals(1, expiryWheel.size());
+    }
+
+    @Test
+    @DisplayName("sweepExpired - Debe vencer las reservas que la rueda no tiene programadas")
+    void sweepExpired_WhenHoldIsNotScheduled_ShouldExpireFromTable() {
+        // Given: la reserva 7 quedó de otra instancia y la 8 la venció otra instancia primero
+        when(reservationRepository.findExpiredHeldIds(any(LocalDateTime.class), eq(Limit.of(ReservationServiceImpl.SWEEP_BATCH_SIZE))))
+                .thenReturn(List.of(7L, 8L));
+        when(reservationRepository.expireIfDue(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+        when(reservationRepository.expireIfDue(eq(8L), any(LocalDateTime.class))).thenReturn(0);
+        when(reservationRepository.findById(7L)).thenReturn(Optional.of(reservation(ReservationStatus.EXPIRED)));
+        when(stockEngine.release(1L, 3)).thenReturn(Optional.of(10));
+
+        // When
+        reservationService.sweepExpired();
+
+        // Then
+        verify(stockEngine, times(1)).release(anyLong(), anyInt());
+        verify(changeBus).publish(1L, 10);
+        assertEquals(1.0, meterRegistry.get(ReservationServiceImpl.SWEPT_METRIC).counter().count());
+        assertEquals(1.0, meterRegistry.get(ReservationServiceImpl.EXPIRED_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("schedulePending - Debe reprogramar las reservas pendientes leyendo por páginas")
+    void schedulePending_ShouldPageThroughHeldExpiries() {
+        // Given: una página completa y una segunda con una sola reserva
+        LocalDateTime expiry = LocalDateTime.now().plusMinutes(5);
+        List<HeldReservation> firstPage = LongStream.rangeClosed(1, ReservationServiceImpl.RESTORE_PAGE_SIZE)
+                .mapToObj(id -> new HeldReservation(id, expiry))
+                .toList();
+        when(reservationRepository.findHeldExpiries(Limit.of(ReservationServiceImpl.RESTORE_PAGE_SIZE)))
+                .thenReturn(firstPage);
+        when(reservationRepository.findHeldExpiriesAfter(expiry, (long) ReservationServiceImpl.RESTORE_PAGE_SIZE,
+                Limit.of(ReservationServiceImpl.RESTORE_PAGE_SIZE)))
+                .thenReturn(List.of(new HeldReservation(5000L, expiry.plusMinutes(1))));
+
+        // When
+        int scheduled = reservationService.schedulePending();
+
+        // Then
+        assertEquals(ReservationServiceImpl.RESTORE_PAGE_SIZE + 1, scheduled);
+        assertEquals(ReservationServiceImpl.RESTORE_PAGE_SIZE + 1, expiryWheel.size());
+        verify(reservationRepository, never()).findByEstado(any());
+    }
+}
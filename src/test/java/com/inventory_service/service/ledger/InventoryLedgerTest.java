@@ -0,0 +1,135 @@
+package com.inventory_service.service.ledger;
+
+import com.inventory_service.model.InventoryMovement;
+import com.inventory_service.model.InventorySnapshot;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryMovementRepository;
+import com.inventory_service.repository.InventorySnapshotRepository;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para InventoryLedger.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("InventoryLedger Integration Tests")
+class InventoryLedgerTest {
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    @Autowired
+    private InventorySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = ledger(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    private InventoryLedger ledger(boolean enabled) {
+        return new InventoryLedger(movementRepository, snapshotRepository, new TransactionTemplate(transactionManager),
+                enabled, Duration.ofMinutes(15), Duration.ZERO);
+    }
+
+    private void change(Long productId, int delta, int resultingQuantity, MovementReason reason) {
+        ledger.onStockChange(StockChange.current(productId, delta, resultingQuantity, reason));
+    }
+
+    @Test
+    @DisplayName("onStockChange - Debe insertar el movimiento en la transacción con el identificador de correlación")
+    void onStockChange_ShouldWriteMovementWithCorrelationId() {
+        // Given
+        MDC.put(InventoryLedger.CORRELATION_ID_MDC, "req-123");
+
+        // When
+        change(1L, -3, 7, MovementReason.PURCHASE);
+        change(1L, -2, 5, MovementReason.RESERVATION);
+        change(2L, 4, 9, MovementReason.ADJUSTMENT);
+
+        // Then
+        List<InventoryMovement> movements = movementRepository.findRange(0L, Long.MAX_VALUE);
+        assertEquals(List.of(-3, -2, 4), movements.stream().map(InventoryMovement::getDelta).toList());
+        assertEquals(List.of(MovementReason.PURCHASE, MovementReason.RESERVATION, MovementReason.ADJUSTMENT),
+                movements.stream().map(InventoryMovement::getMotivo).toList());
+        assertTrue(movements.stream().allMatch(movement -> "req-123".equals(movement.getCorrelationId())));
+    }
+
+    @Test
+    @DisplayName("rebuild - Debe reconstruir la cantidad desde el primer movimiento registrado")
+    void rebuild_WithoutSnapshot_ShouldStartFromQuantityBeforeFirstMovement() {
+        // Given: 10 iniciales, compra de 3, reserva de 2, ajuste a 20, compra de 1 y liberación de la reserva
+        change(1L, -3, 7, MovementReason.PURCHASE);
+        change(1L, -2, 5, MovementReason.RESERVATION);
+        change(1L, 15, 20, MovementReason.ADJUSTMENT);
+        change(1L, -1, 19, MovementReason.PURCHASE);
+        change(1L, 2, 21, MovementReason.RESERVATION);
+
+        // When / Then
+        assertEquals(Optional.of(21), ledger.rebuild(1L));
+        assertEquals(Optional.empty(), ledger.rebuild(99L));
+    }
+
+    @Test
+    @DisplayName("snapshot - Debe fotografiar los productos con movimientos y reconstruir desde la fotografía")
+    void snapshot_ShouldCoverMovementsAndServeAsRebuildBase() {
+        // Given
+        change(1L, -3, 7, MovementReason.PURCHASE);
+        change(2L, -1, 4, MovementReason.PURCHASE);
+
+        // When
+        int created = ledger.snapshot();
+        change(1L, -2, 5, MovementReason.PURCHASE);
+
+        // Then
+        assertEquals(2, created);
+        InventorySnapshot snapshot = snapshotRepository.findFirstByProductoIdOrderByUltimoMovimientoIdDesc(1L).orElseThrow();
+        assertEquals(7, snapshot.getCantidad());
+        assertEquals(Optional.of(5), ledger.rebuild(1L));
+        assertEquals(Optional.of(4), ledger.rebuild(2L));
+        // La siguiente corrida solo cubre el movimiento nuevo
+        assertEquals(1, ledger.snapshot());
+        assertEquals(5, snapshotRepository.findFirstByProductoIdOrderByUltimoMovimientoIdDesc(1L).orElseThrow().getCantidad());
+    }
+
+    @Test
+    @DisplayName("onStockChange - No debe registrar movimientos cuando el libro está deshabilitado")
+    void onStockChange_WhenDisabled_ShouldIgnoreMovements() {
+        // Given
+        ledger = ledger(false);
+
+        // When
+        change(1L, -1, 9, MovementReason.PURCHASE);
+
+        // Then
+        assertEquals(0, movementRepository.count());
+    }
+}
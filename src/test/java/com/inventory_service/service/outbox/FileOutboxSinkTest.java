@@ -0,0 +1,61 @@
+package com.inventory_service.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inventory_service.dto.InventoryChangeEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para FileOutboxSink.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DisplayName("FileOutboxSink Tests")
+class FileOutboxSinkTest {
+
+    @TempDir
+    private Path directory;
+
+    private InventoryChangeEvent event(long id) {
+        return InventoryChangeEvent.builder()
+                .eventId(id)
+                .productId(1L)
+                .type("PURCHASE")
+                .delta(-1)
+                .quantity(9)
+                .occurredAt(LocalDateTime.of(2025, 10, 1, 12, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("publish - Debe agregar una línea JSON por evento, creando el directorio")
+    void publish_ShouldAppendJsonLines() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Path file = directory.resolve("events/inventory.jsonl");
+        FileOutboxSink sink = new FileOutboxSink(objectMapper, file);
+
+        // When
+        sink.publish(List.of(event(1), event(2)));
+        sink.publish(List.of(event(3)));
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        InventoryChangeEvent first = objectMapper.readValue(lines.get(0), InventoryChangeEvent.class);
+        assertEquals(event(1), first);
+        assertTrue(lines.get(2).contains("\"occurredAt\":\"2025-10-01T12:00:00\""));
+    }
+}
@@ -0,0 +1,110 @@
+package com.inventory_service.service.outbox;
+
+import com.inventory_service.dto.InventoryChangeEvent;
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.service.ledger.InventoryLedger;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import com.inventory_service.service.stock.StockEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de integración del outbox transaccional con el motor de existencias contra H2.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(properties = {
+        "inventory.outbox.sink=memory",
+        "inventory.outbox.relay-lag=0s",
+        "inventory.outbox.poll-interval=1h"})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("InventoryOutbox Integration Tests")
+class InventoryOutboxIntegrationTest {
+
+    @Autowired
+    private StockEngine stockEngine;
+
+    @Autowired
+    private InventoryOutbox outbox;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private InventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        relay.relay();
+        sink.clear();
+    }
+
+    @Test
+    @DisplayName("decrement/setQuantity - Debe publicar y registrar en el libro los cambios confirmados")
+    void stockChanges_ShouldBeRelayedAfterCommit() {
+        // Given
+        stockEngine.setQuantity(501L, 10);
+
+        // When
+        stockEngine.decrement(501L, 4);
+        relay.relay();
+
+        // Then
+        List<InventoryChangeEvent> events = sink.events();
+        assertEquals(2, events.size());
+        assertEquals("ADJUSTMENT", events.get(0).getType());
+        assertEquals(10, events.get(0).getDelta());
+        assertEquals("PURCHASE", events.get(1).getType());
+        assertEquals(-4, events.get(1).getDelta());
+        assertEquals(6, events.get(1).getQuantity());
+        assertTrue(events.get(0).getEventId() < events.get(1).getEventId());
+        assertEquals(Optional.of(6), ledger.rebuild(501L));
+    }
+
+    @Test
+    @DisplayName("decrementAll - No debe publicar eventos ni movimientos de un carrito revertido")
+    void decrementAll_WhenRolledBack_ShouldNotPublishEvents() {
+        // Given
+        stockEngine.setQuantity(502L, 5);
+        stockEngine.setQuantity(503L, 1);
+        relay.relay();
+        sink.clear();
+        TreeMap<Long, Integer> cart = new TreeMap<>();
+        cart.put(502L, 2);
+        cart.put(503L, 3);
+
+        // When
+        assertThrows(BadRequestException.class, () -> stockEngine.decrementAll(cart));
+        relay.relay();
+
+        // Then
+        assertTrue(sink.events().isEmpty());
+        assertEquals(Optional.of(5), ledger.rebuild(502L));
+        assertEquals(Optional.of(1), ledger.rebuild(503L));
+    }
+
+    @Test
+    @DisplayName("onStockChange - Debe exigir una transacción en curso")
+    void onStockChange_WithoutTransaction_ShouldFail() {
+        assertThrows(IllegalTransactionStateException.class, () ->
+                outbox.onStockChange(new StockChange(1L, -1, 9, MovementReason.PURCHASE, null)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.inventory_service.service.outbox;
+
+import com.inventory_service.dto.InventoryChangeEvent;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.model.OutboxEvent;
+import com.inventory_service.repository.OutboxEventRepository;
+import com.inventory_service.repository.OutboxOffsetRepository;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración para OutboxRelay.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("OutboxRelay Integration Tests")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository eventRepository;
+
+    @Autowired
+    private OutboxOffsetRepository offsetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryOutboxSink sink;
+    private InventoryOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sink = new InMemoryOutboxSink();
+        outbox = new InventoryOutbox(eventRepository, true);
+    }
+
+    private OutboxRelay relay(OutboxSink target, int batchSize, Duration relayLag) {
+        return new OutboxRelay(eventRepository, offsetRepository, target, new TransactionTemplate(transactionManager),
+                meterRegistry, true, "test-relay", batchSize, Duration.ofMillis(500), relayLag, Duration.ofDays(1));
+    }
+
+    @Test
+    @DisplayName("relay - Debe entregar los eventos en lotes, en orden, y avanzar el offset")
+    void relay_ShouldDeliverInBatchesAndTrackOffset() {
+        // Given
+        outbox.onStockChange(new StockChange(1L, -3, 7, MovementReason.PURCHASE, "req-1"));
+        outbox.onStockChange(new StockChange(2L, 5, 15, MovementReason.ADJUSTMENT, "req-2"));
+        outbox.onStockChange(new StockChange(1L, -1, 6, MovementReason.PURCHASE, null));
+        OutboxRelay relay = relay(sink, 2, Duration.ZERO);
+
+        // When
+        int delivered = relay.relay();
+
+        // Then
+        assertEquals(3, delivered);
+        List<InventoryChangeEvent> events = sink.events();
+        assertEquals(List.of(-3, 5, -1), events.stream().map(InventoryChangeEvent::getDelta).toList());
+        assertEquals("ADJUSTMENT", events.get(1).getType());
+        assertEquals("req-1", events.get(0).getCorrelationId());
+        assertEquals(events.get(2).getEventId(), offsetRepository.findById("test-relay").orElseThrow().getUltimoEventoId());
+        assertEquals(3.0, meterRegistry.get(OutboxRelay.RELAYED_METRIC).counter().count());
+        // La siguiente corrida solo entrega lo nuevo
+        outbox.onStockChange(new StockChange(3L, -2, 8, MovementReason.PURCHASE, null));
+        assertEquals(1, relay.relay());
+        assertEquals(4, sink.events().size());
+    }
+
+    @Test
+    @DisplayName("relay - No debe avanzar el offset cuando el destino falla")
+    void relay_WhenSinkFails_ShouldKeepOffset() {
+        // Given
+        outbox.onStockChange(new StockChange(1L, -3, 7, MovementReason.PURCHASE, null));
+        OutboxRelay failing = relay(events -> {
+            throw new IllegalStateException("destino caído");
+        }, 10, Duration.ZERO);
+
+        // When
+        assertThrows(IllegalStateException.class, failing::relay);
+
+        // Then: el siguiente relay entrega el mismo evento
+        assertEquals(1, relay(sink, 10, Duration.ZERO).relay());
+        assertEquals(-3, sink.events().get(0).getDelta());
+    }
+
+    @Test
+    @DisplayName("relay - No debe entregar eventos más recientes que el margen configurado")
+    void relay_ShouldSkipEventsWithinRelayLag() {
+        // Given
+        outbox.onStockChange(new StockChange(1L, -3, 7, MovementReason.PURCHASE, null));
+
+        // When
+        int delivered = relay(sink, 10, Duration.ofMinutes(1)).relay();
+
+        // Then
+        assertEquals(0, delivered);
+        assertTrue(sink.events().isEmpty());
+        assertTrue(offsetRepository.findById("test-relay").isEmpty());
+    }
+
+    @Test
+    @DisplayName("purge - Debe eliminar solo los eventos entregados y vencidos")
+    void purge_ShouldDeleteOnlyDeliveredExpiredEvents() {
+        // Given: un evento viejo entregado y uno nuevo sin entregar
+        eventRepository.save(OutboxEvent.builder().productoId(1L).tipo(MovementReason.PURCHASE)
+                .delta(-1).cantidad(9).fechaEvento(LocalDateTime.now().minusDays(2)).build());
+        OutboxRelay relay = relay(sink, 10, Duration.ZERO);
+        relay.relay();
+        outbox.onStockChange(new StockChange(1L, -1, 8, MovementReason.PURCHASE, null));
+
+        // When
+        int deleted = relay.purge();
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(1, eventRepository.count());
+    }
+
+    @Test
+    @DisplayName("onStockChange - No debe escribir eventos cuando el outbox está deshabilitado")
+    void onStockChange_WhenDisabled_ShouldIgnoreChanges() {
+        // Given
+        InventoryOutbox disabled = new InventoryOutbox(eventRepository, false);
+
+        // When
+        disabled.onStockChange(new StockChange(1L, -1, 9, MovementReason.PURCHASE, null));
+
+        // Then
+        assertEquals(0, eventRepository.count());
+    }
+}
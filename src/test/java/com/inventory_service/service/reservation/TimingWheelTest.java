@@ -0,0 +1,115 @@
+package com.inventory_service.service.reservation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para TimingWheel.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    private AtomicLong nanos;
+    private TimingWheel<Long> wheel;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong();
+        wheel = new TimingWheel<>(Duration.ofMillis(100), 8, nanos::get);
+    }
+
+    private void advanceTime(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("advance - Debe vencer la clave en el primer tick posterior a su plazo")
+    void advance_ShouldExpireKeyOnlyAfterDeadline() {
+        // Given
+        wheel.schedule(1L, Duration.ofMillis(250));
+
+        // When & Then
+        advanceTime(Duration.ofMillis(200));
+        assertTrue(wheel.advance().isEmpty());
+        advanceTime(Duration.ofMillis(100));
+        assertEquals(List.of(1L), wheel.advance());
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance().isEmpty());
+    }
+
+    @Test
+    @DisplayName("advance - Debe esperar vueltas completas para plazos mayores a la rueda")
+    void advance_WhenDelayExceedsWheel_ShouldWaitFullRounds() {
+        // Given: la rueda cubre 800 ms por vuelta
+        wheel.schedule(1L, Duration.ofMillis(2_000));
+        wheel.schedule(2L, Duration.ofMillis(100));
+
+        // When & Then
+        advanceTime(Duration.ofMillis(1_900));
+        assertEquals(List.of(2L), wheel.advance());
+        advanceTime(Duration.ofMillis(100));
+        assertEquals(List.of(1L), wheel.advance());
+    }
+
+    @Test
+    @DisplayName("cancel - Debe evitar el vencimiento de la clave cancelada")
+    void cancel_ShouldPreventExpiration() {
+        // Given
+        wheel.schedule(1L, Duration.ofMillis(100));
+        wheel.schedule(2L, Duration.ofMillis(100));
+
+        // When
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(3L));
+        advanceTime(Duration.ofMillis(100));
+
+        // Then
+        assertEquals(List.of(2L), wheel.advance());
+    }
+
+    @Test
+    @DisplayName("schedule - Reprogramar una clave debe descartar el plazo anterior")
+    void schedule_WhenKeyRescheduled_ShouldKeepOnlyLatestDeadline() {
+        // Given
+        wheel.schedule(1L, Duration.ofMillis(100));
+        wheel.schedule(1L, Duration.ofMillis(500));
+
+        // When & Then
+        advanceTime(Duration.ofMillis(100));
+        assertTrue(wheel.advance().isEmpty());
+        assertEquals(1, wheel.size());
+        advanceTime(Duration.ofMillis(400));
+        assertEquals(List.of(1L), wheel.advance());
+    }
+
+    @Test
+    @DisplayName("schedule - Un plazo vencido debe expirar en el siguiente tick")
+    void schedule_WhenDelayIsNegative_ShouldExpireOnNextTick() {
+        // Given
+        advanceTime(Duration.ofMillis(350));
+        wheel.advance();
+
+        // When
+        wheel.schedule(1L, Duration.ofSeconds(-5));
+        advanceTime(Duration.ofMillis(50));
+
+        // Then
+        assertEquals(List.of(1L), wheel.advance());
+    }
+
+    @Test
+    @DisplayName("constructor - Debe rechazar un tick inválido")
+    void constructor_WithInvalidTick_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<Long>(Duration.ZERO, 8));
+    }
+}
@@ -0,0 +1,263 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para AtomicStockEngine.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AtomicStockEngine Tests")
+class AtomicStockEngineTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockChangeListener stockChangeListener;
+
+    @InjectMocks
+    private AtomicStockEngine stockEngine;
+
+    private Inventory validInventory;
+
+    @BeforeEach
+    void setUp() {
+        validInventory = Inventory.builder()
+                .idInventario(1L)
+                .productoId(1L)
+                .cantidad(10)
+                .eliminado(false)
+                .build();
+    }
+
+    @Test
+    @DisplayName("decrement - Debe retornar la cantidad restante sin leer el inventario")
+    void decrement_WhenStockIsSufficient_ShouldReturnRemainingQuantity() {
+        // Given
+        when(inventoryRepository.decrementStockIfAvailable(1L, 4)).thenReturn(Optional.of(6));
+
+        // When
+        Integer result = stockEngine.decrement(1L, 4);
+
+        // Then
+        assertEquals(6, result);
+        verify(inventoryRepository, never()).findByProductoIdAndEliminadoFalse(anyLong());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(stockChangeListener).onStockChange(new StockChange(1L, -4, 6, MovementReason.PURCHASE, null));
+    }
+
+    @Test
+    @DisplayName("decrement - Debe lanzar BadRequestException cuando inventario es insuficiente")
+    void decrement_WhenStockIsInsufficient_ShouldThrowBadRequestException() {
+        // Given
+        when(inventoryRepository.decrementStockIfAvailable(1L, 20)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.of(validInventory));
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> stockEngine.decrement(1L, 20));
+        assertEquals("Inventario insuficiente. Disponible: 10, Solicitado: 20", exception.getMessage());
+        verifyNoInteractions(stockChangeListener);
+    }
+
+    @Test
+    @DisplayName("decrement - Debe lanzar NotFoundException cuando inventario no existe")
+    void decrement_WhenInventoryNotFound_ShouldThrowNotFoundException() {
+        // Given
+        when(inventoryRepository.decrementStockIfAvailable(1L, 5)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> stockEngine.decrement(1L, 5));
+        assertEquals("Inventario no encontrado para el producto", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("setQuantity - Debe actualizar inventario existente")
+    void setQuantity_WhenInventoryExists_ShouldUpdateQuantity() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.of(validInventory));
+        when(inventoryRepository.save(validInventory)).thenReturn(validInventory);
+
+        // When
+        Integer result = stockEngine.setQuantity(1L, 15);
+
+        // Then
+        assertEquals(15, result);
+        assertEquals(15, validInventory.getCantidad());
+        verify(inventoryRepository).save(validInventory);
+        verify(stockChangeListener).onStockChange(new StockChange(1L, 5, 15, MovementReason.ADJUSTMENT, null));
+    }
+
+    @Test
+    @DisplayName("setQuantity - Debe crear inventario cuando no existe")
+    void setQuantity_WhenInventoryNotExists_ShouldCreateInventory() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.empty());
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Integer result = stockEngine.setQuantity(1L, 20);
+
+        // Then
+        assertEquals(20, result);
+        verify(inventoryRepository).save(argThat(inventory ->
+                inventory.getProductoId().equals(1L) && !inventory.getEliminado()));
+    }
+
+    @Test
+    @DisplayName("decrementAll - Debe descontar cada producto en orden ascendente de ID")
+    void decrementAll_WhenStockIsSufficient_ShouldDecrementInProductOrder() {
+        // Given
+        when(inventoryRepository.decrementStockIfAvailable(1L, 2)).thenReturn(Optional.of(8));
+        when(inventoryRepository.decrementStockIfAvailable(3L, 1)).thenReturn(Optional.of(4));
+
+        // When
+        Map<Long, Integer> result = stockEngine.decrementAll(new TreeMap<>(Map.of(3L, 1, 1L, 2)));
+
+        // Then
+        assertEquals(List.of(1L, 3L), List.copyOf(result.keySet()));
+        assertEquals(8, result.get(1L));
+        assertEquals(4, result.get(3L));
+        InOrder inOrder = inOrder(inventoryRepository);
+        inOrder.verify(inventoryRepository).decrementStockIfAvailable(1L, 2);
+        inOrder.verify(inventoryRepository).decrementStockIfAvailable(3L, 1);
+    }
+
+    @Test
+    @DisplayName("decrementAll - Debe detenerse en el primer producto sin inventario suficiente")
+    void decrementAll_WhenAnyStockIsInsufficient_ShouldThrowAndStop() {
+        // Given
+        when(inventoryRepository.decrementStockIfAvailable(1L, 20)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.of(validInventory));
+
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> stockEngine.decrementAll(new TreeMap<>(Map.of(1L, 20, 2L, 1))));
+        verify(inventoryRepository, never()).decrementStockIfAvailable(2L, 1);
+    }
+
+    @Test
+    @DisplayName("adjust - Debe aplicar la variación sin leer el inventario")
+    void adjust_WhenResultIsNonNegative_ShouldReturnAdjustedQuantity() {
+        // Given
+        when(inventoryRepository.adjustStockIfNonNegative(1L, 120)).thenReturn(Optional.of(130));
+
+        // When
+        Integer result = stockEngine.adjust(1L, 120);
+
+        // Then
+        assertEquals(130, result);
+        verify(inventoryRepository, never()).findByProductoIdAndEliminadoFalse(anyLong());
+        verify(stockChangeListener).onStockChange(new StockChange(1L, 120, 130, MovementReason.ADJUSTMENT, null));
+    }
+
+    @Test
+    @DisplayName("adjust - Debe lanzar BadRequestException cuando la cantidad quedaría negativa")
+    void adjust_WhenResultWouldBeNegative_ShouldThrowBadRequestException() {
+        // Given
+        when(inventoryRepository.adjustStockIfNonNegative(1L, -11)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.of(validInventory));
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> stockEngine.adjust(1L, -11));
+        assertEquals("Inventario insuficiente. Disponible: 10, Solicitado: 11", exception.getMessage());
+        verifyNoInteractions(stockChangeListener);
+    }
+
+    @Test
+    @DisplayName("adjust - Debe lanzar BadRequestException cuando la cantidad excedería el máximo")
+    void adjust_WhenResultWouldOverflow_ShouldThrowBadRequestException() {
+        // Given
+        when(inventoryRepository.adjustStockIfNonNegative(1L, Integer.MAX_VALUE)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.of(validInventory));
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> stockEngine.adjust(1L, Integer.MAX_VALUE));
+        assertEquals("La cantidad disponible excedería el máximo permitido. Disponible: 10, Variación: "
+                + Integer.MAX_VALUE, exception.getMessage());
+        verifyNoInteractions(stockChangeListener);
+    }
+
+    @Test
+    @DisplayName("adjust - Debe lanzar NotFoundException cuando el producto no tiene inventario")
+    void adjust_WhenInventoryNotFound_ShouldThrowNotFoundException() {
+        // Given
+        when(inventoryRepository.adjustStockIfNonNegative(99L, 5)).thenReturn(Optional.empty());
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> stockEngine.adjust(99L, 5));
+    }
+
+    @Test
+    @DisplayName("adjustAll - Debe aplicar un lote ordenado por producto y resolver cada variación en el orden recibido")
+    void adjustAll_ShouldApplySingleBatchAndResolveEachAdjustment() {
+        // Given: producto 2 con 5 → +3, -10 (rechazada), -8 → 0; producto 1 con 10 → +2 → 12; producto 99 sin inventario
+        List<StockAdjustment> adjustments = List.of(
+                new StockAdjustment(2L, 3), new StockAdjustment(1L, 2), new StockAdjustment(2L, -10),
+                new StockAdjustment(99L, 1), new StockAdjustment(2L, -8));
+        when(inventoryRepository.adjustStockInBatch(List.of(
+                new StockAdjustment(1L, 2), new StockAdjustment(2L, 3), new StockAdjustment(2L, -10),
+                new StockAdjustment(2L, -8), new StockAdjustment(99L, 1))))
+                .thenReturn(new int[]{1, 1, 0, 1, 0});
+        when(inventoryRepository.findByProductoIdInAndEliminadoFalse(List.of(1L, 2L, 99L))).thenReturn(List.of(
+                Inventory.builder().productoId(1L).cantidad(12).build(),
+                Inventory.builder().productoId(2L).cantidad(0).build()));
+
+        // When
+        List<StockAdjustmentResult> results = stockEngine.adjustAll(adjustments);
+
+        // Then
+        assertEquals(8, results.get(0).quantity());
+        assertEquals(12, results.get(1).quantity());
+        assertInstanceOf(BadRequestException.class, results.get(2).rejection());
+        assertEquals("Inventario insuficiente. Disponible: 8, Solicitado: 10", results.get(2).rejection().getMessage());
+        assertInstanceOf(NotFoundException.class, results.get(3).rejection());
+        assertEquals(0, results.get(4).quantity());
+        InOrder inOrder = inOrder(stockChangeListener);
+        inOrder.verify(stockChangeListener).onStockChange(new StockChange(1L, 2, 12, MovementReason.ADJUSTMENT, null));
+        inOrder.verify(stockChangeListener).onStockChange(new StockChange(2L, 3, 8, MovementReason.ADJUSTMENT, null));
+        inOrder.verify(stockChangeListener).onStockChange(new StockChange(2L, -8, 0, MovementReason.ADJUSTMENT, null));
+        verifyNoMoreInteractions(stockChangeListener);
+    }
+
+    @Test
+    @DisplayName("adjustAll - No debe acceder al repositorio con un lote vacío")
+    void adjustAll_WhenEmpty_ShouldNotTouchRepository() {
+        // When
+        List<StockAdjustmentResult> results = stockEngine.adjustAll(List.of());
+
+        // Then
+        assertTrue(results.isEmpty());
+        verify(inventoryRepository, never()).adjustStockInBatch(anyList());
+    }
+}
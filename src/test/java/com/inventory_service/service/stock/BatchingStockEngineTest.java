@@ -0,0 +1,191 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockDecrement;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para BatchingStockEngine.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchingStockEngine Tests")
+class BatchingStockEngineTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StockChangeListener stockChangeListener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BatchingStockEngine stockEngine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stockEngine = new BatchingStockEngine(inventoryRepository, transactionTemplate, stockChangeListener, meterRegistry,
+                128, Duration.ofMillis(1), 100, Duration.ofSeconds(1));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockEngine.stop();
+    }
+
+    private Inventory inventory(Long productId, int cantidad) {
+        return Inventory.builder().productoId(productId).cantidad(cantidad).eliminado(false).build();
+    }
+
+    private BatchingStockEngine.PendingDecrement pending(Long productId, int quantity) {
+        return new BatchingStockEngine.PendingDecrement(productId, quantity, "req-" + productId, new CompletableFuture<>());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe confirmar la compra en un lote y retornar la cantidad restante")
+    void decrement_ShouldReturnRemainingAfterBatchCommit() {
+        // Given
+        when(inventoryRepository.decrementStockInBatch(List.of(new StockDecrement(1L, 4)))).thenReturn(new int[]{1});
+        when(inventoryRepository.findByProductoIdInAndEliminadoFalse(List.of(1L))).thenReturn(List.of(inventory(1L, 6)));
+
+        // When
+        Integer result = stockEngine.decrement(1L, 4);
+
+        // Then
+        assertEquals(6, result);
+        assertEquals(1L, meterRegistry.get(BatchingStockEngine.BATCH_SIZE_METRIC).summary().count());
+    }
+
+    @Test
+    @DisplayName("flush - Debe aplicar el lote en una transacción, ordenado por producto y en orden de llegada")
+    @SuppressWarnings("unchecked")
+    void flush_ShouldApplySingleJdbcBatchInProductOrder() {
+        // Given: producto 2 con 5 unidades; producto 1 queda en 7 tras dos compras
+        BatchingStockEngine.PendingDecrement a = pending(2L, 3);
+        BatchingStockEngine.PendingDecrement b = pending(1L, 2);
+        BatchingStockEngine.PendingDecrement c = pending(2L, 1);
+        BatchingStockEngine.PendingDecrement d = pending(1L, 1);
+        when(inventoryRepository.decrementStockInBatch(anyList())).thenReturn(new int[]{1, 1, 1, 1});
+        when(inventoryRepository.findByProductoIdInAndEliminadoFalse(anyList()))
+                .thenReturn(List.of(inventory(1L, 7), inventory(2L, 1)));
+
+        // When
+        stockEngine.flush(List.of(a, b, c, d));
+
+        // Then
+        ArgumentCaptor<List<StockDecrement>> statements = ArgumentCaptor.forClass(List.class);
+        verify(inventoryRepository).decrementStockInBatch(statements.capture());
+        assertEquals(List.of(new StockDecrement(1L, 2), new StockDecrement(1L, 1),
+                new StockDecrement(2L, 3), new StockDecrement(2L, 1)), statements.getValue());
+        verify(transactionTemplate, times(1)).execute(any());
+        assertEquals(8, b.result().join());
+        assertEquals(7, d.result().join());
+        assertEquals(2, a.result().join());
+        assertEquals(1, c.result().join());
+    }
+
+    @Test
+    @DisplayName("flush - Debe rechazar solo las compras sin existencias suficientes")
+    void flush_WhenSomeDecrementsDoNotApply_ShouldRejectOnlyThose() {
+        // Given: 5 disponibles; compras de 3, 4 y 2 → la segunda no alcanza
+        BatchingStockEngine.PendingDecrement first = pending(1L, 3);
+        BatchingStockEngine.PendingDecrement second = pending(1L, 4);
+        BatchingStockEngine.PendingDecrement third = pending(1L, 2);
+        when(inventoryRepository.decrementStockInBatch(anyList())).thenReturn(new int[]{1, 0, 1});
+        when(inventoryRepository.findByProductoIdInAndEliminadoFalse(anyList())).thenReturn(List.of(inventory(1L, 0)));
+
+        // When
+        stockEngine.flush(List.of(first, second, third));
+
+        // Then
+        assertEquals(2, first.result().join());
+        assertEquals(0, third.result().join());
+        // Solo las compras aplicadas se notifican, dentro de la transacción del lote
+        InOrder inOrder = inOrder(stockChangeListener);
+        inOrder.verify(stockChangeListener).onStockChange(new StockChange(1L, -3, 2, MovementReason.PURCHASE, "req-1"));
+        inOrder.verify(stockChangeListener).onStockChange(new StockChange(1L, -2, 0, MovementReason.PURCHASE, "req-1"));
+        verifyNoMoreInteractions(stockChangeListener);
+        CompletionException rejected = assertThrows(CompletionException.class, () -> second.result().join());
+        assertInstanceOf(BadRequestException.class, rejected.getCause());
+        assertEquals("Inventario insuficiente. Disponible: 2, Solicitado: 4", rejected.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("flush - Debe rechazar con NotFoundException los productos sin inventario")
+    void flush_WhenInventoryMissing_ShouldRejectWithNotFound() {
+        // Given
+        BatchingStockEngine.PendingDecrement missing = pending(99L, 1);
+        when(inventoryRepository.decrementStockInBatch(anyList())).thenReturn(new int[]{0});
+        when(inventoryRepository.findByProductoIdInAndEliminadoFalse(anyList())).thenReturn(List.of());
+
+        // When
+        stockEngine.flush(List.of(missing));
+
+        // Then
+        CompletionException rejected = assertThrows(CompletionException.class, () -> missing.result().join());
+        assertInstanceOf(NotFoundException.class, rejected.getCause());
+    }
+
+    @Test
+    @DisplayName("flush - Debe propagar el error de la transacción a todas las compras del lote")
+    void flush_WhenTransactionFails_ShouldFailWholeBatch() {
+        // Given
+        BatchingStockEngine.PendingDecrement first = pending(1L, 1);
+        BatchingStockEngine.PendingDecrement second = pending(2L, 1);
+        QueryTimeoutException failure = new QueryTimeoutException("timeout");
+        when(inventoryRepository.decrementStockInBatch(anyList())).thenThrow(failure);
+
+        // When
+        stockEngine.flush(List.of(first, second));
+
+        // Then
+        assertSame(failure, assertThrows(CompletionException.class, () -> first.result().join()).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, () -> second.result().join()).getCause());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe lanzar la excepción de negocio sin envolver")
+    void decrement_WhenRejected_ShouldThrowUnwrappedException() {
+        // Given
+        when(inventoryRepository.decrementStockInBatch(anyList())).thenReturn(new int[]{0});
+        when(inventoryRepository.findByProductoIdInAndEliminadoFalse(anyList())).thenReturn(List.of(inventory(1L, 2)));
+
+        // When / Then
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> stockEngine.decrement(1L, 3));
+        assertEquals("Inventario insuficiente. Disponible: 2, Solicitado: 3", exception.getMessage());
+    }
+}
@@ -0,0 +1,212 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.ConflictException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.repository.InventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para OptimisticStockEngine.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OptimisticStockEngine Tests")
+class OptimisticStockEngineTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StockChangeListener stockChangeListener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticStockEngine stockEngine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stockEngine = new OptimisticStockEngine(inventoryRepository, transactionTemplate, stockChangeListener,
+                meterRegistry, 3, 0, 0, 16);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+    }
+
+    private Inventory inventory(int cantidad) {
+        return Inventory.builder().idInventario(1L).productoId(1L).cantidad(cantidad).eliminado(false).version(0L).build();
+    }
+
+    private ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(Inventory.class, 1L);
+    }
+
+    @Test
+    @DisplayName("decrement - Debe descontar y guardar con control de versión")
+    void decrement_WhenNoConflict_ShouldSaveOnce() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.of(inventory(10)));
+        when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Integer result = stockEngine.decrement(1L, 4);
+
+        // Then
+        assertEquals(6, result);
+        verify(transactionTemplate, times(1)).execute(any());
+        assertNull(meterRegistry.find(OptimisticStockEngine.RETRIES_METRIC).counter());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe reintentar en una transacción nueva ante conflicto de versión")
+    void decrement_WhenVersionConflict_ShouldRetryAndCountRetry() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L))
+                .thenReturn(Optional.of(inventory(10)), Optional.of(inventory(8)));
+        when(inventoryRepository.saveAndFlush(any(Inventory.class)))
+                .thenThrow(conflict())
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Integer result = stockEngine.decrement(1L, 4);
+
+        // Then
+        assertEquals(4, result);
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(1.0, meterRegistry.get(OptimisticStockEngine.RETRIES_METRIC)
+                .tags("operation", "single", "bucket", "1").counter().count());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe rendirse con ConflictException al agotar los intentos")
+    void decrement_WhenConflictPersists_ShouldGiveUpWithConflictException() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenAnswer(invocation -> Optional.of(inventory(10)));
+        when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenThrow(conflict());
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> stockEngine.decrement(1L, 1));
+        verify(transactionTemplate, times(3)).execute(any());
+        assertEquals(2.0, meterRegistry.get(OptimisticStockEngine.RETRIES_METRIC)
+                .tags("operation", "single", "bucket", "1").counter().count());
+        assertEquals(1.0, meterRegistry.get(OptimisticStockEngine.GIVEUPS_METRIC)
+                .tags("operation", "single", "bucket", "1").counter().count());
+    }
+
+    @Test
+    @DisplayName("decrement - No debe reintentar errores de negocio")
+    void decrement_WhenBusinessError_ShouldNotRetry() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.of(inventory(2)));
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> stockEngine.decrement(1L, 5));
+        assertEquals("Inventario insuficiente. Disponible: 2, Solicitado: 5", exception.getMessage());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
+    }
+
+    @Test
+    @DisplayName("decrement - Debe lanzar NotFoundException cuando inventario no existe")
+    void decrement_WhenInventoryNotFound_ShouldThrowNotFoundException() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NotFoundException.class, () -> stockEngine.decrement(1L, 5));
+    }
+
+    @Test
+    @DisplayName("setQuantity - Debe crear inventario cuando no existe")
+    void setQuantity_WhenInventoryNotExists_ShouldCreateInventory() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenReturn(Optional.empty());
+        when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Integer result = stockEngine.setQuantity(1L, 30);
+
+        // Then
+        assertEquals(30, result);
+    }
+
+    @Test
+    @DisplayName("constructor - Debe rechazar un número de intentos inválido")
+    void constructor_WithInvalidMaxAttempts_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OptimisticStockEngine(inventoryRepository, transactionTemplate, stockChangeListener,
+                        meterRegistry, 0, 0, 0, 16));
+    }
+
+    @Test
+    @DisplayName("decrementAll - Debe reintentar el carrito completo ante conflicto de versión")
+    void decrementAll_WhenVersionConflict_ShouldRetryWholeCart() {
+        // Given
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L)).thenAnswer(invocation -> Optional.of(inventory(10)));
+        when(inventoryRepository.findByProductoIdAndEliminadoFalse(2L)).thenAnswer(invocation -> Optional.of(
+                Inventory.builder().idInventario(2L).productoId(2L).cantidad(5).eliminado(false).version(0L).build()));
+        when(inventoryRepository.saveAndFlush(any(Inventory.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(conflict())
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Map<Long, Integer> result = stockEngine.decrementAll(new TreeMap<>(Map.of(2L, 1, 1L, 3)));
+
+        // Then
+        assertEquals(7, result.get(1L));
+        assertEquals(4, result.get(2L));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(inventoryRepository, times(2)).findByProductoIdAndEliminadoFalse(1L);
+        // El conflicto se atribuye al producto 2, no al primero del carrito
+        assertEquals(1.0, meterRegistry.get(OptimisticStockEngine.RETRIES_METRIC)
+                .tags("operation", "cart", "bucket", "2").counter().count());
+        assertNull(meterRegistry.find(OptimisticStockEngine.RETRIES_METRIC).tags("bucket", "1").counter());
+    }
+
+    @Test
+    @DisplayName("bucket - Debe acotar las etiquetas de las métricas al número de franjas")
+    void bucket_ShouldStayWithinConfiguredBuckets() {
+        // When & Then
+        assertEquals(16, LongStream.range(0, 10_000).mapToObj(stockEngine::bucket).distinct().count());
+        assertEquals(stockEngine.bucket(1L), stockEngine.bucket(17L));
+    }
+
+    @Test
+    @DisplayName("decrement - Debe rechazarse dentro de una transacción del llamador")
+    void decrement_WhenOuterTransactionActive_ShouldThrowIllegalStateException() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // When & Then
+            assertThrows(IllegalStateException.class, () -> stockEngine.decrement(1L, 3));
+            verifyNoInteractions(transactionTemplate, inventoryRepository);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+}
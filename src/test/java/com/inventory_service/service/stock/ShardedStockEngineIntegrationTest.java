@@ -0,0 +1,76 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.repository.InventoryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de integración del motor particionado contra H2: compras concurrentes sobre un mismo
+ * producto sin sobreventa y con la cantidad persistida igual a la suma de compras aceptadas.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(properties = {"inventory.stock.mode=sharded", "inventory.stock.sharded.shards=2"})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("ShardedStockEngine Integration Tests")
+class ShardedStockEngineIntegrationTest {
+
+    @Autowired
+    private StockEngine stockEngine;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    @DisplayName("Debe activar el motor particionado con inventory.stock.mode=sharded")
+    void context_ShouldUseShardedEngine() {
+        assertInstanceOf(ShardedStockEngine.class, stockEngine);
+    }
+
+    @Test
+    @DisplayName("Compras concurrentes - No debe sobrevender el producto")
+    void decrement_WhenConcurrentBuys_ShouldNeverOversell() throws Exception {
+        // Given
+        Long productId = 2L;
+        stockEngine.setQuantity(productId, 25);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> buys = new ArrayList<>();
+
+        // When: 40 compras de 1 unidad sobre 25 disponibles
+        for (int i = 0; i < 40; i++) {
+            buys.add(executor.submit(() -> {
+                try {
+                    stockEngine.decrement(productId, 1);
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> buy : buys) {
+            buy.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(15, rejected.get());
+        assertEquals(0, inventoryRepository.findByProductoIdAndEliminadoFalse(productId).orElseThrow().getCantidad());
+    }
+}
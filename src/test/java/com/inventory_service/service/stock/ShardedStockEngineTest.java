@@ -0,0 +1,261 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.exception.NotFoundException;
+import com.inventory_service.model.Inventory;
+import com.inventory_service.model.MovementReason;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.service.stock.StockChangeListener.StockChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para ShardedStockEngine.
+ * El repositorio simula la fila de inventario con un contador, incluido el UPDATE condicional.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShardedStockEngine Tests")
+class ShardedStockEngineTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StockChangeListener stockChangeListener;
+
+    private final AtomicInteger stock = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ShardedStockEngine stockEngine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stockEngine = new ShardedStockEngine(inventoryRepository, transactionTemplate, stockChangeListener, meterRegistry,
+                2, 256, 100, Duration.ofSeconds(1));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(inventoryRepository.findCantidadByProductoId(1L))
+                .thenAnswer(invocation -> Optional.of(stock.get()));
+        lenient().when(inventoryRepository.findByProductoIdAndEliminadoFalse(1L))
+                .thenAnswer(invocation -> Optional.of(inventory(stock.get())));
+        lenient().when(inventoryRepository.decrementStockIfAvailable(eq(1L), anyInt()))
+                .thenAnswer(invocation -> conditionalDecrement(invocation.getArgument(1)));
+        stockEngine.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockEngine.stop();
+    }
+
+    private Inventory inventory(int cantidad) {
+        return Inventory.builder().idInventario(1L).productoId(1L).cantidad(cantidad).eliminado(false).version(0L).build();
+    }
+
+    private Optional<Integer> conditionalDecrement(int quantity) {
+        int current = stock.get();
+        if (current < quantity) {
+            return Optional.empty();
+        }
+        stock.set(current - quantity);
+        return Optional.of(current - quantity);
+    }
+
+    @Test
+    @DisplayName("decrement - Debe persistir y retornar la cantidad restante confirmada")
+    void decrement_WhenStockAvailable_ShouldPersistAndReturnRemaining() {
+        // Given
+        stock.set(10);
+
+        // When
+        Integer result = stockEngine.decrement(1L, 4);
+
+        // Then
+        assertEquals(6, result);
+        assertEquals(6, stock.get());
+        verify(inventoryRepository).decrementStockIfAvailable(1L, 4);
+        verify(stockChangeListener).onStockChange(new StockChange(1L, -4, 6, MovementReason.PURCHASE, null));
+    }
+
+    @Test
+    @DisplayName("decrement - Debe validar en memoria sin volver a leer la fila mientras alcance")
+    void decrement_WhenCounterLoaded_ShouldNotReadAgain() {
+        // Given
+        stock.set(10);
+
+        // When
+        stockEngine.decrement(1L, 2);
+        stockEngine.decrement(1L, 3);
+
+        // Then
+        assertEquals(5, stock.get());
+        verify(inventoryRepository, times(1)).findCantidadByProductoId(1L);
+    }
+
+    @Test
+    @DisplayName("decrement - Debe agrupar las compras encoladas en un único UPDATE por producto")
+    void decrement_WhenCommandsQueueUp_ShouldGroupCommit() throws Exception {
+        // Given: el primer UPDATE se detiene hasta que las demás compras estén encoladas
+        stock.set(100);
+        CountDownLatch firstFlushStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstFlush = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstFlushStarted.countDown();
+            assertTrue(releaseFirstFlush.await(5, TimeUnit.SECONDS));
+            return conditionalDecrement(1);
+        }).when(inventoryRepository).decrementStockIfAvailable(1L, 1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> stockEngine.decrement(1L, 1));
+        assertTrue(firstFlushStarted.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            queued.add(CompletableFuture.supplyAsync(() -> stockEngine.decrement(1L, 2)));
+        }
+        while (stockEngine.queued() < 9) {
+            Thread.sleep(5);
+        }
+
+        // When
+        releaseFirstFlush.countDown();
+
+        // Then
+        assertEquals(99, first.get(5, TimeUnit.SECONDS));
+        List<Integer> remaining = new ArrayList<>();
+        for (CompletableFuture<Integer> future : queued) {
+            remaining.add(future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(81, stock.get());
+        verify(inventoryRepository, times(1)).decrementStockIfAvailable(1L, 18);
+        assertEquals(9, remaining.stream().distinct().count());
+        assertTrue(remaining.containsAll(List.of(97, 95, 93, 91, 89, 87, 85, 83, 81)));
+    }
+
+    @Test
+    @DisplayName("decrement - Debe rechazar sin sobreventa cuando la cantidad en memoria no alcanza")
+    void decrement_WhenInsufficient_ShouldRejectWithoutOversell() {
+        // Given
+        stock.set(5);
+        stockEngine.decrement(1L, 3);
+
+        // When / Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> stockEngine.decrement(1L, 3));
+        assertEquals("Inventario insuficiente. Disponible: 2, Solicitado: 3", exception.getMessage());
+        assertEquals(2, stock.get());
+        verify(inventoryRepository, times(1)).decrementStockIfAvailable(eq(1L), anyInt());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe recargar el contador cuando la fila cambió fuera del shard")
+    void decrement_WhenRowChangedExternally_ShouldReloadAndRetry() {
+        // Given: el contador queda en 8 y otra instancia descuenta 7 directamente en base de datos
+        stock.set(10);
+        stockEngine.decrement(1L, 2);
+        stock.set(1);
+
+        // When / Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> stockEngine.decrement(1L, 5));
+        assertEquals("Inventario insuficiente. Disponible: 1, Solicitado: 5", exception.getMessage());
+        assertEquals(1, stock.get());
+        assertEquals(1.0, meterRegistry.get(ShardedStockEngine.FLUSH_CONFLICTS_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe aceptar una compra tras un ingreso externo de existencias")
+    void decrement_WhenStockIncreasedExternally_ShouldReloadBeforeRejecting() {
+        // Given
+        stock.set(3);
+        stockEngine.decrement(1L, 3);
+        stock.set(10);
+
+        // When
+        Integer result = stockEngine.decrement(1L, 4);
+
+        // Then
+        assertEquals(6, result);
+        assertEquals(6, stock.get());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe lanzar NotFoundException cuando no existe inventario")
+    void decrement_WhenInventoryMissing_ShouldThrowNotFound() {
+        // Given
+        when(inventoryRepository.findCantidadByProductoId(99L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(NotFoundException.class, () -> stockEngine.decrement(99L, 1));
+        verify(inventoryRepository, never()).decrementStockIfAvailable(eq(99L), anyInt());
+    }
+
+    @Test
+    @DisplayName("setQuantity - Debe pasar por el shard y actualizar el contador en memoria")
+    void setQuantity_ShouldUpdateCounterWithoutReload() {
+        // Given
+        stock.set(2);
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> {
+            Inventory saved = invocation.getArgument(0);
+            stock.set(saved.getCantidad());
+            return saved;
+        });
+
+        // When
+        Integer saved = stockEngine.setQuantity(1L, 20);
+        Integer remaining = stockEngine.decrement(1L, 15);
+
+        // Then
+        assertEquals(20, saved);
+        assertEquals(5, remaining);
+        verify(stockChangeListener).onStockChange(new StockChange(1L, 18, 20, MovementReason.ADJUSTMENT, null));
+        verify(inventoryRepository, times(1)).findByProductoIdAndEliminadoFalse(1L);
+    }
+
+    @Test
+    @DisplayName("decrementAll - Debe descontar el carrito en una transacción e invalidar los contadores")
+    void decrementAll_ShouldDecrementAndInvalidateCounters() {
+        // Given
+        stock.set(10);
+        stockEngine.decrement(1L, 1);
+        TreeMap<Long, Integer> cart = new TreeMap<>(Map.of(1L, 4));
+
+        // When
+        Map<Long, Integer> remaining = stockEngine.decrementAll(cart);
+        Integer afterCart = stockEngine.decrement(1L, 1);
+
+        // Then
+        assertEquals(Map.of(1L, 5), remaining);
+        assertEquals(4, afterCart);
+        verify(inventoryRepository, times(2)).findCantidadByProductoId(1L);
+    }
+}
@@ -0,0 +1,236 @@
+package com.inventory_service.service.stock;
+
+import com.inventory_service.exception.BadRequestException;
+import com.inventory_service.model.InventorySlot;
+import com.inventory_service.repository.InventoryRepository;
+import com.inventory_service.repository.InventoryRepositoryCustom.StockAdjustment;
+import com.inventory_service.repository.InventorySlotRepository;
+import com.inventory_service.repository.StockLevel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de integración del motor con subcontadores contra H2.
+ *
+ * @author Diego Alexander Villalba
+ * @since Octubre 2025
+ */
+@SpringBootTest(properties = {
+        "inventory.stock.mode=split",
+        "inventory.stock.split.products=3",
+        "inventory.stock.split.slots=4"})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("SplitStockEngine Integration Tests")
+class SplitStockEngineIntegrationTest {
+
+    private static final Long HOT_PRODUCT = 3L;
+
+    @Autowired
+    private StockEngine stockEngine;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventorySlotRepository slotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Integer> slotQuantities() {
+        return transactionTemplate.execute(status -> slotRepository.findByProductoIdOrderBySlot(HOT_PRODUCT)
+                .stream().map(InventorySlot::getCantidad).toList());
+    }
+
+    private Integer available(Long productId) {
+        return stockEngine.availableQuantity(
+                new StockLevel(productId, inventoryRepository.findCantidadByProductoId(productId).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("setQuantity - Debe repartir la cantidad entre los subcontadores")
+    void setQuantity_ShouldSpreadStockAcrossSlots() {
+        // When
+        stockEngine.setQuantity(HOT_PRODUCT, 10);
+
+        // Then
+        assertEquals(List.of(3, 3, 2, 2), slotQuantities());
+        assertEquals(0, inventoryRepository.findByProductoIdAndEliminadoFalse(HOT_PRODUCT).orElseThrow().getCantidad());
+        assertEquals(10, available(HOT_PRODUCT));
+    }
+
+    @Test
+    @DisplayName("decrement - Debe redistribuir cuando ningún subcontador alcanza")
+    void decrement_WhenNoSlotHasEnough_ShouldRebalance() {
+        // Given: 2 unidades en cada uno de los 4 subcontadores
+        stockEngine.setQuantity(HOT_PRODUCT, 8);
+        double rebalancesBefore = meterRegistry.counter(SplitStockEngine.REBALANCES_METRIC).count();
+
+        // When
+        Integer remaining = stockEngine.decrement(HOT_PRODUCT, 5);
+
+        // Then
+        assertEquals(3, remaining);
+        assertEquals(List.of(1, 1, 1, 0), slotQuantities());
+        assertEquals(rebalancesBefore + 1, meterRegistry.counter(SplitStockEngine.REBALANCES_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("decrement - Debe incluir en el total lo devuelto a la fila de inventario")
+    void decrement_ShouldCountStockReturnedToInventoryRow() {
+        // Given: los subcontadores quedan vacíos y una reserva devuelve 4 unidades a la fila
+        stockEngine.setQuantity(HOT_PRODUCT, 0);
+        transactionTemplate.executeWithoutResult(status -> inventoryRepository.incrementStock(HOT_PRODUCT, 4));
+        assertEquals(4, available(HOT_PRODUCT));
+
+        // When / Then
+        assertEquals(1, stockEngine.decrement(HOT_PRODUCT, 3));
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> stockEngine.decrement(HOT_PRODUCT, 2));
+        assertEquals("Inventario insuficiente. Disponible: 1, Solicitado: 2", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("hold / release - Deben descontar de los subcontadores y devolver a la fila de inventario")
+    void holdAndRelease_ShouldUseSlotsAndReturnToInventoryRow() {
+        // Given
+        stockEngine.setQuantity(HOT_PRODUCT, 8);
+
+        // When
+        Integer afterHold = stockEngine.hold(HOT_PRODUCT, 5);
+        Integer afterRelease = stockEngine.release(HOT_PRODUCT, 5).orElseThrow();
+
+        // Then
+        assertEquals(3, afterHold);
+        assertEquals(8, afterRelease);
+        assertEquals(5, inventoryRepository.findByProductoIdAndEliminadoFalse(HOT_PRODUCT).orElseThrow().getCantidad());
+        assertEquals(8, available(HOT_PRODUCT));
+    }
+
+    @Test
+    @DisplayName("Compras concurrentes - No debe sobrevender el producto con subcontadores")
+    void decrement_WhenConcurrentBuys_ShouldNeverOversell() throws Exception {
+        // Given
+        stockEngine.setQuantity(HOT_PRODUCT, 40);
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> buys = new ArrayList<>();
+
+        // When: 60 compras de 1 unidad sobre 40 disponibles
+        for (int i = 0; i < 60; i++) {
+            buys.add(executor.submit(() -> {
+                try {
+                    stockEngine.decrement(HOT_PRODUCT, 1);
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> buy : buys) {
+            buy.get(20, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(20, rejected.get());
+        assertEquals(0, available(HOT_PRODUCT));
+        assertTrue(slotQuantities().stream().allMatch(quantity -> quantity == 0));
+    }
+
+    @Test
+    @DisplayName("decrementAll - Debe combinar productos con y sin subcontadores en una transacción")
+    void decrementAll_ShouldMixSplitAndRegularProducts() {
+        // Given
+        stockEngine.setQuantity(HOT_PRODUCT, 20);
+        stockEngine.setQuantity(4L, 10);
+
+        // When
+        Map<Long, Integer> remaining = stockEngine.decrementAll(new TreeMap<>(Map.of(HOT_PRODUCT, 2, 4L, 3)));
+
+        // Then
+        assertEquals(Map.of(HOT_PRODUCT, 18, 4L, 7), remaining);
+        assertEquals(7, inventoryRepository.findByProductoIdAndEliminadoFalse(4L).orElseThrow().getCantidad());
+        assertEquals(18, available(HOT_PRODUCT));
+    }
+
+    @Test
+    @DisplayName("adjustAll - Debe aplicar las variaciones de productos con y sin subcontadores")
+    void adjustAll_ShouldMixSplitAndRegularProducts() {
+        // Given
+        stockEngine.setQuantity(HOT_PRODUCT, 8);
+        stockEngine.setQuantity(4L, 10);
+
+        // When: la merma de 20 del producto con subcontadores no alcanza
+        List<StockAdjustmentResult> results = stockEngine.adjustAll(List.of(
+                new StockAdjustment(HOT_PRODUCT, 4), new StockAdjustment(4L, -3),
+                new StockAdjustment(HOT_PRODUCT, -20), new StockAdjustment(4L, 5)));
+
+        // Then
+        assertEquals(12, results.get(0).quantity());
+        assertEquals(7, results.get(1).quantity());
+        assertInstanceOf(BadRequestException.class, results.get(2).rejection());
+        assertEquals(12, results.get(3).quantity());
+        assertEquals(List.of(3, 3, 3, 3), slotQuantities());
+        assertEquals(12, available(HOT_PRODUCT));
+        assertEquals(12, available(4L));
+    }
+
+    @Test
+    @DisplayName("Carritos, reservas y variaciones concurrentes - Deben bloquear en el mismo orden sin interbloquearse")
+    void concurrentCartsHoldsAndAdjustments_ShouldNotDeadlock() throws Exception {
+        // Given: 2 unidades por subcontador para forzar redistribuciones dentro de los carritos
+        stockEngine.setQuantity(HOT_PRODUCT, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Future<?>> operations = new ArrayList<>();
+
+        // When: 30 carritos de 3 unidades, 15 reservas de 1 y 15 reposiciones de 4
+        for (int i = 0; i < 60; i++) {
+            int kind = i % 4;
+            operations.add(executor.submit(() -> {
+                try {
+                    if (kind == 0) {
+                        stockEngine.hold(HOT_PRODUCT, 1);
+                    } else if (kind == 1) {
+                        stockEngine.adjust(HOT_PRODUCT, 4);
+                    } else {
+                        stockEngine.decrementAll(new TreeMap<>(Map.of(HOT_PRODUCT, 3)));
+                    }
+                } catch (BadRequestException e) {
+                    // Rechazo por falta de existencias: no cambia el total
+                }
+            }));
+        }
+        for (Future<?> operation : operations) {
+            operation.get(20, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then: el total nunca es negativo y coincide con la suma de la fila y los subcontadores
+        int total = available(HOT_PRODUCT);
+        assertTrue(total >= 0);
+        assertEquals(total, inventoryRepository.findByProductoIdAndEliminadoFalse(HOT_PRODUCT).orElseThrow().getCantidad()
+                + slotQuantities().stream().mapToInt(Integer::intValue).sum());
+    }
+}